@@ -0,0 +1,85 @@
+/**
+ * Software end-user license agreement.
+ *
+ * The LICENSE.TXT containing the license is located in the JGPSS project.
+ * License.txt can be downloaded here:
+ * href="http://www-eio.upc.es/~Pau/index.php?q=node/28
+ *
+ * NOTICE TO THE USER: BY COPYING, INSTALLING OR USING THIS SOFTWARE OR PART OF
+ * THIS SOFTWARE, YOU AGREE TO THE   TERMS AND CONDITIONS OF THE LICENSE AGREEMENT
+ * AS IF IT WERE A WRITTEN AGREEMENT NEGOTIATED AND SIGNED BY YOU. THE LICENSE
+ * AGREEMENT IS ENFORCEABLE AGAINST YOU AND ANY OTHER LEGAL PERSON ACTING ON YOUR
+ * BEHALF.
+ * IF, AFTER READING THE TERMS AND CONDITIONS HEREIN, YOU DO NOT AGREE TO THEM,
+ * YOU MAY NOT INSTALL THIS SOFTWARE ON YOUR COMPUTER.
+ * UPC IS THE OWNER OF ALL THE INTELLECTUAL PROPERTY OF THE SOFTWARE AND ONLY
+ * AUTHORIZES YOU TO USE THE SOFTWARE IN ACCORDANCE WITH THE TERMS SET OUT IN
+ * THE LICENSE AGREEMENT.
+ */
+package benchmark;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import model.EngineBenchmark;
+import model.SNABenchmark;
+import model.chains.EventChainBenchmark;
+import model.entities.FunctionBenchmark;
+import model.generator.GeneratedModelBenchmark;
+import persistence.LoadBenchmark;
+
+/**
+ * Runs the benchmarks of the simulation engine and writes their results as
+ * JSON. Run with "ant benchmark"; the results go to the file given as
+ * argument, build/bench/results.json by default. The output of the model
+ * is discarded while the benchmarks run.
+ *
+ * <pre>
+ * java benchmark.BenchmarkSuite [results.json] [models directory]
+ * </pre>
+ *
+ * @author Ezequiel Andujar Montes
+ */
+public class BenchmarkSuite {
+
+    public static void main(String[] args) throws Exception {
+
+        Path results = Paths.get(args.length > 0 ? args[0] : "build/bench/results.json");
+        Path directory = Paths.get(args.length > 1 ? args[1] : "resources/model");
+
+        List<Path> models;
+        try (Stream<Path> files = Files.list(directory)) {
+            models = files.filter(f -> f.toString().endsWith(".txt")).sorted().collect(Collectors.toList());
+        }
+
+        PrintStream out = System.out;
+        System.setOut(new PrintStream(new OutputStream() {
+            @Override
+            public void write(int b) {
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) {
+            }
+        }));
+
+        try {
+            Harness harness = new Harness(out);
+            EngineBenchmark.run(harness, models);
+            GeneratedModelBenchmark.run(harness);
+            EventChainBenchmark.run(harness);
+            SNABenchmark.run(harness);
+            FunctionBenchmark.run(harness);
+            LoadBenchmark.run(harness, models);
+            harness.write(results);
+        } finally {
+            System.setOut(out);
+        }
+        out.println("Results written to " + results);
+    }
+}
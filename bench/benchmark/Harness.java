@@ -0,0 +1,296 @@
+/**
+ * Software end-user license agreement.
+ *
+ * The LICENSE.TXT containing the license is located in the JGPSS project.
+ * License.txt can be downloaded here:
+ * href="http://www-eio.upc.es/~Pau/index.php?q=node/28
+ *
+ * NOTICE TO THE USER: BY COPYING, INSTALLING OR USING THIS SOFTWARE OR PART OF
+ * THIS SOFTWARE, YOU AGREE TO THE   TERMS AND CONDITIONS OF THE LICENSE AGREEMENT
+ * AS IF IT WERE A WRITTEN AGREEMENT NEGOTIATED AND SIGNED BY YOU. THE LICENSE
+ * AGREEMENT IS ENFORCEABLE AGAINST YOU AND ANY OTHER LEGAL PERSON ACTING ON YOUR
+ * BEHALF.
+ * IF, AFTER READING THE TERMS AND CONDITIONS HEREIN, YOU DO NOT AGREE TO THEM,
+ * YOU MAY NOT INSTALL THIS SOFTWARE ON YOUR COMPUTER.
+ * UPC IS THE OWNER OF ALL THE INTELLECTUAL PROPERTY OF THE SOFTWARE AND ONLY
+ * AUTHORIZES YOU TO USE THE SOFTWARE IN ACCORDANCE WITH THE TERMS SET OUT IN
+ * THE LICENSE AGREEMENT.
+ */
+package benchmark;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * A small benchmark harness in the manner of JMH, for the benchmarks of
+ * bench/. Every benchmark runs warm-up iterations, whose scores are
+ * dropped, and measurement iterations of a fixed wall clock time. An
+ * iteration calls the benchmark again and again on a fresh state, and only
+ * the calls are timed. The score is the mean of the measurement iterations,
+ * with the half width of its 99.9% confidence interval as error, and the
+ * results are written in the JSON format of JMH, so the usual JMH tools
+ * read them.
+ *
+ * The number and time of the iterations and a filter of the benchmark names
+ * are read from the bench.warmup, bench.iterations, bench.time (ms) and
+ * bench.filter system properties.
+ *
+ * @author Ezequiel Andujar Montes
+ */
+public class Harness {
+
+    /**
+     * How the score is given
+     */
+    public enum Mode {
+
+        /**
+         * Operations per second
+         */
+        THROUGHPUT("thrpt"),
+        /**
+         * Time per operation
+         */
+        AVERAGE("avgt");
+
+        private final String id;
+
+        Mode(String id) {
+            this.id = id;
+        }
+    }
+
+    /**
+     * Creates the state of a call, not timed
+     */
+    @FunctionalInterface
+    public interface Setup<S> {
+
+        S create() throws Exception;
+    }
+
+    /**
+     * The timed benchmark code. Returns the number of operations done.
+     */
+    @FunctionalInterface
+    public interface Body<S> {
+
+        long run(S state) throws Exception;
+    }
+
+    /**
+     * Two sided 99.9% quantiles of the Student t distribution, for 1 to 10
+     * degrees of freedom
+     */
+    private static final double[] T999 = {636.619, 31.599, 12.924, 8.610, 6.869, 5.959, 5.408, 5.041, 4.781, 4.587};
+
+    private final int warmUpIterations = Integer.getInteger("bench.warmup", 3);
+    private final int iterations = Integer.getInteger("bench.iterations", 5);
+    private final long iterationTime = Long.getLong("bench.time", 500L);
+    private final Pattern filter = Pattern.compile(System.getProperty("bench.filter", ".*"));
+
+    private final PrintStream out;
+    private final List<String> results = new ArrayList<>();
+
+    /**
+     * Values given to consume, so the benchmarks results are not dropped by
+     * the JIT
+     */
+    private volatile double sink;
+
+    /**
+     * @param out where the results are printed as they are measured
+     */
+    public Harness(PrintStream out) {
+        this.out = out;
+        out.println(String.format("%-44s %-48s %5s %14s %12s  %s", "Benchmark", "Params", "Mode", "Score", "Error", "Units"));
+    }
+
+    /**
+     * Keeps a benchmark result alive
+     *
+     * @param value
+     */
+    public void consume(double value) {
+        sink += value;
+    }
+
+    /**
+     * Returns the parameters of a benchmark, given as name and value pairs
+     *
+     * @param pairs
+     * @return
+     */
+    public static Map<String, String> params(String... pairs) {
+        Map<String, String> params = new LinkedHashMap<>();
+        for (int i = 0; i + 1 < pairs.length; i += 2) {
+            params.put(pairs[i], pairs[i + 1]);
+        }
+        return params;
+    }
+
+    /**
+     * Runs a benchmark, unless the filter excludes it
+     *
+     * @param <S>
+     * @param name the benchmark name, class and method
+     * @param params the benchmark parameters
+     * @param mode how the score is given
+     * @param unit the time unit of the average time mode
+     * @param setup creates the state of each call
+     * @param body the timed code
+     * @throws Exception
+     */
+    public <S> void run(String name, Map<String, String> params, Mode mode, TimeUnit unit, Setup<S> setup, Body<S> body) throws Exception {
+
+        if (!filter.matcher(name).find()) {
+            return;
+        }
+
+        double[] scores = new double[iterations];
+
+        for (int i = -warmUpIterations; i < iterations; i++) {
+
+            long timed = 0;
+            long ops = 0;
+            long start = System.nanoTime();
+            long limit = TimeUnit.MILLISECONDS.toNanos(iterationTime);
+
+            // Slow setups end the iteration too, after four times its time
+            while (timed < limit && (ops == 0 || System.nanoTime() - start < 4 * limit)) {
+                S state = setup.create();
+                long begin = System.nanoTime();
+                ops += body.run(state);
+                timed += System.nanoTime() - begin;
+            }
+
+            if (i >= 0) {
+                scores[i] = mode == Mode.THROUGHPUT
+                        ? ops / (timed / 1e9)
+                        : timed / (double) ops / unit.toNanos(1);
+            }
+        }
+
+        double mean = 0;
+        for (double score : scores) {
+            mean += score;
+        }
+        mean /= scores.length;
+
+        double error = Double.NaN;
+        if (scores.length > 1) {
+            double variance = 0;
+            for (double score : scores) {
+                variance += (score - mean) * (score - mean);
+            }
+            variance /= scores.length - 1;
+            error = quantile(scores.length - 1) * Math.sqrt(variance / scores.length);
+        }
+
+        String units = mode == Mode.THROUGHPUT ? "ops/s" : shortName(unit) + "/op";
+        out.println(String.format("%-44s %-48s %5s %14.3f %12.3f  %s", name, params.toString(), mode.id, mean, error, units));
+        results.add(json(name, params, mode, mean, error, units, scores));
+    }
+
+    /**
+     * Writes the results measured so far in the JSON format of JMH
+     *
+     * @param path
+     * @throws IOException
+     */
+    public void write(Path path) throws IOException {
+
+        try (Writer writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8)) {
+            writer.write("[\n");
+            writer.write(String.join(",\n", results));
+            writer.write("\n]\n");
+        }
+    }
+
+    private String json(String name, Map<String, String> params, Mode mode, double mean, double error, String units, double[] scores) {
+
+        StringBuilder json = new StringBuilder();
+        json.append("    {\n");
+        json.append("        \"benchmark\" : ").append(quote(name)).append(",\n");
+        json.append("        \"mode\" : ").append(quote(mode.id)).append(",\n");
+        json.append("        \"threads\" : 1,\n");
+        json.append("        \"forks\" : 0,\n");
+        json.append("        \"jdkVersion\" : ").append(quote(System.getProperty("java.version"))).append(",\n");
+        json.append("        \"vmName\" : ").append(quote(System.getProperty("java.vm.name"))).append(",\n");
+        json.append("        \"vmVersion\" : ").append(quote(System.getProperty("java.vm.version"))).append(",\n");
+        json.append("        \"warmupIterations\" : ").append(warmUpIterations).append(",\n");
+        json.append("        \"warmupTime\" : ").append(quote(iterationTime + " ms")).append(",\n");
+        json.append("        \"measurementIterations\" : ").append(iterations).append(",\n");
+        json.append("        \"measurementTime\" : ").append(quote(iterationTime + " ms")).append(",\n");
+        json.append("        \"params\" : {");
+        String separator = "\n";
+        for (Map.Entry<String, String> param : params.entrySet()) {
+            json.append(separator).append("            ").append(quote(param.getKey())).append(" : ").append(quote(param.getValue()));
+            separator = ",\n";
+        }
+        json.append(params.isEmpty() ? "},\n" : "\n        },\n");
+        json.append("        \"primaryMetric\" : {\n");
+        json.append("            \"score\" : ").append(number(mean)).append(",\n");
+        json.append("            \"scoreError\" : ").append(number(error)).append(",\n");
+        json.append("            \"scoreConfidence\" : [").append(number(mean - error)).append(", ").append(number(mean + error)).append("],\n");
+        json.append("            \"scoreUnit\" : ").append(quote(units)).append(",\n");
+        json.append("            \"rawData\" : [[");
+        for (int i = 0; i < scores.length; i++) {
+            json.append(i > 0 ? ", " : "").append(number(scores[i]));
+        }
+        json.append("]]\n");
+        json.append("        }\n");
+        json.append("    }");
+        return json.toString();
+    }
+
+    private static double quantile(int degrees) {
+        if (degrees <= T999.length) {
+            return T999[degrees - 1];
+        }
+        // The quantile of the smallest degrees of each range, so the error is
+        // never underestimated
+        return degrees <= 15 ? 4.437 : degrees <= 20 ? 4.073 : degrees <= 30 ? 3.850 : degrees <= 60 ? 3.646 : 3.460;
+    }
+
+    private static String shortName(TimeUnit unit) {
+        switch (unit) {
+            case NANOSECONDS:
+                return "ns";
+            case MICROSECONDS:
+                return "us";
+            case MILLISECONDS:
+                return "ms";
+            default:
+                return "s";
+        }
+    }
+
+    private static String number(double value) {
+        return Double.isNaN(value) || Double.isInfinite(value) ? "\"NaN\"" : String.valueOf(value);
+    }
+
+    private static String quote(String text) {
+        StringBuilder quoted = new StringBuilder("\"");
+        for (char c : String.valueOf(text).toCharArray()) {
+            if (c == '"' || c == '\\') {
+                quoted.append('\\').append(c);
+            } else if (c < ' ') {
+                quoted.append(String.format("\\u%04x", (int) c));
+            } else {
+                quoted.append(c);
+            }
+        }
+        return quoted.append('"').toString();
+    }
+}
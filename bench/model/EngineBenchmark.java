@@ -0,0 +1,56 @@
+/**
+ * Software end-user license agreement.
+ *
+ * The LICENSE.TXT containing the license is located in the JGPSS project.
+ * License.txt can be downloaded here:
+ * href="http://www-eio.upc.es/~Pau/index.php?q=node/28
+ *
+ * NOTICE TO THE USER: BY COPYING, INSTALLING OR USING THIS SOFTWARE OR PART OF
+ * THIS SOFTWARE, YOU AGREE TO THE   TERMS AND CONDITIONS OF THE LICENSE AGREEMENT
+ * AS IF IT WERE A WRITTEN AGREEMENT NEGOTIATED AND SIGNED BY YOU. THE LICENSE
+ * AGREEMENT IS ENFORCEABLE AGAINST YOU AND ANY OTHER LEGAL PERSON ACTING ON YOUR
+ * BEHALF.
+ * IF, AFTER READING THE TERMS AND CONDITIONS HEREIN, YOU DO NOT AGREE TO THEM,
+ * YOU MAY NOT INSTALL THIS SOFTWARE ON YOUR COMPUTER.
+ * UPC IS THE OWNER OF ALL THE INTELLECTUAL PROPERTY OF THE SOFTWARE AND ONLY
+ * AUTHORIZES YOU TO USE THE SOFTWARE IN ACCORDANCE WITH THE TERMS SET OUT IN
+ * THE LICENSE AGREEMENT.
+ */
+package model;
+
+import benchmark.Harness;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import persistence.DiscManager;
+
+/**
+ * Measures Model.executeAll on the models of resources/model, in events,
+ * blocks executed, per second. Every call runs a fresh copy of the model
+ * for TC terminations; reading and initializing it is not timed.
+ *
+ * @author Ezequiel Andujar Montes
+ */
+public class EngineBenchmark {
+
+    private static final int TC = 10000;
+
+    public static void run(Harness harness, List<Path> models) throws Exception {
+
+        for (Path file : models) {
+            harness.run("model.EngineBenchmark.executeAll", Harness.params("model", file.getFileName().toString()),
+                    Harness.Mode.THROUGHPUT, TimeUnit.SECONDS,
+                    () -> {
+                        Model model = new DiscManager().leerTxt(file);
+                        model.setTC(TC);
+                        model.initialize();
+                        return model;
+                    },
+                    model -> {
+                        long events = model.getEvents();
+                        model.executeAll();
+                        return model.getEvents() - events;
+                    });
+        }
+    }
+}
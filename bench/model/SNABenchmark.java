@@ -0,0 +1,124 @@
+/**
+ * Software end-user license agreement.
+ *
+ * The LICENSE.TXT containing the license is located in the JGPSS project.
+ * License.txt can be downloaded here:
+ * href="http://www-eio.upc.es/~Pau/index.php?q=node/28
+ *
+ * NOTICE TO THE USER: BY COPYING, INSTALLING OR USING THIS SOFTWARE OR PART OF
+ * THIS SOFTWARE, YOU AGREE TO THE   TERMS AND CONDITIONS OF THE LICENSE AGREEMENT
+ * AS IF IT WERE A WRITTEN AGREEMENT NEGOTIATED AND SIGNED BY YOU. THE LICENSE
+ * AGREEMENT IS ENFORCEABLE AGAINST YOU AND ANY OTHER LEGAL PERSON ACTING ON YOUR
+ * BEHALF.
+ * IF, AFTER READING THE TERMS AND CONDITIONS HEREIN, YOU DO NOT AGREE TO THEM,
+ * YOU MAY NOT INSTALL THIS SOFTWARE ON YOUR COMPUTER.
+ * UPC IS THE OWNER OF ALL THE INTELLECTUAL PROPERTY OF THE SOFTWARE AND ONLY
+ * AUTHORIZES YOU TO USE THE SOFTWARE IN ACCORDANCE WITH THE TERMS SET OUT IN
+ * THE LICENSE AGREEMENT.
+ */
+package model;
+
+import benchmark.Harness;
+import java.io.BufferedReader;
+import java.io.StringReader;
+import java.util.concurrent.TimeUnit;
+import model.entities.Xact;
+import persistence.DiscManager;
+
+/**
+ * Measures the evaluation of one SNA of each family, compiled by
+ * SNACompiler as the blocks use them, and interpreted by SNA.evaluate when
+ * it gives a number for the family. The SNAs refer to the entities of a
+ * small model run for a few terminations.
+ *
+ * @author Ezequiel Andujar Montes
+ */
+public class SNABenchmark {
+
+    private static final int EVALUATIONS = 100_000;
+
+    private static final String MODEL = "*\n* SNA benchmark\n* sna\n*\n\n"
+            + "storage STORAGE 4\n"
+            + "savevalue SAVEVALUE 20.0\n"
+            + "var INTEGER 3\n"
+            + "function FUNCTION RN1 C2 0,0/1,10\n"
+            + "* end-entities\n\n*\n* p1\n*\n"
+            + "        Generate        Uniform,3.0,1.0,0.0,0.0,0.0,0     ;\n"
+            + "        Queue           queue,1     ;\n"
+            + "        Seize           facility     ;\n"
+            + "        Enter           storage,1     ;\n"
+            + "        Advance         Uniform,4.0,1.0     ;\n"
+            + "        Leave           storage,1     ;\n"
+            + "        Release         facility     ;\n"
+            + "        Depart          queue,1     ;\n"
+            + "        Terminate       1     ;\n";
+
+    /**
+     * Family and SNA measured
+     */
+    private static final String[][] SNAS = {
+        {"clock", "C1"},
+        {"number", "3.5"},
+        {"random", "RN1"},
+        {"block", "N$1"},
+        {"parameter", "P$p"},
+        {"facility", "FC$facility"},
+        {"queue", "QA$queue"},
+        {"storage", "S$storage"},
+        {"savevalue", "X$savevalue"},
+        {"variable", "V$var"},
+        {"function", "FN$function"}
+    };
+
+    public static void run(Harness harness) throws Exception {
+
+        Model model = new DiscManager().leerTxt(new BufferedReader(new StringReader(MODEL)));
+        model.setTC(50);
+        model.execute(false);
+
+        Xact xact = new Xact();
+        xact.getTransactionParameters().put("p", 5f);
+
+        for (String[] sna : SNAS) {
+
+            CompiledSNA compiled = SNACompiler.compile(sna[1], model);
+            harness.run("model.SNABenchmark.evaluate", Harness.params("family", sna[0], "sna", sna[1], "mode", "compiled"),
+                    Harness.Mode.AVERAGE, TimeUnit.NANOSECONDS,
+                    () -> compiled,
+                    c -> {
+                        double sum = 0;
+                        for (int i = 0; i < EVALUATIONS; i++) {
+                            sum += c.evaluate(xact);
+                        }
+                        harness.consume(sum);
+                        return EVALUATIONS;
+                    });
+
+            if (interpreted(sna[1], model, xact)) {
+                harness.run("model.SNABenchmark.evaluate", Harness.params("family", sna[0], "sna", sna[1], "mode", "interpreted"),
+                        Harness.Mode.AVERAGE, TimeUnit.NANOSECONDS,
+                        () -> sna[1],
+                        A -> {
+                            double sum = 0;
+                            for (int i = 0; i < EVALUATIONS; i++) {
+                                sum += SNA.evaluate(A, model, xact).length();
+                            }
+                            harness.consume(sum);
+                            return EVALUATIONS;
+                        });
+            }
+        }
+    }
+
+    /**
+     * If SNA.evaluate gives a number for the SNA
+     */
+    private static boolean interpreted(String A, Model model, Xact xact) {
+        try {
+            Double.parseDouble(SNA.evaluate(A, model, xact));
+            return true;
+        } catch (Exception e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,79 @@
+/**
+ * Software end-user license agreement.
+ *
+ * The LICENSE.TXT containing the license is located in the JGPSS project.
+ * License.txt can be downloaded here:
+ * href="http://www-eio.upc.es/~Pau/index.php?q=node/28
+ *
+ * NOTICE TO THE USER: BY COPYING, INSTALLING OR USING THIS SOFTWARE OR PART OF
+ * THIS SOFTWARE, YOU AGREE TO THE   TERMS AND CONDITIONS OF THE LICENSE AGREEMENT
+ * AS IF IT WERE A WRITTEN AGREEMENT NEGOTIATED AND SIGNED BY YOU. THE LICENSE
+ * AGREEMENT IS ENFORCEABLE AGAINST YOU AND ANY OTHER LEGAL PERSON ACTING ON YOUR
+ * BEHALF.
+ * IF, AFTER READING THE TERMS AND CONDITIONS HEREIN, YOU DO NOT AGREE TO THEM,
+ * YOU MAY NOT INSTALL THIS SOFTWARE ON YOUR COMPUTER.
+ * UPC IS THE OWNER OF ALL THE INTELLECTUAL PROPERTY OF THE SOFTWARE AND ONLY
+ * AUTHORIZES YOU TO USE THE SOFTWARE IN ACCORDANCE WITH THE TERMS SET OUT IN
+ * THE LICENSE AGREEMENT.
+ */
+package model.chains;
+
+import benchmark.Harness;
+import java.util.PriorityQueue;
+import java.util.Queue;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import model.Model;
+import model.entities.Xact;
+
+/**
+ * Measures the Future Event Chain implementations and the Current Event
+ * Chain, a priority queue, with the hold model: the chain keeps its size
+ * while the first Xact is taken and put back, with a later time on the FEC.
+ * A hold is one dequeue and one enqueue.
+ *
+ * @author Ezequiel Andujar Montes
+ */
+public class EventChainBenchmark {
+
+    private static final int HOLDS = 100_000;
+    private static final int[] SIZES = {16, 1024, 65536};
+
+    public static void run(Harness harness) throws Exception {
+
+        Model model = new Model();
+
+        for (int size : SIZES) {
+            for (EventChainType type : EventChainType.values()) {
+                hold(harness, type.name(), size, type.create(model.getTimeComparator()));
+            }
+            hold(harness, "CEC", size, new PriorityQueue<>(1000, model.getPriorityComparator()));
+        }
+    }
+
+    private static void hold(Harness harness, String chain, int size, Queue<Xact> queue) throws Exception {
+
+        Random random = new Random(size);
+
+        for (int i = 0; i < size; i++) {
+            Xact xact = new Xact();
+            xact.setID(i);
+            xact.setPriority(random.nextInt(4));
+            xact.setMoveTime(random.nextFloat() * size);
+            queue.add(xact);
+        }
+
+        // The chain keeps its size, so it is shared by all the calls
+        harness.run("model.chains.EventChainBenchmark.hold", Harness.params("chain", chain, "size", String.valueOf(size)),
+                Harness.Mode.AVERAGE, TimeUnit.NANOSECONDS,
+                () -> queue,
+                q -> {
+                    for (int i = 0; i < HOLDS; i++) {
+                        Xact xact = q.poll();
+                        xact.setMoveTime(xact.getMoveTime() + random.nextFloat() * size);
+                        q.add(xact);
+                    }
+                    return HOLDS;
+                });
+    }
+}
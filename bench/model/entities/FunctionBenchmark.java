@@ -0,0 +1,85 @@
+/**
+ * Software end-user license agreement.
+ *
+ * The LICENSE.TXT containing the license is located in the JGPSS project.
+ * License.txt can be downloaded here:
+ * href="http://www-eio.upc.es/~Pau/index.php?q=node/28
+ *
+ * NOTICE TO THE USER: BY COPYING, INSTALLING OR USING THIS SOFTWARE OR PART OF
+ * THIS SOFTWARE, YOU AGREE TO THE   TERMS AND CONDITIONS OF THE LICENSE AGREEMENT
+ * AS IF IT WERE A WRITTEN AGREEMENT NEGOTIATED AND SIGNED BY YOU. THE LICENSE
+ * AGREEMENT IS ENFORCEABLE AGAINST YOU AND ANY OTHER LEGAL PERSON ACTING ON YOUR
+ * BEHALF.
+ * IF, AFTER READING THE TERMS AND CONDITIONS HEREIN, YOU DO NOT AGREE TO THEM,
+ * YOU MAY NOT INSTALL THIS SOFTWARE ON YOUR COMPUTER.
+ * UPC IS THE OWNER OF ALL THE INTELLECTUAL PROPERTY OF THE SOFTWARE AND ONLY
+ * AUTHORIZES YOU TO USE THE SOFTWARE IN ACCORDANCE WITH THE TERMS SET OUT IN
+ * THE LICENSE AGREEMENT.
+ */
+package model.entities;
+
+import benchmark.Harness;
+import java.io.BufferedReader;
+import java.io.StringReader;
+import java.util.concurrent.TimeUnit;
+import model.Model;
+import persistence.DiscManager;
+
+/**
+ * Measures Function.evaluate for each function type, with a random argument
+ * for the types drawn from a distribution and a variable argument for the
+ * discrete and list types looked up by value.
+ *
+ * @author Ezequiel Andujar Montes
+ */
+public class FunctionBenchmark {
+
+    private static final int EVALUATIONS = 100_000;
+
+    private static final String MODEL = "*\n* Function benchmark\n* function\n*\n\n"
+            + "var INTEGER 3\n"
+            + "* end-entities\n\n*\n* p1\n*\n"
+            + "        Generate        Uniform,3.0,1.0,0.0,0.0,0.0,0     ;\n"
+            + "        Terminate       1     ;\n";
+
+    private static final String XPDIS = "0,0/.1,.104/.2,.222/.3,.355/.4,.509/.5,.69/.6,.915/.7,1.2/.75,1.38"
+            + "/.8,1.6/.84,1.83/.88,2.12/.9,2.3/.92,2.52/.94,2.81/.95,2.99/.96,3.2/.97,3.5/.98,3.9/.99,4.6"
+            + "/.995,5.3/.998,6.2/.999,7/.9998,8";
+
+    /**
+     * Name, argument, type and distribution of the functions measured
+     */
+    private static final String[][] FUNCTIONS = {
+        {"continuous", "RN1", "C24", XPDIS},
+        {"discrete-random", "RN1", "D5", ".1,1/.3,2/.6,3/.9,4/1,5"},
+        {"discrete", "V$var", "D5", "1,10/2,20/3,30/4,40/5,50"},
+        {"attribute", "RN1", "E3", ".3,C1/.7,V$var/1,TG1"},
+        {"list", "V$var", "L5", "1,10/2,20/3,30/4,40/5,50"},
+        {"list-attribute", "V$var", "M5", "1,C1/2,TG1/3,V$var/4,C1/5,TG1"}
+    };
+
+    public static void run(Harness harness) throws Exception {
+
+        Model model = new DiscManager().leerTxt(new BufferedReader(new StringReader(MODEL)));
+        model.setTC(1);
+        model.execute(false);
+
+        for (String[] f : FUNCTIONS) {
+
+            Function function = new Function(f[0], f[1], f[2], f[3]);
+            function.link(model);
+
+            harness.run("model.entities.FunctionBenchmark.evaluate", Harness.params("type", f[2].substring(0, 1), "function", f[0]),
+                    Harness.Mode.AVERAGE, TimeUnit.NANOSECONDS,
+                    () -> function,
+                    fn -> {
+                        double sum = 0;
+                        for (int i = 0; i < EVALUATIONS; i++) {
+                            sum += fn.evaluate(model, null);
+                        }
+                        harness.consume(sum);
+                        return EVALUATIONS;
+                    });
+        }
+    }
+}
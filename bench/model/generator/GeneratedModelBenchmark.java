@@ -0,0 +1,70 @@
+/**
+ * Software end-user license agreement.
+ *
+ * The LICENSE.TXT containing the license is located in the JGPSS project.
+ * License.txt can be downloaded here:
+ * href="http://www-eio.upc.es/~Pau/index.php?q=node/28
+ *
+ * NOTICE TO THE USER: BY COPYING, INSTALLING OR USING THIS SOFTWARE OR PART OF
+ * THIS SOFTWARE, YOU AGREE TO THE   TERMS AND CONDITIONS OF THE LICENSE AGREEMENT
+ * AS IF IT WERE A WRITTEN AGREEMENT NEGOTIATED AND SIGNED BY YOU. THE LICENSE
+ * AGREEMENT IS ENFORCEABLE AGAINST YOU AND ANY OTHER LEGAL PERSON ACTING ON YOUR
+ * BEHALF.
+ * IF, AFTER READING THE TERMS AND CONDITIONS HEREIN, YOU DO NOT AGREE TO THEM,
+ * YOU MAY NOT INSTALL THIS SOFTWARE ON YOUR COMPUTER.
+ * UPC IS THE OWNER OF ALL THE INTELLECTUAL PROPERTY OF THE SOFTWARE AND ONLY
+ * AUTHORIZES YOU TO USE THE SOFTWARE IN ACCORDANCE WITH THE TERMS SET OUT IN
+ * THE LICENSE AGREEMENT.
+ */
+package model.generator;
+
+import benchmark.Harness;
+import java.util.concurrent.TimeUnit;
+import model.Model;
+import model.RunControl;
+
+/**
+ * Measures the engine, in events per second, on a generated model of about
+ * 100k blocks with 10k to 1M Xacts in the model at the same time. The model
+ * runs until the hold time has passed before measuring, and every call goes
+ * on with the same model for a fixed number of events.
+ *
+ * @author Ezequiel Andujar Montes
+ */
+public class GeneratedModelBenchmark {
+
+    private static final int PROCESSES = 2564;
+    private static final long EVENTS = 1_000_000;
+    private static final int[] XACTS = {10_000, 100_000, 1_000_000};
+
+    public static void run(Harness harness) throws Exception {
+
+        for (int xacts : XACTS) {
+
+            ModelGenerator generator = new ModelGenerator();
+            generator.setProcesses(PROCESSES);
+            generator.setFacilities(2 * PROCESSES);
+            generator.setStorages(PROCESSES / 2);
+            generator.setQueueChain(2);
+            generator.setFanOut(3);
+            generator.setMatchPairs(2);
+            generator.setArrivalMean(20);
+            generator.setHoldTime((float) xacts * generator.getArrivalMean() / PROCESSES);
+
+            Model model = generator.model();
+            model.setTC(Integer.MAX_VALUE);
+            model.initialize();
+            model.run(RunControl.untilTime(generator.getHoldTime()));
+
+            harness.run("model.generator.GeneratedModelBenchmark.run",
+                    Harness.params("blocks", String.valueOf(generator.blocks()), "xacts", String.valueOf(xacts)),
+                    Harness.Mode.THROUGHPUT, TimeUnit.SECONDS,
+                    () -> model,
+                    m -> {
+                        long events = m.getEvents();
+                        m.run(RunControl.forEvents(EVENTS));
+                        return m.getEvents() - events;
+                    });
+        }
+    }
+}
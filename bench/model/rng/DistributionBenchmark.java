@@ -0,0 +1,80 @@
+/**
+ * Software end-user license agreement.
+ *
+ * The LICENSE.TXT containing the license is located in the JGPSS project.
+ * License.txt can be downloaded here:
+ * href="http://www-eio.upc.es/~Pau/index.php?q=node/28
+ *
+ * NOTICE TO THE USER: BY COPYING, INSTALLING OR USING THIS SOFTWARE OR PART OF
+ * THIS SOFTWARE, YOU AGREE TO THE   TERMS AND CONDITIONS OF THE LICENSE AGREEMENT
+ * AS IF IT WERE A WRITTEN AGREEMENT NEGOTIATED AND SIGNED BY YOU. THE LICENSE
+ * AGREEMENT IS ENFORCEABLE AGAINST YOU AND ANY OTHER LEGAL PERSON ACTING ON YOUR
+ * BEHALF.
+ * IF, AFTER READING THE TERMS AND CONDITIONS HEREIN, YOU DO NOT AGREE TO THEM,
+ * YOU MAY NOT INSTALL THIS SOFTWARE ON YOUR COMPUTER.
+ * UPC IS THE OWNER OF ALL THE INTELLECTUAL PROPERTY OF THE SOFTWARE AND ONLY
+ * AUTHORIZES YOU TO USE THE SOFTWARE IN ACCORDANCE WITH THE TERMS SET OUT IN
+ * THE LICENSE AGREEMENT.
+ */
+package model.rng;
+
+import model.Model;
+import model.entities.Function;
+import model.entities.rng.Exponential;
+import model.entities.rng.RNG;
+
+/**
+ * Compares drawing exponential times from the Exponential generator with the
+ * usual GPSS workaround, a 24 point continuous FUNCTION of RN1 multiplied by
+ * the mean. Run with "ant bench".
+ *
+ * @author Ezequiel Andujar Montes
+ */
+public class DistributionBenchmark {
+
+    private static final String XPDIS = "0,0/.1,.104/.2,.222/.3,.355/.4,.509/.5,.69/.6,.915/.7,1.2/.75,1.38"
+            + "/.8,1.6/.84,1.83/.88,2.12/.9,2.3/.92,2.52/.94,2.81/.95,2.99/.96,3.2/.97,3.5/.98,3.9/.99,4.6"
+            + "/.995,5.3/.998,6.2/.999,7/.9998,8";
+
+    private static final int DRAWS = 1_000_000;
+    private static final int ROUNDS = 5;
+
+    @FunctionalInterface
+    private interface Draw {
+
+        double next() throws Exception;
+    }
+
+    private static double measure(String name, Draw draw) throws Exception {
+
+        double sink = 0;
+        double best = Double.MAX_VALUE;
+
+        // The first round warms up the JIT
+        for (int round = 0; round <= ROUNDS; round++) {
+            long start = System.nanoTime();
+            for (int i = 0; i < DRAWS; i++) {
+                sink += draw.next();
+            }
+            double ns = (System.nanoTime() - start) / (double) DRAWS;
+            if (round > 0) {
+                best = Math.min(best, ns);
+            }
+        }
+
+        System.out.println(String.format("%-24s %10.2f ns/draw   mean %.4f", name, best, sink / (DRAWS * (ROUNDS + 1))));
+        return best;
+    }
+
+    public static void main(String[] args) throws Exception {
+
+        Model model = new Model();
+        RNG exponential = new Exponential(model.getRandomStream(1));
+        Function xpdis = new Function("XPDIS", "RN1", "C24", XPDIS);
+
+        double generator = measure("Exponential", () -> exponential.generate(5, 0));
+        double function = measure("5 * FN$XPDIS", () -> 5 * xpdis.value(model, null));
+
+        System.out.println(String.format("Speed up: %.1fx", function / generator));
+    }
+}
@@ -0,0 +1,48 @@
+/**
+ * Software end-user license agreement.
+ *
+ * The LICENSE.TXT containing the license is located in the JGPSS project.
+ * License.txt can be downloaded here:
+ * href="http://www-eio.upc.es/~Pau/index.php?q=node/28
+ *
+ * NOTICE TO THE USER: BY COPYING, INSTALLING OR USING THIS SOFTWARE OR PART OF
+ * THIS SOFTWARE, YOU AGREE TO THE   TERMS AND CONDITIONS OF THE LICENSE AGREEMENT
+ * AS IF IT WERE A WRITTEN AGREEMENT NEGOTIATED AND SIGNED BY YOU. THE LICENSE
+ * AGREEMENT IS ENFORCEABLE AGAINST YOU AND ANY OTHER LEGAL PERSON ACTING ON YOUR
+ * BEHALF.
+ * IF, AFTER READING THE TERMS AND CONDITIONS HEREIN, YOU DO NOT AGREE TO THEM,
+ * YOU MAY NOT INSTALL THIS SOFTWARE ON YOUR COMPUTER.
+ * UPC IS THE OWNER OF ALL THE INTELLECTUAL PROPERTY OF THE SOFTWARE AND ONLY
+ * AUTHORIZES YOU TO USE THE SOFTWARE IN ACCORDANCE WITH THE TERMS SET OUT IN
+ * THE LICENSE AGREEMENT.
+ */
+package persistence;
+
+import benchmark.Harness;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import utils.VarGlobals;
+
+/**
+ * Measures DiscManager.recuperarTxt, the load of a model from its text file
+ * as the user interface does, on the models of resources/model.
+ *
+ * @author Ezequiel Andujar Montes
+ */
+public class LoadBenchmark {
+
+    public static void run(Harness harness, List<Path> models) throws Exception {
+
+        for (Path file : models) {
+            harness.run("persistence.LoadBenchmark.recuperarTxt", Harness.params("model", file.getFileName().toString()),
+                    Harness.Mode.AVERAGE, TimeUnit.MICROSECONDS,
+                    () -> file,
+                    path -> {
+                        new DiscManager().recuperarTxt(path);
+                        harness.consume(VarGlobals.model.getProces().size());
+                        return 1;
+                    });
+        }
+    }
+}
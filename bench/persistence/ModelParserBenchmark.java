@@ -0,0 +1,117 @@
+/**
+ * Software end-user license agreement.
+ *
+ * The LICENSE.TXT containing the license is located in the JGPSS project.
+ * License.txt can be downloaded here:
+ * href="http://www-eio.upc.es/~Pau/index.php?q=node/28
+ *
+ * NOTICE TO THE USER: BY COPYING, INSTALLING OR USING THIS SOFTWARE OR PART OF
+ * THIS SOFTWARE, YOU AGREE TO THE   TERMS AND CONDITIONS OF THE LICENSE AGREEMENT
+ * AS IF IT WERE A WRITTEN AGREEMENT NEGOTIATED AND SIGNED BY YOU. THE LICENSE
+ * AGREEMENT IS ENFORCEABLE AGAINST YOU AND ANY OTHER LEGAL PERSON ACTING ON YOUR
+ * BEHALF.
+ * IF, AFTER READING THE TERMS AND CONDITIONS HEREIN, YOU DO NOT AGREE TO THEM,
+ * YOU MAY NOT INSTALL THIS SOFTWARE ON YOUR COMPUTER.
+ * UPC IS THE OWNER OF ALL THE INTELLECTUAL PROPERTY OF THE SOFTWARE AND ONLY
+ * AUTHORIZES YOU TO USE THE SOFTWARE IN ACCORDANCE WITH THE TERMS SET OUT IN
+ * THE LICENSE AGREEMENT.
+ */
+package persistence;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import model.Model;
+
+/**
+ * Measures the load time of generated models of 10k to 100k blocks, in text
+ * format from memory and from a file, and in binary format from a file. Run
+ * with "ant bench".
+ *
+ * @author Ezequiel Andujar Montes
+ */
+public class ModelParserBenchmark {
+
+    private static final int ROUNDS = 5;
+
+    @FunctionalInterface
+    private interface Load {
+
+        Model load() throws Exception;
+    }
+
+    /**
+     * Returns the text of a model with the given number of processes of 7
+     * blocks, each one with its own queue and facility
+     */
+    private static String generate(int processes) {
+
+        StringBuilder text = new StringBuilder("*\n* Benchmark\n* generated model\n*\n\n* end-entities");
+
+        for (int p = 0; p < processes; p++) {
+            text.append("\n\n*\n* p").append(p).append("\n*");
+            text.append("\n        Generate        Uniform,10.0,2.0,0.0,0.0,0.0,0     ;arrivals");
+            text.append("\n        Queue           q").append(p).append(",1");
+            text.append("\n        Seize           f").append(p);
+            text.append("\n        Advance         Uniform,8.0,3.0");
+            text.append("\n        Depart          q").append(p).append(",1");
+            text.append("\n        Release         f").append(p);
+            text.append("\n        Terminate       1");
+        }
+        return text.toString();
+    }
+
+    private static void measure(String name, int blocks, Load load) throws Exception {
+
+        double best = Double.MAX_VALUE;
+
+        // The first round warms up the JIT
+        for (int round = 0; round <= ROUNDS; round++) {
+            long start = System.nanoTime();
+            Model model = load.load();
+            double ms = (System.nanoTime() - start) / 1e6;
+            if (model.getProces().size() * 7 != blocks) {
+                throw new IllegalStateException("Wrong model loaded");
+            }
+            if (round > 0) {
+                best = Math.min(best, ms);
+            }
+        }
+
+        System.out.println(String.format("%-8s %7d blocks %10.2f ms %8.2f ms/10k blocks", name, blocks, best, best * 10000 / blocks));
+    }
+
+    public static void main(String[] args) throws Exception {
+
+        for (int processes : new int[]{1429, 7143, 14286}) {
+
+            int blocks = processes * 7;
+            String text = generate(processes);
+            Path file = Files.createTempFile("benchmark", ".txt");
+            Path binary = Files.createTempFile("benchmark", BinaryModelFormat.EXTENSION);
+
+            try {
+                try (Writer writer = Files.newBufferedWriter(file)) {
+                    writer.write(text);
+                }
+                measure("memory", blocks, () -> new DiscManager().leerTxt(new BufferedReader(new StringReader(text))));
+                measure("file", blocks, () -> new DiscManager().leerTxt(file));
+                BinaryModelFormat.write(new DiscManager().leerTxt(file), binary);
+                measure("binary", blocks, () -> new DiscManager().leerBin(binary));
+            } finally {
+                deleteQuietly(file);
+                deleteQuietly(binary);
+            }
+        }
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.delete(file);
+        } catch (IOException e) {
+        }
+    }
+}
@@ -1,5 +1,7 @@
 
 import controllers.AppController;
+import controllers.BatchController;
+import java.util.Arrays;
 
 /**
  *
@@ -9,6 +11,11 @@ public class Main {
 
     public static void main(String[] args) {
 
+        // Runs a model without the user interface
+        if (args.length > 0 && args[0].equals("-batch")) {
+            System.exit(new BatchController().run(Arrays.copyOfRange(args, 1, args.length)));
+        }
+
         AppController.getInstance().run(args);
 
     }
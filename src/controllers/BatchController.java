@@ -0,0 +1,347 @@
+/**
+ * Software end-user license agreement.
+ *
+ * The LICENSE.TXT containing the license is located in the JGPSS project.
+ * License.txt can be downloaded here:
+ * href="http://www-eio.upc.es/~Pau/index.php?q=node/28
+ *
+ * NOTICE TO THE USER: BY COPYING, INSTALLING OR USING THIS SOFTWARE OR PART OF
+ * THIS SOFTWARE, YOU AGREE TO THE   TERMS AND CONDITIONS OF THE LICENSE AGREEMENT
+ * AS IF IT WERE A WRITTEN AGREEMENT NEGOTIATED AND SIGNED BY YOU. THE LICENSE
+ * AGREEMENT IS ENFORCEABLE AGAINST YOU AND ANY OTHER LEGAL PERSON ACTING ON YOUR
+ * BEHALF.
+ * IF, AFTER READING THE TERMS AND CONDITIONS HEREIN, YOU DO NOT AGREE TO THEM,
+ * YOU MAY NOT INSTALL THIS SOFTWARE ON YOUR COMPUTER.
+ * UPC IS THE OWNER OF ALL THE INTELLECTUAL PROPERTY OF THE SOFTWARE AND ONLY
+ * AUTHORIZES YOU TO USE THE SOFTWARE IN ACCORDANCE WITH THE TERMS SET OUT IN
+ * THE LICENSE AGREEMENT.
+ */
+package controllers;
+
+import java.io.PrintWriter;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import lombok.Cleanup;
+import model.Model;
+import model.RunControl;
+import model.StopReason;
+import model.profiling.EngineProfiler;
+import model.replication.ReplicationResults;
+import model.replication.ReplicationRunner;
+import model.sampling.SNASampler;
+import model.trace.TraceRecorder;
+import model.reports.CSVReport;
+import model.reports.HTMLReport;
+import model.reports.PDFReport;
+import model.reports.ReplicationReport;
+import model.reports.Report;
+import model.reports.TxtReport;
+import persistence.BinaryModelFormat;
+import persistence.DiscManager;
+import utils.VarGlobals;
+
+/**
+ * Runs a model from the command line, without the user interface. Only the
+ * model, persistence and report classes are loaded, so it runs on headless
+ * servers.
+ *
+ * <pre>
+ * java -jar JGPSS.jar -batch model.txt -tc 100 [options]
+ *   -tc N            termination count (required)
+ *   -seed S          seed of the random number streams (default 0)
+ *   -warmup T        reset the statistics at clock T (default none)
+ *   -warmup-tc N     reset the statistics after N terminations (default none)
+ *   -replications R  independent replications (default 1)
+ *   -threads T       worker threads for the replications (default one per core)
+ *   -report LIST     reports to write, any of txt,csv,html,pdf (default txt)
+ *   -out PATH        report path without extension (default MODEL-report)
+ *   -trace FILE      record the last Xact moves of a single run in FILE
+ *   -sample LIST     SNAs of a single run sampled to PATH-samples.csv
+ *   -interval T      simulated time between two samples (default 1)
+ *   -until T         stop at clock T if the run has not terminated
+ *   -max-events N    stop after N blocks executed
+ *   -max-xacts N     stop after N Xacts created
+ *   -time-limit S    stop after S seconds of wall clock, for each replication
+ *   -profile         add the engine counters of a single run to the txt and
+ *                    csv reports
+ * </pre>
+ *
+ * A run stopped before its termination count is reported as it is, and
+ * the reason is written to the error output.
+ *
+ * The model is read in binary format if its name ends with .jgpb, and in
+ * text format otherwise. With more than one replication the combined
+ * replications report is written to PATH.txt instead of the single run
+ * reports.
+ *
+ * @author Ezequiel Andujar Montes
+ */
+public class BatchController {
+
+    public static final int OK = 0;
+    public static final int USAGE_ERROR = 1;
+    public static final int RUN_ERROR = 2;
+
+    /**
+     * Records kept by the trace, the last ones of the run
+     */
+    private static final int TRACE_CAPACITY = 1 << 20;
+
+    private String modelPath;
+    private String outPath;
+    private String tracePath;
+    private boolean profile;
+    private List<String> sampled;
+    private float interval = 1;
+    private RunControl control;
+    private int TC = -1;
+    private long seed = 0;
+    private float warmUpTime = 0;
+    private int warmUpCount = 0;
+    private int replications = 1;
+    private int threads = Runtime.getRuntime().availableProcessors();
+    private List<String> reports = Arrays.asList("txt");
+
+    public static void main(String[] args) {
+        System.exit(new BatchController().run(args));
+    }
+
+    /**
+     * Runs the model given in the arguments and returns the exit status
+     *
+     * @param args the command line arguments
+     * @return
+     */
+    public int run(String[] args) {
+
+        System.setProperty("java.awt.headless", "true");
+
+        try {
+            parseArguments(args);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            printUsage();
+            return USAGE_ERROR;
+        }
+
+        try {
+            if (modelPath.endsWith(BinaryModelFormat.EXTENSION)) {
+                new DiscManager().recuperarBin(Paths.get(modelPath));
+            } else {
+                new DiscManager().recuperarTxt(Paths.get(modelPath));
+            }
+            Model model = VarGlobals.model;
+            model.setTC(TC);
+            model.setSeed(seed);
+            model.setWarmUpTime(warmUpTime);
+            model.setWarmUpCount(warmUpCount);
+
+            if (replications > 1) {
+                ReplicationRunner runner = new ReplicationRunner(model);
+                runner.setThreads(threads);
+                runner.setControl(control);
+                ReplicationResults results = runner.run(replications);
+                new ReplicationReport().createReport(model, results, outPath);
+            } else {
+                TraceRecorder trace = tracePath != null ? new TraceRecorder(Paths.get(tracePath), TRACE_CAPACITY) : null;
+                SNASampler sampler = sampled != null ? new SNASampler(model, Paths.get(outPath + "-samples.csv"), interval, sampled) : null;
+                model.setTrace(trace);
+                model.setSampler(sampler);
+                model.setProfiler(profile ? new EngineProfiler() : null);
+                try {
+                    if (control != null) {
+                        model.initialize();
+                        StopReason reason = model.run(control);
+                        if (reason != StopReason.TERMINATED) {
+                            System.err.println("Run of " + modelPath + " stopped: " + reason);
+                        }
+                    } else {
+                        model.execute(false);
+                    }
+                } finally {
+                    if (trace != null) {
+                        trace.close();
+                    }
+                    if (sampler != null) {
+                        sampler.close();
+                    }
+                }
+                writeReports(model);
+            }
+            return OK;
+
+        } catch (Exception e) {
+            System.err.println("Error running " + modelPath + ": " + e.getMessage());
+            return RUN_ERROR;
+        }
+    }
+
+    private void parseArguments(String[] args) {
+
+        for (int i = 0; i < args.length; i++) {
+
+            String arg = args[i];
+
+            if (!arg.startsWith("-")) {
+                if (modelPath != null) {
+                    throw new IllegalArgumentException("Only one model can be run: " + arg);
+                }
+                modelPath = arg;
+                continue;
+            }
+            if (arg.equals("-profile")) {
+                profile = true;
+                continue;
+            }
+            if (i + 1 >= args.length) {
+                throw new IllegalArgumentException("Missing value for " + arg);
+            }
+
+            String value = args[++i];
+
+            try {
+                switch (arg) {
+                    case "-tc":
+                        TC = Integer.parseInt(value);
+                        break;
+                    case "-seed":
+                        seed = Long.parseLong(value);
+                        break;
+                    case "-warmup":
+                        warmUpTime = Float.parseFloat(value);
+                        break;
+                    case "-warmup-tc":
+                        warmUpCount = Integer.parseInt(value);
+                        break;
+                    case "-replications":
+                        replications = Integer.parseInt(value);
+                        break;
+                    case "-threads":
+                        threads = Integer.parseInt(value);
+                        break;
+                    case "-report":
+                        reports = Arrays.asList(value.toLowerCase().split(","));
+                        break;
+                    case "-out":
+                        outPath = value;
+                        break;
+                    case "-trace":
+                        tracePath = value;
+                        break;
+                    case "-sample":
+                        sampled = Arrays.asList(value.split(","));
+                        break;
+                    case "-interval":
+                        interval = Float.parseFloat(value);
+                        break;
+                    case "-until":
+                        control().setTime(Float.parseFloat(value));
+                        break;
+                    case "-max-events":
+                        control().setEvents(Long.parseLong(value));
+                        break;
+                    case "-max-xacts":
+                        control().setXacts(Long.parseLong(value));
+                        break;
+                    case "-time-limit":
+                        control().setWallClock((long) (Float.parseFloat(value) * 1000));
+                        break;
+                    default:
+                        throw new IllegalArgumentException("Unknown option " + arg);
+                }
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Not a number for " + arg + ": " + value);
+            }
+        }
+
+        if (modelPath == null) {
+            throw new IllegalArgumentException("No model file given");
+        }
+        if (TC <= 0) {
+            throw new IllegalArgumentException("A positive termination count (-tc) is required");
+        }
+        if (warmUpTime < 0 || warmUpCount < 0) {
+            throw new IllegalArgumentException("The warm-up period can not be negative");
+        }
+        if (replications < 1 || threads < 1) {
+            throw new IllegalArgumentException("Replications and threads must be positive");
+        }
+        if (tracePath != null && replications > 1) {
+            throw new IllegalArgumentException("A trace is only recorded for a single run");
+        }
+        if (profile && replications > 1) {
+            throw new IllegalArgumentException("The engine is only profiled for a single run");
+        }
+        if (sampled != null && replications > 1) {
+            throw new IllegalArgumentException("SNAs are only sampled for a single run");
+        }
+        if (!(interval > 0)) {
+            throw new IllegalArgumentException("The sampling interval must be positive");
+        }
+        if (control != null && (control.getEvents() <= 0 || control.getXacts() <= 0 || control.getWallClock() < 0)) {
+            throw new IllegalArgumentException("The run limits must be positive");
+        }
+        for (String report : reports) {
+            if (!Arrays.asList("txt", "csv", "html", "pdf").contains(report)) {
+                throw new IllegalArgumentException("Unknown report type " + report);
+            }
+        }
+        if (outPath == null) {
+            outPath = modelPath.replaceFirst("\\.[^./\\\\]*$", "") + "-report";
+        }
+    }
+
+    private RunControl control() {
+        if (control == null) {
+            control = new RunControl();
+        }
+        return control;
+    }
+
+    private void writeReports(Model model) throws Exception {
+
+        List<Report> writers = new ArrayList<>();
+
+        for (String type : reports) {
+            switch (type) {
+                case "txt":
+                    writers.add(new TxtReport());
+                    break;
+                case "csv":
+                    writers.add(new CSVReport());
+                    break;
+                case "pdf":
+                    writers.add(new PDFReport());
+                    break;
+                case "html":
+                    writeHTMLReport(model);
+                    break;
+            }
+        }
+
+        for (Report report : writers) {
+            report.createReport(model, outPath);
+        }
+    }
+
+    /**
+     * The HTML report is built in memory for the screen, so it is written here
+     */
+    private void writeHTMLReport(Model model) throws Exception {
+
+        HTMLReport html = new HTMLReport();
+        html.createReport(model, outPath);
+
+        @Cleanup
+        PrintWriter writer = new PrintWriter(outPath + ".html");
+        writer.print(html.getHTMLreport());
+    }
+
+    private void printUsage() {
+        System.err.println("Usage: BatchController model.txt -tc N [-seed S] [-warmup T | -warmup-tc N] [-replications R] [-threads T]"
+                + " [-report txt,csv,html,pdf] [-out path] [-trace file]"
+                + " [-sample SNA,... [-interval T]] [-until T] [-max-events N] [-max-xacts N] [-time-limit S] [-profile]");
+    }
+}
@@ -0,0 +1,57 @@
+/**
+ * Software end-user license agreement.
+ *
+ * The LICENSE.TXT containing the license is located in the JGPSS project.
+ * License.txt can be downloaded here:
+ * href="http://www-eio.upc.es/~Pau/index.php?q=node/28
+ *
+ * NOTICE TO THE USER: BY COPYING, INSTALLING OR USING THIS SOFTWARE OR PART OF
+ * THIS SOFTWARE, YOU AGREE TO THE   TERMS AND CONDITIONS OF THE LICENSE AGREEMENT
+ * AS IF IT WERE A WRITTEN AGREEMENT NEGOTIATED AND SIGNED BY YOU. THE LICENSE
+ * AGREEMENT IS ENFORCEABLE AGAINST YOU AND ANY OTHER LEGAL PERSON ACTING ON YOUR
+ * BEHALF.
+ * IF, AFTER READING THE TERMS AND CONDITIONS HEREIN, YOU DO NOT AGREE TO THEM,
+ * YOU MAY NOT INSTALL THIS SOFTWARE ON YOUR COMPUTER.
+ * UPC IS THE OWNER OF ALL THE INTELLECTUAL PROPERTY OF THE SOFTWARE AND ONLY
+ * AUTHORIZES YOU TO USE THE SOFTWARE IN ACCORDANCE WITH THE TERMS SET OUT IN
+ * THE LICENSE AGREEMENT.
+ */
+package controllers;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import model.StopReason;
+
+/**
+ * State of a running model taken by the simulation thread, so the user
+ * interface shows it without reading the model while it runs.
+ *
+ * @author Ezequiel Andujar Montes
+ */
+@Getter
+@AllArgsConstructor
+public class RunProgress {
+
+    private final float clock;
+    private final int TC;
+
+    /**
+     * Blocks executed since the model was initialized
+     */
+    private final long events;
+
+    /**
+     * Blocks executed per wall clock second since the previous progress
+     */
+    private final double eventsPerSecond;
+
+    /**
+     * HTML report of the model, null if it was not built with this progress
+     */
+    private final String report;
+
+    /**
+     * Why the run stopped, null while it runs
+     */
+    private final StopReason reason;
+}
@@ -0,0 +1,192 @@
+/**
+ * Software end-user license agreement.
+ *
+ * The LICENSE.TXT containing the license is located in the JGPSS project.
+ * License.txt can be downloaded here:
+ * href="http://www-eio.upc.es/~Pau/index.php?q=node/28
+ *
+ * NOTICE TO THE USER: BY COPYING, INSTALLING OR USING THIS SOFTWARE OR PART OF
+ * THIS SOFTWARE, YOU AGREE TO THE   TERMS AND CONDITIONS OF THE LICENSE AGREEMENT
+ * AS IF IT WERE A WRITTEN AGREEMENT NEGOTIATED AND SIGNED BY YOU. THE LICENSE
+ * AGREEMENT IS ENFORCEABLE AGAINST YOU AND ANY OTHER LEGAL PERSON ACTING ON YOUR
+ * BEHALF.
+ * IF, AFTER READING THE TERMS AND CONDITIONS HEREIN, YOU DO NOT AGREE TO THEM,
+ * YOU MAY NOT INSTALL THIS SOFTWARE ON YOUR COMPUTER.
+ * UPC IS THE OWNER OF ALL THE INTELLECTUAL PROPERTY OF THE SOFTWARE AND ONLY
+ * AUTHORIZES YOU TO USE THE SOFTWARE IN ACCORDANCE WITH THE TERMS SET OUT IN
+ * THE LICENSE AGREEMENT.
+ */
+package controllers;
+
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import javax.swing.SwingWorker;
+import model.Model;
+import model.RunControl;
+import model.StopReason;
+import model.reports.HTMLReport;
+
+/**
+ * Runs a model on a worker thread, so the user interface keeps responding
+ * during long runs. The model is run by Model.run with the given stopping
+ * rules, and its progress is published from the rules monitor at most every
+ * REFRESH, with an HTML report at most every REPORT_REFRESH. Only the last
+ * progress of a refresh reaches the user interface.
+ *
+ * While the worker runs the model must not be used by other threads. A run
+ * is stopped with stop, between two scan phases; cancel is not used because
+ * it finishes the worker before the model stops.
+ *
+ * <pre>
+ * new SimulationWorker(model, true) {
+ *     protected void progress(RunProgress p) { ... }
+ *     protected void finished(RunProgress p, Exception error) { ... }
+ * }.execute();
+ * </pre>
+ *
+ * @author Ezequiel Andujar Montes
+ */
+public class SimulationWorker extends SwingWorker<RunProgress, RunProgress> {
+
+    /**
+     * Nanoseconds between two progress refreshes
+     */
+    public static final long REFRESH = 100_000_000L;
+
+    /**
+     * Nanoseconds between two report refreshes
+     */
+    public static final long REPORT_REFRESH = 1_000_000_000L;
+
+    private final Model model;
+    private final boolean initialize;
+    private final RunControl control;
+
+    private long lastTime;
+    private long lastEvents;
+    private long nextRefresh;
+    private long nextReport;
+
+    /**
+     * Runs the model until its termination count reaches 0
+     *
+     * @param model the model to run
+     * @param initialize if the model is initialized before the run, as
+     * Model.execute does, or it goes on from its current state
+     */
+    public SimulationWorker(Model model, boolean initialize) {
+        this(model, initialize, new RunControl());
+    }
+
+    /**
+     * Runs the model until its termination count reaches 0 or a rule of the
+     * control holds. The monitor of the control is replaced by the one of
+     * the worker.
+     *
+     * @param model the model to run
+     * @param initialize if the model is initialized before the run
+     * @param control the stopping rules
+     */
+    public SimulationWorker(Model model, boolean initialize, RunControl control) {
+        this.model = model;
+        this.initialize = initialize;
+        this.control = control;
+    }
+
+    /**
+     * Asks the run to stop before the next scan phase
+     */
+    public void stop() {
+        control.stop();
+    }
+
+    public boolean isStopped() {
+        return control.isStopped();
+    }
+
+    /**
+     * Called on the event dispatch thread with the last progress published
+     *
+     * @param progress
+     */
+    protected void progress(RunProgress progress) {
+    }
+
+    /**
+     * Called on the event dispatch thread when the run ends, after the
+     * model stopped
+     *
+     * @param progress the state at the end of the run, with its report and
+     * stop reason, or null if the run failed
+     * @param error the error that ended the run, null if none
+     */
+    protected void finished(RunProgress progress, Exception error) {
+    }
+
+    @Override
+    protected RunProgress doInBackground() throws Exception {
+
+        if (initialize) {
+            model.initialize();
+        }
+
+        lastTime = System.nanoTime();
+        lastEvents = model.getEvents();
+        nextRefresh = lastTime + REFRESH;
+        nextReport = lastTime + REPORT_REFRESH;
+
+        control.setMonitor(m -> {
+            long now = System.nanoTime();
+            if (now >= nextRefresh) {
+                boolean report = now >= nextReport;
+                publish(snapshot(now, report, null));
+                nextRefresh = now + REFRESH;
+                if (report) {
+                    nextReport = now + REPORT_REFRESH;
+                }
+            }
+        });
+
+        StopReason reason = model.getTC() > 0 ? model.run(control) : StopReason.TERMINATED;
+        return snapshot(System.nanoTime(), true, reason);
+    }
+
+    @Override
+    protected void process(List<RunProgress> chunks) {
+        progress(chunks.get(chunks.size() - 1));
+    }
+
+    @Override
+    protected void done() {
+
+        try {
+            finished(get(), null);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            finished(null, cause instanceof Exception ? (Exception) cause : new Exception(cause));
+        } catch (InterruptedException e) {
+            finished(null, e);
+        }
+    }
+
+    /**
+     * Takes the state of the model, on the simulation thread
+     */
+    private RunProgress snapshot(long now, boolean report, StopReason reason) throws Exception {
+
+        long events = model.getEvents();
+        double seconds = (now - lastTime) / 1e9;
+        double rate = seconds > 0 ? (events - lastEvents) / seconds : 0;
+        lastTime = now;
+        lastEvents = events;
+
+        String html = null;
+        if (report) {
+            HTMLReport htmlReport = new HTMLReport();
+            htmlReport.createReport(model, "");
+            html = htmlReport.getHTMLreport();
+        }
+
+        return new RunProgress(model.getRelativeClock(), model.getTC(), events, rate, html, reason);
+    }
+}
@@ -28,5 +28,9 @@ public class InitializeBlockError extends Exception{
     
     public InitializeBlockError() {
         super("An error ocurred while initializing Generate blocks");
-    }    
+    }
+
+    public InitializeBlockError(String message) {
+        super(message);
+    }
 }
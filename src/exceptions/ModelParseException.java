@@ -0,0 +1,57 @@
+/**
+ * Software end-user license agreement.
+ *
+ * The LICENSE.TXT containing the license is located in the JGPSS project.
+ * License.txt can be downloaded here:
+ * href="http://www-eio.upc.es/~Pau/index.php?q=node/28
+ *
+ * NOTICE TO THE USER: BY COPYING, INSTALLING OR USING THIS SOFTWARE OR PART OF
+ * THIS SOFTWARE, YOU AGREE TO THE   TERMS AND CONDITIONS OF THE LICENSE AGREEMENT
+ * AS IF IT WERE A WRITTEN AGREEMENT NEGOTIATED AND SIGNED BY YOU. THE LICENSE
+ * AGREEMENT IS ENFORCEABLE AGAINST YOU AND ANY OTHER LEGAL PERSON ACTING ON YOUR
+ * BEHALF.
+ * IF, AFTER READING THE TERMS AND CONDITIONS HEREIN, YOU DO NOT AGREE TO THEM,
+ * YOU MAY NOT INSTALL THIS SOFTWARE ON YOUR COMPUTER.
+ * UPC IS THE OWNER OF ALL THE INTELLECTUAL PROPERTY OF THE SOFTWARE AND ONLY
+ * AUTHORIZES YOU TO USE THE SOFTWARE IN ACCORDANCE WITH THE TERMS SET OUT IN
+ * THE LICENSE AGREEMENT.
+ */
+package exceptions;
+
+import lombok.Getter;
+
+/**
+ * Error found while reading a model in text format, at the given line and
+ * column of the source.
+ *
+ * @author Ezequiel Andujar Montes
+ */
+public class ModelParseException extends UnrecognizedModelException {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Line of the error, from 1
+     */
+    @Getter
+    private final int line;
+    /**
+     * Column of the error, from 1
+     */
+    @Getter
+    private final int column;
+
+    /**
+     * Constructs an instance of <code>ModelParseException</code> with the
+     * specified detail message and position.
+     *
+     * @param msg the detail message.
+     * @param line the line of the error
+     * @param column the column of the error
+     */
+    public ModelParseException(String msg, int line, int column) {
+        super("Line " + line + ", column " + column + ": " + msg);
+        this.line = line;
+        this.column = column;
+    }
+}
@@ -29,5 +29,9 @@ public class ModelSyntaxException extends Exception {
     public ModelSyntaxException() {
         super("Model sintax error");
     }
+
+    public ModelSyntaxException(String message) {
+        super(message);
+    }
     
 }
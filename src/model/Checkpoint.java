@@ -0,0 +1,128 @@
+/**
+ * Software end-user license agreement.
+ *
+ * The LICENSE.TXT containing the license is located in the JGPSS project.
+ * License.txt can be downloaded here:
+ * href="http://www-eio.upc.es/~Pau/index.php?q=node/28
+ *
+ * NOTICE TO THE USER: BY COPYING, INSTALLING OR USING THIS SOFTWARE OR PART OF
+ * THIS SOFTWARE, YOU AGREE TO THE   TERMS AND CONDITIONS OF THE LICENSE AGREEMENT
+ * AS IF IT WERE A WRITTEN AGREEMENT NEGOTIATED AND SIGNED BY YOU. THE LICENSE
+ * AGREEMENT IS ENFORCEABLE AGAINST YOU AND ANY OTHER LEGAL PERSON ACTING ON YOUR
+ * BEHALF.
+ * IF, AFTER READING THE TERMS AND CONDITIONS HEREIN, YOU DO NOT AGREE TO THEM,
+ * YOU MAY NOT INSTALL THIS SOFTWARE ON YOUR COMPUTER.
+ * UPC IS THE OWNER OF ALL THE INTELLECTUAL PROPERTY OF THE SOFTWARE AND ONLY
+ * AUTHORIZES YOU TO USE THE SOFTWARE IN ACCORDANCE WITH THE TERMS SET OUT IN
+ * THE LICENSE AGREEMENT.
+ */
+package model;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import lombok.Cleanup;
+
+/**
+ * A snapshot of the complete state of a running model: clock, event chains,
+ * transactions, entity statistics and random number streams. The state is
+ * kept serialized and compressed, so it can be stored, and every restore
+ * returns a new independent model. Many forks can then go on from the same
+ * warmed-up state.
+ *
+ * <pre>
+ * model.setWarmUpTime(1000);
+ * model.initialize();
+ * Checkpoint checkpoint = new Checkpoint(model);
+ *
+ * Model fork = checkpoint.restore();
+ * fork.getFacilities().get("server").setMaxCapacity(2);
+ * fork.executeAll();
+ * </pre>
+ *
+ * @author Ezequiel Andujar Montes
+ */
+public final class Checkpoint {
+
+    private final byte[] state;
+
+    /**
+     * Takes a snapshot of the model. The model can go on running after it.
+     *
+     * @param model
+     * @throws IOException if an element of the model can not be serialized
+     */
+    public Checkpoint(Model model) throws IOException {
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream oos = new ObjectOutputStream(new GZIPOutputStream(bytes))) {
+            oos.writeObject(model);
+        }
+        state = bytes.toByteArray();
+    }
+
+    private Checkpoint(byte[] state) {
+        this.state = state;
+    }
+
+    /**
+     * Returns a new model in the state of the snapshot. The model is already
+     * linked, so it is run with executeAll or executeStep.
+     *
+     * @return
+     * @throws IOException
+     * @throws ClassNotFoundException
+     */
+    public Model restore() throws IOException, ClassNotFoundException {
+
+        @Cleanup
+        ObjectInputStream ois = new ObjectInputStream(new GZIPInputStream(new ByteArrayInputStream(state)));
+        return (Model) ois.readObject();
+    }
+
+    /**
+     * Returns the size of the compressed state in bytes
+     *
+     * @return
+     */
+    public int size() {
+        return state.length;
+    }
+
+    /**
+     * Writes the checkpoint to out
+     *
+     * @param out
+     * @throws IOException
+     */
+    public void write(OutputStream out) throws IOException {
+
+        DataOutputStream data = new DataOutputStream(out);
+        data.writeInt(state.length);
+        data.write(state);
+        data.flush();
+    }
+
+    /**
+     * Reads a checkpoint written by write
+     *
+     * @param in
+     * @return
+     * @throws IOException
+     */
+    public static Checkpoint read(InputStream in) throws IOException {
+
+        DataInputStream data = new DataInputStream(in);
+        byte[] state = new byte[data.readInt()];
+        data.readFully(state);
+        return new Checkpoint(state);
+    }
+}
@@ -18,21 +18,24 @@
  */
 package model;
 
-import lombok.AllArgsConstructor;
-import lombok.Data;
+import java.io.Serializable;
+import model.entities.Xact;
 
 /**
+ * An SNA operand compiled by {@link SNACompiler}. Evaluates to a primitive
+ * value without parsing the operand again.
  *
  * @author Ezequiel Andujar Montes
  */
-@Data
-@AllArgsConstructor
-public class TimeRecord {
+@FunctionalInterface
+public interface CompiledSNA extends Serializable {
 
-    private float startTime;
-    private float endTime;
-
-    public float totalTime() {
-        return endTime - startTime;
-    }
+    /**
+     * Evaluates the operand for the given Xact
+     *
+     * @param tr the active transaction
+     * @return
+     * @throws Exception if the referenced entity or parameter is not found
+     */
+    double evaluate(Xact tr) throws Exception;
 }
@@ -5,12 +5,16 @@
  */
 package model;
 
+import java.io.Serializable;
+
 /**
  *
  * @author Ezequiel Andujar Montes
  * @param <T> Matrix Type
  */
-public class Matrix<T> {
+public class Matrix<T> implements Serializable {
+
+    private static final long serialVersionUID = 1L;
 
     private final T[][] m;
     private final int rows;
@@ -21,16 +21,25 @@ package model;
 import model.entities.QueueReport;
 import model.entities.Storage;
 import model.entities.Xact;
+import exceptions.InitializeBlockError;
+import exceptions.MalformedFunctionDistributionException;
 import model.blocks.Generate;
 import model.blocks.Bloc;
 import model.blocks.Facility;
 import java.io.Serializable;
 import java.util.*;
 import lombok.Data;
+import model.chains.EventChain;
+import model.chains.EventChainType;
 import model.entities.AmperVariable;
 import model.entities.Function;
 import model.entities.LogicSwitch;
 import model.entities.SaveValue;
+import model.entities.rng.RandomStream;
+import model.profiling.EngineProfiler;
+import model.sampling.SNASampler;
+import model.trace.TraceEvent;
+import model.trace.TraceRecorder;
 import utils.Constants;
 
 /**
@@ -67,7 +76,12 @@ public final class Model implements Serializable {
     /**
      * Future Event Chain
      */
-    private PriorityQueue<Xact> FEC;
+    private EventChain FEC;
+
+    /**
+     * Implementation used for the Future Event Chain
+     */
+    private EventChainType FECType;
 
     /**
      * Blocked Event Chain
@@ -82,6 +96,16 @@ public final class Model implements Serializable {
     private HashMap<String, Facility> facilities;
     private HashMap<String, QueueReport> queues;
 
+    /**
+     * Seed of the random number streams
+     */
+    private long seed;
+
+    /**
+     * Random number streams RN1..RNn, created on first use. Index 0 is RN1.
+     */
+    private ArrayList<RandomStream> randomStreams;
+
     /**
      * The transaction counter.
      */
@@ -102,6 +126,42 @@ public final class Model implements Serializable {
      */
     private float relativeClock;
 
+    /**
+     * Recorder of the Xact moves, null when the run is not traced.
+     */
+    private transient TraceRecorder trace;
+
+    /**
+     * Sampler of SNAs at fixed time intervals, null when nothing is sampled.
+     */
+    private transient SNASampler sampler;
+
+    /**
+     * Counters of the engine, null when the run is not profiled.
+     */
+    private transient EngineProfiler profiler;
+
+    /**
+     * Blocks executed by the Xacts since the model was initialized.
+     */
+    private long events;
+
+    /**
+     * Clock of the last statistics reset, where the reported period starts.
+     */
+    private float startTime;
+
+    /**
+     * Clock the model runs to before the statistics are reset, 0 for none.
+     */
+    private float warmUpTime;
+
+    /**
+     * Terminations the model runs before the statistics are reset, 0 for
+     * none. Terminations in the warm-up are not counted in TC.
+     */
+    private int warmUpCount;
+
     public Model() {
 
         proces = new ArrayList<>();
@@ -114,17 +174,19 @@ public final class Model implements Serializable {
         absoluteClock = new ArrayList<>();
 
         CEC = new PriorityQueue<>(1000, this.getPriorityComparator());
-        FEC = new PriorityQueue<>(1000, this.getTimeComparator());
+        FECType = EventChainType.AUTO;
+        FEC = FECType.create(this.getTimeComparator());
         BEC = new HashMap<>();
 
         preemptedXacts = new HashMap<>();
         facilities = new HashMap<>();
 
         queues = new HashMap<>();
+        randomStreams = new ArrayList<>();
     }
 
     public Comparator<Xact> getPriorityComparator() {
-        return (Xact o1, Xact o2) -> {
+        return (Comparator<Xact> & Serializable) (Xact o1, Xact o2) -> {
             if (o1.getPriority() > o2.getPriority()) {
                 return -1;
             } else if (o1.getPriority() == o2.getPriority()) {
@@ -136,7 +198,7 @@ public final class Model implements Serializable {
     }
 
     public Comparator<Xact> getTimeComparator() {
-        return (Xact o1, Xact o2) -> {
+        return (Comparator<Xact> & Serializable) (Xact o1, Xact o2) -> {
             if (o1.getMoveTime() < o2.getMoveTime()) {
                 return -1;
             } else if (o1.getMoveTime() == o2.getMoveTime()) {
@@ -147,6 +209,23 @@ public final class Model implements Serializable {
         };
     }
 
+    /**
+     * Selects the implementation of the Future Event Chain. The Xacts already
+     * scheduled are moved to the new chain.
+     *
+     * @param FECType
+     */
+    public void setFECType(EventChainType FECType) {
+
+        EventChain chain = FECType.create(getTimeComparator());
+        Xact xact;
+        while ((xact = FEC.poll()) != null) {
+            chain.add(xact);
+        }
+        this.FECType = FECType;
+        this.FEC = chain;
+    }
+
     public Float getAbsoluteClock() {
 
         Float sum = 0f;
@@ -182,17 +261,8 @@ public final class Model implements Serializable {
      */
     public boolean preempted(Xact relatedXact) {
 
-        while (preemptedXacts.entrySet().iterator().hasNext()) {
-
-            Map.Entry<String, PriorityQueue<Xact>> pair;
-            pair = preemptedXacts.entrySet().iterator().next();
-            PriorityQueue<Xact> preempted = pair.getValue();
-
-            if (preempted.contains(relatedXact)) {
-                return true;
-            }
-        }
-        return false;
+        return preemptedXacts.values().stream()//
+                .anyMatch(preempted -> preempted.contains(relatedXact));
     }
 
     /**
@@ -231,6 +301,67 @@ public final class Model implements Serializable {
         }
     }
 
+    /**
+     * Links the model before the simulation. Every block binds its operands
+     * to the blocks and entities they refer to, so the facilities, storages
+     * and queues are created before the first Xact moves.
+     *
+     * @throws InitializeBlockError if a block refers to an unknown label or
+     * entity
+     */
+    public void link() throws InitializeBlockError {
+
+        for (Function f : functions) {
+            try {
+                f.link(this);
+            } catch (MalformedFunctionDistributionException e) {
+                throw new InitializeBlockError("Malformed function " + f.getName());
+            }
+        }
+
+        int number = 0;
+
+        for (Proces p : proces) {
+            for (Bloc b : p.getBlocs()) {
+                b.setNumber(number++);
+                b.link();
+                if (b.getGna() != null) {
+                    b.getGna().setStream(getRandomStream(1));
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the random number stream RNnumber. Each stream is seeded from
+     * the model seed and its number, so the same seed gives the same run.
+     *
+     * @param number the stream number, from 1
+     * @return
+     */
+    public RandomStream getRandomStream(int number) {
+
+        if (number < 1) {
+            throw new IllegalArgumentException("Random number stream RN" + number + " does not exist");
+        }
+
+        while (randomStreams.size() < number) {
+            randomStreams.add(new RandomStream(RandomStream.mix(seed) + randomStreams.size() + 1));
+        }
+        return randomStreams.get(number - 1);
+    }
+
+    /**
+     * Sets the seed of the random number streams. The streams are created
+     * again from the new seed.
+     *
+     * @param seed
+     */
+    public void setSeed(long seed) {
+        this.seed = seed;
+        randomStreams.clear();
+    }
+
     public int blocIndex(String bloc, Proces proces) {
 
         for (int k = 0; k < proces.getBlocs().size(); k++) {
@@ -259,6 +390,85 @@ public final class Model implements Serializable {
         return null;
     }
 
+    /**
+     * Returns the facility with the given name, creating it and registering
+     * its delay chain on the BEC if it does not exist yet. A facility named
+     * after a storage takes the storage capacity.
+     *
+     * @param name the facility name
+     * @return
+     */
+    public Facility getFacility(String name) {
+
+        Facility facility = facilities.get(name);
+
+        if (facility == null) {
+            Storage storage = getStorage(name);
+            facility = getFacility(name, storage != null ? storage.getValor() : 1);
+        }
+        return facility;
+    }
+
+    /**
+     * Returns the facility with the given name, creating it with the given
+     * capacity and registering its delay chain on the BEC if it does not exist
+     * yet.
+     *
+     * @param name the facility name
+     * @param capacity the capacity used when the facility is created
+     * @return
+     */
+    public Facility getFacility(String name, int capacity) {
+
+        Facility facility = facilities.get(name);
+
+        if (facility == null) {
+            facility = new Facility(this, capacity);
+            facilities.put(name, facility);
+            BEC.put(name, facility.getDelayChain());
+        }
+        return facility;
+    }
+
+    /**
+     * Returns the queue with the given name, creating it if it does not exist
+     * yet.
+     *
+     * @param name the queue name
+     * @return
+     */
+    public QueueReport getQueue(String name) {
+
+        QueueReport queue = queues.get(name);
+
+        if (queue == null) {
+            queue = new QueueReport(this);
+            queues.put(name, queue);
+        }
+        return queue;
+    }
+
+    /**
+     * Returns the logic switch with the given name, creating it in the reset
+     * state if it does not exist yet.
+     *
+     * @param name the logic switch name
+     * @return
+     */
+    public LogicSwitch getSwitch(String name) {
+
+        LogicSwitch logicSwitch = switches.stream()//
+                .filter(ls -> ls.getName().equals(name))//
+                .findFirst()//
+                .orElse(null);
+
+        if (logicSwitch == null) {
+            logicSwitch = new LogicSwitch(name, false);
+            switches.add(logicSwitch);
+        }
+        return logicSwitch;
+    }
+
     public Storage getStorage(String sn) {
 
         return storages.stream()//
@@ -272,14 +482,17 @@ public final class Model implements Serializable {
      */
     public void clean() {
         relativeClock = 0;
+        startTime = 0;
+        events = 0;
         CEC.clear();
         FEC.clear();
-        BEC.clear();
+        BEC.forEach((k, v) -> v.clear());
         saveValues.forEach(sv -> sv.reset());
         facilities.forEach((k, v) -> v.clean());
         queues.forEach((k, v) -> v.clean());
         amperVariables.forEach(av -> av.reset());
         preemptedXacts.forEach((k, v) -> v.clear());
+        randomStreams.forEach(rs -> rs.reset());
 
         proces.stream().forEach(p -> {
             p.getBlocs().stream().forEach(b -> {                
@@ -288,6 +501,32 @@ public final class Model implements Serializable {
         });
     }
 
+    /**
+     * Discards the statistics gathered so far, like the GPSS RESET command.
+     * Transactions, chains and entity states are kept, so the run goes on
+     * from the current state and only the reported period starts again.
+     */
+    public void reset() {
+        startTime = relativeClock;
+        facilities.forEach((k, v) -> v.reset());
+        queues.forEach((k, v) -> v.reset());
+
+        proces.stream().forEach(p -> {
+            p.getBlocs().stream().forEach(b -> {
+                b.reset();
+            });
+        });
+    }
+
+    /**
+     * Returns the simulated time since the last statistics reset
+     *
+     * @return
+     */
+    public float getElapsedTime() {
+        return relativeClock - startTime;
+    }
+
     /**
      * To execute the simulation model.
      *
@@ -295,8 +534,7 @@ public final class Model implements Serializable {
      * @throws java.lang.Exception
      */
     public void execute(boolean b) throws Exception {
-        relativeClock = 0;
-        InitializeGenerateBocs();
+        initialize();
         if (!b) {
             executeAll();
         } else {
@@ -304,6 +542,22 @@ public final class Model implements Serializable {
         }
     }
 
+    /**
+     * Links the model, schedules the first transactions and runs the warm-up
+     * period, if any, leaving the model ready to be run by executeAll or
+     * checkpointed.
+     *
+     * @throws java.lang.Exception
+     */
+    public void initialize() throws Exception {
+        relativeClock = 0;
+        startTime = 0;
+        events = 0;
+        link();
+        InitializeGenerateBocs();
+        warmUp();
+    }
+
     /**
      * To execute the simulation model.
      *
@@ -319,7 +573,6 @@ public final class Model implements Serializable {
             clockUpdatedPhase();
 
         }
-        updateCurrentCount();
         System.out.println("Simulation terminated");
     }
 
@@ -336,29 +589,199 @@ public final class Model implements Serializable {
             scanPhase();
             clockUpdatedPhase();
         }
-        updateCurrentCount();
+    }
+
+    /**
+     * Runs the model until its termination count reaches 0 or one of the
+     * stopping rules of the control holds. The rules are checked between two
+     * scan phases, so the model can be run again from where it stopped. When
+     * the time horizon stops the run the clock is moved to it.
+     *
+     * @param control the stopping rules
+     * @return why the run stopped
+     * @throws java.lang.Exception
+     */
+    public StopReason run(RunControl control) throws Exception {
+
+        long maxEvents = control.getEvents() == Long.MAX_VALUE ? Long.MAX_VALUE : events + control.getEvents();
+        long maxXacts = control.getXacts() == Long.MAX_VALUE ? Long.MAX_VALUE : idxact + control.getXacts();
+        long deadline = System.nanoTime() + control.getWallClock() * 1_000_000L;
+        float time = control.getTime();
+
+        CompiledSNA conditionA = null;
+        CompiledSNA conditionB = null;
+        if (control.getRelation() != null) {
+            conditionA = SNACompiler.compile(control.getA(), this);
+            conditionB = SNACompiler.compile(control.getB(), this);
+        }
+
+        int steps = 0;
+
+        while (true) {
+
+            scanPhase();
+
+            if (TC <= 0) {
+                clockUpdatedPhase();
+                return StopReason.TERMINATED;
+            }
+            if (control.isStopped()) {
+                return StopReason.STOPPED;
+            }
+            if (events >= maxEvents) {
+                return StopReason.EVENTS;
+            }
+            if (idxact >= maxXacts) {
+                return StopReason.XACTS;
+            }
+            if (conditionA != null && control.holds(conditionA.evaluate(null), conditionB.evaluate(null))) {
+                return StopReason.CONDITION;
+            }
+            if (++steps == RunControl.CHECK_STEPS) {
+                steps = 0;
+                if (control.getWallClock() > 0 && System.nanoTime() - deadline >= 0) {
+                    return StopReason.WALL_CLOCK;
+                }
+                if (control.getMonitor() != null) {
+                    control.getMonitor().check(this);
+                }
+            }
+
+            Xact next = FEC.peek();
+            if (next == null) {
+                return StopReason.EMPTY;
+            }
+            if (next.getMoveTime() > time) {
+                if (sampler != null) {
+                    sampler.sample(time);
+                }
+                relativeClock = Math.max(relativeClock, time);
+                return StopReason.TIME;
+            }
+
+            clockUpdatedPhase();
+        }
+    }
+
+    /**
+     * Runs the warm-up period, if any, and resets the statistics at its end.
+     * The warm-up ends at warmUpTime, or after warmUpCount terminations.
+     *
+     * @throws Exception
+     */
+    private void warmUp() throws Exception {
+
+        if (warmUpCount > 0) {
+            int runCount = TC;
+            TC = warmUpCount;
+
+            while (true) {
+                scanPhase();
+                if (TC <= 0) {
+                    break;
+                }
+                clockUpdatedPhase();
+            }
+            TC = runCount;
+            reset();
+
+        } else if (warmUpTime > 0) {
+            int runCount = TC;
+            TC = Integer.MAX_VALUE;
+
+            while (true) {
+                scanPhase();
+                Xact next = FEC.peek();
+                if (next == null || next.getMoveTime() > warmUpTime) {
+                    relativeClock = Math.max(relativeClock, warmUpTime);
+                    break;
+                }
+                clockUpdatedPhase();
+            }
+            TC = runCount;
+            reset();
+        }
     }
 
     private void scanPhase() throws Exception {
+        if (profiler != null) {
+            profiledScanPhase();
+            return;
+        }
         Xact xact = CEC.poll();
         while (xact != null) {
             Bloc b = xact.getBloc();
             do {
+                Bloc from = b;
                 b = b.execute(xact);
+                events++;
+                if (trace != null) {
+                    trace.record(b != null ? TraceEvent.MOVE : TraceEvent.STOP, relativeClock, xact, from, b);
+                }
+                if (b != null) {
+                    xact.setBloc(b);
+                }
             } while (b != null);
             xact = CEC.poll();
         }
     }
 
-    private void clockUpdatedPhase() {
+    /**
+     * Same as the scan phase, counting and timing every block execution
+     */
+    private void profiledScanPhase() throws Exception {
+        long start = System.nanoTime();
+        long executions = 0;
+        Xact xact = CEC.poll();
+        while (xact != null) {
+            Bloc b = xact.getBloc();
+            long time = System.nanoTime();
+            do {
+                Bloc from = b;
+                b = b.execute(xact);
+                long now = System.nanoTime();
+                profiler.executed(from, now - time);
+                time = now;
+                executions++;
+                events++;
+                if (trace != null) {
+                    trace.record(b != null ? TraceEvent.MOVE : TraceEvent.STOP, relativeClock, xact, from, b);
+                }
+                if (b != null) {
+                    xact.setBloc(b);
+                }
+            } while (b != null);
+            xact = CEC.poll();
+        }
+        profiler.scanned(executions, System.nanoTime() - start);
+    }
+
+    private void clockUpdatedPhase() throws Exception {
+        if (profiler == null) {
+            updateClock();
+            return;
+        }
+        long start = System.nanoTime();
+        updateClock();
+        profiler.clockUpdated(System.nanoTime() - start, CEC.size(), FEC.size());
+    }
+
+    private void updateClock() throws Exception {
 
         Xact xact = FEC.poll();
         if (xact != null) {
 
+            if (sampler != null) {
+                sampler.sample(xact.getMoveTime());
+            }
+
             relativeClock = xact.getMoveTime();
 
             do {
                 CEC.add(xact);
+                if (trace != null) {
+                    trace.record(TraceEvent.ACTIVATE, relativeClock, xact, xact.getBloc(), null);
+                }
                 xact = FEC.poll();
 
             } while (xact != null && xact.getMoveTime() == relativeClock);
@@ -371,46 +794,5 @@ public final class Model implements Serializable {
                 absoluteClock.add(relativeClock);
             }
         }
-        updateBEC();
-    }
-
-    private void updateBEC() {
-        BEC.forEach((name, bloquedXacts) -> {
-
-            Xact xactB = bloquedXacts.poll();
-
-            if (xactB != null) {
-                do {
-
-                    if (xactB.restoreToFEC()) {
-                        FEC.add(xactB);
-                    } else {
-                        CEC.add(xactB);
-                    }
-                    xactB = bloquedXacts.poll();
-
-                } while (xactB != null);
-            }
-        });
-    }
-
-    /**
-     * Updates the current count of the Blocs that has xact left
-     */
-    private void updateCurrentCount() {
-
-        CEC.stream().forEach(xact -> {
-            xact.getBloc().incCurrentCount();
-        });
-
-        FEC.stream().forEach(xact -> {
-            xact.getBloc().incCurrentCount();
-        });
-
-        BEC.forEach((name, bloquedXacts) -> {
-            bloquedXacts.forEach(xact -> {
-                xact.getBloc().incCurrentCount();
-            });
-        });
     }
 }
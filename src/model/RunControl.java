@@ -0,0 +1,192 @@
+/**
+ * Software end-user license agreement.
+ *
+ * The LICENSE.TXT containing the license is located in the JGPSS project.
+ * License.txt can be downloaded here:
+ * href="http://www-eio.upc.es/~Pau/index.php?q=node/28
+ *
+ * NOTICE TO THE USER: BY COPYING, INSTALLING OR USING THIS SOFTWARE OR PART OF
+ * THIS SOFTWARE, YOU AGREE TO THE   TERMS AND CONDITIONS OF THE LICENSE AGREEMENT
+ * AS IF IT WERE A WRITTEN AGREEMENT NEGOTIATED AND SIGNED BY YOU. THE LICENSE
+ * AGREEMENT IS ENFORCEABLE AGAINST YOU AND ANY OTHER LEGAL PERSON ACTING ON YOUR
+ * BEHALF.
+ * IF, AFTER READING THE TERMS AND CONDITIONS HEREIN, YOU DO NOT AGREE TO THEM,
+ * YOU MAY NOT INSTALL THIS SOFTWARE ON YOUR COMPUTER.
+ * UPC IS THE OWNER OF ALL THE INTELLECTUAL PROPERTY OF THE SOFTWARE AND ONLY
+ * AUTHORIZES YOU TO USE THE SOFTWARE IN ACCORDANCE WITH THE TERMS SET OUT IN
+ * THE LICENSE AGREEMENT.
+ */
+package model;
+
+import exceptions.ModelSyntaxException;
+import lombok.Getter;
+import lombok.Setter;
+import model.blocks.Test;
+
+/**
+ * Stopping rules of Model.run, besides the termination count. The rules are
+ * checked between two scan phases: the simulated time horizon, the events
+ * and Xacts limits and the condition after every scan phase, the wall clock
+ * every CHECK_STEPS scan phases. The events and Xacts limits count from the
+ * start of each run, so a run can go on by steps of N events.
+ *
+ * <pre>
+ * RunControl control = new RunControl();
+ * control.setTime(1000);
+ * control.setWallClock(60000);
+ * control.setCondition(Test.GE, "Q$queue", "50");
+ * StopReason reason = model.run(control);
+ * </pre>
+ *
+ * @author Ezequiel Andujar Montes
+ */
+public class RunControl {
+
+    /**
+     * Scan phases between two checks of the wall clock and two calls to the
+     * monitor
+     */
+    public static final int CHECK_STEPS = 256;
+
+    /**
+     * Code run on the simulation thread between two scan phases, where the
+     * model can be read
+     */
+    @FunctionalInterface
+    public interface Monitor {
+
+        void check(Model model) throws Exception;
+    }
+
+    /**
+     * Simulated time horizon, the Xacts moving later are not moved
+     */
+    @Getter
+    @Setter
+    private float time = Float.POSITIVE_INFINITY;
+
+    /**
+     * Maximum blocks executed in a run
+     */
+    @Getter
+    @Setter
+    private long events = Long.MAX_VALUE;
+
+    /**
+     * Maximum Xacts created in a run
+     */
+    @Getter
+    @Setter
+    private long xacts = Long.MAX_VALUE;
+
+    /**
+     * Wall clock budget of a run in milliseconds, 0 for none
+     */
+    @Getter
+    @Setter
+    private long wallClock;
+
+    /**
+     * Called every CHECK_STEPS scan phases, null for none
+     */
+    @Getter
+    @Setter
+    private Monitor monitor;
+
+    /**
+     * Relation operator of the condition, as in the TEST block, null for no
+     * condition
+     */
+    @Getter
+    private String relation;
+    @Getter
+    private String A;
+    @Getter
+    private String B;
+
+    private volatile boolean stopped;
+
+    /**
+     * Returns the rules that run the model up to the given simulated time
+     *
+     * @param time
+     * @return
+     */
+    public static RunControl untilTime(float time) {
+        RunControl control = new RunControl();
+        control.setTime(time);
+        return control;
+    }
+
+    /**
+     * Returns the rules that run the model the given number of events
+     *
+     * @param events
+     * @return
+     */
+    public static RunControl forEvents(long events) {
+        RunControl control = new RunControl();
+        control.setEvents(events);
+        return control;
+    }
+
+    /**
+     * Sets the condition that stops the run, A compared to B with one of the
+     * TEST relation operators
+     *
+     * @param relation E, NE, G, GE, L or LE
+     * @param A an SNA or a number
+     * @param B an SNA or a number
+     * @throws ModelSyntaxException if the relation operator is not known
+     */
+    public void setCondition(String relation, String A, String B) throws ModelSyntaxException {
+
+        switch (relation) {
+            case Test.E:
+            case Test.NE:
+            case Test.G:
+            case Test.GE:
+            case Test.L:
+            case Test.LE:
+                break;
+            default:
+                throw new ModelSyntaxException();
+        }
+        this.relation = relation;
+        this.A = A;
+        this.B = B;
+    }
+
+    /**
+     * Asks the run to stop before the next scan phase, from any thread. A
+     * stopped control stops every later run.
+     */
+    public void stop() {
+        stopped = true;
+    }
+
+    public boolean isStopped() {
+        return stopped;
+    }
+
+    /**
+     * Evaluates the condition for the values of A and B
+     */
+    boolean holds(double a, double b) {
+
+        switch (relation) {
+            case Test.E:
+                return a == b;
+            case Test.NE:
+                return a != b;
+            case Test.G:
+                return a > b;
+            case Test.GE:
+                return a >= b;
+            case Test.L:
+                return a < b;
+            default:
+                return a <= b;
+        }
+    }
+}
@@ -33,7 +33,6 @@ import model.entities.Function;
 import model.entities.QueueReport;
 import model.entities.SaveValue;
 import model.entities.Xact;
-import model.entities.rng.Uniform;
 
 /**
  *
@@ -258,7 +257,7 @@ public class SNA {
 
                 // Returns a random value between 0-999
             } else if (A.matches("RN\\$UNIFORM")) {
-                _A = String.valueOf(new Uniform().generate(999f, 0f));
+                _A = String.valueOf(m.getRandomStream(1).nextInt(1000));
             } // Float value of the string
             // Storage in use
             else if (A.matches("S\\$^[a-zA-Z0-9]+")) {
@@ -280,7 +279,7 @@ public class SNA {
                 Facility storage = m.getFacilities().get(storageName);
 
                 if (storage != null) {
-                    _A = String.valueOf(storage.avgHoldingTime());
+                    _A = String.valueOf(storage.getAvgContent());
                 } else {
                     throw new StorageNotFoundException(storageName);
                 }
@@ -313,10 +312,7 @@ public class SNA {
 
                 String saveValueName = A.split("X\\$")[1];
 
-                SaveValue saveValue = m.getSaveValues().stream()//
-                        .filter(sv -> sv.getName().equals(saveValueName))//
-                        .findFirst()//
-                        .orElse(null);
+                SaveValue saveValue = m.getSaveValue(saveValueName);
 
                 if (saveValue != null) {
                     _A = saveValue.getValue().toString();
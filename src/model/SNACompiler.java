@@ -0,0 +1,337 @@
+/**
+ * Software end-user license agreement.
+ *
+ * The LICENSE.TXT containing the license is located in the JGPSS project.
+ * License.txt can be downloaded here:
+ * href="http://www-eio.upc.es/~Pau/index.php?q=node/28
+ *
+ * NOTICE TO THE USER: BY COPYING, INSTALLING OR USING THIS SOFTWARE OR PART OF
+ * THIS SOFTWARE, YOU AGREE TO THE   TERMS AND CONDITIONS OF THE LICENSE AGREEMENT
+ * AS IF IT WERE A WRITTEN AGREEMENT NEGOTIATED AND SIGNED BY YOU. THE LICENSE
+ * AGREEMENT IS ENFORCEABLE AGAINST YOU AND ANY OTHER LEGAL PERSON ACTING ON YOUR
+ * BEHALF.
+ * IF, AFTER READING THE TERMS AND CONDITIONS HEREIN, YOU DO NOT AGREE TO THEM,
+ * YOU MAY NOT INSTALL THIS SOFTWARE ON YOUR COMPUTER.
+ * UPC IS THE OWNER OF ALL THE INTELLECTUAL PROPERTY OF THE SOFTWARE AND ONLY
+ * AUTHORIZES YOU TO USE THE SOFTWARE IN ACCORDANCE WITH THE TERMS SET OUT IN
+ * THE LICENSE AGREEMENT.
+ */
+package model;
+
+import exceptions.BlockNotFound;
+import exceptions.FacilityNotFoundException;
+import exceptions.FunctionNotFoundException;
+import exceptions.ModelSyntaxException;
+import exceptions.ParameterNotANumberException;
+import exceptions.ParameterNotFoundException;
+import exceptions.QueueNotFoundException;
+import exceptions.SaveValueNotFoundException;
+import exceptions.StorageNotFoundException;
+import exceptions.VariableNotFoundException;
+import java.io.Serializable;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import model.blocks.Bloc;
+import model.blocks.Facility;
+import model.entities.AmperVariable;
+import model.entities.Function;
+import model.entities.QueueReport;
+import model.entities.SaveValue;
+import model.entities.Xact;
+
+/**
+ * Compiles SNA operands into {@link CompiledSNA} evaluators. The operand is
+ * parsed once; the entity it refers to is looked up on the first evaluation
+ * and kept for the following ones.
+ *
+ * @author Ezequiel Andujar Montes
+ */
+public final class SNACompiler {
+
+    private static final Pattern NUMBER = Pattern.compile("[-+]?[0-9]*\\.?[0-9]+([eE][-+]?[0-9]+)?");
+    private static final Pattern RANDOM = Pattern.compile("RN([0-9]+)");
+
+    private SNACompiler() {
+    }
+
+    /**
+     * Looks up the entity an operand refers to
+     *
+     * @param <T> the entity type
+     */
+    @FunctionalInterface
+    private interface Resolver<T> extends Serializable {
+
+        T resolve() throws Exception;
+    }
+
+    /**
+     * Reads the value of a resolved entity
+     *
+     * @param <T> the entity type
+     */
+    @FunctionalInterface
+    private interface Value<T> extends Serializable {
+
+        double of(T entity) throws Exception;
+    }
+
+    /**
+     * Compiles the expression A associated with a number or an SNA
+     *
+     * @param A the operand
+     * @param m the model the operand refers to
+     * @return
+     * @throws ModelSyntaxException if the operand is not a number or a known
+     * SNA
+     */
+    public static CompiledSNA compile(String A, Model m) throws ModelSyntaxException {
+
+        String expression = A == null ? "" : A.trim();
+
+        switch (expression) {
+            // Value of the relative Clock
+            case "C1":
+                return tr -> m.getRelativeClock();
+            // The Xact Assembly Set
+            case "A1":
+                return tr -> tr.getAssemblySet();
+            // Value of the absolute Clock
+            case "AC1":
+                return tr -> m.getAbsoluteClock();
+            // Remaining termination count
+            case "TG1":
+                return tr -> m.getTC();
+            // Active Transaction number
+            case "XN1":
+                return tr -> tr.getID();
+            // Transit time
+            case "M1":
+                return tr -> m.getAbsoluteClock() - tr.getMoveTime();
+            // Transactions priority
+            case "PR":
+                return tr -> tr.getPriority();
+            // Random value between 0-999 from the stream RN1
+            case "RN$UNIFORM":
+                return tr -> m.getRandomStream(1).nextInt(1000);
+            default:
+                break;
+        }
+
+        if (NUMBER.matcher(expression).matches()) {
+            double value = Double.parseDouble(expression);
+            return tr -> value;
+        }
+
+        // Random value between 0-999 from the stream RNn
+        Matcher random = RANDOM.matcher(expression);
+        if (random.matches()) {
+            int stream = Integer.parseInt(random.group(1));
+            if (stream < 1) {
+                throw new ModelSyntaxException();
+            }
+            return tr -> m.getRandomStream(stream).nextInt(1000);
+        }
+
+        int dollar = expression.indexOf('$');
+
+        if (dollar <= 0 || dollar == expression.length() - 1) {
+            throw new ModelSyntaxException();
+        }
+
+        String sna = expression.substring(0, dollar);
+        String name = expression.substring(dollar + 1);
+
+        switch (sna) {
+            // Block entry count
+            case "N":
+                return bind(block(m, name), b -> b.getEntryCount());
+            // Transaction parameter
+            case "P":
+                return tr -> parameter(tr, name);
+            // Facility busy
+            case "F":
+                return bind(facility(m, name), f -> f.getCapturingTransactions() > 0 ? 1 : 0);
+            // Facility capture count
+            case "FC":
+                return bind(facility(m, name), f -> f.getCaptureCount());
+            // Function
+            case "FN":
+                Resolver<Function> function = function(m, name);
+                return new CompiledSNA() {
+                    private static final long serialVersionUID = 1L;
+
+                    private Function f;
+
+                    @Override
+                    public double evaluate(Xact tr) throws Exception {
+                        if (f == null) {
+                            f = function.resolve();
+                        }
+                        return f.value(m, tr);
+                    }
+                };
+            // Transit time from the value in a parameter
+            case "MP":
+                return tr -> m.getAbsoluteClock() - parameter(tr, name);
+            // Queue current count
+            case "Q":
+                return bind(queue(m, name), q -> q.getCurrentCount());
+            // Average queue content
+            case "QA":
+                return bind(queue(m, name), q -> q.getAvgContent());
+            // Queue total entries
+            case "QC":
+                return bind(queue(m, name), q -> q.getTotalEntries());
+            // Queue max length
+            case "QM":
+                return bind(queue(m, name), q -> q.getMaxCount());
+            // Average queue residence time
+            case "QT":
+                return bind(queue(m, name), q -> q.getAvgTime());
+            // Average queue residence time excluding zero entries
+            case "QX":
+                return bind(queue(m, name), q -> q.getAvgTime(true));
+            // Queue zero entry count
+            case "QZ":
+                return bind(queue(m, name), q -> q.getZeroEntries());
+            // Available storage capacity
+            case "R":
+                return bind(storage(m, name), s -> s.getUnusedStorageUnits());
+            // Storage in use
+            case "S":
+                return bind(storage(m, name), s -> s.getCapturingTransactions());
+            // Average storage in use
+            case "SA":
+                return bind(storage(m, name), s -> s.getAvgContent());
+            // Storage empty
+            case "SE":
+                return bind(storage(m, name), s -> s.getCapturingTransactions() == 0 ? 1 : 0);
+            // Storage full
+            case "SM":
+                return bind(storage(m, name), s -> !s.isAvailable() ? 1 : 0);
+            // Value of SaveValue entity
+            case "X":
+                return bind(saveValue(m, name), sv -> sv.getValue());
+            // Value of a numeric variable
+            case "V":
+                return bind(variable(m, name), v -> ((Number) v.getValue()).doubleValue());
+            default:
+                throw new ModelSyntaxException();
+        }
+    }
+
+    /**
+     * Returns an evaluator that resolves its entity on the first call
+     */
+    private static <T> CompiledSNA bind(Resolver<T> resolver, Value<T> value) {
+
+        return new CompiledSNA() {
+            private static final long serialVersionUID = 1L;
+
+            private T entity;
+
+            @Override
+            public double evaluate(Xact tr) throws Exception {
+                if (entity == null) {
+                    entity = resolver.resolve();
+                }
+                return value.of(entity);
+            }
+        };
+    }
+
+    private static double parameter(Xact tr, String name) throws ParameterNotFoundException, ParameterNotANumberException {
+
+        Object param = tr.getParameter(name);
+
+        if (param instanceof Number) {
+            return ((Number) param).doubleValue();
+        } else if (param == null) {
+            throw new ParameterNotFoundException(name);
+        }
+
+        try {
+            return Double.parseDouble(param.toString());
+        } catch (NumberFormatException e) {
+            throw new ParameterNotANumberException(name);
+        }
+    }
+
+    private static Resolver<Bloc> block(Model m, String name) throws ModelSyntaxException {
+
+        int pos;
+        try {
+            pos = Integer.parseInt(name);
+        } catch (NumberFormatException e) {
+            throw new ModelSyntaxException();
+        }
+
+        return () -> m.getProces().stream()//
+                .flatMap(p -> p.getBlocs().stream())//
+                .filter(b -> b.getPos() == pos)//
+                .findFirst()//
+                .orElseThrow(() -> new BlockNotFound(pos));
+    }
+
+    private static Resolver<Facility> facility(Model m, String name) {
+
+        return () -> {
+            Facility facility = m.getFacilities().get(name);
+            if (facility == null) {
+                throw new FacilityNotFoundException(name);
+            }
+            return facility;
+        };
+    }
+
+    private static Resolver<Facility> storage(Model m, String name) {
+
+        return () -> {
+            Facility storage = m.getFacilities().get(name);
+            if (storage == null) {
+                throw new StorageNotFoundException(name);
+            }
+            return storage;
+        };
+    }
+
+    private static Resolver<QueueReport> queue(Model m, String name) {
+
+        return () -> {
+            QueueReport queue = m.getQueues().get(name);
+            if (queue == null) {
+                throw new QueueNotFoundException(name);
+            }
+            return queue;
+        };
+    }
+
+    private static Resolver<Function> function(Model m, String name) {
+
+        return () -> m.getFunctions().stream()//
+                .filter(f -> f.getName().equals(name))//
+                .findFirst()//
+                .orElseThrow(() -> new FunctionNotFoundException(name));
+    }
+
+    private static Resolver<SaveValue> saveValue(Model m, String name) {
+
+        return () -> {
+            SaveValue saveValue = m.getSaveValue(name);
+            if (saveValue == null) {
+                throw new SaveValueNotFoundException(name);
+            }
+            return saveValue;
+        };
+    }
+
+    private static Resolver<AmperVariable<?>> variable(Model m, String name) {
+
+        return () -> m.getAmperVariables().stream()//
+                .filter(v -> v.getName().equals(name))//
+                .filter(v -> v.getValue() instanceof Float || v.getValue() instanceof Integer)//
+                .findFirst()//
+                .orElseThrow(() -> new VariableNotFoundException(name));
+    }
+}
@@ -0,0 +1,60 @@
+/**
+ * Software end-user license agreement.
+ *
+ * The LICENSE.TXT containing the license is located in the JGPSS project.
+ * License.txt can be downloaded here:
+ * href="http://www-eio.upc.es/~Pau/index.php?q=node/28
+ *
+ * NOTICE TO THE USER: BY COPYING, INSTALLING OR USING THIS SOFTWARE OR PART OF
+ * THIS SOFTWARE, YOU AGREE TO THE   TERMS AND CONDITIONS OF THE LICENSE AGREEMENT
+ * AS IF IT WERE A WRITTEN AGREEMENT NEGOTIATED AND SIGNED BY YOU. THE LICENSE
+ * AGREEMENT IS ENFORCEABLE AGAINST YOU AND ANY OTHER LEGAL PERSON ACTING ON YOUR
+ * BEHALF.
+ * IF, AFTER READING THE TERMS AND CONDITIONS HEREIN, YOU DO NOT AGREE TO THEM,
+ * YOU MAY NOT INSTALL THIS SOFTWARE ON YOUR COMPUTER.
+ * UPC IS THE OWNER OF ALL THE INTELLECTUAL PROPERTY OF THE SOFTWARE AND ONLY
+ * AUTHORIZES YOU TO USE THE SOFTWARE IN ACCORDANCE WITH THE TERMS SET OUT IN
+ * THE LICENSE AGREEMENT.
+ */
+package model;
+
+/**
+ * Why Model.run returned.
+ *
+ * @author Ezequiel Andujar Montes
+ */
+public enum StopReason {
+
+    /**
+     * The termination count reached 0
+     */
+    TERMINATED,
+    /**
+     * The next Xact moves after the simulated time horizon
+     */
+    TIME,
+    /**
+     * The maximum number of blocks executed was reached
+     */
+    EVENTS,
+    /**
+     * The maximum number of Xacts created was reached
+     */
+    XACTS,
+    /**
+     * The wall clock budget was spent
+     */
+    WALL_CLOCK,
+    /**
+     * The stop condition holds
+     */
+    CONDITION,
+    /**
+     * The run was asked to stop
+     */
+    STOPPED,
+    /**
+     * No Xact is left to move
+     */
+    EMPTY
+}
@@ -0,0 +1,124 @@
+/**
+ * Software end-user license agreement.
+ *
+ * The LICENSE.TXT containing the license is located in the JGPSS project.
+ * License.txt can be downloaded here:
+ * href="http://www-eio.upc.es/~Pau/index.php?q=node/28
+ *
+ * NOTICE TO THE USER: BY COPYING, INSTALLING OR USING THIS SOFTWARE OR PART OF
+ * THIS SOFTWARE, YOU AGREE TO THE   TERMS AND CONDITIONS OF THE LICENSE AGREEMENT
+ * AS IF IT WERE A WRITTEN AGREEMENT NEGOTIATED AND SIGNED BY YOU. THE LICENSE
+ * AGREEMENT IS ENFORCEABLE AGAINST YOU AND ANY OTHER LEGAL PERSON ACTING ON YOUR
+ * BEHALF.
+ * IF, AFTER READING THE TERMS AND CONDITIONS HEREIN, YOU DO NOT AGREE TO THEM,
+ * YOU MAY NOT INSTALL THIS SOFTWARE ON YOUR COMPUTER.
+ * UPC IS THE OWNER OF ALL THE INTELLECTUAL PROPERTY OF THE SOFTWARE AND ONLY
+ * AUTHORIZES YOU TO USE THE SOFTWARE IN ACCORDANCE WITH THE TERMS SET OUT IN
+ * THE LICENSE AGREEMENT.
+ */
+package model;
+
+import java.io.Serializable;
+import lombok.Getter;
+
+/**
+ * Time-weighted statistic of a level that changes over the simulation, like
+ * the content of a queue or a facility. The integral of the level over time
+ * is kept incrementally, so averages are read in constant time.
+ *
+ * @author Ezequiel Andujar Montes
+ */
+public class TimeWeightedStatistic implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Current level
+     */
+    @Getter
+    private double value;
+    /**
+     * Maximum level reached
+     */
+    @Getter
+    private double max;
+    private double area;
+    private float lastTime;
+    private float startTime;
+
+    public TimeWeightedStatistic() {
+        clear();
+    }
+
+    /**
+     * Changes the level at the given time
+     *
+     * @param time the current clock
+     * @param newValue the new level
+     */
+    public void update(float time, double newValue) {
+
+        area += value * (time - lastTime);
+        lastTime = time;
+        value = newValue;
+
+        if (newValue > max) {
+            max = newValue;
+        }
+    }
+
+    /**
+     * Adds delta to the level at the given time
+     *
+     * @param time the current clock
+     * @param delta the change of the level
+     */
+    public void add(float time, double delta) {
+        update(time, value + delta);
+    }
+
+    /**
+     * Returns the integral of the level from the start up to the given time
+     *
+     * @param time the current clock
+     * @return
+     */
+    public double integral(float time) {
+        return area + value * (time - lastTime);
+    }
+
+    /**
+     * Returns the time-weighted mean of the level up to the given time
+     *
+     * @param time the current clock
+     * @return
+     */
+    public double mean(float time) {
+        float elapsed = time - startTime;
+        return elapsed > 0 ? integral(time) / elapsed : 0;
+    }
+
+    /**
+     * Discards the history up to the given time. The current level is kept
+     * and becomes the maximum, so the statistic starts again from it.
+     *
+     * @param time the current clock
+     */
+    public void reset(float time) {
+        area = 0;
+        max = value;
+        lastTime = time;
+        startTime = time;
+    }
+
+    /**
+     * Restores the statistic to its initial state
+     */
+    public void clear() {
+        value = 0;
+        max = 0;
+        area = 0;
+        lastTime = 0;
+        startTime = 0;
+    }
+}
@@ -18,10 +18,11 @@
  */
 package model.blocks;
 
+import exceptions.InitializeBlockError;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
-import model.SNA;
+import model.CompiledSNA;
 import model.entities.Xact;
 import utils.Constants;
 import model.entities.rng.RNG;
@@ -41,6 +42,8 @@ import model.entities.rng.RNG;
 @SuppressWarnings("FieldMayBeFinal")
 public class Advance extends Bloc {
 
+    private static final long serialVersionUID = 1L;
+
     @Getter
     @Setter
     private String A;
@@ -49,6 +52,9 @@ public class Advance extends Bloc {
     @Setter
     private String B;
 
+    private CompiledSNA evalA;
+    private CompiledSNA evalB;
+
     /**
      * Creates a new instance of ADVANCE.
      *
@@ -79,13 +85,17 @@ public class Advance extends Bloc {
 
         incTrans(tr);
 
-        Float evalA = Float.valueOf(SNA.evaluate(A, getModel(), tr));
-        Float evalB = Float.valueOf(SNA.evaluate(B, getModel(), tr));
-
         if (tr.getParameter("residual-time") != null) {
             tr.setMoveTime(getModel().getRelativeClock() + (Float) tr.getParameter("residual-time"));
         } else {
-            tr.setMoveTime(getModel().getRelativeClock() + getGna().generate(evalA, evalB));
+            float a = (float) evalA.evaluate(tr);
+            float b = (float) evalB.evaluate(tr);
+            float time = getGna().generate(a, b);
+            if (Float.isNaN(time)) {
+                throw new Exception("At Advance block " + getLabel() + ". No " + getGna().name() + " value for operands " + a + ", " + b);
+            }
+            // Distributions like the normal can give negative times
+            tr.setMoveTime(getModel().getRelativeClock() + Math.max(0f, time));
         }
         if (tr.getBlockRoute() != null) {
             tr.setBloc(tr.getBlockRoute());
@@ -97,6 +107,13 @@ public class Advance extends Bloc {
         return null;
     }
 
+    @Override
+    public void link() throws InitializeBlockError {
+        evalA = linkSNA(A);
+        evalB = linkSNA(B);
+        linkDistribution(A, B);
+    }
+
     @Override
     public String name() {
         return "Advance";
@@ -38,6 +38,8 @@ import utils.Constants;
 @NoArgsConstructor
 public class Assemble extends Bloc {
 
+    private static final long serialVersionUID = 1L;
+
     @Getter
     @Setter
     private int A;
@@ -95,59 +97,35 @@ public class Assemble extends Bloc {
 
         incTrans(tr);
 
-        Xact waitingXact = findWaitingXact(tr);
+        Xact waitingXact = getMatchChain().peek(tr.getAssemblySet());
 
         if (waitingXact == null) {
 
-            A--;
-
-            tr.setCounter(A);
-            if (A == 0) {
+            if (A <= 1) {
                 return nextBloc(tr);
-            } else {
-                getMatchChain().add(tr);
-            }
-        } else {
-
-            if (waitingXact.decCounter() == 0) {
-                getMatchChain().remove(waitingXact);
-
-                if (getModel().preempted(waitingXact)) {
-                    nextBloc(waitingXact);
-                    getModel().getCEC().add(waitingXact);
-                }
             }
-        }
-        return null;
-    }
-
-    @Override
-    public boolean test(Xact tr) {
-        return true;
-    }
-
-    private Xact findWaitingXact(Xact tr) {
-
-        if (getMatchChain().isEmpty()) {
+            tr.setCounter(A - 1);
+            getMatchChain().add(tr);
             return null;
         }
 
-        while (getMatchChain().iterator().hasNext()) {
+        // The Active Transaction is destroyed
+        removeTrans(tr);
 
-            Xact currentTr = getMatchChain().iterator().next();
+        if (waitingXact.decCounter() == 0) {
+            getMatchChain().remove(waitingXact);
 
-            if (currentTr.getAssemblySet() == tr.getAssemblySet()) {
-                return currentTr;
+            if (!getModel().preempted(waitingXact)) {
+                nextBloc(waitingXact);
+                getModel().getCEC().add(waitingXact);
             }
         }
         return null;
     }
 
     @Override
-    public int getCurrentCount() {
-        
-        return getMatchChain().size();
-        
+    public boolean test(Xact tr) {
+        return true;
     }
 
     @Override
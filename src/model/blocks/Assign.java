@@ -36,6 +36,8 @@ import utils.Constants;
 @NoArgsConstructor
 public class Assign extends Bloc {
 
+    private static final long serialVersionUID = 1L;
+
     private String A;
     private float B;
 
@@ -18,13 +18,17 @@
  */
 package model.blocks;
 
+import java.io.Serializable;
+import exceptions.InitializeBlockError;
+import exceptions.ModelSyntaxException;
 import model.Proces;
 import java.util.ArrayList;
-import java.util.HashSet;
-import java.util.PriorityQueue;
 import lombok.Getter;
 import lombok.Setter;
+import model.CompiledSNA;
 import model.Model;
+import model.SNACompiler;
+import model.chains.MatchChain;
 import model.entities.Xact;
 import model.entities.rng.RNG;
 
@@ -39,7 +43,9 @@ import model.entities.rng.RNG;
  * website</a>
  * @serialData
  */
-public abstract class Bloc {
+public abstract class Bloc implements Serializable {
+
+    private static final long serialVersionUID = 1L;
 
     @Getter
     @Setter
@@ -65,19 +71,29 @@ public abstract class Bloc {
     @Getter
     @Setter
     private int pos;
+    /**
+     * Number of the block in the whole model, in process order, given on link
+     */
+    @Getter
+    @Setter
+    private int number;
     @Getter
     @Setter
     private int currentCount;
     @Getter
     @Setter
     private RNG gna;
-    private HashSet<Xact> entryCount, retryCount;
+    /**
+     * Total entries and retries of Xacts that were already in the block
+     */
+    @Getter
+    private long entryCount, retryCount;
 
     /**
      * Match chain used for blocks MATCH, GATHER, ASSEMBLE
      */
     @Getter
-    private final PriorityQueue<Xact> matchChain;
+    private final MatchChain matchChain;
 
     /**
      * Creates a new instance of Bloc
@@ -109,47 +125,52 @@ public abstract class Bloc {
         this.id = id;
         this.label = label;
         this.comentari = comentari;
-        entryCount = new HashSet<>();
-        matchChain = new PriorityQueue<>();
-        retryCount = new HashSet<>();
+        matchChain = new MatchChain();
         currentCount = 0;
     }
 
     public Bloc() {
-        entryCount = new HashSet<>();
-        matchChain = new PriorityQueue<>();
-        retryCount = new HashSet<>();
+        matchChain = new MatchChain();
     }
 
     /**
-     * Increases the transaction that have entered the block
+     * Counts the entry of the Xact in the block. The Xact leaves the block it
+     * entered before, so the current counts are always up to date. A new
+     * attempt of an Xact that is still in the block, after being blocked,
+     * counts as a retry.
      *
      * @param xact
      */
     public void incTrans(Xact xact) {
 
-        if (entryCount.contains(xact)) {
-            retryCount.add(xact);
-        } else {
-            entryCount.add(xact);
+        Bloc previous = xact.getEnteredBloc();
+
+        if (previous == this) {
+            retryCount++;
+            return;
         }
+        if (previous != null) {
+            previous.currentCount--;
+        }
+        entryCount++;
+        currentCount++;
+        xact.setEnteredBloc(this);
     }
 
     /**
-     * Returns the total transactions entries on the block
+     * Removes a destroyed Xact from the current count of the block it entered
+     * last
      *
-     * @return
+     * @param xact
      */
-    public int getEntryCount() {
-        return entryCount.size();
-    }
+    public static void removeTrans(Xact xact) {
 
-    public int getRetryCount() {
-        return retryCount.size();
-    }
+        Bloc previous = xact.getEnteredBloc();
 
-    public void incCurrentCount() {
-        currentCount++;
+        if (previous != null) {
+            previous.currentCount--;
+            xact.setEnteredBloc(null);
+        }
     }
 
     /**
@@ -166,6 +187,85 @@ public abstract class Bloc {
     
     public abstract String name();
 
+    /**
+     * Binds the block operands to the blocks and entities they refer to.
+     * Called by {@link Model#link()} before the simulation starts. Must be
+     * overridden by the blocks with label or entity operands.
+     *
+     * @throws InitializeBlockError if an operand can not be resolved
+     */
+    public void link() throws InitializeBlockError {
+    }
+
+    /**
+     * Returns the block with the given label, looking first in the process of
+     * this block and then in the whole model.
+     *
+     * @param label the block label
+     * @return the block, or null if the label is empty
+     * @throws InitializeBlockError if no block has the label
+     */
+    protected Bloc linkBloc(String label) throws InitializeBlockError {
+
+        if (label == null || label.isEmpty()) {
+            return null;
+        }
+
+        Bloc bloc = proces.findBloc(label);
+
+        if (bloc == null) {
+            bloc = model.findBloc(label);
+        }
+        if (bloc == null) {
+            throw new InitializeBlockError(String.format("At %s block %s. Block %s not found", name(), getLabel(), label));
+        }
+        return bloc;
+    }
+
+    /**
+     * Compiles an SNA operand of the block
+     *
+     * @param operand the operand
+     * @return
+     * @throws InitializeBlockError if the operand is not a number or an SNA
+     */
+    protected CompiledSNA linkSNA(String operand) throws InitializeBlockError {
+
+        try {
+            return SNACompiler.compile(operand, model);
+        } catch (ModelSyntaxException e) {
+            throw new InitializeBlockError(String.format("At %s block %s. Bad operand %s", name(), getLabel(), operand));
+        }
+    }
+
+    /**
+     * Checks the constant operands of the random number generator of the
+     * block. SNA operands are only known when the block is executed.
+     *
+     * @param A the first operand of the generator
+     * @param B the second operand of the generator
+     * @throws InitializeBlockError if the operands give no valid distribution
+     */
+    protected void linkDistribution(String A, String B) throws InitializeBlockError {
+
+        if (gna == null) {
+            return;
+        }
+        try {
+            gna.check(constant(A), constant(B));
+        } catch (ModelSyntaxException e) {
+            throw new InitializeBlockError(String.format("At %s block %s. %s", name(), getLabel(), e.getMessage()));
+        }
+    }
+
+    private static float constant(String operand) {
+        try {
+            return Float.parseFloat(operand);
+        } catch (NumberFormatException e) {
+            return Float.NaN;
+        }
+    }
+
     /**
      * Returns true if the bloc admits the current, false in case the xact is
      * refuse by the block. Must be implemented in each block
@@ -204,10 +304,19 @@ public abstract class Bloc {
         }
     }
     
+    /**
+     * Discards the counts gathered so far. The transactions in the block
+     * count as its first entries after the reset.
+     */
+    public void reset() {
+        entryCount = currentCount;
+        retryCount = 0;
+    }
+
     public void clear() {
         currentCount = 0;
-        entryCount.clear();
-        retryCount.clear();
+        entryCount = 0;
+        retryCount = 0;
         matchChain.clear();
     }
 }
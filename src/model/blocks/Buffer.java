@@ -35,6 +35,8 @@ import utils.Constants;
 @NoArgsConstructor
 public class Buffer extends Bloc {   
 
+    private static final long serialVersionUID = 1L;
+
     /**
      * Creates a new instance of BUFFER block.
      *
@@ -18,7 +18,6 @@
  */
 package model.blocks;
 
-import java.util.HashMap;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
@@ -40,6 +39,8 @@ import utils.Constants;
 @SuppressWarnings("FieldMayBeFinal")
 public class Depart extends Bloc {
 
+    private static final long serialVersionUID = 1L;
+
     @Getter
     @Setter
     private String A;
@@ -48,6 +49,8 @@ public class Depart extends Bloc {
     @Setter
     private int B;
 
+    private QueueReport queue;
+
     /**
      * Creates a new instance of Depart
      *
@@ -76,13 +79,16 @@ public class Depart extends Bloc {
 
         incTrans(tr);
 
-        HashMap<String, QueueReport> queues = getModel().getQueues();
-
-        queues.get(A).decCurrentCount(B);       
+        queue.decCurrentCount(B, tr);
 
         return nextBloc(tr);
     }   
 
+    @Override
+    public void link() {
+        queue = getModel().getQueue(A);
+    }
+
     @Override
     public String name() {
         return "Depart";
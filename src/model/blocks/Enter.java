@@ -17,8 +17,7 @@
  */
 package model.blocks;
 
-import java.util.HashMap;
-import java.util.PriorityQueue;
+import exceptions.InitializeBlockError;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
@@ -40,6 +39,8 @@ import utils.Constants;
 @NoArgsConstructor
 public class Enter extends Bloc {
 
+    private static final long serialVersionUID = 1L;
+
     @Getter
     @Setter
     private String A;
@@ -48,6 +49,8 @@ public class Enter extends Bloc {
     @Setter
     private int B;
 
+    private Facility facility;
+
     /**
      * Creates a new instance of Enter
      *
@@ -74,25 +77,13 @@ public class Enter extends Bloc {
     public Bloc execute(Xact tr) {
 
         incTrans(tr);
-        
-        HashMap<String, Facility> facilities = getModel().getFacilities();
-
-        Storage storage = getModel().getStorage(A);
-
-        if (facilities.get(A) == null) {
-            facilities.put(A, new Facility(getModel(), storage.getValor()));
-        }
-
-        if (getModel().getBEC().get(A) == null) {
-            getModel().getBEC().put(A, new PriorityQueue<>(1000, getModel().getPriorityComparator()));
-        }
 
-        if (facilities.get(A).capture(B, tr)) {
+        if (facility.capture(B, tr)) {
 
             return nextBloc(tr);
 
         } else {
-            getModel().getBEC().get(A).add(tr);
+            facility.block(tr);
             return null;
         }
     }
@@ -100,26 +91,20 @@ public class Enter extends Bloc {
     @Override
     public boolean test(Xact tr) {
 
-        HashMap<String, Facility> facilities = this.getModel().getFacilities();
-
-        Storage storage = getModel().getStorage(A);
-
-        if (facilities.get(A) == null) {
-            facilities.put(A, new Facility(getModel(), storage.getValor()));
-        }
-
-        if (getModel().getBEC().get(A) == null) {
-            getModel().getBEC().put(A, new PriorityQueue<>(1000, getModel().getPriorityComparator()));
-        }
-
-        boolean available = facilities.get(A).isAvailable();
+        boolean available = facility.isAvailable();
         tr.setDelayed(!available);
         return available;
     }
 
     @Override
-    public int getCurrentCount() {
-        return getModel().getBEC().get(A).size();
+    public void link() throws InitializeBlockError {
+
+        Storage storage = getModel().getStorage(A);
+
+        if (storage == null) {
+            throw new InitializeBlockError(String.format("At Enter block %s. Storage %s not found", getLabel(), A));
+        }
+        facility = getModel().getFacility(A, storage.getValor());
     }
 
     @Override
@@ -5,12 +5,14 @@
  */
 package model.blocks;
 
-import java.util.ArrayDeque;
-import java.util.Deque;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.PriorityQueue;
 import lombok.Getter;
 import lombok.Setter;
 import model.Model;
-import model.TimeRecord;
+import model.TimeWeightedStatistic;
 import model.entities.Xact;
 
 /**
@@ -19,7 +21,9 @@ import model.entities.Xact;
  * @author Ezequiel Andujar Montes
  */
 @SuppressWarnings("FieldMayBeFinal")
-public class Facility {
+public class Facility implements Serializable {
+
+    private static final long serialVersionUID = 1L;
 
     @Getter
     @Setter
@@ -28,7 +32,6 @@ public class Facility {
     @Setter
     private int counterCount;
     @Getter
-    @Setter
     private int maxCapacity;
     @Getter
     @Setter
@@ -39,8 +42,24 @@ public class Facility {
     private int minUsage;
 
     private boolean available;
-    private final Deque<TimeRecord> holdingTimeRecords;
-    private final Deque<TimeRecord> unavailTimeRecords;
+    /**
+     * Number of times the facility became unavailable
+     */
+    @Getter
+    private int unavailCount;
+    /**
+     * Time-weighted number of units in use
+     */
+    private final TimeWeightedStatistic content;
+    /**
+     * Time-weighted unavailable state, 1 while unavailable and 0 otherwise
+     */
+    private final TimeWeightedStatistic unavailable;
+    /**
+     * Xacts waiting for this facility. Only woken on a status change.
+     */
+    @Getter
+    private final PriorityQueue<Xact> delayChain;
 
     @Getter
     @Setter
@@ -59,11 +78,78 @@ public class Facility {
         captureCount = 0;
         maxUsage = 0;
         available = true;
-        holdingTimeRecords = new ArrayDeque<>();
-        unavailTimeRecords = new ArrayDeque<>();
+        unavailCount = 0;
+        content = new TimeWeightedStatistic();
+        unavailable = new TimeWeightedStatistic();
+        delayChain = new PriorityQueue<>(model.getPriorityComparator());
         this.model = model;
     }
 
+    /**
+     * Sets the capacity of the facility. Waiting Xacts are woken if the new
+     * capacity leaves free units.
+     *
+     * @param maxCapacity
+     */
+    public void setMaxCapacity(int maxCapacity) {
+        this.maxCapacity = maxCapacity;
+        wakeDelayChain();
+    }
+
+    /**
+     * Puts the Xact on the delay chain of the facility, where it stays until
+     * a release or a change of availability or capacity.
+     *
+     * @param tr The blocked transaction
+     */
+    public void block(Xact tr) {
+        delayChain.add(tr);
+        if (model.getProfiler() != null) {
+            model.getProfiler().refused();
+        }
+    }
+
+    /**
+     * Moves to the CEC, in priority order, the waiting Xacts that fit in the
+     * free units. Xacts asking for more units than left are skipped and stay
+     * on the delay chain. Xacts marked to restore go back to the FEC.
+     */
+    private void wakeDelayChain() {
+
+        if (!available || delayChain.isEmpty()) {
+            return;
+        }
+
+        int free = getUnusedStorageUnits();
+        List<Xact> skipped = null;
+
+        while (free > 0 && !delayChain.isEmpty()) {
+
+            Xact xact = delayChain.poll();
+
+            if (xact.restoreToFEC()) {
+                model.getFEC().add(xact);
+                continue;
+            }
+
+            int units = xact.getBloc() instanceof Enter ? ((Enter) xact.getBloc()).getB() : 1;
+
+            if (units <= free) {
+                free -= units;
+                model.getCEC().add(xact);
+            } else {
+                if (skipped == null) {
+                    skipped = new ArrayList<>();
+                }
+                skipped.add(xact);
+            }
+        }
+
+        if (skipped != null) {
+            delayChain.addAll(skipped);
+        }
+    }
+
     /**
      * Returns the remaining unused storage units
      *
@@ -100,7 +186,7 @@ public class Facility {
         capturingTransactions++;
         maxUsage = capturingTransactions > maxUsage ? capturingTransactions : maxUsage;
         minUsage = 1;
-        registerStartHoldTime();
+        updateContent();
         return true;
     }
 
@@ -123,7 +209,7 @@ public class Facility {
         capturingTransactions += count;
         maxUsage = capturingTransactions > maxUsage ? capturingTransactions : maxUsage;
         minUsage = count;
-        registerStartHoldTime();
+        updateContent();
         return true;
     }
 
@@ -144,12 +230,15 @@ public class Facility {
      */
     public void setAvailable(boolean available) {
 
+        boolean wasAvailable = this.available;
         this.available = available;
 
-        if (this.available && !available) {
-            registerUnavailStartTime();
-        } else if (!this.available && available) {
-            registerUnavailEndsTime();
+        if (wasAvailable && !available) {
+            unavailCount++;
+            unavailable.update(model.getRelativeClock(), 1);
+        } else if (!wasAvailable && available) {
+            unavailable.update(model.getRelativeClock(), 0);
+            wakeDelayChain();
         }
     }
 
@@ -179,7 +268,8 @@ public class Facility {
     public void release(Xact tr) {
         capturingTransactions--;
         owningXact = null;
-        registerEndHoldTime();
+        updateContent();
+        wakeDelayChain();
     }
 
     /**
@@ -191,42 +281,15 @@ public class Facility {
     public void release(int count, Xact tr) {
         capturingTransactions -= count;
         owningXact = null;
-        registerEndHoldTime();
+        updateContent();
+        wakeDelayChain();
     }
 
     /**
-     * Registers a holding time start capture
-     *
-     * @param time
-     */
-    private void registerStartHoldTime() {
-        float time = model.getRelativeClock();
-        holdingTimeRecords.push(new TimeRecord(time, time));
-    }
-    
-    
-    /**
-     * Register a holding time ends capture
-     *
-     * @param time
+     * Registers the number of units in use at the current clock
      */
-    private void registerEndHoldTime() {
-
-        if (!holdingTimeRecords.isEmpty()) {
-            holdingTimeRecords.peekFirst().setEndTime(model.getRelativeClock());
-        }
-    }
-
-    private void registerUnavailStartTime() {
-
-        float time = model.getRelativeClock();
-        this.unavailTimeRecords.push(new TimeRecord(time, time));
-    }
-
-    private void registerUnavailEndsTime() {
-        if (!unavailTimeRecords.isEmpty()) {
-            unavailTimeRecords.peekFirst().setEndTime(model.getRelativeClock());
-        }
+    private void updateContent() {
+        content.update(model.getRelativeClock(), capturingTransactions);
     }
 
     /**
@@ -235,14 +298,7 @@ public class Facility {
      * @return
      */
     public float avgHoldingTime() {
-
-        float sum = holdingTimeRecords.stream()//
-                .map(rt -> rt.totalTime())//
-                .reduce(0f, (x, y) -> x + y);
-
-        int total = holdingTimeRecords.size();
-
-        return total != 0 ? sum / total : 0;
+        return counterCount != 0 ? (float) (content.integral(model.getRelativeClock()) / counterCount) : 0;
     }
 
     /**
@@ -251,13 +307,7 @@ public class Facility {
      * @return
      */
     public float avgUnavailTime() {
-        float sum = unavailTimeRecords.stream()//
-                .map(tr -> tr.totalTime())//
-                .reduce(0f, (x, y) -> x + y);
-
-        int total = unavailTimeRecords.size();
-
-        return total != 0 ? sum / total : 0;
+        return unavailCount != 0 ? (float) (unavailable.integral(model.getRelativeClock()) / unavailCount) : 0;
     }
 
     /**
@@ -266,11 +316,35 @@ public class Facility {
      * @return
      */
     public float getUtilizationTime() {
-        return holdingTimeRecords.stream()//
-                .map(tr -> tr.totalTime())//
-                .reduce(0f, (x, y) -> x + y);
+        return (float) content.integral(model.getRelativeClock());
+    }
+
+    /**
+     * Returns the time-weighted average of units in use
+     *
+     * @return
+     */
+    public float getAvgContent() {
+        return (float) content.mean(model.getRelativeClock());
     }
     
+    /**
+     * Discards the statistics gathered so far, keeping the capturing and
+     * waiting transactions. The units in use and the current unavailable
+     * period count as the first entries after the reset.
+     */
+    public void reset() {
+
+        float clock = model.getRelativeClock();
+
+        counterCount = capturingTransactions;
+        captureCount = capturingTransactions;
+        maxUsage = capturingTransactions;
+        unavailCount = available ? 0 : 1;
+        content.reset(clock);
+        unavailable.reset(clock);
+    }
+
     /**
      * Cleans the facilities data to the initial status
      */
@@ -281,8 +355,10 @@ public class Facility {
         captureCount = 0;
         maxUsage = 0;
         available = true;
-        holdingTimeRecords.clear();
-        unavailTimeRecords.clear();
+        unavailCount = 0;
+        content.clear();
+        unavailable.clear();
+        delayChain.clear();
     }
 
 }
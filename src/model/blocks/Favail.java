@@ -18,13 +18,11 @@
  */
 package model.blocks;
 
-import exceptions.FacilityNotFoundException;
 import exceptions.UnrecognizedModelException;
 import java.util.PriorityQueue;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
-import static model.SNA.evaluate;
 import model.entities.Xact;
 import utils.Constants;
 
@@ -43,10 +41,14 @@ import utils.Constants;
 @NoArgsConstructor
 public class Favail extends Bloc {
 
+    private static final long serialVersionUID = 1L;
+
     @Getter
     @Setter
     private String A;
 
+    private Facility facility;
+
     /**
      * Creates a new instance of Favail.
      *
@@ -79,30 +81,26 @@ public class Favail extends Bloc {
     public Bloc execute(Xact tr) throws Exception {
 
         incTrans(tr);
-        String facilityName = evaluate(A, getModel(), tr);
-
-        PriorityQueue<Xact> BEC = getModel().getBEC().get(facilityName);
-        PriorityQueue<Xact> preemptedXacts = getModel().getPreemptedXacts().get(facilityName);
+        PriorityQueue<Xact> preemptedXacts = getModel().getPreemptedXacts().get(A);
         PriorityQueue<Xact> CEC = getModel().getCEC();
 
-        if (getModel().getFacilities().get(facilityName) == null) {
-            throw new FacilityNotFoundException();
-        }
-
-        if (getModel().getFacilities().get(facilityName).isAvailable()) {
+        if (facility.isAvailable()) {
 
             if (preemptedXacts != null && !preemptedXacts.isEmpty()) {
                 CEC.add(preemptedXacts.poll());
-
-            } else if (BEC != null && !BEC.isEmpty()) {
-                CEC.add(BEC.poll());
             }
         }
 
-        getModel().getFacilities().get(A).setAvailable(true);
+        // Wakes the delay chain of the facility if it was unavailable
+        facility.setAvailable(true);
         return nextBloc(tr);
     }
 
+    @Override
+    public void link() {
+        facility = getModel().getFacility(A);
+    }
+
     @Override
     public String name() {
         return "Favail";
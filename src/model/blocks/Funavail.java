@@ -18,11 +18,11 @@
  */
 package model.blocks;
 
+import exceptions.InitializeBlockError;
 import java.util.PriorityQueue;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
-import static model.SNA.evaluate;
 import model.entities.Xact;
 import utils.Constants;
 
@@ -42,6 +42,8 @@ import utils.Constants;
 @SuppressWarnings("FieldMayBeFinal")
 public class Funavail extends Bloc {
 
+    private static final long serialVersionUID = 1L;
+
     //Intergeneration time.
     @Getter
     @Setter
@@ -67,6 +69,10 @@ public class Funavail extends Bloc {
     @Setter
     private String F;
 
+    private Facility facility;
+    private Bloc destinationB;
+    private Bloc destinationF;
+
     /**
      * Creates a new instance of Funavail
      *
@@ -142,14 +148,10 @@ public class Funavail extends Bloc {
     public Bloc execute(Xact tr) throws Exception {
 
         incTrans(tr);
-        String facilityName = evaluate(A, getModel(), tr);
-        Facility facilityState = getModel().getFacilities().get(facilityName);
-        facilityState.setAvailable(false);
+        facility.setAvailable(false);
 
-        Xact owningXact = facilityState.getOwningXact();
+        Xact owningXact = facility.getOwningXact();
 
-        Bloc destinationB = getProces().findBloc(evaluate(C, getModel(), tr));
-        Bloc destinationF = getProces().findBloc(evaluate(F, getModel(), tr));
        
         if (B.equals("RE")) {
 
@@ -158,7 +160,7 @@ public class Funavail extends Bloc {
                         + getProces().getDescpro() + "Operand C refers to a Release Block and must not be used with RE option");
             }
 
-            facilityState.setOwningXact(null);
+            facility.setOwningXact(null);
 
         } 
         else if (B.equals("CO")) {
@@ -166,16 +168,19 @@ public class Funavail extends Bloc {
         } 
         else if (B.isEmpty()) {
 
-            if (getModel().getPreemptedXacts().get(facilityName) == null) {                
+            if (getModel().getPreemptedXacts().get(A) == null) {                
                 
-                getModel().getPreemptedXacts().put(facilityName, new PriorityQueue<>(1000, getModel().getPriorityComparator()));
+                getModel().getPreemptedXacts().put(A, new PriorityQueue<>(1000, getModel().getPriorityComparator()));
             }
-            getModel().getPreemptedXacts().get(facilityName).add(tr);
+            getModel().getPreemptedXacts().get(A).add(tr);
         }
         
+        // Owning Xact currently scheduled on the FEC (in an ADVANCE block)
+        boolean scheduled = getModel().getFEC().contains(owningXact);
+
         if (!C.isEmpty() && destinationB != null) {
 
-            if (getModel().getFEC().contains(owningXact)) {
+            if (scheduled) {
                 for (Object b : getProces().getBlocs()) {
 
                     if (b instanceof Advance) {
@@ -192,9 +197,7 @@ public class Funavail extends Bloc {
                     + getProces().getDescpro() + "Missing operand C or block not found");
         }
        
-        if (getModel().getFEC().contains(owningXact)) {
-
-            String residualTimeName = evaluate(D, getModel(), tr);
+        if (scheduled) {
 
             if (C.isEmpty()) {
                 tr.restore(true);
@@ -202,53 +205,51 @@ public class Funavail extends Bloc {
 
             float residualTimeValue = Math.abs(getModel().getRelativeClock() - owningXact.getMoveTime());
 
-            if (!residualTimeName.isEmpty()) {
-                owningXact.getTransactionParameters().put(residualTimeName, residualTimeValue);
+            if (!D.isEmpty()) {
+                owningXact.getTransactionParameters().put(D, residualTimeValue);
             }
 
             owningXact.getTransactionParameters().put("residual-time", residualTimeValue);
             getModel().getFEC().remove(owningXact);
             owningXact.setMoveTime(owningXact.getMoveTime() - residualTimeValue);
-            getModel().getBEC().get(A).add(owningXact);
+            facility.block(owningXact);
         }
        
         if (E.equals("CO")) {
 
-            if (getModel().getPreemptedXacts().get(facilityName) != null) {
-                while (getModel().getPreemptedXacts().get(facilityName).iterator().hasNext()) {
+            if (getModel().getPreemptedXacts().get(A) != null) {
+                while (getModel().getPreemptedXacts().get(A).iterator().hasNext()) {
 
-                    Xact xact = getModel().getPreemptedXacts().get(facilityName).iterator().next();
+                    Xact xact = getModel().getPreemptedXacts().get(A).iterator().next();
                     xact.setOwnershipGranted(true);
                 }
             }
         } 
-        else if (E.equals("RE") && getModel().getPreemptedXacts().get(facilityName) != null) {
+        else if (E.equals("RE") && getModel().getPreemptedXacts().get(A) != null) {
 
             if (destinationF != null && destinationF instanceof Release) {
                 throw new Exception("In Block FUNAVAIL " + getLabel() + " at Process " + getProces().getDescpro()
                         + "Operand C refers to a Release Block and must not be used with RE option");
             }
 
-            while (!getModel().getBEC().get(facilityName).isEmpty()) {
-                Xact preemptedXact = getModel().getBEC().get(facilityName).poll();
+            while (!facility.getDelayChain().isEmpty()) {
+                Xact preemptedXact = facility.getDelayChain().poll();
                 preemptedXact.setOwnershipGranted(true);
                 getModel().getCEC().add(preemptedXact);
             }
 
         } 
-        else if (E.isEmpty() && getModel().getPreemptedXacts().get(facilityName) != null) {
-            while (getModel().getBEC().get(facilityName).iterator().hasNext()) {
-
-                Xact bloquedXsct = getModel().getBEC().get(facilityName).iterator().next();
+        else if (E.isEmpty() && getModel().getPreemptedXacts().get(A) != null) {
+            for (Xact bloquedXsct : facility.getDelayChain()) {
                 bloquedXsct.setOwnershipGranted(false);
             }
         }
 
         if (!F.isEmpty() && destinationF != null) {
 
-            if (getModel().getPreemptedXacts().get(facilityName) != null) {
-                while (getModel().getPreemptedXacts().get(facilityName).iterator().hasNext()) {
-                    Xact bloquedXact = getModel().getPreemptedXacts().get(facilityName).iterator().next();
+            if (getModel().getPreemptedXacts().get(A) != null) {
+                while (getModel().getPreemptedXacts().get(A).iterator().hasNext()) {
+                    Xact bloquedXact = getModel().getPreemptedXacts().get(A).iterator().next();
                     bloquedXact.setBloc(destinationF);
                 }
             }
@@ -259,6 +260,13 @@ public class Funavail extends Bloc {
         return nextBloc(tr);
     }
 
+    @Override
+    public void link() throws InitializeBlockError {
+        facility = getModel().getFacility(A);
+        destinationB = linkBloc(C);
+        destinationF = linkBloc(F);
+    }
+
     @Override
     public String name() {
         return "Funavail";
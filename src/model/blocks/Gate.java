@@ -18,6 +18,7 @@
  */
 package model.blocks;
 
+import exceptions.InitializeBlockError;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
@@ -37,6 +38,8 @@ import utils.Constants;
 @SuppressWarnings("FieldMayBeFinal")
 public class Gate extends Bloc {
 
+    private static final long serialVersionUID = 1L;
+
     @Getter
     @Setter
     private String x;
@@ -49,6 +52,9 @@ public class Gate extends Bloc {
     @Setter
     private String B;
 
+    private Facility facility;
+    private Bloc blockB;
+
     /**
      * GATE U
      */
@@ -118,9 +124,6 @@ public class Gate extends Bloc {
 
         incTrans(tr);
         Bloc nextBlock = null;
-        Bloc blockB = getProces().findBloc(B);
-
-        Facility facility = getModel().getFacilities().get(A);
 
         boolean gateType = x.equals(U)
                 || x.equals(NU)
@@ -148,6 +151,12 @@ public class Gate extends Bloc {
         return nextBlock;
     }
 
+    @Override
+    public void link() throws InitializeBlockError {
+        facility = getModel().getFacility(A);
+        blockB = linkBloc(B);
+    }
+
     @Override
     public String name() {
         return "Gate";
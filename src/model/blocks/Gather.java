@@ -36,6 +36,8 @@ import utils.Constants;
 @NoArgsConstructor
 public class Gather extends Bloc {
 
+    private static final long serialVersionUID = 1L;
+
     @Getter
     @Setter
     @SuppressWarnings("FieldMayBeFinal")
@@ -93,47 +95,18 @@ public class Gather extends Bloc {
     public Bloc execute(Xact tr) {
         incTrans(tr);
 
-        Xact waitingXact = findWaitingXact(tr);
-
-        if (waitingXact == null) {
-
-            A--;
-
-            tr.setCounter(A);
-            if (A == 0) {
-                return nextBloc(tr);
-            } else {
-                getMatchChain().add(tr);
-            }
-        } else {
-
-            if (waitingXact.decCounter() == 0) {
-                getMatchChain().remove(waitingXact);
-
-                if (getModel().preempted(waitingXact)) {
-                    nextBloc(waitingXact);
-                    getModel().getCEC().add(waitingXact);
-                }
-            }
-        }
-        return null;
-    }   
-    
-    private Xact findWaitingXact(Xact tr) {
-
-        if (getMatchChain().isEmpty()) {
+        if (getMatchChain().count(tr.getAssemblySet()) + 1 < A) {
+            getMatchChain().add(tr);
             return null;
         }
 
-        while (getMatchChain().iterator().hasNext()) {
-
-            Xact currentTr = getMatchChain().iterator().next();
-
-            if (currentTr.getAssemblySet() == tr.getAssemblySet()) {
-                return currentTr;
+        for (Xact waitingXact : getMatchChain().removeAll(tr.getAssemblySet())) {
+            if (!getModel().preempted(waitingXact)) {
+                nextBloc(waitingXact);
+                getModel().getCEC().add(waitingXact);
             }
         }
-        return null;
+        return nextBloc(tr);
     }
 
     @Override
@@ -18,13 +18,15 @@
  */
 package model.blocks;
 
+import exceptions.InitializeBlockError;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
-import static model.SNA.evaluate;
+import model.CompiledSNA;
 import model.entities.Xact;
+import model.trace.TraceEvent;
+import model.trace.TraceRecorder;
 import utils.Constants;
-import utils.VarGlobals;
 import model.entities.rng.RNG;
 
 /**
@@ -40,6 +42,8 @@ import model.entities.rng.RNG;
 @NoArgsConstructor
 public class Generate extends Bloc {
 
+    private static final long serialVersionUID = 1L;
+
     //Intergeneration time.
     @Getter
     @Setter
@@ -68,6 +72,9 @@ public class Generate extends Bloc {
     private float creationLimitNumber;
     private boolean creationLimit;
 
+    private CompiledSNA evalA;
+    private CompiledSNA evalB;
+
     /**
      * Creates a new instance of Generate.
      *
@@ -96,8 +103,6 @@ public class Generate extends Bloc {
         if (D > 0) {
             creationLimit = true;
         }
-
-        VarGlobals.currentAssemblySet++;
     }
 
     @Override
@@ -105,34 +110,46 @@ public class Generate extends Bloc {
 
         if ((creationLimit && creationLimitNumber > 0) || !creationLimit) {
 
-            Float evalA = Float.valueOf(evaluate(A, getModel(), tr));
-            Float evalB = Float.valueOf(evaluate(B, getModel(), tr));
-
             Xact xact;
             xact = new Xact();
             xact.setBloc(this);
             xact.setProces(getProces());
             xact.setCreatTime(getModel().getRelativeClock());
             xact.setPriority(E);
-            xact.setAssemblySet(VarGlobals.currentAssemblySet);
 
             if (getModel().getRelativeClock() == 0 && F > 0) {
                 xact.setMoveTime(C);
             } else {
-                xact.setMoveTime(getModel().getRelativeClock() + getGna().generate(evalA, evalB));
+                float a = (float) evalA.evaluate(tr);
+                float b = (float) evalB.evaluate(tr);
+                float time = getGna().generate(a, b);
+                if (Float.isNaN(time)) {
+                    throw new Exception("At Generate block " + getLabel() + ". No " + getGna().name() + " value for operands " + a + ", " + b);
+                }
+                xact.setMoveTime(getModel().getRelativeClock() + Math.max(0f, time));
             }
             getModel().incIdXact();
             xact.setID(getModel().getIdxact());
+            xact.setAssemblySet(xact.getID());
             getModel().getFEC().add(xact);
             creationLimitNumber--;
             incTrans(xact);
-            System.out.println("Generate DONE.");
-        } else {
-            System.out.println("Creation limit reached.");
+
+            TraceRecorder trace = getModel().getTrace();
+            if (trace != null) {
+                trace.record(TraceEvent.CREATE, getModel().getRelativeClock(), xact, this, null);
+            }
         }
         return nextBloc(tr);
     }
 
+    @Override
+    public void link() throws InitializeBlockError {
+        evalA = linkSNA(A);
+        evalB = linkSNA(B);
+        linkDistribution(A, B);
+    }
+
     @Override
     public String name() {
         return "Generate";
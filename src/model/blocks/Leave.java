@@ -18,8 +18,6 @@
  */
 package model.blocks;
 
-import java.util.HashMap;
-import java.util.PriorityQueue;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
@@ -38,6 +36,8 @@ import utils.Constants;
 @NoArgsConstructor
 public class Leave extends Bloc {
 
+    private static final long serialVersionUID = 1L;
+
     @Getter
     @Setter
     @SuppressWarnings("FieldMayBeFinal")
@@ -47,6 +47,8 @@ public class Leave extends Bloc {
     @Setter
     private int B;
 
+    private Facility facility;
+
     /**
      * Creates a new instance of Leave
      *
@@ -73,11 +75,16 @@ public class Leave extends Bloc {
 
         incTrans(tr);
         
-        getModel().getFacilities().get(A).release(B, tr);
+        facility.release(B, tr);
 
         return nextBloc(tr);
     }     
 
+    @Override
+    public void link() {
+        facility = getModel().getFacility(A);
+    }
+
     @Override
     public String name() {
         return "Leave";
@@ -18,9 +18,6 @@
  */
 package model.blocks;
 
-import exceptions.LogicSwitchNotFound;
-import java.util.ArrayList;
-import java.util.HashMap;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
@@ -42,6 +39,8 @@ import utils.Constants;
 @SuppressWarnings("FieldMayBeFinal")
 public class Logic extends Bloc {
 
+    private static final long serialVersionUID = 1L;
+
     @Getter
     @Setter
     private String x;
@@ -50,6 +49,8 @@ public class Logic extends Bloc {
     @Setter
     private String A;
 
+    private LogicSwitch logicSwitch;
+
     /**
      * Logic SET.
      */
@@ -82,17 +83,6 @@ public class Logic extends Bloc {
        
         incTrans(tr);
        
-        ArrayList<LogicSwitch> switches = getModel().getSwitches();
-        
-        LogicSwitch logicSwitch = switches.stream()//
-                .filter(ls -> ls.getName().equals(A))//
-                .findFirst()//
-                .orElse(null);        
-        
-        if (logicSwitch == null) {
-            throw new LogicSwitchNotFound(A);
-        }
-        
         switch(x) {
             case S:
                 logicSwitch.setState(true);
@@ -108,6 +98,11 @@ public class Logic extends Bloc {
         return nextBloc(tr);
     }   
 
+    @Override
+    public void link() {
+        logicSwitch = getModel().getSwitch(A);
+    }
+
     @Override
     public String name() {
         return "Logic";
@@ -32,13 +32,12 @@ package model.blocks;
  * A LOOP Block modifies a Parameter and controls the destination of the Active
  * Transaction based on the result.
  */
+import exceptions.InitializeBlockError;
 import exceptions.ParameterNotANumberException;
 import exceptions.ParameterNotFoundException;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
-import static model.SNA.evaluate;
-import static java.lang.Integer.valueOf;
 import model.entities.Xact;
 import utils.Constants;
 
@@ -46,6 +45,8 @@ import utils.Constants;
 @SuppressWarnings("FieldMayBeFinal")
 public class Loop extends Bloc {
 
+    private static final long serialVersionUID = 1L;
+
     @Getter
     @Setter
     private String A;
@@ -54,6 +55,8 @@ public class Loop extends Bloc {
     @Setter
     private String B;
 
+    private Bloc blockB;
+
     /**
      * Creates a new instance of Loop.
      *
@@ -86,25 +89,30 @@ public class Loop extends Bloc {
 
         incTrans(tr);
 
-        String param = evaluate(A, getModel(), tr);
+        // Operand A names the parameter, no SNA evaluation is needed
+        String param = A;
+        Object value = tr.getParameter(param);
 
-        if (tr.getParameter(param) == null) {
-            throw new ParameterNotANumberException(param);
-        }
-        if (!(tr.getParameter(param) instanceof Integer)) {
+        if (value == null) {
             throw new ParameterNotFoundException(param);
         }
+        if (!(value instanceof Integer)) {
+            throw new ParameterNotANumberException(param);
+        }
 
-        Integer counter = (Integer) tr.getParameter(param);
+        int counter = (Integer) value - 1;
+        tr.getTransactionParameters().put(param, counter);
 
-        counter -= 1;
-        
-        if (counter == 0) {
-            tr.getTransactionParameters().put(param, counter);
+        if (counter <= 0) {
             return nextBloc(tr);
         }
 
-        return getProces().findBloc(B);
+        return blockB;
+    }
+
+    @Override
+    public void link() throws InitializeBlockError {
+        blockB = linkBloc(B);
     }
 
     @Override
@@ -18,10 +18,10 @@
  */
 package model.blocks;
 
+import exceptions.InitializeBlockError;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
-import static model.SNA.evaluate;
 import model.entities.Xact;
 import utils.Constants;
 
@@ -37,11 +37,15 @@ import utils.Constants;
 @NoArgsConstructor
 public class Match extends Bloc {
 
+    private static final long serialVersionUID = 1L;
+
     @Getter
     @Setter
     @SuppressWarnings("FieldMayBeFinal")
     private String A;
 
+    private Match matchBlock;
+
     /**
      * Creates a new instance of Match.
      *
@@ -82,88 +86,40 @@ public class Match extends Bloc {
     @Override
     public Bloc execute(Xact tr) throws Exception {
 
-        Match matchBlock = (Match) getProces().findBloc(evaluate(A, getModel(), tr));
-
-        if (matchBlock == null) {
-
-            throw new Exception("In Match Bloc " + getLabel() + " at proces " + 
-                    getProces().getDescpro() + "Conjugate match block not found");
-
-        } else if (!matchBlock.getMatchChain().isEmpty()) {
-
-            Xact relatedXact = matchBlock.findMatchingXact(tr);
-
-            /**
-             * If the conjugate MATCH Block contains a Transaction (on its Match
-             * Chain) of the same Assembly Set as the Active Transaction, the
-             * related Transaction is removed from the Match Chain
-             */
-            if (relatedXact != null) {
-                matchBlock.getMatchChain().remove(relatedXact);
-
-                /**
-                 * If it is not currently preempted at any Facility Entity, it
-                 * is placed on the Current Events Chain behind its priority
-                 * peers
-                 */
-                boolean relatedPreempted = getModel().preempted(relatedXact);
-
-                if (!relatedPreempted) {
-                    relatedXact.setPriority(999);
-                    getModel().getCEC().add(relatedXact);
-                    nextBloc(relatedXact);
-                } else {
-                    matchBlock.getMatchChain().add(relatedXact);
-                }
-
-                /**
-                 * if the Active Transaction is not currently preempted at any
-                 * Facility it is placed on the CEC, but ahead of its peers.
-                 */
-                boolean activePreempted = getModel().preempted(tr);
-
-                if (!activePreempted) {
-                    tr.setPriority(1001);
-                    getModel().getCEC().add(tr);
-                    nextBloc(tr);
-                } else {
-                    getMatchChain().add(tr);
-                }
-            } /**
-             * If, when the Active Transaction enters the MATCH Block, no
-             * matching Transaction is found, it comes to rest on the Match
-             * Chain of the MATCH Block.
-             */
-            else {
-                matchBlock.getMatchChain().add(tr);
-            }
-
-        } /**
-         * If, when the Active Transaction enters the MATCH Block, no matching
-         * Transaction is found, it comes to rest on the Match Chain of the
-         * MATCH Block.
-         */
-        else {
-            matchBlock.getMatchChain().add(tr);
+        incTrans(tr);
+
+        Xact relatedXact = matchBlock.getMatchChain().poll(tr.getAssemblySet());
+
+        if (relatedXact == null) {
+            getMatchChain().add(tr);
+            return null;
         }
 
-        incTrans(tr);
-        
+        if (!getModel().preempted(relatedXact)) {
+            nextBloc(relatedXact);
+            getModel().getCEC().add(relatedXact);
+        } else {
+            matchBlock.getMatchChain().add(relatedXact);
+        }
+
+        if (!getModel().preempted(tr)) {
+            return nextBloc(tr);
+        }
+        getMatchChain().add(tr);
         return null;
-    }   
+    }
 
-    /**
-     *
-     * @param xact
-     * @return
-     */
-    public Xact findMatchingXact(Xact xact) {
+    @Override
+    public void link() throws InitializeBlockError {
+
+        Bloc bloc = linkBloc(A);
 
-        return getMatchChain().stream()//
-                .filter(t -> t.getAssemblySet() == xact.getAssemblySet())//
-                .findFirst()//
-                .orElse(null);
-    }   
+        if (!(bloc instanceof Match)) {
+            throw new InitializeBlockError("In Match Bloc " + getLabel() + " at proces "
+                    + getProces().getDescpro() + ". Conjugate match block not found");
+        }
+        matchBlock = (Match) bloc;
+    }
 
     @Override
     public String name() {
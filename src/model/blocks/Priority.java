@@ -37,6 +37,8 @@ import utils.Constants;
 @NoArgsConstructor
 public class Priority extends Bloc {
 
+    private static final long serialVersionUID = 1L;
+
     @Getter
     @Setter
     @SuppressWarnings("FieldMayBeFinal")
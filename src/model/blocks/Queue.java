@@ -18,7 +18,6 @@
  */
 package model.blocks;
 
-import java.util.HashMap;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
@@ -40,6 +39,8 @@ import utils.Constants;
 @SuppressWarnings("FieldMayBeFinal")
 public class Queue extends Bloc {
 
+    private static final long serialVersionUID = 1L;
+
     @Getter
     @Setter
     private String A;
@@ -48,6 +49,8 @@ public class Queue extends Bloc {
     @Setter
     private int B;
 
+    private QueueReport queue;
+
     /**
      * Creates a new instance of Queue
      *
@@ -67,17 +70,16 @@ public class Queue extends Bloc {
     public Bloc execute(Xact tr) {
 
         incTrans(tr);
-        HashMap<String, QueueReport> queues = getModel().getQueues();
-
-        if (queues.get(A) == null) {
-            queues.put(A, new QueueReport(getModel()));
-        }
-        QueueReport queueStatistics = queues.get(A);
-        queueStatistics.incCurrentCount(B);
+        queue.incCurrentCount(B, tr);
 
         return nextBloc(tr);
     }   
 
+    @Override
+    public void link() {
+        queue = getModel().getQueue(A);
+    }
+
     @Override
     public String name() {
         return "Queue";
@@ -18,7 +18,6 @@
  */
 package model.blocks;
 
-import java.util.HashMap;
 import java.util.PriorityQueue;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -39,11 +38,15 @@ import utils.Constants;
 @NoArgsConstructor
 public class Release extends Bloc {
 
+    private static final long serialVersionUID = 1L;
+
     @Getter
     @Setter
     @SuppressWarnings("FieldMayBeFinal")
     private String A;
 
+    private Facility facility;
+
     /**
      * Creates a new instance of Release.
      *
@@ -68,13 +71,16 @@ public class Release extends Bloc {
 
         incTrans(tr);
         
-        HashMap<String, Facility> facilities = getModel().getFacilities();
-
-        facilities.get(A).release(tr);
+        facility.release(tr);
 
         return nextBloc(tr);
     }   
 
+    @Override
+    public void link() {
+        facility = getModel().getFacility(A);
+    }
+
     @Override
     public String name() {
         return "Release";
@@ -40,11 +40,15 @@ import utils.Constants;
 @NoArgsConstructor
 public class Savail extends Bloc {
 
+    private static final long serialVersionUID = 1L;
+
     @Getter
     @Setter
     @SuppressWarnings("FieldMayBeFinal")
     private String A;
 
+    private Facility facility;
+
     /** 
      * Creates a new instance of Savail.
      *
@@ -73,10 +77,15 @@ public class Savail extends Bloc {
     @Override
     public Bloc execute(Xact tr) {
 
-        getModel().getFacilities().get(A).setAvailable(true);        
+        facility.setAvailable(true);
         return nextBloc(tr);
     }   
 
+    @Override
+    public void link() {
+        facility = getModel().getFacility(A);
+    }
+
     @Override
     public String name() {
         return "Savail";
@@ -18,7 +18,7 @@
  */
 package model.blocks;
 
-import exceptions.SaveValueNotFoundException;
+import exceptions.InitializeBlockError;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
@@ -52,6 +52,8 @@ import utils.Constants;
 @SuppressWarnings("FieldMayBeFinal")
 public class Savevalue extends Bloc {
 
+    private static final long serialVersionUID = 1L;
+
     @Getter
     @Setter
     private String A;
@@ -60,6 +62,11 @@ public class Savevalue extends Bloc {
     @Setter
     private String B;
 
+    private SaveValue saveValue;
+    // -1 subtracts, 1 adds and 0 replaces the value by the amount
+    private int sign;
+    private float amount;
+
     /**
      * Creates a new instance of Savevalue.
      *
@@ -85,27 +92,41 @@ public class Savevalue extends Bloc {
         
         incTrans(tr);
         
-        SaveValue sv = getModel().getSaveValue(A);
-        
-        if (sv == null) {
-            throw new SaveValueNotFoundException(A);
-        }        
-        
-        float value = getModel().getSaveValue(A).getValue();
-
-        if (B.endsWith("-")) {
-            float sValue = Float.parseFloat(B.split("\\-")[0]);
-            sv.setValue(value - sValue);
-        } else if (B.endsWith("+")) {
-            float sValue = Float.parseFloat(B.split("\\+")[0]);
-            sv.setValue(value + sValue);
+        if (sign == 0) {
+            saveValue.setValue(amount);
         } else {
-            float sValue = Float.parseFloat(B);
-            sv.setValue(sValue);
+            saveValue.setValue(saveValue.getValue() + sign * amount);
         }
         return nextBloc(tr);
     }   
 
+    @Override
+    public void link() throws InitializeBlockError {
+
+        saveValue = getModel().getSaveValue(A);
+
+        if (saveValue == null) {
+            throw new InitializeBlockError(String.format("At SaveValue block %s. Save value %s not found", getLabel(), A));
+        }
+
+        String value = B;
+        sign = 0;
+
+        if (B.endsWith("-")) {
+            sign = -1;
+            value = B.substring(0, B.length() - 1);
+        } else if (B.endsWith("+")) {
+            sign = 1;
+            value = B.substring(0, B.length() - 1);
+        }
+
+        try {
+            amount = Float.parseFloat(value);
+        } catch (NumberFormatException e) {
+            throw new InitializeBlockError(String.format("At SaveValue block %s. Bad value %s", getLabel(), B));
+        }
+    }
+
     @Override
     public String name() {
         return "SaveValue";
@@ -18,8 +18,6 @@
  */
 package model.blocks;
 
-import java.util.HashMap;
-import java.util.PriorityQueue;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
@@ -39,6 +37,8 @@ import utils.Constants;
 @NoArgsConstructor
 public class Seize extends Bloc {
 
+    private static final long serialVersionUID = 1L;
+
     @Getter
     @Setter
     private String A;
@@ -47,6 +47,8 @@ public class Seize extends Bloc {
     @Setter
     private int captureCount;
 
+    private Facility facility;
+
     /**
      * Creates a new instance of Seize
      *
@@ -73,37 +75,20 @@ public class Seize extends Bloc {
 
         incTrans(tr);
 
-        HashMap<String, Facility> facilities = getModel().getFacilities();
-
-        if (facilities.get(A) == null) {
-            facilities.put(A, new Facility(getModel()));
-        }
-        
-        if (getModel().getBEC().get(A) == null) {
-            getModel().getBEC().put(A, new PriorityQueue<>(1000, getModel().getPriorityComparator()));
-        }
-
         // Attempt to capture the seize
-        if (facilities.get(A).capture(tr)) {
+        if (facility.capture(tr)) {
             return nextBloc(tr);
         }
 
-        // The Xacts remains on the block event chain 
-        getModel().getBEC().get(A).add(tr);
+        // The Xacts remains on the delay chain of the facility
+        facility.block(tr);
         return null;
     }
 
     @Override
     public boolean test(Xact tr) {
 
-        HashMap<String, Facility> facilities = this.getModel().getFacilities();
-
-        if (facilities.get(A) == null) {
-            Facility fs = new Facility(getModel());
-            facilities.put(A, fs);
-        }
-
-        boolean available = facilities.get(A).isAvailable();
+        boolean available = facility.isAvailable();
 
         if (!available) {
             tr.setDelayed(true);
@@ -111,6 +96,11 @@ public class Seize extends Bloc {
         return available;
     }  
 
+    @Override
+    public void link() {
+        facility = getModel().getFacility(A);
+    }
+
     @Override
     public String name() {
         return "Seize";
@@ -18,6 +18,7 @@
  */
 package model.blocks;
 
+import exceptions.InitializeBlockError;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
@@ -42,6 +43,8 @@ import utils.Constants;
 @SuppressWarnings("FieldMayBeFinal")
 public class Split extends Bloc {
 
+    private static final long serialVersionUID = 1L;
+
     @Getter
     @Setter
     private int A;
@@ -54,6 +57,8 @@ public class Split extends Bloc {
     @Setter
     private String C;
 
+    private Bloc blockB;
+
     /**
      * Creates a new instance of Split.
      *
@@ -100,38 +105,45 @@ public class Split extends Bloc {
     @Override
     public Bloc execute(Xact tr) throws Exception {
 
-        Integer serialNumber = 1;
-        Bloc destinationBlock = getProces().findBloc(B);
+        incTrans(tr);
 
-        if (destinationBlock == null) {
-            destinationBlock = nextBloc(tr);
-        }
+        Bloc next = nextBloc(tr);
+        Bloc destinationBlock = blockB != null ? blockB : next;
+        boolean serial = C != null && !C.isEmpty();
+        int serialNumber = 0;
 
-        if (!C.isEmpty()) {
-            serialNumber = (Integer) tr.getParameter(C);
-            if (serialNumber == null) {
-                tr.getTransactionParameters().put(C, 1);
+        if (serial) {
+            Object parameter = tr.getParameter(C);
+            if (parameter instanceof Number) {
+                serialNumber = ((Number) parameter).intValue();
+            } else {
+                tr.getTransactionParameters().put(C, serialNumber);
             }
         }
 
-        while (A > 0) {
+        for (int i = 0; i < A; i++) {
 
+            Xact newXact;
             try {
-                Xact newXact = tr.clone();
-                tr.setBloc(destinationBlock);
-                serialNumber++;
-                if (!C.isEmpty()) {
-                    tr.getTransactionParameters().put(C, serialNumber);
-                }
-                getModel().getCEC().add(newXact);
-
+                newXact = tr.clone();
             } catch (CloneNotSupportedException e) {
                 throw new Exception("At Split block " + getLabel() + " Error on copy transaction ");
             }
-            A--;
+            getModel().incIdXact();
+            newXact.setID(getModel().getIdxact());
+            newXact.setBloc(destinationBlock);
+            if (serial) {
+                newXact.getTransactionParameters().put(C, ++serialNumber);
+            }
+            getModel().getCEC().add(newXact);
         }
-        return destinationBlock;
-    }   
+        return next;
+    }
+
+    @Override
+    public void link() throws InitializeBlockError {
+        blockB = linkBloc(B);
+    }
 
     @Override
     public String name() {
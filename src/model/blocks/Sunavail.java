@@ -21,7 +21,6 @@ package model.blocks;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
-import static model.SNA.evaluate;
 import model.entities.Xact;
 import utils.Constants;
 
@@ -38,11 +37,15 @@ import utils.Constants;
 @NoArgsConstructor
 public class Sunavail extends Bloc {
 
+    private static final long serialVersionUID = 1L;
+
     @Getter
     @Setter
     @SuppressWarnings("FieldMayBeFinal")
     private String A;
 
+    private Facility facility;
+
     /**
      * Creates a new instance of Sunavail
      *
@@ -58,19 +61,17 @@ public class Sunavail extends Bloc {
     @Override
     public Bloc execute(Xact tr) throws Exception {
 
-        String facilityName = evaluate(A, getModel(), tr);
-
-        if (getModel().getFacilities().get(facilityName) == null) {
-            getModel().getFacilities().put(facilityName, new Facility(getModel()));
-        }
-
-        Facility facilityState = getModel().getFacilities().get(facilityName);
-        facilityState.setAvailable(false);
+        facility.setAvailable(false);
 
         return nextBloc(tr);
 
     }
 
+    @Override
+    public void link() {
+        facility = getModel().getFacility(A);
+    }
+
     @Override
     public String name() {
         return "Sunavail";
@@ -22,6 +22,8 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 import model.entities.Xact;
+import model.trace.TraceEvent;
+import model.trace.TraceRecorder;
 import utils.Constants;
 
 /**
@@ -37,6 +39,8 @@ import utils.Constants;
 @NoArgsConstructor
 public class Terminate extends Bloc {
 
+    private static final long serialVersionUID = 1L;
+
     @Getter
     @Setter
     @SuppressWarnings("FieldMayBeFinal")
@@ -58,8 +62,14 @@ public class Terminate extends Bloc {
     @Override
     public Bloc execute(Xact tr) {      
         
-        incTrans(tr);        
+        incTrans(tr);
+        removeTrans(tr);
         getModel().setTC(getModel().getTC() - A);
+
+        TraceRecorder trace = getModel().getTrace();
+        if (trace != null) {
+            trace.record(TraceEvent.TERMINATE, getModel().getRelativeClock(), tr, this, null);
+        }
         return null;
     }   
 
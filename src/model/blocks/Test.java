@@ -18,11 +18,11 @@
  */
 package model.blocks;
 
+import exceptions.InitializeBlockError;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
-import static model.SNA.evaluate;
-import static java.lang.Float.parseFloat;
+import model.CompiledSNA;
 import model.entities.Xact;
 import utils.Constants;
 
@@ -39,6 +39,8 @@ import utils.Constants;
 @NoArgsConstructor
 public class Test extends Bloc {
 
+    private static final long serialVersionUID = 1L;
+
     //Relation operator
     @Getter
     @Setter
@@ -55,6 +57,10 @@ public class Test extends Bloc {
     @Getter
     @Setter
     private String C;
+
+    private CompiledSNA evalA;
+    private CompiledSNA evalB;
+    private Bloc blockC;
     /**
      * String to identify the E test.
      */
@@ -104,23 +110,23 @@ public class Test extends Bloc {
 
         incTrans(tr);
 
-        Float _A = parseFloat(evaluate(A, getModel(), tr));
-        Float _B = parseFloat(evaluate(B, getModel(), tr));
+        double _A = evalA.evaluate(tr);
+        double _B = evalB.evaluate(tr);
 
         Bloc nextBloc;
 
-        if (!this.C.isEmpty()) {
-            nextBloc = getModel().findBloc(C);
+        if (blockC != null) {
+            nextBloc = blockC;
         } else {
             nextBloc = nextBloc(tr);
         }
 
-        boolean test = x.equals(E) && _A.equals(_B)
+        boolean test = x.equals(E) && _A == _B
                 || x.equals(G) && _A > _B
                 || x.equals(GE) && _A >= _B
                 || x.equals(L) && _A < _B
                 || x.equals(LE) && _A <= _B
-                || x.equals(NE) && !_A.equals(_B);
+                || x.equals(NE) && _A != _B;
 
         if (!test) {
             nextBloc = null;
@@ -129,6 +135,13 @@ public class Test extends Bloc {
         return nextBloc;
     }
 
+    @Override
+    public void link() throws InitializeBlockError {
+        evalA = linkSNA(A);
+        evalB = linkSNA(B);
+        blockC = linkBloc(C);
+    }
+
     @Override
     public String name() {
         return "Test";
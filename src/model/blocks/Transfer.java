@@ -19,13 +19,14 @@
 package model.blocks;
 
 import exceptions.BlockNotFound;
-import exceptions.FunctionNotFoundException;
+import exceptions.InitializeBlockError;
 import java.util.PriorityQueue;
 import lombok.Getter;
 import lombok.Setter;
-import static model.SNA.evaluate;
+import model.CompiledSNA;
 import model.entities.Function;
 import model.entities.Xact;
+import model.entities.rng.RandomStream;
 import utils.Constants;
 
 /**
@@ -43,6 +44,8 @@ import utils.Constants;
  */
 public class Transfer extends Bloc {
 
+    private static final long serialVersionUID = 1L;
+
     @Getter
     @Setter
     private String A;
@@ -59,6 +62,13 @@ public class Transfer extends Bloc {
     @Setter
     private PriorityQueue<Xact> BloquedXacts;
 
+    private CompiledSNA fraction;
+    private RandomStream stream;
+    private Function function;
+    private int increment;
+    private Bloc blockB;
+    private Bloc blockC;
+
     /**
      * String identifying Both TRANSFERs.
      */
@@ -110,8 +120,6 @@ public class Transfer extends Bloc {
      * Creates a new instance of Transfer.
      */
     public Transfer() {
-
-        BloquedXacts = new PriorityQueue<>(1000, getModel().getTimeComparator());
     }
 
     /**
@@ -130,7 +138,6 @@ public class Transfer extends Bloc {
         this.B = B;
         this.C = C;
         this.D = D;
-        BloquedXacts = new PriorityQueue<>(1000, getModel().getPriorityComparator());
     }
 
     /**
@@ -152,15 +159,8 @@ public class Transfer extends Bloc {
         Bloc nextBlock = null;
 
         Xact activeTransaction = checkBloqued(tr);
-        Bloc blocB = getProces().findBloc(B);
-        Bloc blocC = getProces().findBloc(C);
-
-        if (blocB == null) {
-            blocB = nextBloc(tr);
-        }
-        if (blocC == null) {
-            blocC = nextBloc(tr);
-        }
+        Bloc blocB = blockB != null ? blockB : sequentialBloc();
+        Bloc blocC = blockC != null ? blockC : sequentialBloc();
 
         /**
          * When the A Operand is BOTH, the TRANSFER Block operates in "Both
@@ -223,8 +223,7 @@ public class Transfer extends Bloc {
                 if (getProces().getBlocs().size() > lastPlace) {
                     lastPlace = getProces().getBlocs().size();
                 }
-                java.util.Random rnd = new java.util.Random();
-                int randomIndex = rnd.nextInt((lastPlace - firstPlace)) + firstPlace;
+                int randomIndex = stream.nextInt(lastPlace - firstPlace) + firstPlace;
 
                 nextBlock = getProces().getBlocs().get(randomIndex);
             }
@@ -237,16 +236,7 @@ public class Transfer extends Bloc {
          */
         else if (A.equals(FN)) {
 
-            Function f = getModel().getFunctions().stream()//
-                    .filter(fn -> fn.getName().equals(B))//
-                    .findFirst()//
-                    .orElse(null);
-
-            if (f == null) {
-                throw new FunctionNotFoundException(B);
-            }
-
-            Integer blockPos = Math.round(f.evaluate()) + Integer.valueOf(C);
+            int blockPos = Math.round(function.value(getModel(), tr)) + increment;
 
             try {
                 nextBlock = getProces().getBlocs().get(blockPos);
@@ -327,9 +317,6 @@ public class Transfer extends Bloc {
                         + " not found");
             }
 
-        } else if (A.isEmpty() && !B.isEmpty()) {
-            nextBlock = getModel().findBloc(B);
-
         } /**
          *
          * When the A Operand is not a keyword, the TRANSFER Block operates in
@@ -340,32 +327,20 @@ public class Transfer extends Bloc {
          * fractional probability. The alternate destination is specified in
          * Operand B, or the NSB if Operand B is omitted.
          */
-        else if (A.matches("[-+]?[0-9]*\\.?[0-9]+([eE][-+]?[0-9]+)?")){
-
-            try {
+        else {
 
-                float probability = Float.valueOf(evaluate(A, getModel(), tr));
-
-                if (probability > 1) {
-                    probability = probability / 1000;
-                }
+            float probability = (float) fraction.evaluate(tr);
 
-                java.util.Random rnd = new java.util.Random();
-                float randomFloat = rnd.nextFloat();
+            if (probability > 1) {
+                probability = probability / 1000;
+            }
 
-                if (randomFloat >= probability) {
-                    nextBlock = blocC;
-                } else if (blocB != null) {
-                    nextBlock = blocB;
-                } else {
-                    nextBlock = nextBloc(tr);
-                }
+            float randomFloat = stream.nextFloat();
 
-            } catch (NumberFormatException e) {
-                throw new Exception("At Transfer Block: "
-                        + getLabel()
-                        + " at proces " + getProces().getDescpro()
-                        + ". Bad Fraction Format");
+            if (randomFloat >= probability) {
+                nextBlock = blocC;
+            } else {
+                nextBlock = blocB;
             }
         }
         return nextBlock;
@@ -376,6 +351,62 @@ public class Transfer extends Bloc {
         return true;
     }
 
+    /**
+     * Binds the destination blocks of the modes that take labels and compiles
+     * the probability of the fractional mode.
+     *
+     * @throws InitializeBlockError
+     */
+    @Override
+    public void link() throws InitializeBlockError {
+
+        BloquedXacts = new PriorityQueue<>(1000, getModel().getPriorityComparator());
+        stream = getModel().getRandomStream(1);
+
+        switch (A) {
+            // B and C are not labels in these modes
+            case PICK:
+            case P:
+                break;
+            case FN:
+                function = getModel().getFunctions().stream()//
+                        .filter(fn -> fn.getName().equals(B))//
+                        .findFirst()//
+                        .orElseThrow(() -> new InitializeBlockError(String.format("At Transfer block %s. Function %s not found", getLabel(), B)));
+                try {
+                    increment = C == null || C.isEmpty() ? 0 : Integer.parseInt(C);
+                } catch (NumberFormatException e) {
+                    throw new InitializeBlockError(String.format("At Transfer block %s. Bad increment %s", getLabel(), C));
+                }
+                break;
+            case SBR:
+                blockB = linkBloc(B);
+                break;
+            case BOTH:
+            case ALL:
+            case SIM:
+            case NUL:
+            case "":
+                blockB = linkBloc(B);
+                blockC = linkBloc(C);
+                break;
+            default:
+                blockB = linkBloc(B);
+                blockC = linkBloc(C);
+                fraction = linkSNA(A);
+        }
+    }
+
+    /**
+     * Returns the block that follows this one in the process
+     *
+     * @return
+     */
+    private Bloc sequentialBloc() {
+        int next = getPos() + 1;
+        return next < getProces().getBlocs().size() ? getProces().getBlocs().get(next) : null;
+    }
+
     private Xact checkBloqued(Xact tr) {
 
         if (this.BloquedXacts.isEmpty()) {
@@ -0,0 +1,133 @@
+/**
+ * Software end-user license agreement.
+ *
+ * The LICENSE.TXT containing the license is located in the JGPSS project.
+ * License.txt can be downloaded here:
+ * href="http://www-eio.upc.es/~Pau/index.php?q=node/28
+ *
+ * NOTICE TO THE USER: BY COPYING, INSTALLING OR USING THIS SOFTWARE OR PART OF
+ * THIS SOFTWARE, YOU AGREE TO THE   TERMS AND CONDITIONS OF THE LICENSE AGREEMENT
+ * AS IF IT WERE A WRITTEN AGREEMENT NEGOTIATED AND SIGNED BY YOU. THE LICENSE
+ * AGREEMENT IS ENFORCEABLE AGAINST YOU AND ANY OTHER LEGAL PERSON ACTING ON YOUR
+ * BEHALF.
+ * IF, AFTER READING THE TERMS AND CONDITIONS HEREIN, YOU DO NOT AGREE TO THEM,
+ * YOU MAY NOT INSTALL THIS SOFTWARE ON YOUR COMPUTER.
+ * UPC IS THE OWNER OF ALL THE INTELLECTUAL PROPERTY OF THE SOFTWARE AND ONLY
+ * AUTHORIZES YOU TO USE THE SOFTWARE IN ACCORDANCE WITH THE TERMS SET OUT IN
+ * THE LICENSE AGREEMENT.
+ */
+package model.chains;
+
+import java.util.Comparator;
+import java.util.Iterator;
+import model.entities.Xact;
+
+/**
+ * Future Event Chain that chooses its implementation from the observed chain
+ * size. Small chains are kept in a heap, large chains are moved to a calendar
+ * queue. The thresholds are far apart to avoid switching back and forth.
+ *
+ * @author Ezequiel Andujar Montes
+ */
+public class AdaptiveEventChain extends EventChain {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Size above which the chain is moved to a calendar queue
+     */
+    public static final int CALENDAR_THRESHOLD = 4096;
+
+    /**
+     * Size below which the chain is moved back to a heap
+     */
+    public static final int HEAP_THRESHOLD = 512;
+
+    private final Comparator<Xact> timeComparator;
+    private EventChain chain;
+
+    public AdaptiveEventChain(Comparator<Xact> timeComparator) {
+        this.timeComparator = timeComparator;
+        this.chain = new HeapEventChain(timeComparator);
+    }
+
+    @Override
+    public boolean offer(Xact xact) {
+
+        chain.offer(xact);
+
+        if (chain.size() > CALENDAR_THRESHOLD && chain.getType() == EventChainType.HEAP) {
+            switchTo(new CalendarEventChain());
+        }
+        return true;
+    }
+
+    @Override
+    public Xact poll() {
+
+        Xact xact = chain.poll();
+
+        if (chain.size() < HEAP_THRESHOLD && chain.getType() == EventChainType.CALENDAR) {
+            switchTo(new HeapEventChain(timeComparator));
+        }
+        return xact;
+    }
+
+    @Override
+    public Xact peek() {
+        return chain.peek();
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        return chain.contains(o);
+    }
+
+    @Override
+    public boolean remove(Object o) {
+        return chain.remove(o);
+    }
+
+    @Override
+    public boolean reschedule(Xact xact, float moveTime) {
+        return chain.reschedule(xact, moveTime);
+    }
+
+    @Override
+    public void clear() {
+        chain = new HeapEventChain(timeComparator);
+    }
+
+    @Override
+    public Iterator<Xact> iterator() {
+        return chain.iterator();
+    }
+
+    @Override
+    public int size() {
+        return chain.size();
+    }
+
+    @Override
+    public EventChainType getType() {
+        return EventChainType.AUTO;
+    }
+
+    /**
+     * Returns the type of the implementation currently in use
+     *
+     * @return
+     */
+    public EventChainType getCurrentType() {
+        return chain.getType();
+    }
+
+    private void switchTo(EventChain target) {
+
+        Xact xact;
+        while ((xact = chain.poll()) != null) {
+            target.offer(xact);
+        }
+        chain = target;
+    }
+}
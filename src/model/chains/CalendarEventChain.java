@@ -0,0 +1,333 @@
+/**
+ * Software end-user license agreement.
+ *
+ * The LICENSE.TXT containing the license is located in the JGPSS project.
+ * License.txt can be downloaded here:
+ * href="http://www-eio.upc.es/~Pau/index.php?q=node/28
+ *
+ * NOTICE TO THE USER: BY COPYING, INSTALLING OR USING THIS SOFTWARE OR PART OF
+ * THIS SOFTWARE, YOU AGREE TO THE   TERMS AND CONDITIONS OF THE LICENSE AGREEMENT
+ * AS IF IT WERE A WRITTEN AGREEMENT NEGOTIATED AND SIGNED BY YOU. THE LICENSE
+ * AGREEMENT IS ENFORCEABLE AGAINST YOU AND ANY OTHER LEGAL PERSON ACTING ON YOUR
+ * BEHALF.
+ * IF, AFTER READING THE TERMS AND CONDITIONS HEREIN, YOU DO NOT AGREE TO THEM,
+ * YOU MAY NOT INSTALL THIS SOFTWARE ON YOUR COMPUTER.
+ * UPC IS THE OWNER OF ALL THE INTELLECTUAL PROPERTY OF THE SOFTWARE AND ONLY
+ * AUTHORIZES YOU TO USE THE SOFTWARE IN ACCORDANCE WITH THE TERMS SET OUT IN
+ * THE LICENSE AGREEMENT.
+ */
+package model.chains;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import model.entities.Xact;
+
+/**
+ * Future Event Chain implemented as a calendar queue (R. Brown, 1988).
+ *
+ * The time line is divided in "days" of fixed width that are mapped onto a
+ * circular array of buckets. Each bucket keeps its Xacts sorted by move time
+ * in descending order, so the earliest Xact is always at the tail and can be
+ * removed without shifting. Xacts with the same move time leave the chain in
+ * arrival order. The number of buckets and the day width are adapted to the
+ * chain size, which gives amortized O(1) enqueue and dequeue.
+ *
+ * @author Ezequiel Andujar Montes
+ */
+public class CalendarEventChain extends EventChain {
+
+    private static final long serialVersionUID = 1L;
+
+    private static final int MIN_BUCKETS = 16;
+    private static final int INITIAL_BUCKET_CAPACITY = 4;
+
+    private Xact[][] buckets;
+    private int[] counts;
+    private int mask;
+    private double width;
+    private int size;
+
+    /**
+     * Absolute index of the day being served
+     */
+    private long day;
+
+    public CalendarEventChain() {
+        width = 1d;
+        allocate(MIN_BUCKETS);
+    }
+
+    @Override
+    public boolean offer(Xact xact) {
+
+        if (xact == null) {
+            throw new NullPointerException();
+        }
+
+        long d = dayOf(xact.getMoveTime());
+
+        if (size == 0 || d < day) {
+            day = d;
+        }
+        insert(xact, d);
+        size++;
+
+        if (size > 2 * buckets.length) {
+            resize(2 * buckets.length);
+        }
+        return true;
+    }
+
+    @Override
+    public Xact poll() {
+
+        int b = locate();
+
+        if (b < 0) {
+            return null;
+        }
+        Xact xact = buckets[b][--counts[b]];
+        buckets[b][counts[b]] = null;
+        size--;
+
+        if (size < buckets.length / 2 && buckets.length > MIN_BUCKETS) {
+            resize(buckets.length / 2);
+        }
+        return xact;
+    }
+
+    @Override
+    public Xact peek() {
+
+        int b = locate();
+        return b < 0 ? null : buckets[b][counts[b] - 1];
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        return o instanceof Xact && indexOf((Xact) o) >= 0;
+    }
+
+    @Override
+    public boolean remove(Object o) {
+
+        if (!(o instanceof Xact)) {
+            return false;
+        }
+        Xact xact = (Xact) o;
+        int i = indexOf(xact);
+
+        if (i < 0) {
+            return false;
+        }
+        removeAt(bucketOf(dayOf(xact.getMoveTime())), i);
+        return true;
+    }
+
+    @Override
+    public void clear() {
+        width = 1d;
+        size = 0;
+        day = 0;
+        allocate(MIN_BUCKETS);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public Iterator<Xact> iterator() {
+
+        return new Iterator<Xact>() {
+
+            private int bucket = 0;
+            private int index = 0;
+            private int lastBucket = -1;
+            private int lastIndex = -1;
+
+            @Override
+            public boolean hasNext() {
+                while (bucket < buckets.length && index >= counts[bucket]) {
+                    bucket++;
+                    index = 0;
+                }
+                return bucket < buckets.length;
+            }
+
+            @Override
+            public Xact next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                lastBucket = bucket;
+                lastIndex = index;
+                return buckets[bucket][index++];
+            }
+
+            @Override
+            public void remove() {
+                if (lastIndex < 0) {
+                    throw new IllegalStateException();
+                }
+                removeAt(lastBucket, lastIndex);
+                index = lastIndex;
+                lastIndex = -1;
+            }
+        };
+    }
+
+    @Override
+    public EventChainType getType() {
+        return EventChainType.CALENDAR;
+    }
+
+    /**
+     * Returns the number of buckets of the calendar
+     *
+     * @return
+     */
+    public int getBucketCount() {
+        return buckets.length;
+    }
+
+    /**
+     * Returns the width of a calendar day
+     *
+     * @return
+     */
+    public double getWidth() {
+        return width;
+    }
+
+    private long dayOf(float time) {
+        return (long) Math.floor(time / width);
+    }
+
+    private int bucketOf(long d) {
+        return (int) (d & mask);
+    }
+
+    /**
+     * Moves the current day to the bucket that holds the earliest Xact and
+     * returns its index, or -1 if the chain is empty.
+     */
+    private int locate() {
+
+        if (size == 0) {
+            return -1;
+        }
+
+        for (int i = 0; i < buckets.length; i++, day++) {
+            int b = bucketOf(day);
+            if (counts[b] > 0 && dayOf(buckets[b][counts[b] - 1].getMoveTime()) <= day) {
+                return b;
+            }
+        }
+
+        // A whole year without events: direct search of the minimum
+        int min = -1;
+        for (int b = 0; b < buckets.length; b++) {
+            if (counts[b] > 0 && (min < 0
+                    || buckets[b][counts[b] - 1].getMoveTime() < buckets[min][counts[min] - 1].getMoveTime())) {
+                min = b;
+            }
+        }
+        day = dayOf(buckets[min][counts[min] - 1].getMoveTime());
+        return min;
+    }
+
+    private void insert(Xact xact, long d) {
+
+        int b = bucketOf(d);
+        Xact[] bucket = buckets[b];
+        int n = counts[b];
+        float time = xact.getMoveTime();
+
+        if (n == bucket.length) {
+            bucket = Arrays.copyOf(bucket, n * 2);
+            buckets[b] = bucket;
+        }
+
+        // First position whose move time is not greater than time. Inserting
+        // there keeps the Xacts with the same move time in arrival order.
+        int lo = 0;
+        int hi = n;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (bucket[mid].getMoveTime() > time) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        System.arraycopy(bucket, lo, bucket, lo + 1, n - lo);
+        bucket[lo] = xact;
+        counts[b] = n + 1;
+    }
+
+    private int indexOf(Xact xact) {
+
+        int b = bucketOf(dayOf(xact.getMoveTime()));
+        Xact[] bucket = buckets[b];
+
+        for (int i = counts[b] - 1; i >= 0; i--) {
+            if (bucket[i] == xact) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private void removeAt(int b, int i) {
+
+        Xact[] bucket = buckets[b];
+        int n = counts[b] - 1;
+        System.arraycopy(bucket, i + 1, bucket, i, n - i);
+        bucket[n] = null;
+        counts[b] = n;
+        size--;
+    }
+
+    private void allocate(int bucketCount) {
+
+        buckets = new Xact[bucketCount][INITIAL_BUCKET_CAPACITY];
+        counts = new int[bucketCount];
+        mask = bucketCount - 1;
+    }
+
+    /**
+     * Rebuilds the calendar with bucketCount buckets. The day width is set to
+     * three times the average separation between consecutive Xacts.
+     */
+    private void resize(int bucketCount) {
+
+        Xact[] all = new Xact[size];
+        float min = Float.MAX_VALUE;
+        float max = -Float.MAX_VALUE;
+        int k = 0;
+
+        for (int b = 0; b < buckets.length; b++) {
+            // From the tail so Xacts with the same move time keep their order
+            for (int i = counts[b] - 1; i >= 0; i--) {
+                Xact xact = buckets[b][i];
+                all[k++] = xact;
+                min = Math.min(min, xact.getMoveTime());
+                max = Math.max(max, xact.getMoveTime());
+            }
+        }
+
+        if (size > 1 && max > min) {
+            width = 3d * (max - min) / size;
+        }
+
+        allocate(bucketCount);
+
+        for (Xact xact : all) {
+            insert(xact, dayOf(xact.getMoveTime()));
+        }
+        day = size > 0 ? dayOf(min) : 0;
+    }
+}
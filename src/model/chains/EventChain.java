@@ -0,0 +1,58 @@
+/**
+ * Software end-user license agreement.
+ *
+ * The LICENSE.TXT containing the license is located in the JGPSS project.
+ * License.txt can be downloaded here:
+ * href="http://www-eio.upc.es/~Pau/index.php?q=node/28
+ *
+ * NOTICE TO THE USER: BY COPYING, INSTALLING OR USING THIS SOFTWARE OR PART OF
+ * THIS SOFTWARE, YOU AGREE TO THE   TERMS AND CONDITIONS OF THE LICENSE AGREEMENT
+ * AS IF IT WERE A WRITTEN AGREEMENT NEGOTIATED AND SIGNED BY YOU. THE LICENSE
+ * AGREEMENT IS ENFORCEABLE AGAINST YOU AND ANY OTHER LEGAL PERSON ACTING ON YOUR
+ * BEHALF.
+ * IF, AFTER READING THE TERMS AND CONDITIONS HEREIN, YOU DO NOT AGREE TO THEM,
+ * YOU MAY NOT INSTALL THIS SOFTWARE ON YOUR COMPUTER.
+ * UPC IS THE OWNER OF ALL THE INTELLECTUAL PROPERTY OF THE SOFTWARE AND ONLY
+ * AUTHORIZES YOU TO USE THE SOFTWARE IN ACCORDANCE WITH THE TERMS SET OUT IN
+ * THE LICENSE AGREEMENT.
+ */
+package model.chains;
+
+import java.io.Serializable;
+import java.util.AbstractQueue;
+import model.entities.Xact;
+
+/**
+ * Base class of the event lists used as Future Event Chain. An event chain
+ * returns the Xacts ordered by their move time.
+ *
+ * @author Ezequiel Andujar Montes
+ */
+public abstract class EventChain extends AbstractQueue<Xact> implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Changes the move time of an Xact already scheduled on the chain and
+     * restores the chain order. Returns false if the Xact is not on the chain.
+     *
+     * @param xact
+     * @param moveTime the new move time of the Xact
+     * @return
+     */
+    public boolean reschedule(Xact xact, float moveTime) {
+
+        if (!remove(xact)) {
+            return false;
+        }
+        xact.setMoveTime(moveTime);
+        return offer(xact);
+    }
+
+    /**
+     * Returns the type of this event chain
+     *
+     * @return
+     */
+    public abstract EventChainType getType();
+}
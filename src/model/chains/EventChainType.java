@@ -0,0 +1,61 @@
+/**
+ * Software end-user license agreement.
+ *
+ * The LICENSE.TXT containing the license is located in the JGPSS project.
+ * License.txt can be downloaded here:
+ * href="http://www-eio.upc.es/~Pau/index.php?q=node/28
+ *
+ * NOTICE TO THE USER: BY COPYING, INSTALLING OR USING THIS SOFTWARE OR PART OF
+ * THIS SOFTWARE, YOU AGREE TO THE   TERMS AND CONDITIONS OF THE LICENSE AGREEMENT
+ * AS IF IT WERE A WRITTEN AGREEMENT NEGOTIATED AND SIGNED BY YOU. THE LICENSE
+ * AGREEMENT IS ENFORCEABLE AGAINST YOU AND ANY OTHER LEGAL PERSON ACTING ON YOUR
+ * BEHALF.
+ * IF, AFTER READING THE TERMS AND CONDITIONS HEREIN, YOU DO NOT AGREE TO THEM,
+ * YOU MAY NOT INSTALL THIS SOFTWARE ON YOUR COMPUTER.
+ * UPC IS THE OWNER OF ALL THE INTELLECTUAL PROPERTY OF THE SOFTWARE AND ONLY
+ * AUTHORIZES YOU TO USE THE SOFTWARE IN ACCORDANCE WITH THE TERMS SET OUT IN
+ * THE LICENSE AGREEMENT.
+ */
+package model.chains;
+
+import java.util.Comparator;
+import model.entities.Xact;
+
+/**
+ * Available implementations of the Future Event Chain.
+ *
+ * @author Ezequiel Andujar Montes
+ */
+public enum EventChainType {
+
+    /**
+     * Binary heap, O(log n) enqueue and dequeue. Reference implementation.
+     */
+    HEAP,
+    /**
+     * Calendar queue, amortized O(1) enqueue and dequeue.
+     */
+    CALENDAR,
+    /**
+     * Starts as a heap and switches to a calendar queue when the chain grows.
+     */
+    AUTO;
+
+    /**
+     * Creates a new empty event chain of this type
+     *
+     * @param timeComparator the comparator used by the heap implementation
+     * @return
+     */
+    public EventChain create(Comparator<Xact> timeComparator) {
+
+        switch (this) {
+            case CALENDAR:
+                return new CalendarEventChain();
+            case AUTO:
+                return new AdaptiveEventChain(timeComparator);
+            default:
+                return new HeapEventChain(timeComparator);
+        }
+    }
+}
@@ -0,0 +1,229 @@
+/**
+ * Software end-user license agreement.
+ *
+ * The LICENSE.TXT containing the license is located in the JGPSS project.
+ * License.txt can be downloaded here:
+ * href="http://www-eio.upc.es/~Pau/index.php?q=node/28
+ *
+ * NOTICE TO THE USER: BY COPYING, INSTALLING OR USING THIS SOFTWARE OR PART OF
+ * THIS SOFTWARE, YOU AGREE TO THE   TERMS AND CONDITIONS OF THE LICENSE AGREEMENT
+ * AS IF IT WERE A WRITTEN AGREEMENT NEGOTIATED AND SIGNED BY YOU. THE LICENSE
+ * AGREEMENT IS ENFORCEABLE AGAINST YOU AND ANY OTHER LEGAL PERSON ACTING ON YOUR
+ * BEHALF.
+ * IF, AFTER READING THE TERMS AND CONDITIONS HEREIN, YOU DO NOT AGREE TO THEM,
+ * YOU MAY NOT INSTALL THIS SOFTWARE ON YOUR COMPUTER.
+ * UPC IS THE OWNER OF ALL THE INTELLECTUAL PROPERTY OF THE SOFTWARE AND ONLY
+ * AUTHORIZES YOU TO USE THE SOFTWARE IN ACCORDANCE WITH THE TERMS SET OUT IN
+ * THE LICENSE AGREEMENT.
+ */
+package model.chains;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import model.entities.Xact;
+
+/**
+ * Future Event Chain backed by a position-indexed binary heap.
+ *
+ * Each Xact stores its slot in the heap, so membership tests are O(1) and
+ * removing or rescheduling a specific Xact is O(log n).
+ *
+ * @author Ezequiel Andujar Montes
+ */
+public class HeapEventChain extends EventChain {
+
+    private static final long serialVersionUID = 1L;
+
+    private final Comparator<Xact> timeComparator;
+    private Xact[] heap;
+    private int size;
+    private int modCount;
+
+    public HeapEventChain(Comparator<Xact> timeComparator) {
+        this.timeComparator = timeComparator;
+        this.heap = new Xact[1000];
+    }
+
+    @Override
+    public boolean offer(Xact xact) {
+
+        if (xact == null) {
+            throw new NullPointerException();
+        }
+        if (size == heap.length) {
+            heap = Arrays.copyOf(heap, size * 2);
+        }
+        modCount++;
+        siftUp(size++, xact);
+        return true;
+    }
+
+    @Override
+    public Xact poll() {
+
+        if (size == 0) {
+            return null;
+        }
+        Xact first = heap[0];
+        removeAt(0);
+        return first;
+    }
+
+    @Override
+    public Xact peek() {
+        return size == 0 ? null : heap[0];
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        return indexOf(o) >= 0;
+    }
+
+    @Override
+    public boolean remove(Object o) {
+
+        int i = indexOf(o);
+
+        if (i < 0) {
+            return false;
+        }
+        removeAt(i);
+        return true;
+    }
+
+    @Override
+    public boolean reschedule(Xact xact, float moveTime) {
+
+        int i = indexOf(xact);
+
+        if (i < 0) {
+            return false;
+        }
+        modCount++;
+        float previous = xact.getMoveTime();
+        xact.setMoveTime(moveTime);
+
+        if (moveTime < previous) {
+            siftUp(i, xact);
+        } else {
+            siftDown(i, xact);
+        }
+        return true;
+    }
+
+    @Override
+    public void clear() {
+
+        for (int i = 0; i < size; i++) {
+            heap[i].setHeapIndex(-1);
+            heap[i] = null;
+        }
+        modCount++;
+        size = 0;
+    }
+
+    @Override
+    public Iterator<Xact> iterator() {
+
+        return new Iterator<Xact>() {
+
+            private int index = 0;
+            private final int expectedModCount = modCount;
+
+            @Override
+            public boolean hasNext() {
+                return index < size;
+            }
+
+            @Override
+            public Xact next() {
+                if (expectedModCount != modCount) {
+                    throw new ConcurrentModificationException();
+                }
+                if (index >= size) {
+                    throw new NoSuchElementException();
+                }
+                return heap[index++];
+            }
+        };
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public EventChainType getType() {
+        return EventChainType.HEAP;
+    }
+
+    private int indexOf(Object o) {
+
+        if (!(o instanceof Xact)) {
+            return -1;
+        }
+        int i = ((Xact) o).getHeapIndex();
+        return i >= 0 && i < size && heap[i] == o ? i : -1;
+    }
+
+    private void removeAt(int i) {
+
+        modCount++;
+        heap[i].setHeapIndex(-1);
+        int last = --size;
+
+        if (i == last) {
+            heap[last] = null;
+            return;
+        }
+        Xact moved = heap[last];
+        heap[last] = null;
+        siftDown(i, moved);
+
+        if (heap[i] == moved) {
+            siftUp(i, moved);
+        }
+    }
+
+    private void siftUp(int i, Xact xact) {
+
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            Xact p = heap[parent];
+            if (timeComparator.compare(xact, p) >= 0) {
+                break;
+            }
+            place(i, p);
+            i = parent;
+        }
+        place(i, xact);
+    }
+
+    private void siftDown(int i, Xact xact) {
+
+        int half = size >>> 1;
+
+        while (i < half) {
+            int child = 2 * i + 1;
+            int right = child + 1;
+            if (right < size && timeComparator.compare(heap[right], heap[child]) < 0) {
+                child = right;
+            }
+            if (timeComparator.compare(xact, heap[child]) <= 0) {
+                break;
+            }
+            place(i, heap[child]);
+            i = child;
+        }
+        place(i, xact);
+    }
+
+    private void place(int i, Xact xact) {
+        heap[i] = xact;
+        xact.setHeapIndex(i);
+    }
+}
@@ -0,0 +1,139 @@
+/**
+ * Software end-user license agreement.
+ *
+ * The LICENSE.TXT containing the license is located in the JGPSS project.
+ * License.txt can be downloaded here:
+ * href="http://www-eio.upc.es/~Pau/index.php?q=node/28
+ *
+ * NOTICE TO THE USER: BY COPYING, INSTALLING OR USING THIS SOFTWARE OR PART OF
+ * THIS SOFTWARE, YOU AGREE TO THE   TERMS AND CONDITIONS OF THE LICENSE AGREEMENT
+ * AS IF IT WERE A WRITTEN AGREEMENT NEGOTIATED AND SIGNED BY YOU. THE LICENSE
+ * AGREEMENT IS ENFORCEABLE AGAINST YOU AND ANY OTHER LEGAL PERSON ACTING ON YOUR
+ * BEHALF.
+ * IF, AFTER READING THE TERMS AND CONDITIONS HEREIN, YOU DO NOT AGREE TO THEM,
+ * YOU MAY NOT INSTALL THIS SOFTWARE ON YOUR COMPUTER.
+ * UPC IS THE OWNER OF ALL THE INTELLECTUAL PROPERTY OF THE SOFTWARE AND ONLY
+ * AUTHORIZES YOU TO USE THE SOFTWARE IN ACCORDANCE WITH THE TERMS SET OUT IN
+ * THE LICENSE AGREEMENT.
+ */
+package model.chains;
+
+import java.io.Serializable;
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import model.entities.Xact;
+
+/**
+ * Match chain of the MATCH, GATHER and ASSEMBLE blocks. The waiting Xacts are
+ * kept in arrival order by assembly set, so the members of a set are found
+ * without scanning the Xacts of the other sets.
+ *
+ * @author Ezequiel Andujar Montes
+ */
+public class MatchChain implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final HashMap<Integer, ArrayDeque<Xact>> sets = new HashMap<>();
+
+    private int size;
+
+    /**
+     * Puts the Xact on the chain behind the waiting members of its assembly
+     * set
+     *
+     * @param xact
+     */
+    public void add(Xact xact) {
+        sets.computeIfAbsent(xact.getAssemblySet(), s -> new ArrayDeque<>()).add(xact);
+        size++;
+    }
+
+    /**
+     * Returns the first waiting Xact of the assembly set, null if there is none
+     *
+     * @param assemblySet
+     * @return
+     */
+    public Xact peek(int assemblySet) {
+        ArrayDeque<Xact> set = sets.get(assemblySet);
+        return set != null ? set.peek() : null;
+    }
+
+    /**
+     * Removes and returns the first waiting Xact of the assembly set, null if
+     * there is none
+     *
+     * @param assemblySet
+     * @return
+     */
+    public Xact poll(int assemblySet) {
+        ArrayDeque<Xact> set = sets.get(assemblySet);
+        if (set == null) {
+            return null;
+        }
+        Xact xact = set.poll();
+        if (set.isEmpty()) {
+            sets.remove(assemblySet);
+        }
+        size--;
+        return xact;
+    }
+
+    /**
+     * Removes and returns all the waiting Xacts of the assembly set
+     *
+     * @param assemblySet
+     * @return the Xacts in arrival order, empty if there is none
+     */
+    public ArrayDeque<Xact> removeAll(int assemblySet) {
+        ArrayDeque<Xact> set = sets.remove(assemblySet);
+        if (set == null) {
+            return new ArrayDeque<>();
+        }
+        size -= set.size();
+        return set;
+    }
+
+    /**
+     * Removes the Xact from the chain
+     *
+     * @param xact
+     * @return false if the Xact was not on the chain
+     */
+    public boolean remove(Xact xact) {
+        ArrayDeque<Xact> set = sets.get(xact.getAssemblySet());
+        if (set == null || !set.remove(xact)) {
+            return false;
+        }
+        if (set.isEmpty()) {
+            sets.remove(xact.getAssemblySet());
+        }
+        size--;
+        return true;
+    }
+
+    /**
+     * Returns the number of waiting Xacts of the assembly set
+     *
+     * @param assemblySet
+     * @return
+     */
+    public int count(int assemblySet) {
+        ArrayDeque<Xact> set = sets.get(assemblySet);
+        return set != null ? set.size() : 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void clear() {
+        sets.clear();
+        size = 0;
+    }
+}
@@ -18,6 +18,7 @@
  */
 package model.entities;
 
+import java.io.Serializable;
 import com.rits.cloning.Cloner;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -29,7 +30,9 @@ import lombok.Setter;
  * @param <T>
  */
 @NoArgsConstructor
-public class AmperVariable<T> {
+public class AmperVariable<T> implements Serializable {
+
+    private static final long serialVersionUID = 1L;
 
     @Getter
     private String name;
@@ -48,4 +51,14 @@ public class AmperVariable<T> {
     public void reset() {
         value = originalValue;
     }
+
+    /**
+     * Sets the value the variable takes at the start of every run
+     *
+     * @param value
+     */
+    public void setInitialValue(T value) {
+        this.value = value;
+        this.originalValue = new Cloner().deepClone(value);
+    }
 }
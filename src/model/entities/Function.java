@@ -18,18 +18,35 @@
  */
 package model.entities;
 
+import java.io.Serializable;
 import exceptions.MalformedFunctionDistributionException;
-import java.util.ArrayList;
-import javafx.util.Pair;
+import exceptions.ModelSyntaxException;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import lombok.AccessLevel;
 import lombok.Data;
-import model.entities.rng.Uniform;
+import lombok.Getter;
+import lombok.Setter;
+import model.CompiledSNA;
+import model.Model;
+import model.SNACompiler;
+import model.entities.rng.RandomStream;
 
 /**
+ * A GPSS FUNCTION. The distribution is parsed once into primitive arrays
+ * sorted by X, and parsed again only when A, B or the distribution change.
+ * Discrete functions of a random number use an alias table, so a draw costs
+ * one random number whatever the number of points.
  *
  * @author Ezequiel Andujar Montes
  */
 @Data
-public class Function {
+public class Function implements Serializable {
+
+    private static final long serialVersionUID = 1L;
 
     private String name;
     private String A;
@@ -40,9 +57,19 @@ public class Function {
 
     public final static String C = "C";
     public final static String D = "D";
-    public final static String E = "E"; // Not implemented 
+    public final static String E = "E";
     public final static String L = "L";
-    public final static String M = "M"; // Not implemented
+    public final static String M = "M";
+
+    private static final Pattern TYPE = Pattern.compile("([CDELM])([0-9]+)");
+    private static final Pattern RANDOM = Pattern.compile("RN([0-9]+)");
+
+    /**
+     * The compiled function, null until the next evaluation after a change
+     */
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private transient Table table;
 
     public Function(String name, String A, String B, String d) throws MalformedFunctionDistributionException {
 
@@ -50,168 +77,338 @@ public class Function {
         this.A = A; 
         this.B = B;
         this.distribution = d; 
-        this.distributionSize = evaluateFunctionType(B).getValue();
+        this.table = parse();
+        this.distributionSize = table.x.length;
     }
 
-    public Float evaluate() throws MalformedFunctionDistributionException {
+    public void setA(String A) {
+        this.A = A;
+        table = null;
+    }
 
-        Float result = 0f;        
-        Pair<String, Integer> type = evaluateFunctionType(B);
-        int distrSize = type.getValue();
-        Float Aeval = evaluateParameter(A);
-        ArrayList<Pair<Float, Float>> dist = evaluateDistribution(distribution, distrSize);
-        
-        switch (type.getKey()) {
-            case C:
-                result = evaluateCType(dist, Aeval);
-                break;
-            case D:
-                result = evaluateDType(dist, Aeval);
-                break;
-            case E:
-                result = evaluateEType();
-                break;
-            case L:
-                result = evaluateLType(dist, Aeval);
-                break;
-            case M:
-                result = evaluateMType();
-                break;
-        }
-        return result;
+    public void setB(String B) {
+        this.B = B;
+        table = null;
+    }
+
+    public void setDistribution(String distribution) {
+        this.distribution = distribution;
+        table = null;
     }
 
     /**
-     * Continous function Given a value for X, interpolates and returns an
-     * integer value for Y
+     * Compiles the function and binds its argument and values to the model
      *
-     * @return
+     * @param model
+     * @throws MalformedFunctionDistributionException
      */
-    private Float evaluateCType(ArrayList<Pair<Float, Float>> distribution, Float A) {
+    public void link(Model model) throws MalformedFunctionDistributionException {
 
-        Float y = distribution.stream()//
-                .filter(p -> p.getKey().equals(A))//
-                .map(p -> p.getValue())//
-                .findFirst()//
-                .orElse(0f);
+        if (table == null) {
+            table = parse();
+        }
+        table.link(model);
+    }
 
-        return Float.valueOf(Math.round(y));
+    public Float evaluate() throws Exception {
+        return value(null, null);
     }
 
-    /**
-     * Discrete function Given a value for X, if an equal or bigger value is
-     * found, it returns its associated value. If it is not found, it returns
-     * the biggest value
-     *
-     * @return
-     */
-    private Float evaluateDType(ArrayList<Pair<Float, Float>> distribution, Float A) {
-
-        Float biggestValue = distribution.stream()//
-                .sorted((a, b) -> Float.compare(b.getKey(), a.getKey()))//
-                .map(p -> p.getValue())//                
-                .findFirst()//                
-                .orElse(0f);
-
-        return distribution.stream()//
-                .filter(p -> p.getKey() >= A)//
-                .map(p -> p.getValue())//
-                .findFirst()//
-                .orElse(biggestValue);
+    public Float evaluate(Model model) throws Exception {
+        return value(model, null);
+    }
+
+    public Float evaluate(Model model, Xact tr) throws Exception {
+        return value(model, tr);
     }
 
     /**
-     * List Value Function Returns the value of the position X indicated by the
-     * function argument
+     * Evaluates the function. An RNn argument draws from the random number
+     * stream n of the model, or from a stream seeded from the clock when there
+     * is no model. Other SNA arguments and the values of E and M functions are
+     * evaluated for the transaction.
      *
+     * @param model
+     * @param tr the active transaction
      * @return
+     * @throws Exception
      */
-    private Float evaluateLType(ArrayList<Pair<Float, Float>> distribution, Float A) {
+    public float value(Model model, Xact tr) throws Exception {
 
-        return distribution.stream()//
-                .filter(p -> p.getKey().equals(A))//
-                .map(p -> p.getValue())//
-                .findFirst()//
-                .orElse(0f);
-    }
+        Table t = table;
 
-    private Float evaluateEType() {
-        return 0f;
-    }
+        if (t == null) {
+            t = table = parse();
+        }
+        if (!t.linked || t.model != model) {
+            t.link(model);
+        }
 
-    private Float evaluateMType() {
-        return 0f;
+        int i;
+
+        switch (t.type) {
+            case C:
+                return (float) t.interpolate(t.argument(tr));
+            case D:
+                return t.alias != null ? t.y[t.sample()] : t.y[t.lowerBound(t.argument(tr))];
+            case E:
+                i = t.alias != null ? t.sample() : t.lowerBound(t.argument(tr));
+                return (float) t.values[i].evaluate(tr);
+            case L:
+                i = Arrays.binarySearch(t.x, (float) t.argument(tr));
+                return i >= 0 ? t.y[i] : 0f;
+            case M:
+                i = Arrays.binarySearch(t.x, (float) t.argument(tr));
+                return i >= 0 ? (float) t.values[i].evaluate(tr) : 0f;
+            default:
+                return 0f;
+        }
     }
 
-    private ArrayList<Pair<Float, Float>> evaluateDistribution(String d, int distributionSize) throws MalformedFunctionDistributionException {
+    /**
+     * Parses the type and the points of the function. The values of E and M
+     * functions are SNAs, compiled when the function is linked to a model.
+     */
+    private Table parse() throws MalformedFunctionDistributionException {
 
-        ArrayList<Pair<Float, Float>> dist = new ArrayList<>();
+        Matcher type = TYPE.matcher(B == null ? "" : B);
 
-        String[] pairs = d.split("/");
+        if (!type.matches()) {
+            throw new MalformedFunctionDistributionException();
+        }
 
-        if (pairs.length == 0 || pairs.length != distributionSize) {
+        int size;
+        try {
+            size = Integer.parseInt(type.group(2));
+        } catch (NumberFormatException e) {
+            throw new MalformedFunctionDistributionException();
+        }
+
+        String[] pairs = distribution == null ? new String[0] : distribution.split("/");
+
+        if (pairs.length == 0 || pairs.length != size) {
             throw new MalformedFunctionDistributionException();
         }
 
-        for (String pair : pairs) {
-            String[] values = pair.split(",");
-            if (values.length != 2) {
+        Table t = new Table(type.group(1), size);
+        Integer[] order = new Integer[size];
+        float[] x = new float[size];
+        String[] y = new String[size];
+
+        for (int i = 0; i < size; i++) {
+
+            String[] values = pairs[i].split(",");
+            if (values.length != 2 || values[1].trim().isEmpty()) {
                 throw new MalformedFunctionDistributionException();
             }
             try {
+                x[i] = Float.parseFloat(values[0]);
+                y[i] = values[1].trim();
+                if (!t.attributeValued()) {
+                    Float.parseFloat(y[i]);
+                }
+            } catch (NumberFormatException e) {
+                throw new MalformedFunctionDistributionException();
+            }
+            order[i] = i;
+        }
 
-                Float x = Float.valueOf(values[0]);
-                Float y = Float.valueOf(values[1]);
-                dist.add(new Pair<>(x, y));
+        // Stable, so equal X keep the order they were written in
+        Arrays.sort(order, (a, b) -> Float.compare(x[a], x[b]));
 
-            } catch (NumberFormatException e) {
+        for (int i = 0; i < size; i++) {
+            t.x[i] = x[order[i]];
+            t.sources[i] = y[order[i]];
+            t.y[i] = t.attributeValued() ? 0f : Float.parseFloat(y[order[i]]);
+        }
+
+        Matcher random = RANDOM.matcher(A == null ? "" : A.trim());
+        if (random.matches()) {
+            t.stream = Integer.parseInt(random.group(1));
+            if (t.stream < 1) {
                 throw new MalformedFunctionDistributionException();
             }
+            if (t.type.equals(D) || t.type.equals(E)) {
+                t.buildAlias();
+            }
+        } else {
+            try {
+                t.constant = Float.parseFloat(A);
+                t.constantArgument = true;
+            } catch (NumberFormatException | NullPointerException e) {
+                t.constantArgument = false;
+            }
         }
-        return dist;
+        return t;
     }
 
-    private Pair<String, Integer> evaluateFunctionType(String t) throws MalformedFunctionDistributionException {
+    /**
+     * The points of a function, sorted by X
+     */
+    private final class Table implements Serializable {
 
-        Integer size;
-        String type;
+        private static final long serialVersionUID = 1L;
 
-        if (!t.matches("[CDL0-9]+")) {
-            throw new MalformedFunctionDistributionException();
+        final String type;
+        final float[] x;
+        final float[] y;
+        final String[] sources;
+        CompiledSNA[] values;
+
+        int stream;
+        float constant;
+        boolean constantArgument;
+        CompiledSNA argument;
+        RandomStream random;
+
+        double[] probability;
+        int[] alias;
+
+        boolean linked;
+        Model model;
+
+        Table(String type, int size) {
+            this.type = type;
+            x = new float[size];
+            y = new float[size];
+            sources = new String[size];
         }
 
-        try {
-            size = Integer.valueOf(t.split("^[A-Z]+")[1]);
-        } catch (NumberFormatException e) {
-            throw new MalformedFunctionDistributionException();
+        boolean attributeValued() {
+            return type.equals(E) || type.equals(M);
         }
-        type = t.substring(0, 1);
-        return new Pair<>(type, size);
-    }
 
-    private Float evaluateParameter(String A) throws MalformedFunctionDistributionException {
+        /**
+         * Binds the argument and the values to the model
+         */
+        void link(Model m) throws MalformedFunctionDistributionException {
 
-        Float f = new Float(0);
+            try {
+                if (stream > 0) {
+                    random = m != null ? m.getRandomStream(stream) : new RandomStream(System.nanoTime());
+                } else if (!constantArgument) {
+                    if (m == null) {
+                        throw new MalformedFunctionDistributionException();
+                    }
+                    argument = SNACompiler.compile(A, m);
+                }
+                if (attributeValued()) {
+                    values = new CompiledSNA[sources.length];
+                    for (int i = 0; i < sources.length; i++) {
+                        values[i] = SNACompiler.compile(sources[i], m);
+                    }
+                }
+            } catch (ModelSyntaxException e) {
+                throw new MalformedFunctionDistributionException();
+            }
+            model = m;
+            linked = true;
+        }
+
+        double argument(Xact tr) throws Exception {
+            if (random != null) {
+                return random.nextFloat();
+            }
+            return constantArgument ? constant : argument.evaluate(tr);
+        }
 
-        if (A.matches("RN[0-9]*")) {
+        /**
+         * Index of the first point with X greater or equal than a, the last
+         * point if there is none
+         */
+        int lowerBound(double a) {
 
-            Integer n;
-            try {
-                n = Integer.valueOf(A.split("RN")[1]);
+            int low = 0;
+            int high = x.length - 1;
+
+            if (a > x[high]) {
+                return high;
             }
-            catch(NumberFormatException e) {
-                throw new MalformedFunctionDistributionException();
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (x[mid] < a) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
             }
+            return low;
+        }
 
-            f = new Uniform().generate(n, 0);
+        /**
+         * Linear interpolation between the two points around a, the first or
+         * last Y outside the X range
+         */
+        double interpolate(double a) {
 
-        } else {
-            try {
-                f = Float.parseFloat(A);
-            } catch (NumberFormatException e) {
-                throw new MalformedFunctionDistributionException();
+            int last = x.length - 1;
+
+            if (a <= x[0]) {
+                return y[0];
+            }
+            if (a >= x[last]) {
+                return y[last];
             }
+
+            int i = lowerBound(a);
+            double x0 = x[i - 1];
+            double y0 = y[i - 1];
+
+            return x[i] == x0 ? y[i] : y0 + (y[i] - y0) * (a - x0) / (x[i] - x0);
+        }
+
+        /**
+         * Builds the alias table of a discrete function of a random number.
+         * Point i is chosen when the number falls in (X[i-1], X[i]], and the
+         * last point takes the numbers above the last X.
+         */
+        void buildAlias() {
+
+            int n = x.length;
+            double[] p = new double[n];
+            double previous = 0;
+
+            for (int i = 0; i < n; i++) {
+                double xi = Math.min(1, Math.max(0, x[i]));
+                p[i] = (xi - previous) * n;
+                previous = xi;
+            }
+            p[n - 1] += (1 - previous) * n;
+
+            probability = new double[n];
+            alias = new int[n];
+            Deque<Integer> small = new ArrayDeque<>();
+            Deque<Integer> large = new ArrayDeque<>();
+
+            for (int i = 0; i < n; i++) {
+                (p[i] < 1 ? small : large).push(i);
+            }
+
+            while (!small.isEmpty() && !large.isEmpty()) {
+                int s = small.pop();
+                int l = large.pop();
+                probability[s] = p[s];
+                alias[s] = l;
+                p[l] = p[l] + p[s] - 1;
+                (p[l] < 1 ? small : large).push(l);
+            }
+            while (!large.isEmpty()) {
+                probability[large.pop()] = 1;
+            }
+            while (!small.isEmpty()) {
+                probability[small.pop()] = 1;
+            }
+        }
+
+        /**
+         * Draws a point from the alias table with one random number
+         */
+        int sample() {
+
+            double u = random.nextDouble() * probability.length;
+            int i = (int) u;
+
+            return u - i < probability[i] ? i : alias[i];
         }
-        return f;
     }
 }
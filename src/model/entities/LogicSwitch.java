@@ -18,6 +18,7 @@
  */
 package model.entities;
 
+import java.io.Serializable;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 
@@ -27,7 +28,9 @@ import lombok.Data;
  */
 @AllArgsConstructor
 @Data
-public class LogicSwitch {
+public class LogicSwitch implements Serializable {
+
+    private static final long serialVersionUID = 1L;
 
     private String name;
     private boolean state;
@@ -5,18 +5,19 @@
  */
 package model.entities;
 
-import java.util.ArrayDeque;
-import java.util.Deque;
+import java.io.Serializable;
 import lombok.Getter;
 import model.Model;
-import model.TimeRecord;
+import model.TimeWeightedStatistic;
 
 /**
  * Register the queue statistics
  *
  * @author eZe
  */
-public class QueueReport {
+public class QueueReport implements Serializable {
+
+    private static final long serialVersionUID = 1L;
 
     @Getter
     private int maxCount;
@@ -28,7 +29,10 @@ public class QueueReport {
     private int currentCount;
     @Getter
     private int retry;
-    private final Deque<TimeRecord> timeRecords;
+    /**
+     * Time-weighted content of the queue
+     */
+    private final TimeWeightedStatistic content;
     private final Model model;
 
     public QueueReport(Model model) {
@@ -36,7 +40,7 @@ public class QueueReport {
         maxCount = 0;
         totalEntries = 0;
         zeroEntries = 0;
-        timeRecords = new ArrayDeque<>();
+        content = new TimeWeightedStatistic();
         this.model = model;
     }
 
@@ -47,7 +51,7 @@ public class QueueReport {
      */
     public double getPercentZeros() {
 
-        return (this.zeroEntries / this.totalEntries) * 100;
+        return totalEntries != 0 ? (zeroEntries * 100.0) / totalEntries : 0;
     }
 
     /**
@@ -69,12 +73,13 @@ public class QueueReport {
         return averageTime(zero);
     }
 
+    /**
+     * the time-weighted average content of the queue
+     *
+     * @return
+     */
     public Float getAvgContent() {
-
-        return timeRecords.stream()//
-                .map(tr -> tr.totalTime())//
-                .reduce(0f, (x, y) -> x + y) / model.getRelativeClock();
-
+        return (float) content.mean(model.getRelativeClock());
     }
 
     /**
@@ -90,7 +95,19 @@ public class QueueReport {
             maxCount = currentCount;
         }
 
-        regStartTime();
+        content.update(model.getRelativeClock(), currentCount);
+    }
+
+    /**
+     * Increments the current count by entries units and registers the entry
+     * time of the transaction
+     *
+     * @param entries
+     * @param tr the entering transaction
+     */
+    public void incCurrentCount(int entries, Xact tr) {
+        incCurrentCount(entries);
+        tr.enterQueue(this, model.getRelativeClock());
     }
 
     /**
@@ -100,7 +117,25 @@ public class QueueReport {
      */
     public void decCurrentCount(int entries) {
         currentCount -= entries;
-        regEndTime();
+        content.update(model.getRelativeClock(), currentCount);
+    }
+
+    /**
+     * Decrements the current count by entries units. The entries are counted
+     * as zero entries if the transaction leaves at the same clock it entered.
+     *
+     * @param entries
+     * @param tr the leaving transaction
+     */
+    public void decCurrentCount(int entries, Xact tr) {
+
+        Float entryTime = tr.leaveQueue(this);
+
+        if (entryTime != null && entryTime == model.getRelativeClock()) {
+            zeroEntries += entries;
+        }
+
+        decCurrentCount(entries);
     }
 
     /**
@@ -119,6 +154,18 @@ public class QueueReport {
         maxCount += increment;
     }   
 
+    /**
+     * Discards the statistics gathered so far. The transactions still in the
+     * queue count as the first entries after the reset.
+     */
+    public void reset() {
+        retry = 0;
+        maxCount = currentCount;
+        totalEntries = currentCount;
+        zeroEntries = 0;
+        content.reset(model.getRelativeClock());
+    }
+
     /**
      * Cleans the statistics
      */
@@ -127,35 +174,23 @@ public class QueueReport {
         maxCount = 0;
         totalEntries = 0;
         zeroEntries = 0;
-        timeRecords.clear();
-    }
-
-    private void regStartTime() {
-        float time = model.getRelativeClock();
-        timeRecords.push(new TimeRecord(time, time));
-    }
-
-    private void regEndTime() {
-        timeRecords.peekFirst().setEndTime(model.getRelativeClock());
+        currentCount = 0;
+        content.clear();
     }
 
+    /**
+     * The area under the content curve is the total time spent in the queue
+     * by all the entries, so the average time per entry is read from it.
+     */
     private float averageTime(boolean withoutZeroEntries) {
 
-        if (timeRecords.isEmpty()) {
-            return 0f;
-        }
+        int entries = withoutZeroEntries ? totalEntries - zeroEntries : totalEntries;
 
-        if (withoutZeroEntries) {
-
-            return timeRecords.stream()//
-                    .map(rt -> rt.totalTime())//
-                    .filter(tt -> tt == 0f)//
-                    .reduce(0f, (x, y) -> x + y) / totalEntries;
+        if (entries <= 0) {
+            return 0f;
         }
 
-        return timeRecords.stream()//
-                .map(rt -> rt.totalTime())//
-                .reduce(0f, (x, y) -> x + y) / totalEntries;
+        return (float) (content.integral(model.getRelativeClock()) / entries);
     }
 
 }
@@ -18,6 +18,7 @@
  */
 package model.entities;
 
+import java.io.Serializable;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
@@ -27,7 +28,9 @@ import lombok.NoArgsConstructor;
  */
 @NoArgsConstructor
 @Data
-public class SaveValue {
+public class SaveValue implements Serializable {
+
+    private static final long serialVersionUID = 1L;
     
     private String name;
     private Float value;
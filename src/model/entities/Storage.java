@@ -18,6 +18,7 @@
  */
 package model.entities;
 
+import java.io.Serializable;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -34,7 +35,9 @@ import lombok.NoArgsConstructor;
 @AllArgsConstructor
 @NoArgsConstructor
 @Data
-public class Storage {
+public class Storage implements Serializable {
+
+    private static final long serialVersionUID = 1L;
 
     private String nom;
     private int valor;
@@ -45,7 +45,7 @@ public class Xact implements Serializable, Cloneable {
     @Getter @Setter private float creatTime;
     @Getter @Setter private float moveTime;
     @Getter @Setter private float priority;
-    @Getter private final HashMap<String, Object> transactionParameters;    
+    @Getter private HashMap<String, Object> transactionParameters;    
     // Delay indicator (Used in Simultaneous mode in a TRANSFER block)    
     @Getter @Setter private boolean delayed;    
     // Restore indicator (Used to indicate if the Xact must be restored to the FEC)
@@ -58,6 +58,12 @@ public class Xact implements Serializable, Cloneable {
     @Getter @Setter private int assemblySet;
     // Used in Assemble block
     @Getter @Setter private int counter;
+    // Slot of the Xact in the Future Event Chain heap, -1 if not scheduled
+    @Getter @Setter private int heapIndex;
+    // Block the Xact is counted in by the block statistics
+    @Getter @Setter private Bloc enteredBloc;
+    // Clock at which the Xact entered each queue, created on the first QUEUE
+    private HashMap<QueueReport, Float> queueEntryTimes;
     
     /**
      * Constructor
@@ -69,6 +75,7 @@ public class Xact implements Serializable, Cloneable {
         blockRoute = null;
         ownershipGranted = false;
         counter = 0;
+        heapIndex = -1;
     }    
     
     /**
@@ -91,6 +98,28 @@ public class Xact implements Serializable, Cloneable {
         return transactionParameters.getOrDefault(paramName, null);
     }
 
+    /**
+     * Registers the clock at which the Xact enters the queue
+     * @param queue
+     * @param time 
+     */
+    public void enterQueue(QueueReport queue, float time) {
+        if (queueEntryTimes == null) {
+            queueEntryTimes = new HashMap<>();
+        }
+        queueEntryTimes.put(queue, time);
+    }
+
+    /**
+     * Removes and returns the clock at which the Xact entered the queue, null
+     * if the Xact did not enter it
+     * @param queue
+     * @return 
+     */
+    public Float leaveQueue(QueueReport queue) {
+        return queueEntryTimes != null ? queueEntryTimes.remove(queue) : null;
+    }
+
     /**
      * Decrements the current counter and returns it
      * @return 
@@ -107,6 +136,11 @@ public class Xact implements Serializable, Cloneable {
      */
     @Override
     public Xact clone() throws CloneNotSupportedException {
-        return (Xact) super.clone();
+        Xact xact = (Xact) super.clone();
+        xact.transactionParameters = new HashMap<>(transactionParameters);
+        xact.heapIndex = -1;
+        xact.enteredBloc = null;
+        xact.queueEntryTimes = null;
+        return xact;
     }
 }
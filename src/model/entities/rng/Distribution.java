@@ -0,0 +1,68 @@
+/**
+ * Software end-user license agreement.
+ *
+ * The LICENSE.TXT containing the license is located in the JGPSS project.
+ * License.txt can be downloaded here:
+ * href="http://www-eio.upc.es/~Pau/index.php?q=node/28
+ *
+ * NOTICE TO THE USER: BY COPYING, INSTALLING OR USING THIS SOFTWARE OR PART OF
+ * THIS SOFTWARE, YOU AGREE TO THE   TERMS AND CONDITIONS OF THE LICENSE AGREEMENT
+ * AS IF IT WERE A WRITTEN AGREEMENT NEGOTIATED AND SIGNED BY YOU. THE LICENSE
+ * AGREEMENT IS ENFORCEABLE AGAINST YOU AND ANY OTHER LEGAL PERSON ACTING ON YOUR
+ * BEHALF.
+ * IF, AFTER READING THE TERMS AND CONDITIONS HEREIN, YOU DO NOT AGREE TO THEM,
+ * YOU MAY NOT INSTALL THIS SOFTWARE ON YOUR COMPUTER.
+ * UPC IS THE OWNER OF ALL THE INTELLECTUAL PROPERTY OF THE SOFTWARE AND ONLY
+ * AUTHORIZES YOU TO USE THE SOFTWARE IN ACCORDANCE WITH THE TERMS SET OUT IN
+ * THE LICENSE AGREEMENT.
+ */
+package model.entities.rng;
+
+import exceptions.ModelSyntaxException;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Base of the random variate generators. Draws from a random number stream,
+ * RN1 of the model once the block is linked.
+ *
+ * @author Ezequiel Andujar Montes
+ */
+public abstract class Distribution implements RNG {
+
+    private static final long serialVersionUID = 1L;
+
+    @Getter
+    @Setter
+    private RandomStream stream;
+
+    public Distribution() {
+        stream = new RandomStream(0);
+    }
+
+    public Distribution(RandomStream stream) {
+        this.stream = stream;
+    }
+
+    /**
+     * Returns a uniform value in [0, 1)
+     *
+     * @return
+     */
+    @Override
+    public float generate() {
+        return stream.nextFloat();
+    }
+
+    /**
+     * Accepts any operands. Overridden by the distributions with operands
+     * that give no values.
+     *
+     * @param A
+     * @param B
+     * @throws ModelSyntaxException
+     */
+    @Override
+    public void check(float A, float B) throws ModelSyntaxException {
+    }
+}
@@ -0,0 +1,90 @@
+/**
+ * Software end-user license agreement.
+ *
+ * The LICENSE.TXT containing the license is located in the JGPSS project.
+ * License.txt can be downloaded here:
+ * href="http://www-eio.upc.es/~Pau/index.php?q=node/28
+ *
+ * NOTICE TO THE USER: BY COPYING, INSTALLING OR USING THIS SOFTWARE OR PART OF
+ * THIS SOFTWARE, YOU AGREE TO THE   TERMS AND CONDITIONS OF THE LICENSE AGREEMENT
+ * AS IF IT WERE A WRITTEN AGREEMENT NEGOTIATED AND SIGNED BY YOU. THE LICENSE
+ * AGREEMENT IS ENFORCEABLE AGAINST YOU AND ANY OTHER LEGAL PERSON ACTING ON YOUR
+ * BEHALF.
+ * IF, AFTER READING THE TERMS AND CONDITIONS HEREIN, YOU DO NOT AGREE TO THEM,
+ * YOU MAY NOT INSTALL THIS SOFTWARE ON YOUR COMPUTER.
+ * UPC IS THE OWNER OF ALL THE INTELLECTUAL PROPERTY OF THE SOFTWARE AND ONLY
+ * AUTHORIZES YOU TO USE THE SOFTWARE IN ACCORDANCE WITH THE TERMS SET OUT IN
+ * THE LICENSE AGREEMENT.
+ */
+package model.entities.rng;
+
+import exceptions.ModelSyntaxException;
+
+/**
+ * Gamma distribution of mean A and shape B. Sampled with the method of
+ * Marsaglia and Tsang, which needs one normal and one uniform value for most
+ * draws.
+ *
+ * @author Ezequiel Andujar Montes
+ */
+public class Gamma extends Distribution {
+
+    private static final long serialVersionUID = 1L;
+
+    public Gamma() {
+    }
+
+    public Gamma(RandomStream stream) {
+        super(stream);
+    }
+
+    @Override
+    public float generate(float A, float B) {
+        return (float) (sample(getStream(), B) * A / B);
+    }
+
+    /**
+     * Returns a gamma value of the given shape and scale 1
+     *
+     * @param stream
+     * @param shape a positive shape
+     * @return
+     */
+    public static double sample(RandomStream stream, double shape) {
+
+        if (shape < 1) {
+            // Boost to shape + 1 and scale down by U^(1/shape)
+            return sample(stream, shape + 1) * Math.pow(stream.nextOpenDouble(), 1 / shape);
+        }
+
+        double d = shape - 1. / 3;
+        double c = 1 / Math.sqrt(9 * d);
+
+        for (;;) {
+            double x, v;
+            do {
+                x = Ziggurat.normal(stream);
+                v = 1 + c * x;
+            } while (v <= 0);
+
+            v = v * v * v;
+            double u = stream.nextOpenDouble();
+
+            if (u < 1 - 0.0331 * x * x * x * x || Math.log(u) < 0.5 * x * x + d * (1 - v + Math.log(v))) {
+                return d * v;
+            }
+        }
+    }
+
+    @Override
+    public void check(float A, float B) throws ModelSyntaxException {
+        if (A <= 0 || B <= 0) {
+            throw new ModelSyntaxException("The gamma mean and shape must be positive");
+        }
+    }
+
+    @Override
+    public String name() {
+        return "Gamma";
+    }
+}
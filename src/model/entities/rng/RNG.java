@@ -18,13 +18,33 @@
  */
 package model.entities.rng;
 
+import exceptions.ModelSyntaxException;
+import java.io.Serializable;
+
 /**
  *
  * @author Ezequiel Andujar Montes
  */
-public interface RNG {
+public interface RNG extends Serializable {
     
-    Float generate(float A, float B);
-    Float generate();
+    float generate(float A, float B);
+    float generate();
     String name();
+
+    /**
+     * Sets the random number stream the generator draws from
+     *
+     * @param stream
+     */
+    void setStream(RandomStream stream);
+
+    /**
+     * Checks the operands of a block that uses the generator. Operands that
+     * are not known until the run, SNAs, are given as NaN and pass.
+     *
+     * @param A
+     * @param B
+     * @throws ModelSyntaxException if the operands give no valid distribution
+     */
+    void check(float A, float B) throws ModelSyntaxException;
 }
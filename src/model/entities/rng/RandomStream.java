@@ -0,0 +1,124 @@
+/**
+ * Software end-user license agreement.
+ *
+ * The LICENSE.TXT containing the license is located in the JGPSS project.
+ * License.txt can be downloaded here:
+ * href="http://www-eio.upc.es/~Pau/index.php?q=node/28
+ *
+ * NOTICE TO THE USER: BY COPYING, INSTALLING OR USING THIS SOFTWARE OR PART OF
+ * THIS SOFTWARE, YOU AGREE TO THE   TERMS AND CONDITIONS OF THE LICENSE AGREEMENT
+ * AS IF IT WERE A WRITTEN AGREEMENT NEGOTIATED AND SIGNED BY YOU. THE LICENSE
+ * AGREEMENT IS ENFORCEABLE AGAINST YOU AND ANY OTHER LEGAL PERSON ACTING ON YOUR
+ * BEHALF.
+ * IF, AFTER READING THE TERMS AND CONDITIONS HEREIN, YOU DO NOT AGREE TO THEM,
+ * YOU MAY NOT INSTALL THIS SOFTWARE ON YOUR COMPUTER.
+ * UPC IS THE OWNER OF ALL THE INTELLECTUAL PROPERTY OF THE SOFTWARE AND ONLY
+ * AUTHORIZES YOU TO USE THE SOFTWARE IN ACCORDANCE WITH THE TERMS SET OUT IN
+ * THE LICENSE AGREEMENT.
+ */
+package model.entities.rng;
+
+import java.io.Serializable;
+import lombok.Getter;
+
+/**
+ * A seeded GPSS random number stream (RN1, RN2...). Uses the xoroshiro128**
+ * generator, which keeps its whole state in two longs, so drawing a number
+ * allocates nothing. Two streams with the same seed give the same sequence.
+ *
+ * @author Ezequiel Andujar Montes
+ */
+public class RandomStream implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    @Getter
+    private final long seed;
+    private long s0;
+    private long s1;
+
+    public RandomStream(long seed) {
+        this.seed = seed;
+        reset();
+    }
+
+    /**
+     * Restarts the sequence from the seed
+     */
+    public final void reset() {
+        long x = seed;
+        s0 = mix(x += 0x9E3779B97F4A7C15L);
+        s1 = mix(x + 0x9E3779B97F4A7C15L);
+    }
+
+    /**
+     * SplitMix64 finalizer, spreads a seed over the 64 bits
+     *
+     * @param z
+     * @return
+     */
+    public static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    public long nextLong() {
+
+        long a = s0;
+        long b = s1;
+        long result = Long.rotateLeft(a * 5, 7) * 9;
+
+        b ^= a;
+        s0 = Long.rotateLeft(a, 24) ^ b ^ (b << 16);
+        s1 = Long.rotateLeft(b, 37);
+
+        return result;
+    }
+
+    /**
+     * Returns a uniform value in [0, 1)
+     *
+     * @return
+     */
+    public double nextDouble() {
+        return (nextLong() >>> 11) * 0x1.0p-53;
+    }
+
+    /**
+     * Returns a uniform value in [0, 1)
+     *
+     * @return
+     */
+    public float nextFloat() {
+        return (nextLong() >>> 40) * 0x1.0p-24f;
+    }
+
+    /**
+     * Returns 32 random bits
+     *
+     * @return
+     */
+    public int nextInt() {
+        return (int) (nextLong() >>> 32);
+    }
+
+    /**
+     * Returns a uniform value in (0, 1], safe to pass to a logarithm
+     *
+     * @return
+     */
+    public double nextOpenDouble() {
+        return 1.0 - nextDouble();
+    }
+
+    /**
+     * Returns a uniform integer in [0, bound)
+     *
+     * @param bound a positive bound
+     * @return
+     */
+    public int nextInt(int bound) {
+        return (int) (((nextLong() >>> 32) * bound) >>> 32);
+    }
+}
@@ -18,9 +18,6 @@
  */
 package model.entities.rng;
 
-import java.util.Random;
-import lombok.NoArgsConstructor;
-
 /**
  * A class implementing the RNG and GVA of the JGPSS system. Complete this class
  * with all the GVA you need.
@@ -32,26 +29,28 @@ import lombok.NoArgsConstructor;
  * website</a>
  * @serialData
  */
-@NoArgsConstructor
-public class Uniform implements RNG {
+public class Uniform extends Distribution {
+
+    private static final long serialVersionUID = 1L;
+
+    public Uniform() {
+    }
+
+    public Uniform(RandomStream stream) {
+        super(stream);
+    }
 
     @Override
-    public Float generate(float A, float B) {
+    public float generate(float A, float B) {
         
         float min = A - B;
         float max = A + B;
         
-        Random rnd = new Random();
-        return min + rnd.nextFloat() * (max - min);
+        return min + getStream().nextFloat() * (max - min);
     }
 
     @Override
     public String name() {
         return "Uniform";
     }
-
-    @Override
-    public Float generate() {
-        return new Random().nextFloat();
-    }
 }
@@ -0,0 +1,55 @@
+/**
+ * Software end-user license agreement.
+ *
+ * The LICENSE.TXT containing the license is located in the JGPSS project.
+ * License.txt can be downloaded here:
+ * href="http://www-eio.upc.es/~Pau/index.php?q=node/28
+ *
+ * NOTICE TO THE USER: BY COPYING, INSTALLING OR USING THIS SOFTWARE OR PART OF
+ * THIS SOFTWARE, YOU AGREE TO THE   TERMS AND CONDITIONS OF THE LICENSE AGREEMENT
+ * AS IF IT WERE A WRITTEN AGREEMENT NEGOTIATED AND SIGNED BY YOU. THE LICENSE
+ * AGREEMENT IS ENFORCEABLE AGAINST YOU AND ANY OTHER LEGAL PERSON ACTING ON YOUR
+ * BEHALF.
+ * IF, AFTER READING THE TERMS AND CONDITIONS HEREIN, YOU DO NOT AGREE TO THEM,
+ * YOU MAY NOT INSTALL THIS SOFTWARE ON YOUR COMPUTER.
+ * UPC IS THE OWNER OF ALL THE INTELLECTUAL PROPERTY OF THE SOFTWARE AND ONLY
+ * AUTHORIZES YOU TO USE THE SOFTWARE IN ACCORDANCE WITH THE TERMS SET OUT IN
+ * THE LICENSE AGREEMENT.
+ */
+package model.entities.rng;
+
+import exceptions.ModelSyntaxException;
+
+/**
+ * Weibull distribution of scale A and shape B, sampled by inversion.
+ *
+ * @author Ezequiel Andujar Montes
+ */
+public class Weibull extends Distribution {
+
+    private static final long serialVersionUID = 1L;
+
+    public Weibull() {
+    }
+
+    public Weibull(RandomStream stream) {
+        super(stream);
+    }
+
+    @Override
+    public float generate(float A, float B) {
+        return (float) (A * Math.pow(Ziggurat.exponential(getStream()), 1. / B));
+    }
+
+    @Override
+    public void check(float A, float B) throws ModelSyntaxException {
+        if (A <= 0 || B <= 0) {
+            throw new ModelSyntaxException("The Weibull scale and shape must be positive");
+        }
+    }
+
+    @Override
+    public String name() {
+        return "Weibull";
+    }
+}
@@ -0,0 +1,160 @@
+/**
+ * Software end-user license agreement.
+ *
+ * The LICENSE.TXT containing the license is located in the JGPSS project.
+ * License.txt can be downloaded here:
+ * href="http://www-eio.upc.es/~Pau/index.php?q=node/28
+ *
+ * NOTICE TO THE USER: BY COPYING, INSTALLING OR USING THIS SOFTWARE OR PART OF
+ * THIS SOFTWARE, YOU AGREE TO THE   TERMS AND CONDITIONS OF THE LICENSE AGREEMENT
+ * AS IF IT WERE A WRITTEN AGREEMENT NEGOTIATED AND SIGNED BY YOU. THE LICENSE
+ * AGREEMENT IS ENFORCEABLE AGAINST YOU AND ANY OTHER LEGAL PERSON ACTING ON YOUR
+ * BEHALF.
+ * IF, AFTER READING THE TERMS AND CONDITIONS HEREIN, YOU DO NOT AGREE TO THEM,
+ * YOU MAY NOT INSTALL THIS SOFTWARE ON YOUR COMPUTER.
+ * UPC IS THE OWNER OF ALL THE INTELLECTUAL PROPERTY OF THE SOFTWARE AND ONLY
+ * AUTHORIZES YOU TO USE THE SOFTWARE IN ACCORDANCE WITH THE TERMS SET OUT IN
+ * THE LICENSE AGREEMENT.
+ */
+package model.entities.rng;
+
+/**
+ * Ziggurat sampling of the standard normal and exponential distributions
+ * (Marsaglia and Tsang, 2000). Most draws cost one random integer, one
+ * compare and one multiplication. The tables are built once and only read
+ * afterwards, so they are shared by all the streams.
+ *
+ * @author Ezequiel Andujar Montes
+ */
+public final class Ziggurat {
+
+    private static final double M1 = 2147483648.0;
+    private static final double M2 = 4294967296.0;
+    private static final double NORMAL_R = 3.442619855899;
+    private static final double EXPONENTIAL_R = 7.697117470131487;
+
+    private static final long[] KN = new long[128];
+    private static final double[] WN = new double[128];
+    private static final double[] FN = new double[128];
+    private static final long[] KE = new long[256];
+    private static final double[] WE = new double[256];
+    private static final double[] FE = new double[256];
+
+    static {
+        double dn = NORMAL_R;
+        double tn = dn;
+        double vn = 9.91256303526217e-3;
+        double q = vn / Math.exp(-.5 * dn * dn);
+
+        KN[0] = (long) ((dn / q) * M1);
+        KN[1] = 0;
+        WN[0] = q / M1;
+        WN[127] = dn / M1;
+        FN[0] = 1.;
+        FN[127] = Math.exp(-.5 * dn * dn);
+
+        for (int i = 126; i >= 1; i--) {
+            dn = Math.sqrt(-2. * Math.log(vn / dn + Math.exp(-.5 * dn * dn)));
+            KN[i + 1] = (long) ((dn / tn) * M1);
+            tn = dn;
+            FN[i] = Math.exp(-.5 * dn * dn);
+            WN[i] = dn / M1;
+        }
+
+        double de = EXPONENTIAL_R;
+        double te = de;
+        double ve = 3.949659822581572e-3;
+        q = ve / Math.exp(-de);
+
+        KE[0] = (long) ((de / q) * M2);
+        KE[1] = 0;
+        WE[0] = q / M2;
+        WE[255] = de / M2;
+        FE[0] = 1.;
+        FE[255] = Math.exp(-de);
+
+        for (int i = 254; i >= 1; i--) {
+            de = -Math.log(ve / de + Math.exp(-de));
+            KE[i + 1] = (long) ((de / te) * M2);
+            te = de;
+            FE[i] = Math.exp(-de);
+            WE[i] = de / M2;
+        }
+    }
+
+    private Ziggurat() {
+    }
+
+    /**
+     * Returns a standard normal value, mean 0 and standard deviation 1
+     *
+     * @param stream
+     * @return
+     */
+    public static double normal(RandomStream stream) {
+
+        int hz = stream.nextInt();
+        int iz = hz & 127;
+
+        if (Math.abs((long) hz) < KN[iz]) {
+            return hz * WN[iz];
+        }
+
+        for (;;) {
+
+            if (iz == 0) {
+                double x, y;
+                do {
+                    x = -Math.log(stream.nextOpenDouble()) / NORMAL_R;
+                    y = -Math.log(stream.nextOpenDouble());
+                } while (y + y < x * x);
+                return hz > 0 ? NORMAL_R + x : -NORMAL_R - x;
+            }
+
+            double x = hz * WN[iz];
+            if (FN[iz] + stream.nextDouble() * (FN[iz - 1] - FN[iz]) < Math.exp(-.5 * x * x)) {
+                return x;
+            }
+
+            hz = stream.nextInt();
+            iz = hz & 127;
+            if (Math.abs((long) hz) < KN[iz]) {
+                return hz * WN[iz];
+            }
+        }
+    }
+
+    /**
+     * Returns a standard exponential value, mean 1
+     *
+     * @param stream
+     * @return
+     */
+    public static double exponential(RandomStream stream) {
+
+        long jz = stream.nextInt() & 0xFFFFFFFFL;
+        int iz = (int) (jz & 255);
+
+        if (jz < KE[iz]) {
+            return jz * WE[iz];
+        }
+
+        for (;;) {
+
+            if (iz == 0) {
+                return EXPONENTIAL_R - Math.log(stream.nextOpenDouble());
+            }
+
+            double x = jz * WE[iz];
+            if (FE[iz] + stream.nextDouble() * (FE[iz - 1] - FE[iz]) < Math.exp(-x)) {
+                return x;
+            }
+
+            jz = stream.nextInt() & 0xFFFFFFFFL;
+            iz = (int) (jz & 255);
+            if (jz < KE[iz]) {
+                return jz * WE[iz];
+            }
+        }
+    }
+}
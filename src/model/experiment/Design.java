@@ -0,0 +1,127 @@
+/**
+ * Software end-user license agreement.
+ *
+ * The LICENSE.TXT containing the license is located in the JGPSS project.
+ * License.txt can be downloaded here:
+ * href="http://www-eio.upc.es/~Pau/index.php?q=node/28
+ *
+ * NOTICE TO THE USER: BY COPYING, INSTALLING OR USING THIS SOFTWARE OR PART OF
+ * THIS SOFTWARE, YOU AGREE TO THE   TERMS AND CONDITIONS OF THE LICENSE AGREEMENT
+ * AS IF IT WERE A WRITTEN AGREEMENT NEGOTIATED AND SIGNED BY YOU. THE LICENSE
+ * AGREEMENT IS ENFORCEABLE AGAINST YOU AND ANY OTHER LEGAL PERSON ACTING ON YOUR
+ * BEHALF.
+ * IF, AFTER READING THE TERMS AND CONDITIONS HEREIN, YOU DO NOT AGREE TO THEM,
+ * YOU MAY NOT INSTALL THIS SOFTWARE ON YOUR COMPUTER.
+ * UPC IS THE OWNER OF ALL THE INTELLECTUAL PROPERTY OF THE SOFTWARE AND ONLY
+ * AUTHORIZES YOU TO USE THE SOFTWARE IN ACCORDANCE WITH THE TERMS SET OUT IN
+ * THE LICENSE AGREEMENT.
+ */
+package model.experiment;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import lombok.Getter;
+import model.entities.rng.RandomStream;
+
+/**
+ * The design points of an experiment, one value per factor.
+ *
+ * @author Ezequiel Andujar Montes
+ */
+public class Design {
+
+    @Getter
+    private final List<Factor> factors;
+    private final List<double[]> points;
+
+    public Design(List<Factor> factors, List<double[]> points) {
+        this.factors = Collections.unmodifiableList(new ArrayList<>(factors));
+        this.points = points;
+    }
+
+    /**
+     * Full factorial design, every combination of the levels of the factors
+     *
+     * @param factors
+     * @return
+     */
+    public static Design grid(List<Factor> factors) {
+
+        List<double[]> points = new ArrayList<>();
+        points.add(new double[factors.size()]);
+
+        for (int f = 0; f < factors.size(); f++) {
+
+            List<double[]> next = new ArrayList<>();
+
+            for (double[] point : points) {
+                for (double level : factors.get(f).getLevels()) {
+                    double[] p = point.clone();
+                    p[f] = level;
+                    next.add(p);
+                }
+            }
+            points = next;
+        }
+        return new Design(factors, points);
+    }
+
+    /**
+     * Latin hypercube design. The range of each factor is split in n equal
+     * strata and each stratum is sampled exactly once, in a random order
+     * independent for each factor.
+     *
+     * @param factors
+     * @param n number of design points
+     * @param seed seed of the sampling
+     * @return
+     */
+    public static Design latinHypercube(List<Factor> factors, int n, long seed) {
+
+        RandomStream random = new RandomStream(seed);
+        List<double[]> points = new ArrayList<>(n);
+
+        for (int i = 0; i < n; i++) {
+            points.add(new double[factors.size()]);
+        }
+
+        for (int f = 0; f < factors.size(); f++) {
+
+            Factor factor = factors.get(f);
+            double min = factor.getMin();
+            double width = (factor.getMax() - min) / n;
+
+            // Fisher-Yates shuffle of the strata
+            int[] strata = new int[n];
+            for (int i = 0; i < n; i++) {
+                strata[i] = i;
+            }
+            for (int i = n - 1; i > 0; i--) {
+                int j = random.nextInt(i + 1);
+                int s = strata[i];
+                strata[i] = strata[j];
+                strata[j] = s;
+            }
+
+            for (int i = 0; i < n; i++) {
+                points.get(i)[f] = min + (strata[i] + random.nextDouble()) * width;
+            }
+        }
+        return new Design(factors, points);
+    }
+
+    public int size() {
+        return points.size();
+    }
+
+    /**
+     * Returns the values of the factors at a design point
+     *
+     * @param point the design point, from 0
+     * @return
+     */
+    public double[] getPoint(int point) {
+        return points.get(point).clone();
+    }
+}
@@ -0,0 +1,188 @@
+/**
+ * Software end-user license agreement.
+ *
+ * The LICENSE.TXT containing the license is located in the JGPSS project.
+ * License.txt can be downloaded here:
+ * href="http://www-eio.upc.es/~Pau/index.php?q=node/28
+ *
+ * NOTICE TO THE USER: BY COPYING, INSTALLING OR USING THIS SOFTWARE OR PART OF
+ * THIS SOFTWARE, YOU AGREE TO THE   TERMS AND CONDITIONS OF THE LICENSE AGREEMENT
+ * AS IF IT WERE A WRITTEN AGREEMENT NEGOTIATED AND SIGNED BY YOU. THE LICENSE
+ * AGREEMENT IS ENFORCEABLE AGAINST YOU AND ANY OTHER LEGAL PERSON ACTING ON YOUR
+ * BEHALF.
+ * IF, AFTER READING THE TERMS AND CONDITIONS HEREIN, YOU DO NOT AGREE TO THEM,
+ * YOU MAY NOT INSTALL THIS SOFTWARE ON YOUR COMPUTER.
+ * UPC IS THE OWNER OF ALL THE INTELLECTUAL PROPERTY OF THE SOFTWARE AND ONLY
+ * AUTHORIZES YOU TO USE THE SOFTWARE IN ACCORDANCE WITH THE TERMS SET OUT IN
+ * THE LICENSE AGREEMENT.
+ */
+package model.experiment;
+
+import java.io.BufferedWriter;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Map;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import lombok.Cleanup;
+import lombok.Getter;
+import lombok.Setter;
+import model.Model;
+import model.replication.ReplicationResults;
+import model.replication.ReplicationRunner;
+
+/**
+ * Runs every point of a design, with replications, on a bounded pool of
+ * worker threads. Each run uses its own copy of the model with the factor
+ * values of its design point. Replication i of every point uses the same
+ * seed, so the points are compared with common random numbers.
+ *
+ * The results are written as they arrive to a tidy CSV, one row per
+ * measure: point, replication, the factor values, entity, measure, value.
+ *
+ * @author Ezequiel Andujar Montes
+ */
+public class ExperimentRunner {
+
+    private final ReplicationRunner copies;
+    private final Design design;
+    @Getter
+    @Setter
+    private int replications;
+    /**
+     * Number of worker threads, one per core by default
+     */
+    @Getter
+    @Setter
+    private int threads;
+
+    public ExperimentRunner(Model model, Design design) throws Exception {
+        this.copies = new ReplicationRunner(model);
+        this.design = design;
+        this.replications = 1;
+        this.threads = Runtime.getRuntime().availableProcessors();
+    }
+
+    /**
+     * The measures of one run
+     */
+    private static class Run {
+
+        int point;
+        int replication;
+        Map<String, Map<String, Double>> values;
+    }
+
+    /**
+     * Runs the experiment and writes the results to the file
+     *
+     * @param path
+     * @throws Exception
+     */
+    public void run(String path) throws Exception {
+
+        @Cleanup
+        Writer writer = new FileWriter(path);
+        run(writer);
+    }
+
+    /**
+     * Runs the experiment and writes the results to out. At most two runs
+     * per thread are pending at any time, so memory does not grow with the
+     * size of the design.
+     *
+     * @param out
+     * @throws Exception the first error of a run or of the output
+     */
+    public void run(Writer out) throws Exception {
+
+        BufferedWriter writer = new BufferedWriter(out);
+        writeHeader(writer);
+
+        ExecutorService pool = Executors.newFixedThreadPool(Math.max(1, threads));
+        CompletionService<Run> runs = new ExecutorCompletionService<>(pool);
+
+        int total = design.size() * replications;
+        int submitted = 0;
+        int pending = 0;
+
+        try {
+            while (submitted < total || pending > 0) {
+
+                while (submitted < total && pending < 2 * Math.max(1, threads)) {
+                    int point = submitted / replications;
+                    int replication = submitted % replications;
+                    runs.submit(() -> run(point, replication));
+                    submitted++;
+                    pending++;
+                }
+
+                Run run;
+                try {
+                    run = runs.take().get();
+                } catch (ExecutionException e) {
+                    throw e.getCause() instanceof Exception ? (Exception) e.getCause() : e;
+                }
+                pending--;
+                writeRun(writer, run);
+            }
+            writer.flush();
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private Run run(int point, int replication) throws Exception {
+
+        Model model = copies.copy(replication);
+        double[] values = design.getPoint(point);
+
+        for (int f = 0; f < values.length; f++) {
+            design.getFactors().get(f).apply(model, values[f]);
+        }
+        model.execute(false);
+
+        Run run = new Run();
+        run.point = point;
+        run.replication = replication;
+        run.values = ReplicationResults.observe(model);
+        return run;
+    }
+
+    private void writeHeader(BufferedWriter writer) throws IOException {
+
+        StringBuilder header = new StringBuilder("point,replication");
+        design.getFactors().forEach(f -> header.append(',').append(quote(f.getLabel())));
+        header.append(",entity,measure,value");
+        writer.write(header.toString());
+        writer.newLine();
+    }
+
+    private void writeRun(BufferedWriter writer, Run run) throws IOException {
+
+        StringBuilder prefix = new StringBuilder();
+        prefix.append(run.point).append(',').append(run.replication);
+        for (double value : design.getPoint(run.point)) {
+            prefix.append(',').append(value);
+        }
+
+        for (Map.Entry<String, Map<String, Double>> entity : run.values.entrySet()) {
+            for (Map.Entry<String, Double> measure : entity.getValue().entrySet()) {
+                writer.write(prefix + "," + quote(entity.getKey()) + "," + quote(measure.getKey()) + "," + measure.getValue());
+                writer.newLine();
+            }
+        }
+    }
+
+    private static String quote(String field) {
+
+        if (field.contains(",") || field.contains("\"")) {
+            return "\"" + field.replace("\"", "\"\"") + "\"";
+        }
+        return field;
+    }
+}
@@ -0,0 +1,126 @@
+/**
+ * Software end-user license agreement.
+ *
+ * The LICENSE.TXT containing the license is located in the JGPSS project.
+ * License.txt can be downloaded here:
+ * href="http://www-eio.upc.es/~Pau/index.php?q=node/28
+ *
+ * NOTICE TO THE USER: BY COPYING, INSTALLING OR USING THIS SOFTWARE OR PART OF
+ * THIS SOFTWARE, YOU AGREE TO THE   TERMS AND CONDITIONS OF THE LICENSE AGREEMENT
+ * AS IF IT WERE A WRITTEN AGREEMENT NEGOTIATED AND SIGNED BY YOU. THE LICENSE
+ * AGREEMENT IS ENFORCEABLE AGAINST YOU AND ANY OTHER LEGAL PERSON ACTING ON YOUR
+ * BEHALF.
+ * IF, AFTER READING THE TERMS AND CONDITIONS HEREIN, YOU DO NOT AGREE TO THEM,
+ * YOU MAY NOT INSTALL THIS SOFTWARE ON YOUR COMPUTER.
+ * UPC IS THE OWNER OF ALL THE INTELLECTUAL PROPERTY OF THE SOFTWARE AND ONLY
+ * AUTHORIZES YOU TO USE THE SOFTWARE IN ACCORDANCE WITH THE TERMS SET OUT IN
+ * THE LICENSE AGREEMENT.
+ */
+package model.experiment;
+
+import java.util.Arrays;
+import lombok.Getter;
+import model.Model;
+import model.entities.AmperVariable;
+import model.entities.SaveValue;
+import model.entities.Storage;
+
+/**
+ * An entity value varied by an experiment: the capacity of a storage, the
+ * initial value of a savevalue or the value of an ampervariable.
+ *
+ * @author Ezequiel Andujar Montes
+ */
+public class Factor {
+
+    public static enum Kind {
+        STORAGE, SAVEVALUE, VARIABLE
+    }
+
+    @Getter
+    private final Kind kind;
+    @Getter
+    private final String name;
+    /**
+     * Levels of a grid design. A Latin hypercube samples between the lowest
+     * and the highest one.
+     */
+    private final double[] levels;
+
+    public Factor(Kind kind, String name, double... levels) {
+
+        if (levels.length == 0) {
+            throw new IllegalArgumentException("Factor " + name + " has no levels");
+        }
+        this.kind = kind;
+        this.name = name;
+        this.levels = levels.clone();
+    }
+
+    public double[] getLevels() {
+        return levels.clone();
+    }
+
+    public double getMin() {
+        return Arrays.stream(levels).min().getAsDouble();
+    }
+
+    public double getMax() {
+        return Arrays.stream(levels).max().getAsDouble();
+    }
+
+    /**
+     * Returns the column name of the factor in the results
+     *
+     * @return
+     */
+    public String getLabel() {
+        return kind + " " + name;
+    }
+
+    /**
+     * Sets the value of the factor in a model that has not run yet
+     *
+     * @param model
+     * @param value
+     * @throws IllegalArgumentException if the model has no such entity
+     */
+    @SuppressWarnings("unchecked")
+    public void apply(Model model, double value) {
+
+        switch (kind) {
+            case STORAGE:
+                Storage storage = model.getStorage(name);
+                if (storage == null) {
+                    throw new IllegalArgumentException("Storage " + name + " not found");
+                }
+                storage.setValor((int) Math.round(value));
+                break;
+
+            case SAVEVALUE:
+                SaveValue saveValue = model.getSaveValue(name);
+                if (saveValue == null) {
+                    throw new IllegalArgumentException("Savevalue " + name + " not found");
+                }
+                saveValue.setValue((float) value);
+                saveValue.setOriginalValue((float) value);
+                break;
+
+            case VARIABLE:
+                AmperVariable<Object> variable = (AmperVariable<Object>) model.getAmperVariables().stream()//
+                        .filter(av -> av.getName().equals(name))//
+                        .findFirst()//
+                        .orElseThrow(() -> new IllegalArgumentException("Variable " + name + " not found"));
+
+                Object current = variable.getValue();
+                if (current instanceof Integer) {
+                    variable.setInitialValue((int) Math.round(value));
+                } else if (current instanceof Float) {
+                    variable.setInitialValue((float) value);
+                } else {
+                    variable.setInitialValue(String.valueOf(value));
+                }
+                break;
+        }
+    }
+}
@@ -0,0 +1,243 @@
+/**
+ * Software end-user license agreement.
+ *
+ * The LICENSE.TXT containing the license is located in the JGPSS project.
+ * License.txt can be downloaded here:
+ * href="http://www-eio.upc.es/~Pau/index.php?q=node/28
+ *
+ * NOTICE TO THE USER: BY COPYING, INSTALLING OR USING THIS SOFTWARE OR PART OF
+ * THIS SOFTWARE, YOU AGREE TO THE   TERMS AND CONDITIONS OF THE LICENSE AGREEMENT
+ * AS IF IT WERE A WRITTEN AGREEMENT NEGOTIATED AND SIGNED BY YOU. THE LICENSE
+ * AGREEMENT IS ENFORCEABLE AGAINST YOU AND ANY OTHER LEGAL PERSON ACTING ON YOUR
+ * BEHALF.
+ * IF, AFTER READING THE TERMS AND CONDITIONS HEREIN, YOU DO NOT AGREE TO THEM,
+ * YOU MAY NOT INSTALL THIS SOFTWARE ON YOUR COMPUTER.
+ * UPC IS THE OWNER OF ALL THE INTELLECTUAL PROPERTY OF THE SOFTWARE AND ONLY
+ * AUTHORIZES YOU TO USE THE SOFTWARE IN ACCORDANCE WITH THE TERMS SET OUT IN
+ * THE LICENSE AGREEMENT.
+ */
+package model.generator;
+
+import exceptions.MalformedFunctionDistributionException;
+import exceptions.UnrecognizedModelException;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.Random;
+import lombok.Getter;
+import lombok.Setter;
+import model.Model;
+import persistence.DiscManager;
+import utils.Constants;
+
+/**
+ * Generates synthetic models of any size to load test the engine. The model
+ * has the given number of processes, all with the same structure:
+ *
+ * <pre>
+ * GENERATE                            arrivals of the process
+ * ADVANCE                             hold time, if any
+ * QUEUE SEIZE ADVANCE DEPART RELEASE  queueChain times, facilities of a shared pool
+ * ENTER ADVANCE LEAVE                 a storage of a shared pool, if any
+ * TRANSFER ...                        fractional fan-out to fanOut branches
+ * SPLIT MATCH MATCH GATHER ASSEMBLE   matchPairs times
+ * TERMINATE 1
+ * </pre>
+ *
+ * The Xacts in the model at the same time are about processes * holdTime /
+ * arrivalMean once the hold time has passed. The facilities are busy about
+ * processes * queueChain * serviceMean / (facilities * arrivalMean) of the
+ * time; the queues grow without limit if it is not below 1. The same settings
+ * and seed always give the same model.
+ *
+ * @author Ezequiel Andujar Montes
+ */
+@Getter
+@Setter
+public class ModelGenerator {
+
+    private int processes = 1;
+    private int facilities = 1;
+    private int storages = 0;
+    private int storageCapacity = 4;
+    private int queueChain = 1;
+    private int fanOut = 1;
+    private int matchPairs = 0;
+    private float arrivalMean = 10;
+    private float arrivalSpread = 2;
+    private float holdTime = 0;
+    private float serviceMean = 8;
+    private float serviceSpread = 3;
+    private long seed = 1;
+
+    private transient StringBuilder text;
+    private transient String pendingLabel;
+
+    /**
+     * Returns the number of blocks of each process
+     *
+     * @return
+     */
+    public int blocksPerProcess() {
+        int blocks = 2 + 5 * queueChain + 8 * matchPairs;
+        if (holdTime > 0) {
+            blocks++;
+        }
+        if (storages > 0) {
+            blocks += 3;
+        }
+        if (fanOut > 1) {
+            blocks += 3 * fanOut - 2;
+        }
+        return blocks;
+    }
+
+    /**
+     * Returns the number of blocks of the model
+     *
+     * @return
+     */
+    public long blocks() {
+        return (long) processes * blocksPerProcess();
+    }
+
+    /**
+     * Returns the text of the model
+     *
+     * @return
+     */
+    public String generate() {
+
+        Random random = new Random(seed);
+        text = new StringBuilder(processes * blocksPerProcess() * 48 + 256);
+
+        text.append("*\n* Generated model\n* ").append(processes).append(" processes, ")
+                .append(blocks()).append(" blocks, seed ").append(seed).append("\n*\n\n");
+
+        for (int s = 0; s < storages; s++) {
+            text.append("S").append(s).append(" STORAGE ").append(storageCapacity).append('\n');
+        }
+        text.append("* end-entities");
+
+        for (int p = 0; p < processes; p++) {
+
+            text.append("\n\n*\n* p").append(p).append("\n*");
+            bloc(Constants.Generate, "Uniform," + number(arrivalMean) + "," + number(arrivalSpread) + ",0.0,0.0,0.0,0");
+
+            if (holdTime > 0) {
+                bloc(Constants.Advanced, "Uniform," + number(holdTime) + ",0.0");
+            }
+
+            for (int s = 0; s < queueChain; s++) {
+                String queue = "Q" + p + "_" + s;
+                String facility = "F" + random.nextInt(Math.max(1, facilities));
+                bloc(Constants.Queue, queue + ",1");
+                bloc(Constants.Seize, facility);
+                bloc(Constants.Advanced, service());
+                bloc(Constants.Depart, queue + ",1");
+                bloc(Constants.Release, facility);
+            }
+
+            if (storages > 0) {
+                String storage = "S" + random.nextInt(storages);
+                bloc(Constants.Enter, storage + ",1");
+                bloc(Constants.Advanced, service());
+                bloc(Constants.Leave, storage + ",1");
+            }
+
+            if (fanOut > 1) {
+                // Branch b is taken with probability 1/(fanOut-b) by the
+                // Xacts that did not take the branches before it
+                for (int b = 0; b < fanOut - 1; b++) {
+                    bloc(Constants.Transfer, String.format(Locale.ROOT, "%.6f", 1f / (fanOut - b)) + ",B" + b);
+                }
+                bloc(Constants.Advanced, service());
+                bloc(Constants.Transfer, ",J");
+                for (int b = 0; b < fanOut - 1; b++) {
+                    pendingLabel = "B" + b;
+                    bloc(Constants.Advanced, service());
+                    if (b < fanOut - 2) {
+                        bloc(Constants.Transfer, ",J");
+                    }
+                }
+                pendingLabel = "J";
+            }
+
+            for (int m = 0; m < matchPairs; m++) {
+                bloc(Constants.Split, "1,P" + m);
+                bloc(Constants.Advanced, service());
+                pendingLabel = "MA" + m;
+                bloc(Constants.Match, "MB" + m);
+                bloc(Constants.Transfer, ",G" + m);
+                pendingLabel = "P" + m;
+                bloc(Constants.Advanced, service());
+                pendingLabel = "MB" + m;
+                bloc(Constants.Match, "MA" + m);
+                pendingLabel = "G" + m;
+                bloc(Constants.Gather, "2");
+                bloc(Constants.Assemble, "2");
+            }
+
+            bloc(Constants.Terminate, "1");
+        }
+
+        String model = text.toString();
+        text = null;
+        return model;
+    }
+
+    /**
+     * Returns the generated model, read as if it were loaded from a file
+     *
+     * @return
+     * @throws UnrecognizedModelException
+     * @throws IOException
+     * @throws MalformedFunctionDistributionException
+     */
+    public Model model() throws UnrecognizedModelException, IOException, MalformedFunctionDistributionException {
+        return new DiscManager().leerTxt(new BufferedReader(new StringReader(generate())));
+    }
+
+    /**
+     * Writes the text of the generated model to the file
+     *
+     * @param path
+     * @throws IOException
+     */
+    public void write(Path path) throws IOException {
+        try (Writer writer = Files.newBufferedWriter(path)) {
+            writer.write(generate());
+        }
+    }
+
+    private String service() {
+        return "Uniform," + number(serviceMean) + "," + number(serviceSpread);
+    }
+
+    private void bloc(String name, String operands) {
+
+        text.append('\n');
+        int column = 0;
+        if (pendingLabel != null) {
+            text.append(pendingLabel);
+            column = pendingLabel.length();
+            pendingLabel = null;
+        }
+        for (; column < Constants.espaisLabel.length(); column++) {
+            text.append(' ');
+        }
+        text.append(name);
+        for (int i = name.length(); i < Constants.numCaractersBloc; i++) {
+            text.append(' ');
+        }
+        text.append(operands);
+    }
+
+    private static String number(float value) {
+        return Float.toString(value);
+    }
+}
@@ -0,0 +1,89 @@
+/**
+ * Software end-user license agreement.
+ *
+ * The LICENSE.TXT containing the license is located in the JGPSS project.
+ * License.txt can be downloaded here:
+ * href="http://www-eio.upc.es/~Pau/index.php?q=node/28
+ *
+ * NOTICE TO THE USER: BY COPYING, INSTALLING OR USING THIS SOFTWARE OR PART OF
+ * THIS SOFTWARE, YOU AGREE TO THE   TERMS AND CONDITIONS OF THE LICENSE AGREEMENT
+ * AS IF IT WERE A WRITTEN AGREEMENT NEGOTIATED AND SIGNED BY YOU. THE LICENSE
+ * AGREEMENT IS ENFORCEABLE AGAINST YOU AND ANY OTHER LEGAL PERSON ACTING ON YOUR
+ * BEHALF.
+ * IF, AFTER READING THE TERMS AND CONDITIONS HEREIN, YOU DO NOT AGREE TO THEM,
+ * YOU MAY NOT INSTALL THIS SOFTWARE ON YOUR COMPUTER.
+ * UPC IS THE OWNER OF ALL THE INTELLECTUAL PROPERTY OF THE SOFTWARE AND ONLY
+ * AUTHORIZES YOU TO USE THE SOFTWARE IN ACCORDANCE WITH THE TERMS SET OUT IN
+ * THE LICENSE AGREEMENT.
+ */
+package model.profiling;
+
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Counts of a profiled run at a given moment, taken with
+ * {@link EngineProfiler#snapshot()}.
+ *
+ * @author Ezequiel Andujar Montes
+ */
+@Getter
+@AllArgsConstructor
+public class EngineProfile {
+
+    /**
+     * Executions and time of a block type
+     */
+    @Getter
+    @AllArgsConstructor
+    public static class BlockType {
+
+        private final String name;
+        private final long executions;
+        private final long nanos;
+
+        public double getNanosPerExecution() {
+            return executions > 0 ? (double) nanos / executions : 0;
+        }
+    }
+
+    /**
+     * Block types executed at least once, in the order of their ids
+     */
+    private final List<BlockType> blockTypes;
+    /**
+     * Xacts put on a Blocked Event Chain
+     */
+    private final long refusals;
+    private final long scans;
+    /**
+     * Blocks executed by all the scan phases
+     */
+    private final long scanExecutions;
+    private final long maxScanExecutions;
+    private final long scanNanos;
+    private final long clockUpdates;
+    private final long clockNanos;
+    /**
+     * Mean and maximum sizes of the event chains after a clock update
+     */
+    private final double meanCEC;
+    private final long maxCEC;
+    private final double meanFEC;
+    private final long maxFEC;
+
+    public double getMeanScanExecutions() {
+        return scans > 0 ? (double) scanExecutions / scans : 0;
+    }
+
+    /**
+     * Returns the blocks executed per second of scan and clock update phases
+     *
+     * @return
+     */
+    public double getEventsPerSecond() {
+        long time = scanNanos + clockNanos;
+        return time > 0 ? scanExecutions * 1e9 / time : 0;
+    }
+}
@@ -0,0 +1,154 @@
+/**
+ * Software end-user license agreement.
+ *
+ * The LICENSE.TXT containing the license is located in the JGPSS project.
+ * License.txt can be downloaded here:
+ * href="http://www-eio.upc.es/~Pau/index.php?q=node/28
+ *
+ * NOTICE TO THE USER: BY COPYING, INSTALLING OR USING THIS SOFTWARE OR PART OF
+ * THIS SOFTWARE, YOU AGREE TO THE   TERMS AND CONDITIONS OF THE LICENSE AGREEMENT
+ * AS IF IT WERE A WRITTEN AGREEMENT NEGOTIATED AND SIGNED BY YOU. THE LICENSE
+ * AGREEMENT IS ENFORCEABLE AGAINST YOU AND ANY OTHER LEGAL PERSON ACTING ON YOUR
+ * BEHALF.
+ * IF, AFTER READING THE TERMS AND CONDITIONS HEREIN, YOU DO NOT AGREE TO THEM,
+ * YOU MAY NOT INSTALL THIS SOFTWARE ON YOUR COMPUTER.
+ * UPC IS THE OWNER OF ALL THE INTELLECTUAL PROPERTY OF THE SOFTWARE AND ONLY
+ * AUTHORIZES YOU TO USE THE SOFTWARE IN ACCORDANCE WITH THE TERMS SET OUT IN
+ * THE LICENSE AGREEMENT.
+ */
+package model.profiling;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import model.blocks.Bloc;
+
+/**
+ * Counters of the engine for a profiled run: executions and time of each
+ * block type, refusals, length of the scan phases and sizes of the event
+ * chains after each clock update. The model only calls it when a profiler
+ * is set, from a separate scan loop, so an unprofiled run does not pay for
+ * it. Timing every block execution adds two System.nanoTime calls to it.
+ *
+ * The counters are plain fields updated by the simulation thread, so the
+ * snapshot must be taken from that thread or once the run is over.
+ *
+ * @author Ezequiel Andujar Montes
+ */
+public class EngineProfiler {
+
+    private long[] executions = new long[32];
+    private long[] nanos = new long[32];
+    private String[] names = new String[32];
+
+    private long refusals;
+    private long scans;
+    private long scanExecutions;
+    private long maxScanExecutions;
+    private long scanNanos;
+    private long clockUpdates;
+    private long clockNanos;
+    private long cecSum;
+    private long cecMax;
+    private long fecSum;
+    private long fecMax;
+
+    /**
+     * Counts one execution of the block
+     *
+     * @param bloc
+     * @param time nanoseconds spent in the execution
+     */
+    public void executed(Bloc bloc, long time) {
+
+        int type = bloc.getId();
+
+        if (type >= executions.length) {
+            int length = Math.max(type + 1, executions.length * 2);
+            executions = Arrays.copyOf(executions, length);
+            nanos = Arrays.copyOf(nanos, length);
+            names = Arrays.copyOf(names, length);
+        }
+        if (names[type] == null) {
+            names[type] = bloc.name();
+        }
+        executions[type]++;
+        nanos[type] += time;
+    }
+
+    /**
+     * Counts an Xact refused by a block and put on a Blocked Event Chain
+     */
+    public void refused() {
+        refusals++;
+    }
+
+    /**
+     * Counts a scan phase
+     *
+     * @param executions blocks executed by the scan phase
+     * @param time nanoseconds spent in the scan phase
+     */
+    public void scanned(long executions, long time) {
+        scans++;
+        scanExecutions += executions;
+        maxScanExecutions = Math.max(maxScanExecutions, executions);
+        scanNanos += time;
+    }
+
+    /**
+     * Counts a clock update phase
+     *
+     * @param time nanoseconds spent in the clock update
+     * @param cec size of the Current Events Chain after the update
+     * @param fec size of the Future Events Chain after the update
+     */
+    public void clockUpdated(long time, int cec, int fec) {
+        clockUpdates++;
+        clockNanos += time;
+        cecSum += cec;
+        cecMax = Math.max(cecMax, cec);
+        fecSum += fec;
+        fecMax = Math.max(fecMax, fec);
+    }
+
+    /**
+     * Discards the counts gathered so far
+     */
+    public void reset() {
+        Arrays.fill(executions, 0);
+        Arrays.fill(nanos, 0);
+        refusals = 0;
+        scans = 0;
+        scanExecutions = 0;
+        maxScanExecutions = 0;
+        scanNanos = 0;
+        clockUpdates = 0;
+        clockNanos = 0;
+        cecSum = 0;
+        cecMax = 0;
+        fecSum = 0;
+        fecMax = 0;
+    }
+
+    /**
+     * Returns a copy of the counts gathered so far
+     *
+     * @return
+     */
+    public EngineProfile snapshot() {
+
+        List<EngineProfile.BlockType> types = new ArrayList<>();
+
+        for (int type = 0; type < executions.length; type++) {
+            if (executions[type] > 0) {
+                types.add(new EngineProfile.BlockType(names[type], executions[type], nanos[type]));
+            }
+        }
+
+        return new EngineProfile(types, refusals, scans, scanExecutions, maxScanExecutions, scanNanos,
+                clockUpdates, clockNanos,
+                clockUpdates > 0 ? (double) cecSum / clockUpdates : 0, cecMax,
+                clockUpdates > 0 ? (double) fecSum / clockUpdates : 0, fecMax);
+    }
+}
@@ -0,0 +1,151 @@
+/**
+ * Software end-user license agreement.
+ *
+ * The LICENSE.TXT containing the license is located in the JGPSS project.
+ * License.txt can be downloaded here:
+ * href="http://www-eio.upc.es/~Pau/index.php?q=node/28
+ *
+ * NOTICE TO THE USER: BY COPYING, INSTALLING OR USING THIS SOFTWARE OR PART OF
+ * THIS SOFTWARE, YOU AGREE TO THE   TERMS AND CONDITIONS OF THE LICENSE AGREEMENT
+ * AS IF IT WERE A WRITTEN AGREEMENT NEGOTIATED AND SIGNED BY YOU. THE LICENSE
+ * AGREEMENT IS ENFORCEABLE AGAINST YOU AND ANY OTHER LEGAL PERSON ACTING ON YOUR
+ * BEHALF.
+ * IF, AFTER READING THE TERMS AND CONDITIONS HEREIN, YOU DO NOT AGREE TO THEM,
+ * YOU MAY NOT INSTALL THIS SOFTWARE ON YOUR COMPUTER.
+ * UPC IS THE OWNER OF ALL THE INTELLECTUAL PROPERTY OF THE SOFTWARE AND ONLY
+ * AUTHORIZES YOU TO USE THE SOFTWARE IN ACCORDANCE WITH THE TERMS SET OUT IN
+ * THE LICENSE AGREEMENT.
+ */
+package model.replication;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import model.Model;
+
+/**
+ * Per-entity statistics of a set of independent replications. Each entity
+ * (block, facility, queue, storage, savevalue) has one ReplicationStatistic
+ * per measure, in the order the measures were first observed.
+ *
+ * @author Ezequiel Andujar Montes
+ */
+public class ReplicationResults {
+
+    private final Map<String, Map<String, ReplicationStatistic>> entities;
+    private int replications;
+
+    public ReplicationResults() {
+        entities = new LinkedHashMap<>();
+        replications = 0;
+    }
+
+    /**
+     * Returns the measures observed in a finished model, by entity and
+     * measure name
+     *
+     * @param model a model after its run
+     * @return
+     */
+    public static Map<String, Map<String, Double>> observe(Model model) {
+
+        Map<String, Map<String, Double>> values = new LinkedHashMap<>();
+        float clock = model.getRelativeClock();
+        float elapsed = model.getElapsedTime();
+
+        measures(values, "MODEL").put("END TIME", (double) clock);
+
+        model.getProces().forEach(p -> p.getBlocs().forEach(b -> {
+            Map<String, Double> m = measures(values, String.format("BLOCK %d %s", b.getPos(), b.name()));
+            m.put("ENTRY COUNT", (double) b.getEntryCount());
+            m.put("CURRENT COUNT", (double) b.getCurrentCount());
+            m.put("RETRY", (double) b.getRetryCount());
+        }));
+
+        model.getFacilities().forEach((name, f) -> {
+            if (f.getMaxCapacity() == 1) {
+                Map<String, Double> m = measures(values, "FACILITY " + name);
+                m.put("ENTRIES", (double) f.getCounterCount());
+                m.put("UTIL.", elapsed != 0 ? (double) (f.getUtilizationTime() / elapsed) : 0);
+                m.put("AVE. TIME", (double) f.avgHoldingTime());
+            }
+        });
+
+        model.getQueues().forEach((name, q) -> {
+            Map<String, Double> m = measures(values, "QUEUE " + name);
+            m.put("MAX", (double) q.getMaxCount());
+            m.put("CONT.", (double) q.getCurrentCount());
+            m.put("ENTRIES", (double) q.getTotalEntries());
+            m.put("ENTRIES(0)", (double) q.getZeroEntries());
+            m.put("AVE.CONT.", (double) q.getAvgContent());
+            m.put("AVE.TIME", (double) q.getAvgTime());
+            m.put("AVE.(-0)", (double) q.getAvgTime(true));
+        });
+
+        model.getFacilities().forEach((name, f) -> {
+            if (f.getMaxCapacity() > 1) {
+                Map<String, Double> m = measures(values, "STORAGE " + name);
+                m.put("ENTRIES", (double) f.getCaptureCount());
+                m.put("MAX", (double) f.getMaxUsage());
+                m.put("AVE.C.", (double) f.getAvgContent());
+                m.put("UTIL.", (double) (f.getAvgContent() / f.getMaxCapacity()));
+            }
+        });
+
+        model.getSaveValues().forEach(sv
+                -> measures(values, "SAVEVALUE " + sv.getName()).put("VALUE", (double) sv.getValue()));
+
+        return values;
+    }
+
+    private static Map<String, Double> measures(Map<String, Map<String, Double>> values, String entity) {
+        return values.computeIfAbsent(entity, e -> new LinkedHashMap<>());
+    }
+
+    /**
+     * Adds the measures of one replication
+     *
+     * @param values the measures returned by observe
+     */
+    public void add(Map<String, Map<String, Double>> values) {
+
+        replications++;
+        values.forEach((entity, measures) -> {
+            Map<String, ReplicationStatistic> stats = entities.computeIfAbsent(entity, e -> new LinkedHashMap<>());
+            measures.forEach((measure, value) -> stats.computeIfAbsent(measure, m -> new ReplicationStatistic()).add(value));
+        });
+    }
+
+    /**
+     * Adds the measures of a finished model
+     *
+     * @param model
+     */
+    public void add(Model model) {
+        add(observe(model));
+    }
+
+    public int getReplications() {
+        return replications;
+    }
+
+    /**
+     * Returns the statistics by entity and measure name
+     *
+     * @return
+     */
+    public Map<String, Map<String, ReplicationStatistic>> getEntities() {
+        return entities;
+    }
+
+    /**
+     * Returns the statistic of a measure, null if it was never observed
+     *
+     * @param entity like "FACILITY F"
+     * @param measure like "UTIL."
+     * @return
+     */
+    public ReplicationStatistic get(String entity, String measure) {
+        Map<String, ReplicationStatistic> stats = entities.get(entity);
+        return stats != null ? stats.get(measure) : null;
+    }
+}
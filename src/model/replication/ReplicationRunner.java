@@ -0,0 +1,135 @@
+/**
+ * Software end-user license agreement.
+ *
+ * The LICENSE.TXT containing the license is located in the JGPSS project.
+ * License.txt can be downloaded here:
+ * href="http://www-eio.upc.es/~Pau/index.php?q=node/28
+ *
+ * NOTICE TO THE USER: BY COPYING, INSTALLING OR USING THIS SOFTWARE OR PART OF
+ * THIS SOFTWARE, YOU AGREE TO THE   TERMS AND CONDITIONS OF THE LICENSE AGREEMENT
+ * AS IF IT WERE A WRITTEN AGREEMENT NEGOTIATED AND SIGNED BY YOU. THE LICENSE
+ * AGREEMENT IS ENFORCEABLE AGAINST YOU AND ANY OTHER LEGAL PERSON ACTING ON YOUR
+ * BEHALF.
+ * IF, AFTER READING THE TERMS AND CONDITIONS HEREIN, YOU DO NOT AGREE TO THEM,
+ * YOU MAY NOT INSTALL THIS SOFTWARE ON YOUR COMPUTER.
+ * UPC IS THE OWNER OF ALL THE INTELLECTUAL PROPERTY OF THE SOFTWARE AND ONLY
+ * AUTHORIZES YOU TO USE THE SOFTWARE IN ACCORDANCE WITH THE TERMS SET OUT IN
+ * THE LICENSE AGREEMENT.
+ */
+package model.replication;
+
+import java.io.BufferedReader;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import lombok.Getter;
+import lombok.Setter;
+import model.Model;
+import model.RunControl;
+import persistence.DiscManager;
+
+/**
+ * Runs independent replications of a model on a pool of worker threads. Each
+ * replication runs on its own copy of the model, read again from the text
+ * format of the original one, so replications share no state. Replication i
+ * uses the seed of the model plus i, so the runs are reproducible. The measures
+ * are combined in replication order, so the results do not depend on the
+ * number of threads.
+ *
+ * @author Ezequiel Andujar Montes
+ */
+public class ReplicationRunner {
+
+    /**
+     * Text format of the model
+     */
+    private final String source;
+    private final Model model;
+    /**
+     * Number of worker threads, one per core by default
+     */
+    @Getter
+    @Setter
+    private int threads;
+    /**
+     * Stopping rules of every replication besides the termination count,
+     * null for none. The wall clock budget is given to each replication.
+     */
+    @Getter
+    @Setter
+    private RunControl control;
+
+    public ReplicationRunner(Model model) throws Exception {
+        this.model = model;
+        this.source = new DiscManager().generarTxt(model);
+        this.threads = Runtime.getRuntime().availableProcessors();
+    }
+
+    /**
+     * Returns a new copy of the model for the given replication, with the same
+     * termination count, warm-up and event chain implementation
+     *
+     * @param replication the replication number, from 0
+     * @return
+     * @throws Exception
+     */
+    public Model copy(int replication) throws Exception {
+
+        Model copy = new DiscManager().leerTxt(new BufferedReader(new StringReader(source)));
+        copy.setTC(model.getTC());
+        copy.setFECType(model.getFECType());
+        copy.setSeed(model.getSeed() + replication);
+        copy.setWarmUpTime(model.getWarmUpTime());
+        copy.setWarmUpCount(model.getWarmUpCount());
+        return copy;
+    }
+
+    /**
+     * Runs the replications and returns their combined statistics
+     *
+     * @param replications number of replications
+     * @return
+     * @throws Exception the first error of a replication
+     */
+    public ReplicationResults run(int replications) throws Exception {
+
+        ExecutorService pool = Executors.newFixedThreadPool(Math.max(1, Math.min(threads, replications)));
+
+        try {
+            List<Future<Map<String, Map<String, Double>>>> runs = new ArrayList<>(replications);
+
+            for (int i = 0; i < replications; i++) {
+                int replication = i;
+                runs.add(pool.submit(() -> {
+                    Model replica = copy(replication);
+                    if (control != null) {
+                        replica.initialize();
+                        replica.run(control);
+                    } else {
+                        replica.execute(false);
+                    }
+                    return ReplicationResults.observe(replica);
+                }));
+            }
+
+            ReplicationResults results = new ReplicationResults();
+
+            for (Future<Map<String, Map<String, Double>>> run : runs) {
+                try {
+                    results.add(run.get());
+                } catch (ExecutionException e) {
+                    throw e.getCause() instanceof Exception ? (Exception) e.getCause() : e;
+                }
+            }
+            return results;
+
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+}
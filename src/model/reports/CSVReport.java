@@ -25,6 +25,7 @@ import java.util.stream.Collectors;
 import lombok.Cleanup;
 import model.Model;
 import model.blocks.Facility;
+import model.profiling.EngineProfile;
 
 /**
  *
@@ -52,6 +53,7 @@ public class CSVReport implements Report {
         printSavesValues(writer);
         printCEC(writer);
         printFEC(writer);
+        printProfile(writer);
     }
 
     @Override
@@ -68,7 +70,7 @@ public class CSVReport implements Report {
 
         int totalBlocks = model.getProces().stream().mapToInt(p -> p.getBlocs().size()).sum();
         writer.println(String.format("%-12s;%-12s;%-10s;%-15s;%-10s", "START TIME", "END TIME", "BLOCKS", "FACILITIES", "STORAGES"));
-        writer.println(String.format("%-12f;%-12f;%-10d;%-15d;%-10d", 0.000f, model.getAbsoluteClock(), totalBlocks, model.getFacilities().size(), model.getStorages().size()));
+        writer.println(String.format("%-12f;%-12f;%-10d;%-15d;%-10d", model.getStartTime(), model.getAbsoluteClock(), totalBlocks, model.getFacilities().size(), model.getStorages().size()));
         writer.println();
         writer.println();
     }
@@ -115,7 +117,7 @@ public class CSVReport implements Report {
 
                     String facilityName = fn;
                     int facilityCounter = facility.getCounterCount();
-                    float utilizationTime = model.getRelativeClock() != 0 ? facility.getUtilizationTime() / model.getRelativeClock() : 0;
+                    float utilizationTime = model.getElapsedTime() != 0 ? facility.getUtilizationTime() / model.getElapsedTime() : 0;
                     float avgTime = facility.avgHoldingTime();
                     int available = facility.isAvailable() ? 1 : 0;
                     String ownXactID = facility.getOwningXact() != null ? String.valueOf(facility.getOwningXact().getID()) : "-";
@@ -184,8 +186,8 @@ public class CSVReport implements Report {
                     int minUsage = f.getMinUsage();
                     int entries = f.getCaptureCount();
                     int avl = f.isAvailable() ? 1 : 0;
-                    float aveC = f.avgHoldingTime() / model.getRelativeClock();
-                    float utilizationTime = model.getRelativeClock() != 0 ? f.getUtilizationTime() / model.getRelativeClock() : 0;
+                    float aveC = f.getAvgContent();
+                    float utilizationTime = f.getMaxCapacity() != 0 ? aveC / f.getMaxCapacity() : 0;
                     int bloquedXacts = model.getBEC().get(name) != null ? model.getBEC().get(name).size() : 0;
 
                     writer.println(String.format("%-12s;%-12d;%-10d;%-15d;%-10d;%-10d;%-10d;%-10f;%-10f;%-10d",
@@ -271,4 +273,31 @@ public class CSVReport implements Report {
         writer.println();
         writer.println();
     }
+
+    private void printProfile(PrintWriter writer) {
+
+        if (model.getProfiler() == null) {
+            return;
+        }
+
+        EngineProfile profile = model.getProfiler().snapshot();
+
+        writer.println(String.format("%-12s;%-16s;%-12s;%-12s;%-12s;%-14s", "SCANS", "BLOCKS EXECUTED", "MEAN SCAN", "MAX SCAN", "REFUSALS", "EVENTS/SEC"));
+        writer.println(String.format("%-12d;%-16d;%-12f;%-12d;%-12d;%-14f", profile.getScans(), profile.getScanExecutions(), profile.getMeanScanExecutions(),
+                profile.getMaxScanExecutions(), profile.getRefusals(), profile.getEventsPerSecond()));
+        writer.println();
+        writer.println(String.format("%-14s;%-12s;%-12s;%-12s;%-12s;%-12s;%-12s", "CLOCK UPDATES", "MEAN CEC", "MAX CEC", "MEAN FEC", "MAX FEC", "SCAN MS", "CLOCK MS"));
+        writer.println(String.format("%-14d;%-12f;%-12d;%-12f;%-12d;%-12f;%-12f", profile.getClockUpdates(), profile.getMeanCEC(), profile.getMaxCEC(),
+                profile.getMeanFEC(), profile.getMaxFEC(), profile.getScanNanos() / 1e6, profile.getClockNanos() / 1e6));
+        writer.println();
+        writer.println(String.format("%-12s;%-14s;%-12s;%-12s", "BLOCK TYPE", "EXECUTIONS", "TIME MS", "NS/EXEC"));
+
+        profile.getBlockTypes().forEach(t -> {
+
+            writer.println(String.format("%-12s;%-14d;%-12f;%-12f", t.getName(), t.getExecutions(), t.getNanos() / 1e6, t.getNanosPerExecution()));
+
+        });
+        writer.println();
+        writer.println();
+    }
 }
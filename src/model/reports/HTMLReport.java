@@ -81,7 +81,7 @@ public class HTMLReport implements Report {
                 .append(String.format("<th>%-12s</th><th>%-12s</th><th>%-10s</th><th>%-15s</th><th>%-10s</th>", "START TIME", "END TIME", "BLOCKS", "FACILITIES", "STORAGES"))//
                 .append("</tr>")//
                 .append("<tr>")//
-                .append(String.format("<td>%-12f</td><td>%-12f</td><td>%-10d</td><td>%-15d</td><td>%-10d</td>", 0.000f, model.getAbsoluteClock(), totalBlocks, model.getFacilities().size(), model.getStorages().size()))//
+                .append(String.format("<td>%-12f</td><td>%-12f</td><td>%-10d</td><td>%-15d</td><td>%-10d</td>", model.getStartTime(), model.getAbsoluteClock(), totalBlocks, model.getFacilities().size(), model.getStorages().size()))//
                 .append("</tr>")//
                 .append("</table>");
 
@@ -136,7 +136,7 @@ public class HTMLReport implements Report {
             String fn = es.getKey();
 
             int facilityCounter = facility.getCounterCount();
-            float utilizationTime = model.getRelativeClock() != 0 ? facility.getUtilizationTime() / model.getRelativeClock() : 0;
+            float utilizationTime = model.getElapsedTime() != 0 ? facility.getUtilizationTime() / model.getElapsedTime() : 0;
             float avgTime = facility.avgHoldingTime();
             int available = facility.isAvailable() ? 1 : 0;
             String ownXactID = facility.getOwningXact() != null ? String.valueOf(facility.getOwningXact().getID()) : "-";
@@ -219,8 +219,8 @@ public class HTMLReport implements Report {
             int minUsage = f.getMinUsage();
             int entries = f.getCaptureCount();
             int avl = f.isAvailable() ? 1 : 0;
-            float aveC = f.avgHoldingTime() / model.getRelativeClock();
-            float utilizationTime = model.getRelativeClock() != 0 ? f.getUtilizationTime() / model.getRelativeClock() : 0;
+            float aveC = f.getAvgContent();
+            float utilizationTime = f.getMaxCapacity() != 0 ? aveC / f.getMaxCapacity() : 0;
             int bloquedXacts = model.getBEC().get(name) != null ? model.getBEC().get(name).size() : 0;
 
             sb.append("<tr>");
@@ -130,7 +130,7 @@ public class PDFReport implements Report {
 
         int totalBlocks = model.getProces().stream().mapToInt(p -> p.getBlocs().size()).sum();
 
-        table.addCell(new PdfPCell(new Phrase(String.format("%.4f", 0.000f), small8n)));
+        table.addCell(new PdfPCell(new Phrase(String.format("%.4f", model.getStartTime()), small8n)));
         table.addCell(new PdfPCell(new Phrase(String.format("%.4f", model.getRelativeClock()), small8n)));
         table.addCell(new PdfPCell(new Phrase(String.valueOf(totalBlocks), small8n)));
         table.addCell(new PdfPCell(new Phrase(String.valueOf(model.getFacilities().size()), small8n)));
@@ -239,7 +239,7 @@ public class PDFReport implements Report {
 
             String fn = es.getKey();
             int facilityCounter = facility.getCounterCount();
-            float utilizationTime = model.getRelativeClock() != 0 ? facility.getUtilizationTime() / model.getRelativeClock() : 0;
+            float utilizationTime = model.getElapsedTime() != 0 ? facility.getUtilizationTime() / model.getElapsedTime() : 0;
             float avgTime = facility.avgHoldingTime();
             int available = facility.isAvailable() ? 1 : 0;
             String ownXactID = facility.getOwningXact() != null ? String.valueOf(facility.getOwningXact().getID()) : "-";
@@ -387,8 +387,8 @@ public class PDFReport implements Report {
             int minUsage = f.getMinUsage();
             int entries = f.getCaptureCount();
             int avl = f.isAvailable() ? 1 : 0;
-            float aveC = f.avgHoldingTime() / model.getRelativeClock();
-            float utilizationTime = model.getRelativeClock() != 0 ? f.getUtilizationTime() / model.getRelativeClock() : 0;
+            float aveC = f.getAvgContent();
+            float utilizationTime = f.getMaxCapacity() != 0 ? aveC / f.getMaxCapacity() : 0;
             int bloquedXacts = model.getBEC().get(fn) != null ? model.getBEC().get(fn).size() : 0;
 
             table.addCell(new PdfPCell(new Phrase(String.valueOf(fn), small8n)));
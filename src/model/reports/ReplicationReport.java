@@ -0,0 +1,75 @@
+/**
+ * Software end-user license agreement.
+ *
+ * The LICENSE.TXT containing the license is located in the JGPSS project.
+ * License.txt can be downloaded here:
+ * href="http://www-eio.upc.es/~Pau/index.php?q=node/28
+ *
+ * NOTICE TO THE USER: BY COPYING, INSTALLING OR USING THIS SOFTWARE OR PART OF
+ * THIS SOFTWARE, YOU AGREE TO THE   TERMS AND CONDITIONS OF THE LICENSE AGREEMENT
+ * AS IF IT WERE A WRITTEN AGREEMENT NEGOTIATED AND SIGNED BY YOU. THE LICENSE
+ * AGREEMENT IS ENFORCEABLE AGAINST YOU AND ANY OTHER LEGAL PERSON ACTING ON YOUR
+ * BEHALF.
+ * IF, AFTER READING THE TERMS AND CONDITIONS HEREIN, YOU DO NOT AGREE TO THEM,
+ * YOU MAY NOT INSTALL THIS SOFTWARE ON YOUR COMPUTER.
+ * UPC IS THE OWNER OF ALL THE INTELLECTUAL PROPERTY OF THE SOFTWARE AND ONLY
+ * AUTHORIZES YOU TO USE THE SOFTWARE IN ACCORDANCE WITH THE TERMS SET OUT IN
+ * THE LICENSE AGREEMENT.
+ */
+package model.reports;
+
+import java.io.File;
+import java.io.PrintWriter;
+import java.sql.Timestamp;
+import lombok.Cleanup;
+import lombok.Getter;
+import lombok.Setter;
+import model.Model;
+import model.replication.ReplicationResults;
+
+/**
+ * Text report of the statistics of a set of replications, with the mean and
+ * the confidence interval of each measure.
+ *
+ * @author Ezequiel Andujar Montes
+ */
+public class ReplicationReport {
+
+    @Getter
+    @Setter
+    private double confidence = 0.95;
+
+    public void createReport(Model model, ReplicationResults results, String path) throws Exception {
+
+        File file = new File(path + "." + getType());
+
+        @Cleanup
+        PrintWriter writer = new PrintWriter(file);
+
+        writer.println("JGPSS Replications Report");
+        writer.println(String.format("%s - %s", model.getName(), model.getDescription()));
+        writer.println(new Timestamp(System.currentTimeMillis()));
+        writer.println();
+        writer.println(String.format("%-12s %-12s", "REPLICATIONS", "CONFIDENCE"));
+        writer.println(String.format("%-12d %-12.2f", results.getReplications(), confidence));
+        writer.println("\n");
+
+        results.getEntities().forEach((entity, measures) -> {
+
+            writer.println(entity);
+            writer.println(String.format("%-16s %-14s %-14s %-14s %-14s %-14s %-14s",
+                    "MEASURE", "MEAN", "STD.DEV.", "MIN", "MAX", "CI LOW", "CI HIGH"));
+
+            measures.forEach((measure, s) -> {
+                double h = s.halfWidth(confidence);
+                writer.println(String.format("%-16s %-14.4f %-14.4f %-14.4f %-14.4f %-14.4f %-14.4f",
+                        measure, s.getMean(), s.getStdDev(), s.getMin(), s.getMax(), s.getMean() - h, s.getMean() + h));
+            });
+            writer.println();
+        });
+    }
+
+    public String getType() {
+        return "txt";
+    }
+}
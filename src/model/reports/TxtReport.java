@@ -25,6 +25,7 @@ import java.sql.Timestamp;
 import java.util.stream.Collectors;
 import lombok.Cleanup;
 import model.Model;
+import model.profiling.EngineProfile;
 import utils.Constants;
 
 /**
@@ -52,7 +53,8 @@ public class TxtReport implements Report {
         printStorageInfo(writer);
         printSavesValues(writer);
         printCEC(writer);
-        printFEC(writer);        
+        printFEC(writer);
+        printProfile(writer);
     }
 
     private void printGeneralInfo(PrintWriter writer) {
@@ -64,7 +66,7 @@ public class TxtReport implements Report {
 
         int totalBlocks = model.getProces().stream().mapToInt(p -> p.getBlocs().size()).sum();
         writer.println(String.format("%-12s %-12s %-10s %-15s %-10s", "START TIME", "END TIME", "BLOCKS", "FACILITIES", "STORAGES"));
-        writer.println(String.format("%-12.4f %-12.4f %-10d %-15d %-10d", 0.000f, model.getRelativeClock(), totalBlocks, model.getFacilities().size(), model.getStorages().size()));
+        writer.println(String.format("%-12.4f %-12.4f %-10d %-15d %-10d", model.getStartTime(), model.getRelativeClock(), totalBlocks, model.getFacilities().size(), model.getStorages().size()));
         writer.println("\n");
     }
 
@@ -108,7 +110,7 @@ public class TxtReport implements Report {
 
                     String facilityName = fn;
                     int facilityCounter = facility.getCounterCount();
-                    float utilizationTime = model.getRelativeClock() != 0 ? facility.getUtilizationTime() / model.getRelativeClock() : 0;
+                    float utilizationTime = model.getElapsedTime() != 0 ? facility.getUtilizationTime() / model.getElapsedTime() : 0;
                     float avgTime = facility.avgHoldingTime();
                     int available = facility.isAvailable() ? 1 : 0;
                     String ownXactID = facility.getOwningXact() != null ? String.valueOf(facility.getOwningXact().getID()) : "-";
@@ -175,8 +177,8 @@ public class TxtReport implements Report {
                     int minUsage = f.getMinUsage();
                     int entries = f.getCaptureCount();
                     int avl = f.isAvailable() ? 1 : 0;
-                    float aveC = f.avgHoldingTime() / model.getRelativeClock();
-                    float utilizationTime = model.getRelativeClock() != 0 ? f.getUtilizationTime() / model.getRelativeClock() : 0;
+                    float aveC = f.getAvgContent();
+                    float utilizationTime = f.getMaxCapacity() != 0 ? aveC / f.getMaxCapacity() : 0;
                     int bloquedXacts = model.getBEC().get(name) != null ? model.getBEC().get(name).size() : 0;
 
                     writer.println(String.format("%-12s%-12d%-10d%-15d%-10d%-10d%-10d%-10.4f%-10.4f%-10d",
@@ -259,6 +261,33 @@ public class TxtReport implements Report {
         writer.println();
     }
 
+    private void printProfile(PrintWriter writer) {
+
+        if (model.getProfiler() == null) {
+            return;
+        }
+
+        EngineProfile profile = model.getProfiler().snapshot();
+
+        writer.println();
+        writer.println("ENGINE PROFILE\n");
+        writer.println(String.format("%-12s %-16s %-12s %-12s %-12s %-14s", "SCANS", "BLOCKS EXECUTED", "MEAN SCAN", "MAX SCAN", "REFUSALS", "EVENTS/SEC"));
+        writer.println(String.format("%-12d %-16d %-12.2f %-12d %-12d %-14.0f", profile.getScans(), profile.getScanExecutions(), profile.getMeanScanExecutions(),
+                profile.getMaxScanExecutions(), profile.getRefusals(), profile.getEventsPerSecond()));
+        writer.println();
+        writer.println(String.format("%-14s %-12s %-12s %-12s %-12s %-12s %-12s", "CLOCK UPDATES", "MEAN CEC", "MAX CEC", "MEAN FEC", "MAX FEC", "SCAN MS", "CLOCK MS"));
+        writer.println(String.format("%-14d %-12.2f %-12d %-12.2f %-12d %-12.2f %-12.2f", profile.getClockUpdates(), profile.getMeanCEC(), profile.getMaxCEC(),
+                profile.getMeanFEC(), profile.getMaxFEC(), profile.getScanNanos() / 1e6, profile.getClockNanos() / 1e6));
+        writer.println();
+        writer.println(String.format("%-12s %-14s %-12s %-12s", "BLOCK TYPE", "EXECUTIONS", "TIME MS", "NS/EXEC"));
+
+        profile.getBlockTypes().forEach(t -> {
+
+            writer.println(String.format("%-12s %-14d %-12.2f %-12.1f", t.getName(), t.getExecutions(), t.getNanos() / 1e6, t.getNanosPerExecution()));
+
+        });
+    }
+
     @Override
     public String getType() {        
         return Constants.txtReport;
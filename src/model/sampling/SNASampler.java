@@ -0,0 +1,318 @@
+/**
+ * Software end-user license agreement.
+ *
+ * The LICENSE.TXT containing the license is located in the JGPSS project.
+ * License.txt can be downloaded here:
+ * href="http://www-eio.upc.es/~Pau/index.php?q=node/28
+ *
+ * NOTICE TO THE USER: BY COPYING, INSTALLING OR USING THIS SOFTWARE OR PART OF
+ * THIS SOFTWARE, YOU AGREE TO THE   TERMS AND CONDITIONS OF THE LICENSE AGREEMENT
+ * AS IF IT WERE A WRITTEN AGREEMENT NEGOTIATED AND SIGNED BY YOU. THE LICENSE
+ * AGREEMENT IS ENFORCEABLE AGAINST YOU AND ANY OTHER LEGAL PERSON ACTING ON YOUR
+ * BEHALF.
+ * IF, AFTER READING THE TERMS AND CONDITIONS HEREIN, YOU DO NOT AGREE TO THEM,
+ * YOU MAY NOT INSTALL THIS SOFTWARE ON YOUR COMPUTER.
+ * UPC IS THE OWNER OF ALL THE INTELLECTUAL PROPERTY OF THE SOFTWARE AND ONLY
+ * AUTHORIZES YOU TO USE THE SOFTWARE IN ACCORDANCE WITH THE TERMS SET OUT IN
+ * THE LICENSE AGREEMENT.
+ */
+package model.sampling;
+
+import exceptions.FacilityNotFoundException;
+import exceptions.ModelSyntaxException;
+import exceptions.QueueNotFoundException;
+import exceptions.SaveValueNotFoundException;
+import exceptions.StorageNotFoundException;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import lombok.Getter;
+import model.CompiledSNA;
+import model.Model;
+import model.SNACompiler;
+
+/**
+ * Samples a list of SNAs at fixed simulated time intervals and writes them
+ * as CSV rows, one column per SNA after the time column. The simulation
+ * thread only evaluates the compiled SNAs into blocks of rows; the rows are
+ * formatted and written by a background thread, so sampling does not slow
+ * down the run.
+ *
+ * A model only samples when a sampler is set with Model.setSampler. The
+ * sample of time t holds the values of the model once all the Xacts
+ * scheduled before t have moved. The SNAs are evaluated without an active
+ * Xact, so only SNAs of the model entities and the clocks can be sampled.
+ *
+ * @author Ezequiel Andujar Montes
+ */
+public class SNASampler implements Closeable {
+
+    /**
+     * Rows of a block handed to the writer
+     */
+    private static final int BLOCK_ROWS = 4096;
+
+    /**
+     * Blocks waiting to be written before the simulation waits for the writer
+     */
+    private static final int PENDING_BLOCKS = 16;
+
+    /**
+     * Longest field written, a separator and a double or a long with sign
+     */
+    private static final int FIELD = 32;
+
+    private static final Block END = new Block(0);
+
+    @Getter
+    private final List<String> snas;
+    @Getter
+    private final float interval;
+    @Getter
+    private long samples;
+
+    private final CompiledSNA[] compiled;
+    private final int columns;
+    private final BlockingQueue<Block> pending = new ArrayBlockingQueue<>(PENDING_BLOCKS);
+    private final BlockingQueue<Block> free = new ArrayBlockingQueue<>(PENDING_BLOCKS + 1);
+    private final Thread writer;
+    private volatile IOException error;
+
+    /**
+     * File buffer and number formatting space of the writer thread
+     */
+    private final byte[] buffer = new byte[1 << 16];
+    private int position;
+
+    private Block block;
+    private float next;
+    private boolean closed;
+
+    /**
+     * Creates the sample file, replacing it if it exists, and starts its
+     * writer
+     *
+     * @param model the sampled model
+     * @param path the CSV file
+     * @param interval simulated time between two samples
+     * @param snas the SNAs sampled, as written in a block operand
+     * @throws ModelSyntaxException if an SNA is not known
+     * @throws IOException if the file can not be created
+     */
+    public SNASampler(Model model, Path path, float interval, List<String> snas) throws ModelSyntaxException, IOException {
+
+        if (!(interval > 0)) {
+            throw new IllegalArgumentException("Invalid sampling interval " + interval);
+        }
+        if (snas.isEmpty()) {
+            throw new IllegalArgumentException("No SNA to sample");
+        }
+
+        this.snas = new ArrayList<>(snas);
+        this.interval = interval;
+        this.columns = snas.size() + 1;
+        this.compiled = new CompiledSNA[snas.size()];
+        for (int i = 0; i < compiled.length; i++) {
+            compiled[i] = SNACompiler.compile(snas.get(i), model);
+        }
+        this.block = new Block(BLOCK_ROWS * columns);
+
+        StringBuilder header = new StringBuilder("time");
+        for (String sna : this.snas) {
+            header.append(',').append(sna);
+        }
+        header.append('\n');
+
+        OutputStream out = Files.newOutputStream(path);
+        out.write(header.toString().getBytes(StandardCharsets.UTF_8));
+
+        writer = new Thread(() -> write(out), "SNA sampler " + path.getFileName());
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    /**
+     * Takes the samples due before the clock moves to the given time
+     *
+     * @param clock the next value of the clock
+     * @throws Exception if an SNA can not be evaluated or the file can not be
+     * written
+     */
+    public void sample(float clock) throws Exception {
+
+        while (next < clock) {
+
+            double[] values = block.values;
+            int offset = block.rows * columns;
+            values[offset] = next;
+            for (int i = 0; i < compiled.length; i++) {
+                values[offset + 1 + i] = value(compiled[i]);
+            }
+            samples++;
+            next = (float) (samples * (double) interval);
+
+            if (++block.rows == BLOCK_ROWS) {
+                flush();
+                Block reused = free.poll();
+                block = reused != null ? reused : new Block(BLOCK_ROWS * columns);
+            }
+        }
+    }
+
+    /**
+     * Facilities, storages, queues and savevalues are created when they are
+     * first used, so until then their SNAs have no value
+     */
+    private static double value(CompiledSNA sna) throws Exception {
+        try {
+            return sna.evaluate(null);
+        } catch (FacilityNotFoundException | StorageNotFoundException | QueueNotFoundException | SaveValueNotFoundException e) {
+            return Double.NaN;
+        }
+    }
+
+    /**
+     * Writes the pending samples and closes the file
+     *
+     * @throws IOException if the file could not be written
+     */
+    @Override
+    public void close() throws IOException {
+
+        if (closed) {
+            return;
+        }
+        closed = true;
+
+        try {
+            if (block.rows > 0 && error == null) {
+                pending.put(block);
+            }
+            pending.put(END);
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while writing the samples", e);
+        }
+        if (error != null) {
+            throw error;
+        }
+    }
+
+    private void flush() throws IOException, InterruptedException {
+        if (error != null) {
+            throw error;
+        }
+        pending.put(block);
+    }
+
+    /**
+     * Loop of the writer thread. The rows are encoded as ASCII straight into
+     * the file buffer. After an error the blocks are dropped, so the
+     * simulation is not blocked, and the error is thrown to it.
+     */
+    private void write(OutputStream out) {
+
+        try {
+            Block b;
+            while ((b = pending.take()) != END) {
+                if (error == null) {
+                    try {
+                        for (int r = 0; r < b.rows; r++) {
+                            int offset = r * columns;
+                            for (int c = 0; c < columns; c++) {
+                                if (position > buffer.length - FIELD) {
+                                    out.write(buffer, 0, position);
+                                    position = 0;
+                                }
+                                if (c > 0) {
+                                    buffer[position++] = ',';
+                                }
+                                put(b.values[offset + c]);
+                            }
+                            buffer[position++] = '\n';
+                        }
+                    } catch (IOException e) {
+                        error = e;
+                    }
+                }
+                b.rows = 0;
+                free.offer(b);
+            }
+            if (error == null) {
+                out.write(buffer, 0, position);
+            }
+        } catch (InterruptedException e) {
+            error = new IOException("Sample writer interrupted", e);
+        } catch (IOException e) {
+            error = e;
+        } finally {
+            try {
+                out.close();
+            } catch (IOException e) {
+                if (error == null) {
+                    error = e;
+                }
+            }
+        }
+    }
+
+    /**
+     * Whole values are written without decimals, values of float precision,
+     * as the clocks, in their shortest float form, and missing values as
+     * empty fields
+     */
+    private void put(double value) {
+
+        if (Double.isNaN(value)) {
+            return;
+        }
+
+        long whole = (long) value;
+        if (whole == value && whole != Long.MIN_VALUE) {
+            if (whole < 0) {
+                buffer[position++] = '-';
+                whole = -whole;
+            }
+            int end = position + digits(whole);
+            position = end;
+            do {
+                buffer[--end] = (byte) ('0' + whole % 10);
+                whole /= 10;
+            } while (whole != 0);
+        } else {
+            String text = (float) value == value ? Float.toString((float) value) : Double.toString(value);
+            for (int i = 0; i < text.length(); i++) {
+                buffer[position++] = (byte) text.charAt(i);
+            }
+        }
+    }
+
+    private static int digits(long value) {
+        int digits = 1;
+        for (long limit = 10; digits < 19 && value >= limit; limit *= 10) {
+            digits++;
+        }
+        return digits;
+    }
+
+    /**
+     * Rows of samples, written one after the other
+     */
+    private static final class Block {
+
+        private final double[] values;
+        private int rows;
+
+        private Block(int size) {
+            values = new double[size];
+        }
+    }
+}
@@ -0,0 +1,50 @@
+/**
+ * Software end-user license agreement.
+ *
+ * The LICENSE.TXT containing the license is located in the JGPSS project.
+ * License.txt can be downloaded here:
+ * href="http://www-eio.upc.es/~Pau/index.php?q=node/28
+ *
+ * NOTICE TO THE USER: BY COPYING, INSTALLING OR USING THIS SOFTWARE OR PART OF
+ * THIS SOFTWARE, YOU AGREE TO THE   TERMS AND CONDITIONS OF THE LICENSE AGREEMENT
+ * AS IF IT WERE A WRITTEN AGREEMENT NEGOTIATED AND SIGNED BY YOU. THE LICENSE
+ * AGREEMENT IS ENFORCEABLE AGAINST YOU AND ANY OTHER LEGAL PERSON ACTING ON YOUR
+ * BEHALF.
+ * IF, AFTER READING THE TERMS AND CONDITIONS HEREIN, YOU DO NOT AGREE TO THEM,
+ * YOU MAY NOT INSTALL THIS SOFTWARE ON YOUR COMPUTER.
+ * UPC IS THE OWNER OF ALL THE INTELLECTUAL PROPERTY OF THE SOFTWARE AND ONLY
+ * AUTHORIZES YOU TO USE THE SOFTWARE IN ACCORDANCE WITH THE TERMS SET OUT IN
+ * THE LICENSE AGREEMENT.
+ */
+package model.trace;
+
+/**
+ * Kinds of the records of a trace
+ *
+ * @author Ezequiel Andujar Montes
+ */
+public enum TraceEvent {
+
+    /**
+     * A GENERATE block created the Xact and put it on the FEC
+     */
+    CREATE,
+    /**
+     * The Xact passed through the from block and goes on to the to block
+     */
+    MOVE,
+    /**
+     * The Xact stopped in the from block: it was scheduled on the FEC,
+     * blocked or destroyed
+     */
+    STOP,
+    /**
+     * The clock reached the move time of the Xact and it was moved from the
+     * FEC to the CEC
+     */
+    ACTIVATE,
+    /**
+     * The Xact was destroyed by a TERMINATE block
+     */
+    TERMINATE
+}
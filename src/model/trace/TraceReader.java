@@ -0,0 +1,161 @@
+/**
+ * Software end-user license agreement.
+ *
+ * The LICENSE.TXT containing the license is located in the JGPSS project.
+ * License.txt can be downloaded here:
+ * href="http://www-eio.upc.es/~Pau/index.php?q=node/28
+ *
+ * NOTICE TO THE USER: BY COPYING, INSTALLING OR USING THIS SOFTWARE OR PART OF
+ * THIS SOFTWARE, YOU AGREE TO THE   TERMS AND CONDITIONS OF THE LICENSE AGREEMENT
+ * AS IF IT WERE A WRITTEN AGREEMENT NEGOTIATED AND SIGNED BY YOU. THE LICENSE
+ * AGREEMENT IS ENFORCEABLE AGAINST YOU AND ANY OTHER LEGAL PERSON ACTING ON YOUR
+ * BEHALF.
+ * IF, AFTER READING THE TERMS AND CONDITIONS HEREIN, YOU DO NOT AGREE TO THEM,
+ * YOU MAY NOT INSTALL THIS SOFTWARE ON YOUR COMPUTER.
+ * UPC IS THE OWNER OF ALL THE INTELLECTUAL PROPERTY OF THE SOFTWARE AND ONLY
+ * AUTHORIZES YOU TO USE THE SOFTWARE IN ACCORDANCE WITH THE TERMS SET OUT IN
+ * THE LICENSE AGREEMENT.
+ */
+package model.trace;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import lombok.Getter;
+import model.blocks.Bloc;
+
+/**
+ * Reads a trace file written by TraceRecorder, from the oldest record kept
+ * to the newest.
+ *
+ * @author Ezequiel Andujar Montes
+ */
+public class TraceReader {
+
+    private static final TraceEvent[] EVENTS = TraceEvent.values();
+
+    private final ByteBuffer buffer;
+    private final int capacity;
+    /**
+     * Number of records written since the trace started
+     */
+    @Getter
+    private final long count;
+
+    /**
+     * Maps the trace file
+     *
+     * @param path
+     * @throws IOException if the file is not a trace
+     */
+    public TraceReader(Path path) throws IOException {
+
+        try (FileChannel channel = FileChannel.open(path)) {
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+
+        if (buffer.limit() < TraceRecorder.HEADER || buffer.getInt(0) != TraceRecorder.MAGIC) {
+            throw new IOException("Not a JGPSS trace: " + path);
+        }
+        if (buffer.getInt(4) != TraceRecorder.VERSION) {
+            throw new IOException("Unsupported trace version " + buffer.getInt(4));
+        }
+        capacity = buffer.getInt(8);
+        count = buffer.getLong(TraceRecorder.COUNT);
+    }
+
+    /**
+     * Returns the number of records kept
+     *
+     * @return
+     */
+    public int size() {
+        return (int) Math.min(count, capacity);
+    }
+
+    /**
+     * Returns the record i, from 0 for the oldest one kept
+     *
+     * @param i
+     * @return
+     */
+    public TraceRecord get(int i) {
+
+        if (i < 0 || i >= size()) {
+            throw new IndexOutOfBoundsException("Record " + i + " of " + size());
+        }
+
+        long sequence = count - size() + i;
+        int offset = TraceRecorder.HEADER + (int) (sequence % capacity) * TraceRecorder.RECORD;
+
+        return new TraceRecord(sequence,
+                EVENTS[buffer.getInt(offset + 16)],
+                buffer.getFloat(offset),
+                buffer.getInt(offset + 4),
+                buffer.getInt(offset + 8),
+                buffer.getInt(offset + 12));
+    }
+
+    /**
+     * Performs the action for every record, in order
+     *
+     * @param action
+     */
+    public void forEach(Consumer<TraceRecord> action) {
+        for (int i = 0; i < size(); i++) {
+            action.accept(get(i));
+        }
+    }
+
+    /**
+     * Returns the records accepted by the filter, in order
+     *
+     * @param filter
+     * @return
+     */
+    public List<TraceRecord> filter(Predicate<TraceRecord> filter) {
+
+        List<TraceRecord> records = new ArrayList<>();
+        forEach(r -> {
+            if (filter.test(r)) {
+                records.add(r);
+            }
+        });
+        return records;
+    }
+
+    /**
+     * Returns the records of the Xact
+     *
+     * @param xact the Xact id
+     * @return
+     */
+    public List<TraceRecord> byXact(int xact) {
+        return filter(r -> r.getXact() == xact);
+    }
+
+    /**
+     * Returns the records from or to the block
+     *
+     * @param number the block number in the model
+     * @return
+     */
+    public List<TraceRecord> byBlock(int number) {
+        return filter(r -> r.getFrom() == number || r.getTo() == number);
+    }
+
+    /**
+     * Returns the records from or to the block
+     *
+     * @param bloc
+     * @return
+     */
+    public List<TraceRecord> byBlock(Bloc bloc) {
+        return byBlock(bloc.getNumber());
+    }
+}
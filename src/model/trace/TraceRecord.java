@@ -0,0 +1,48 @@
+/**
+ * Software end-user license agreement.
+ *
+ * The LICENSE.TXT containing the license is located in the JGPSS project.
+ * License.txt can be downloaded here:
+ * href="http://www-eio.upc.es/~Pau/index.php?q=node/28
+ *
+ * NOTICE TO THE USER: BY COPYING, INSTALLING OR USING THIS SOFTWARE OR PART OF
+ * THIS SOFTWARE, YOU AGREE TO THE   TERMS AND CONDITIONS OF THE LICENSE AGREEMENT
+ * AS IF IT WERE A WRITTEN AGREEMENT NEGOTIATED AND SIGNED BY YOU. THE LICENSE
+ * AGREEMENT IS ENFORCEABLE AGAINST YOU AND ANY OTHER LEGAL PERSON ACTING ON YOUR
+ * BEHALF.
+ * IF, AFTER READING THE TERMS AND CONDITIONS HEREIN, YOU DO NOT AGREE TO THEM,
+ * YOU MAY NOT INSTALL THIS SOFTWARE ON YOUR COMPUTER.
+ * UPC IS THE OWNER OF ALL THE INTELLECTUAL PROPERTY OF THE SOFTWARE AND ONLY
+ * AUTHORIZES YOU TO USE THE SOFTWARE IN ACCORDANCE WITH THE TERMS SET OUT IN
+ * THE LICENSE AGREEMENT.
+ */
+package model.trace;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * A record read from a trace file. Blocks are given by their number in the
+ * model, -1 for none.
+ *
+ * @author Ezequiel Andujar Montes
+ */
+@Getter
+@AllArgsConstructor
+public class TraceRecord {
+
+    /**
+     * Position of the record since the trace started, from 0
+     */
+    private final long sequence;
+    private final TraceEvent event;
+    private final float clock;
+    private final int xact;
+    private final int from;
+    private final int to;
+
+    @Override
+    public String toString() {
+        return String.format("%d %.4f %s xact %d from %d to %d", sequence, clock, event, xact, from, to);
+    }
+}
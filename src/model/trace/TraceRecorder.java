@@ -0,0 +1,130 @@
+/**
+ * Software end-user license agreement.
+ *
+ * The LICENSE.TXT containing the license is located in the JGPSS project.
+ * License.txt can be downloaded here:
+ * href="http://www-eio.upc.es/~Pau/index.php?q=node/28
+ *
+ * NOTICE TO THE USER: BY COPYING, INSTALLING OR USING THIS SOFTWARE OR PART OF
+ * THIS SOFTWARE, YOU AGREE TO THE   TERMS AND CONDITIONS OF THE LICENSE AGREEMENT
+ * AS IF IT WERE A WRITTEN AGREEMENT NEGOTIATED AND SIGNED BY YOU. THE LICENSE
+ * AGREEMENT IS ENFORCEABLE AGAINST YOU AND ANY OTHER LEGAL PERSON ACTING ON YOUR
+ * BEHALF.
+ * IF, AFTER READING THE TERMS AND CONDITIONS HEREIN, YOU DO NOT AGREE TO THEM,
+ * YOU MAY NOT INSTALL THIS SOFTWARE ON YOUR COMPUTER.
+ * UPC IS THE OWNER OF ALL THE INTELLECTUAL PROPERTY OF THE SOFTWARE AND ONLY
+ * AUTHORIZES YOU TO USE THE SOFTWARE IN ACCORDANCE WITH THE TERMS SET OUT IN
+ * THE LICENSE AGREEMENT.
+ */
+package model.trace;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import lombok.Getter;
+import model.blocks.Bloc;
+import model.entities.Xact;
+
+/**
+ * Records the moves of the Xacts of a run in a memory mapped ring of fixed
+ * size records. When the ring is full the oldest records are overwritten,
+ * so the file keeps the last capacity records. The record count is kept in
+ * the header after every record, so the file can be read even if the run
+ * did not finish.
+ *
+ * <pre>
+ * header: int magic "JGPT", int version, int capacity, int unused, long count
+ * record: float clock, int xact, int from block, int to block, int event
+ * </pre>
+ *
+ * A model only records when a recorder is set with Model.setTrace.
+ *
+ * @author Ezequiel Andujar Montes
+ */
+public class TraceRecorder implements Closeable {
+
+    static final int MAGIC = 0x4A475054;
+    static final int VERSION = 1;
+    static final int HEADER = 24;
+    static final int RECORD = 20;
+    static final int COUNT = 16;
+
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    @Getter
+    private final int capacity;
+    @Getter
+    private long count;
+
+    /**
+     * Creates the trace file, replacing it if it exists
+     *
+     * @param path
+     * @param capacity number of records kept
+     * @throws IOException
+     */
+    public TraceRecorder(Path path, int capacity) throws IOException {
+
+        if (capacity < 1 || capacity > (Integer.MAX_VALUE - HEADER) / RECORD) {
+            throw new IllegalArgumentException("Invalid trace capacity " + capacity);
+        }
+
+        this.capacity = capacity;
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        this.buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER + (long) capacity * RECORD);
+
+        buffer.putInt(0, MAGIC);
+        buffer.putInt(4, VERSION);
+        buffer.putInt(8, capacity);
+        buffer.putLong(COUNT, 0);
+    }
+
+    /**
+     * Records an event of the Xact
+     *
+     * @param event
+     * @param clock the current clock
+     * @param xact
+     * @param from the block the Xact is in
+     * @param to the next block of the Xact, or null
+     */
+    public void record(TraceEvent event, float clock, Xact xact, Bloc from, Bloc to) {
+        record(event, clock, xact.getID(), from != null ? from.getNumber() : -1, to != null ? to.getNumber() : -1);
+    }
+
+    /**
+     * Records an event with the block numbers
+     *
+     * @param event
+     * @param clock
+     * @param xact the Xact id
+     * @param from the block number, or -1
+     * @param to the block number, or -1
+     */
+    public void record(TraceEvent event, float clock, int xact, int from, int to) {
+
+        int offset = HEADER + (int) (count % capacity) * RECORD;
+
+        buffer.putFloat(offset, clock);
+        buffer.putInt(offset + 4, xact);
+        buffer.putInt(offset + 8, from);
+        buffer.putInt(offset + 12, to);
+        buffer.putInt(offset + 16, event.ordinal());
+        buffer.putLong(COUNT, ++count);
+    }
+
+    /**
+     * Writes the records to the file and closes it
+     *
+     * @throws IOException
+     */
+    @Override
+    public void close() throws IOException {
+        buffer.force();
+        channel.close();
+    }
+}
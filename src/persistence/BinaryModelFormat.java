@@ -0,0 +1,346 @@
+/**
+ * Software end-user license agreement.
+ *
+ * The LICENSE.TXT containing the license is located in the JGPSS project.
+ * License.txt can be downloaded here:
+ * href="http://www-eio.upc.es/~Pau/index.php?q=node/28
+ *
+ * NOTICE TO THE USER: BY COPYING, INSTALLING OR USING THIS SOFTWARE OR PART OF
+ * THIS SOFTWARE, YOU AGREE TO THE   TERMS AND CONDITIONS OF THE LICENSE AGREEMENT
+ * AS IF IT WERE A WRITTEN AGREEMENT NEGOTIATED AND SIGNED BY YOU. THE LICENSE
+ * AGREEMENT IS ENFORCEABLE AGAINST YOU AND ANY OTHER LEGAL PERSON ACTING ON YOUR
+ * BEHALF.
+ * IF, AFTER READING THE TERMS AND CONDITIONS HEREIN, YOU DO NOT AGREE TO THEM,
+ * YOU MAY NOT INSTALL THIS SOFTWARE ON YOUR COMPUTER.
+ * UPC IS THE OWNER OF ALL THE INTELLECTUAL PROPERTY OF THE SOFTWARE AND ONLY
+ * AUTHORIZES YOU TO USE THE SOFTWARE IN ACCORDANCE WITH THE TERMS SET OUT IN
+ * THE LICENSE AGREEMENT.
+ */
+package persistence;
+
+import exceptions.MalformedFunctionDistributionException;
+import exceptions.ModelParseException;
+import exceptions.UnrecognizedModelException;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import model.Model;
+import model.Proces;
+import model.blocks.Bloc;
+import model.entities.AmperVariable;
+import model.entities.Function;
+import model.entities.SaveValue;
+import model.entities.Storage;
+
+/**
+ * Versioned binary model format. All the strings of the model are kept once
+ * in a string table and referenced by index, and the rest are fixed size
+ * integers and floats in big endian order:
+ *
+ * <pre>
+ * int magic "JGPB", int version, int strings, (int length, UTF-8 bytes)*
+ * int name, int description
+ * int storages, (int name, int capacity)*
+ * int savevalues, (int name, float value)*
+ * int ampervariables, (int name, byte type, int|float|int value)*
+ * int functions, (int name, int A, int B, int points)*
+ * int processes, (int description, int posx, int posy, int finposx,
+ *     int finposy, int blocks, (int name, int mode, int label, int comment,
+ *     int posx, int posy, int operands, int operand*)*)*
+ * </pre>
+ *
+ * Blocks are kept as the fields of their text line, so the format follows
+ * the text format and is read with the same block factory. Files are read
+ * through a memory mapped channel.
+ *
+ * @author Ezequiel Andujar Montes
+ */
+public final class BinaryModelFormat {
+
+    /**
+     * File extension of binary models
+     */
+    public static final String EXTENSION = ".jgpb";
+
+    private static final int MAGIC = 0x4A475042;
+    private static final int VERSION = 1;
+
+    private static final byte INTEGER = 0;
+    private static final byte REAL = 1;
+    private static final byte STRING = 2;
+
+    private BinaryModelFormat() {
+    }
+
+    /**
+     * Writes the model to a file
+     *
+     * @param model
+     * @param path
+     * @throws IOException
+     */
+    public static void write(Model model, Path path) throws IOException {
+
+        try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(path))) {
+            write(model, out);
+        }
+    }
+
+    /**
+     * Writes the model to out
+     *
+     * @param model
+     * @param out
+     * @throws IOException
+     */
+    public static void write(Model model, OutputStream out) throws IOException {
+
+        Map<String, Integer> table = new HashMap<>();
+        List<String> strings = new ArrayList<>();
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream body = new DataOutputStream(bytes);
+
+        StringRef ref = s -> {
+            String key = s == null ? "" : s;
+            Integer index = table.get(key);
+            if (index == null) {
+                index = strings.size();
+                table.put(key, index);
+                strings.add(key);
+            }
+            body.writeInt(index);
+        };
+
+        ref.write(model.getName());
+        ref.write(model.getDescription());
+
+        body.writeInt(model.getStorages().size());
+        for (Storage storage : model.getStorages()) {
+            ref.write(storage.getNom());
+            body.writeInt(storage.getValor());
+        }
+
+        body.writeInt(model.getSaveValues().size());
+        for (SaveValue saveValue : model.getSaveValues()) {
+            ref.write(saveValue.getName());
+            body.writeFloat(saveValue.getValue());
+        }
+
+        body.writeInt(model.getAmperVariables().size());
+        for (AmperVariable<?> variable : model.getAmperVariables()) {
+            ref.write(variable.getName());
+            Object value = variable.getValue();
+            if (value instanceof Integer) {
+                body.writeByte(INTEGER);
+                body.writeInt((Integer) value);
+            } else if (value instanceof Float) {
+                body.writeByte(REAL);
+                body.writeFloat((Float) value);
+            } else {
+                body.writeByte(STRING);
+                ref.write(String.valueOf(value));
+            }
+        }
+
+        body.writeInt(model.getFunctions().size());
+        for (Function function : model.getFunctions()) {
+            ref.write(function.getName());
+            ref.write(function.getA());
+            ref.write(function.getB());
+            ref.write(function.getDistribution());
+        }
+
+        DiscManager text = new DiscManager(model);
+        ModelParser parser = new ModelParser(null);
+
+        body.writeInt(model.getProces().size());
+        for (Proces proces : model.getProces()) {
+            ref.write(proces.getDescpro());
+            body.writeInt(proces.getPosx());
+            body.writeInt(proces.getPosy());
+            body.writeInt(proces.getFinposx());
+            body.writeInt(proces.getFinposy());
+
+            body.writeInt(proces.getBlocs().size());
+            for (Bloc bloc : proces.getBlocs()) {
+                try {
+                    parser.scanBloc(text.escriurebloc(bloc));
+                } catch (ModelParseException e) {
+                    throw new IOException("Block " + bloc.name() + " can not be written", e);
+                }
+                ref.write(parser.name);
+                ref.write(parser.mode);
+                ref.write(parser.label);
+                ref.write(parser.comment);
+                body.writeInt(bloc.getPosx());
+                body.writeInt(bloc.getPosy());
+                body.writeInt(parser.operandCount);
+                for (int i = 0; i < parser.operandCount; i++) {
+                    ref.write(parser.operands[i]);
+                }
+            }
+        }
+
+        DataOutputStream data = new DataOutputStream(out);
+        data.writeInt(MAGIC);
+        data.writeInt(VERSION);
+        data.writeInt(strings.size());
+        for (String s : strings) {
+            byte[] utf8 = s.getBytes(StandardCharsets.UTF_8);
+            data.writeInt(utf8.length);
+            data.write(utf8);
+        }
+        bytes.writeTo(data);
+        data.flush();
+    }
+
+    /**
+     * Reads a model from a file, mapped in memory
+     *
+     * @param path
+     * @return
+     * @throws UnrecognizedModelException if the file is not a binary model of
+     * a known version
+     * @throws IOException
+     */
+    public static Model read(Path path) throws UnrecognizedModelException, IOException {
+
+        try (FileChannel channel = FileChannel.open(path)) {
+            return read(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    /**
+     * Reads a model from the buffer
+     *
+     * @param buffer
+     * @return
+     * @throws UnrecognizedModelException if the buffer does not hold a binary
+     * model of a known version
+     */
+    public static Model read(ByteBuffer buffer) throws UnrecognizedModelException {
+
+        try {
+            if (buffer.remaining() < 8 || buffer.getInt() != MAGIC) {
+                throw new UnrecognizedModelException("Not a JGPSS binary model");
+            }
+            int version = buffer.getInt();
+            if (version != VERSION) {
+                throw new UnrecognizedModelException("Unsupported binary model version " + version);
+            }
+
+            String[] strings = new String[buffer.getInt()];
+            byte[] utf8 = new byte[64];
+            for (int i = 0; i < strings.length; i++) {
+                int length = buffer.getInt();
+                if (length > utf8.length) {
+                    utf8 = new byte[Math.max(length, utf8.length * 2)];
+                }
+                buffer.get(utf8, 0, length);
+                strings[i] = new String(utf8, 0, length, StandardCharsets.UTF_8);
+            }
+
+            return readModel(buffer, strings);
+
+        } catch (BufferUnderflowException | IndexOutOfBoundsException | NegativeArraySizeException e) {
+            throw new UnrecognizedModelException("Corrupt binary model");
+        }
+    }
+
+    private static Model readModel(ByteBuffer buffer, String[] strings) throws UnrecognizedModelException {
+
+        Model model = new Model();
+        model.setName(strings[buffer.getInt()]);
+        model.setDescription(strings[buffer.getInt()]);
+
+        for (int i = buffer.getInt(); i > 0; i--) {
+            model.getStorages().add(new Storage(strings[buffer.getInt()], buffer.getInt()));
+        }
+
+        for (int i = buffer.getInt(); i > 0; i--) {
+            model.getSaveValues().add(new SaveValue(strings[buffer.getInt()], buffer.getFloat()));
+        }
+
+        for (int i = buffer.getInt(); i > 0; i--) {
+            String name = strings[buffer.getInt()];
+            byte type = buffer.get();
+            switch (type) {
+                case INTEGER:
+                    model.getAmperVariables().add(new AmperVariable<>(name, buffer.getInt()));
+                    break;
+                case REAL:
+                    model.getAmperVariables().add(new AmperVariable<>(name, buffer.getFloat()));
+                    break;
+                case STRING:
+                    model.getAmperVariables().add(new AmperVariable<>(name, strings[buffer.getInt()]));
+                    break;
+                default:
+                    throw new UnrecognizedModelException("Corrupt binary model");
+            }
+        }
+
+        for (int i = buffer.getInt(); i > 0; i--) {
+            String name = strings[buffer.getInt()];
+            try {
+                model.getFunctions().add(new Function(name, strings[buffer.getInt()],
+                        strings[buffer.getInt()], strings[buffer.getInt()]));
+            } catch (MalformedFunctionDistributionException e) {
+                throw new UnrecognizedModelException("Malformed function " + name);
+            }
+        }
+
+        ModelParser parser = new ModelParser(null);
+
+        for (int p = buffer.getInt(); p > 0; p--) {
+            Proces proces = new Proces(strings[buffer.getInt()], model);
+            proces.setPosx(buffer.getInt());
+            proces.setPosy(buffer.getInt());
+            proces.setFinposx(buffer.getInt());
+            proces.setFinposy(buffer.getInt());
+            model.getProces().add(proces);
+
+            for (int b = buffer.getInt(); b > 0; b--) {
+                String name = strings[buffer.getInt()];
+                String mode = strings[buffer.getInt()];
+                String label = strings[buffer.getInt()];
+                String comment = strings[buffer.getInt()];
+                int posx = buffer.getInt();
+                int posy = buffer.getInt();
+                String[] operands = new String[buffer.getInt()];
+                for (int i = 0; i < operands.length; i++) {
+                    operands[i] = strings[buffer.getInt()];
+                }
+
+                Bloc bloc = parser.createBloc(label, name, mode, operands, comment);
+                bloc.setModel(model);
+                bloc.setProces(proces);
+                bloc.setPosx(posx);
+                bloc.setPosy(posy);
+                proces.getBlocs().add(bloc);
+                bloc.setPos(proces.lastPos());
+            }
+        }
+        return model;
+    }
+
+    /**
+     * Writes the index of a string in the string table
+     */
+    @FunctionalInterface
+    private interface StringRef {
+
+        void write(String s) throws IOException;
+    }
+}
@@ -23,6 +23,7 @@ import exceptions.UnrecognizedModelException;
 import utils.Constants;
 import utils.VarGlobals;
 import java.io.*;
+import java.nio.file.Paths;
 import model.Model;
 
 /**
@@ -90,6 +91,27 @@ public class DDiscManager implements Serializable {
         gD.guardarTxt(url);
     }
 
+    /**
+     * To save the model in the binary format.
+     *
+     * @param url where to save the model
+     * @throws java.io.IOException
+     */
+    public void guardarBin(String url) throws IOException {
+        gD.guardarBin(url);
+    }
+
+    /**
+     * To recover a model from a binary file.
+     *
+     * @param url where is the model.
+     * @throws exceptions.UnrecognizedModelException
+     * @throws java.io.IOException
+     */
+    public void recuperarBin(String url) throws UnrecognizedModelException, IOException {
+        gD.recuperarBin(Paths.get(url));
+    }
+
     /**
      * To recover a model from a text file.
      *
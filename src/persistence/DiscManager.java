@@ -30,13 +30,14 @@ import model.blocks.*;
 import utils.VarGlobals;
 import utils.Constants;
 import java.io.*;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.ArrayList;
 import lombok.NoArgsConstructor;
 import model.*;
 import model.entities.AmperVariable;
 import model.entities.Function;
 import model.entities.SaveValue;
-import model.entities.rng.RNG;
 
 /**
  * Clase que escribe y lee de disco objetos serializables.
@@ -84,13 +85,56 @@ public class DiscManager {
     public void guardarTxt(String url) throws IOException {
         FileWriter guardx;
         guardx = new FileWriter(url);
-        guardx.write(generarTxt());
+        guardx.write(generarTxt(VarGlobals.model));
         guardx.close();
     }
 
-    private String generarTxt() throws IOException {
+    /**
+     * Saves the current model in the binary format
+     *
+     * @param url
+     * @throws IOException
+     */
+    public void guardarBin(String url) throws IOException {
+        BinaryModelFormat.write(VarGlobals.model, Paths.get(url));
+    }
+
+    /**
+     * Reads a model from a file in the binary format and makes it the current
+     * model
+     *
+     * @param path
+     * @throws UnrecognizedModelException
+     * @throws IOException
+     */
+    public void recuperarBin(Path path) throws UnrecognizedModelException, IOException {
+        VarGlobals.model = leerBin(path);
+    }
+
+    /**
+     * Reads a model from a file in the binary format without replacing the
+     * current model
+     *
+     * @param path
+     * @return the new model
+     * @throws UnrecognizedModelException
+     * @throws IOException
+     */
+    public Model leerBin(Path path) throws UnrecognizedModelException, IOException {
+        Model m = BinaryModelFormat.read(path);
+        setGPSSmodel(m);
+        return m;
+    }
+
+    /**
+     * Returns the model in the text format read by recuperarTxt
+     *
+     * @param model
+     * @return
+     * @throws IOException
+     */
+    public String generarTxt(Model model) throws IOException {
 
-        Model model = VarGlobals.model;
         StringBuffer textModel;
         textModel = new StringBuffer();
 
@@ -105,14 +149,14 @@ public class DiscManager {
         return textModel.toString();
     }
 
-    private String escriurebloc(Bloc b) throws IOException {
+    String escriurebloc(Bloc b) throws IOException {
 
         StringBuilder bufBloc = new StringBuilder();
         String gnaName;
         int id = b.getId();
         int espacios;
         bufBloc.append(b.getLabel());
-        espacios = Constants.espaisLabel.length() - b.getLabel().length();
+        espacios = Math.max(1, Constants.espaisLabel.length() - b.getLabel().length());
         for (int i = 0; i < espacios; i++) {
             bufBloc.append(Constants.espacio);
         }
@@ -474,394 +518,52 @@ public class DiscManager {
     }
 
     public void recuperarTxt(BufferedReader entrada) throws UnrecognizedModelException, IOException, MalformedFunctionDistributionException {
-        txtToModel(entrada);
+        VarGlobals.model = txtToModel(entrada);
     }
 
-    private void txtToModel(BufferedReader entrada) throws UnrecognizedModelException, IOException, MalformedFunctionDistributionException {
-        Model m = new Model();
-        setGPSSmodel(m);
-        ArrayList<Proces> p = new ArrayList<>();
-        ArrayList<Storage> storages = new ArrayList<>();
-        ArrayList<SaveValue> saveValues = new ArrayList<>();
-        ArrayList<AmperVariable<?>> amperVariables = new ArrayList<>();
-        ArrayList<Bloc> blocs = new ArrayList<>();
-        ArrayList<Function> functions = new ArrayList<>();
-        String nomModel = "";
-        String descModel = "";
-        String nomProces = "";
-        Proces pro;
-        Storage stor;
-        int linea, cont, xini, yini, xfin, yfin;
-        cont = 1;
-        xini = 0;
-        yini = xfin = xini;
-        yfin = Constants.y;
-        linea = 1;
-        String s;
-
-        // parse header information
-        while (linea <= 4) {
-            s = entrada.readLine();
-            switch (linea) {
-                case 1:
-                case 4:
-                    if (!s.equals(Constants.asterisco)) {
-                        throw new UnrecognizedModelException();
-                    }
-                    break;
-                case 2:
-                    if (!s.substring(0, 1).equals(Constants.asterisco)) {
-                        throw new UnrecognizedModelException();
-                    }
-                    nomModel = s.substring(2);
-                    break;
-                case 3:
-                    if (!s.substring(0, 1).equals(Constants.asterisco)) {
-                        throw new UnrecognizedModelException();
-                    }
-                    descModel = s.substring(2);
-                    break;
-            }
-            linea++;
-        }
-
-        // parse entities
-        while (!(s = entrada.readLine()).contains("* end-entities")) {
-
-            if (!s.equals("")) {
-
-                String vEntity[] = s.split(Constants.espacio);
-                String entityName = vEntity[0];
-                String entityType = vEntity[1];
-                String entityValue = vEntity[2];
-
-                switch (entityType) {
-
-                    case Constants.FUNCTION:
-
-                        String A = vEntity[2];
-                        String B = vEntity[3];
-                        String dist = vEntity[4];
-                        Function function = new Function(entityName, A, B, dist);
-                        functions.add(function);
-                        break;
-
-                    case Constants.INTEGER:
-                        Integer iValue = new Integer(entityValue);
-                        AmperVariable<Integer> avi = new AmperVariable<>(entityName, iValue);
-                        amperVariables.add(avi);
-                        break;
-
-                    case Constants.REAL:
-                        Float fValue = new Float(entityValue);
-                        AmperVariable<Float> avf = new AmperVariable<>(entityName, fValue);
-                        amperVariables.add(avf);
-                        break;
-
-                    case Constants.STRING:
-                        AmperVariable<String> avs = new AmperVariable<>(entityName, entityValue);
-                        amperVariables.add(avs);
-                        break;
-
-                    case Constants.STORAGE:
-                        storages.add(new Storage(entityName, new Integer(vEntity[2])));
-                        break;
-                    case Constants.SAVEVALUE:
-                        saveValues.add(new SaveValue(entityName, new Float(vEntity[2])));
-                        break;
-                    default:
-                        throw new UnrecognizedModelException();                        
-                }
-            }
-        }
+    /**
+     * Reads a model from a file in text format and makes it the current model
+     *
+     * @param path
+     * @throws UnrecognizedModelException
+     * @throws IOException
+     */
+    public void recuperarTxt(Path path) throws UnrecognizedModelException, IOException {
+        VarGlobals.model = leerTxt(path);
+    }
 
-        // parse process
-        pro = new Proces();
-        while ((s = entrada.readLine()) != null) {
-            if (s.equals("")) {
-                pro = new Proces(nomProces, getGPSSmodel());
-                blocs = new ArrayList<>();
-                pro.setPosx(xini);
-                pro.setPosy(yini);
-                pro.setFinposx(xfin);
-                pro.setFinposy(yfin);
-                pro.setBlocs(blocs);
-                p.add(pro);
-                cont = 1;
-                xini = xini + Constants.x;
-                xfin = xini;
-                yini = 0;
-                yfin = Constants.y;
-
-            } else {
-
-                if ((cont == 1) && !s.equals(Constants.asterisco)) {
-                    throw new UnrecognizedModelException();
-                } else if ((cont == 2)) {
-                    nomProces = s.substring(2);
-                    pro.setDescpro(nomProces);
-
-                } else if ((cont > 3)) {
-                    Bloc bloc = crearBloc(s, pro, getGPSSmodel());
-                    blocs.add(bloc);
-                    bloc.setPos(pro.lastPos());
-                    yfin = yfin + Constants.y;
-                }
-                cont++;
-            }
-        }
-        m.setName(nomModel);
-        m.setDescription(descModel);
-        m.setProces(p);
-        m.setStorages(storages);
-        m.setSaveValues(saveValues);
-        m.setFunctions(functions);
-        m.setAmperVariables(amperVariables);
-        VarGlobals.model = m;
+    /**
+     * Reads a model from its text format without replacing the current model
+     *
+     * @param entrada
+     * @return the new model
+     * @throws UnrecognizedModelException
+     * @throws IOException
+     * @throws MalformedFunctionDistributionException
+     */
+    public Model leerTxt(BufferedReader entrada) throws UnrecognizedModelException, IOException, MalformedFunctionDistributionException {
+        return txtToModel(entrada);
+    }
 
+    /**
+     * Reads a model from a file in text format without replacing the current
+     * model
+     *
+     * @param path
+     * @return the new model
+     * @throws UnrecognizedModelException
+     * @throws IOException
+     */
+    public Model leerTxt(Path path) throws UnrecognizedModelException, IOException {
+        Model m = ModelParser.parse(path);
+        setGPSSmodel(m);
+        return m;
     }
 
-    private Bloc crearBloc(String s, Proces proces, Model model) throws IOException {
-
-        
-        String[] part = s.split("( )*");
-        
-        
-        
-        String partBloc;
-        String vComentari[] = s.split(Constants.puntoycoma);
-        s = vComentari[0];
-        String strComentari = "";
-        if (vComentari.length > 1) {
-            strComentari = vComentari[1];
-        }
-        
-        String strLabel;
-        strLabel = (String) s.subSequence(0, Constants.espaisLabel.length());
-        strLabel = strLabel.trim();
-
-        partBloc = s.substring(Constants.espaisLabel.length());
-        String cadenas[] = partBloc.split(Constants.espacio);
-        String nomBloc = cadenas[0];
-        String strValors = cadenas[cadenas.length - 1];
-        String valors[] = strValors.split(Constants.coma);
-        Bloc b = null;
-        switch (nomBloc) {
-            case Constants.Advanced: {
-
-                RNG gna = VarGlobals.getGNA(valors[0]);
-                Advance a = new Advance(
-                        strComentari, strLabel,
-                        valors[1],
-                        valors[2],
-                        gna);
-                b = a;
-                break;
-            }
-            case Constants.Assign: {
-                Assign a = new Assign(
-                        strComentari, strLabel, valors[0],
-                        Float.valueOf(valors[1]));
-                b = a;
-                break;
-            }
-            case Constants.Depart:
-                Depart d = new Depart(
-                        strComentari, strLabel,
-                        valors[0],
-                        Integer.parseInt(valors[1]));
-                b = d;
-                break;
-            case Constants.Enter:
-                Enter e = new Enter(
-                        strComentari, strLabel,
-                        valors[0],
-                        Integer.parseInt(valors[1]));
-                b = e;
-                break;
-            case Constants.Generate:
-                Generate g = new Generate(
-                        strComentari, strLabel,
-                        valors[1],
-                        valors[2],
-                        Float.valueOf(valors[3]),
-                        Float.valueOf(valors[4]),
-                        Float.valueOf(valors[5]),
-                        Integer.parseInt(valors[6]),
-                        VarGlobals.getGNA(valors[0]));
-                b = g;
-                break;
-            case Constants.Leave:
-                Leave l = new Leave(
-                        strComentari, strLabel,
-                        valors[0],
-                        Integer.parseInt(valors[1]));
-                b = l;
-                break;
-            case Constants.Queue:
-                Queue q = new Queue(
-                        strComentari, strLabel,
-                        valors[0],
-                        Integer.parseInt(valors[1]));
-                b = q;
-                break;
-            case Constants.Release:
-                Release r = new Release(
-                        strComentari, strLabel,
-                        valors[0]);
-                b = r;
-                break;
-            case Constants.Seize:
-                Seize se = new Seize(
-                        strComentari, strLabel,
-                        valors[0]);
-                b = se;
-                break;
-            case Constants.Terminate:
-                Terminate t = new Terminate(
-                        strComentari, strLabel,
-                        Integer.parseInt(valors[0]));
-                b = t;
-                break;
-            case Constants.Test:
-                Test test;
-                if (valors.length == 3) {
-                    test = new Test(
-                            strComentari, strLabel, cadenas[1],
-                            valors[0], valors[1], valors[2]);
-                    b = test;
-                } else if (valors.length == 0) {
-                    test = new Test(
-                            strComentari, strLabel, cadenas[1],
-                            "", "", "");
-                    b = test;
-                }
-                if (valors.length == 1) {
-                    test = new Test(
-                            strComentari, strLabel, cadenas[1],
-                            valors[0], "", "");
-                    b = test;
-                }
-                if (valors.length == 2) {
-                    test = new Test(
-                            strComentari, strLabel, cadenas[1],
-                            valors[0], valors[1], "");
-                    b = test;
-                }
-                break;
-            case Constants.Transfer:
-                Transfer transf = new Transfer(
-                        strComentari, strLabel,
-                        valors[0], valors[1], valors[2], valors[3]);
-                b = transf;
-                break;
-            case Constants.Logic:
-                Logic logic = new Logic(
-                        strComentari, strLabel, cadenas[1], valors[0]);
-                b = logic;
-                break;
-            case Constants.Gate:
-                Gate gate = new Gate(
-                        strComentari, strLabel, cadenas[1], valors[0], valors[1]);
-                b = gate;
-                break;
-            case Constants.Savevavg:
-                Savevalue sav = new Savevalue(
-                        strComentari, strLabel, valors[0], valors[1]);
-                b = sav;
-                break;
-            case Constants.Loop:
-                Loop loop;
-                switch (valors.length) {
-                    case 2:
-                        loop = new Loop(
-                                strComentari, strLabel, valors[0], valors[1]);
-                        b = loop;
-                        break;
-                    case 1:
-                        loop = new Loop(
-                                strComentari, strLabel, valors[0], "");
-                        b = loop;
-                        break;
-                    case 0:
-                        loop = new Loop(
-                                strComentari, strLabel, "", "");
-                        b = loop;
-                        break;
-                    default:
-                        break;
-                }
-                break;
-            case Constants.Split:
-                Split split;
-                if (valors.length == 3) {
-                    split = new Split(
-                            strComentari, strLabel, Integer.parseInt(valors[0]), valors[1], valors[2]);
-                    b = split;
-                } else if (valors.length == 2) {
-                    split = new Split(
-                            strComentari, strLabel, Integer.parseInt(valors[0]), valors[1], "");
-                    b = split;
-                } else if (valors.length == 1) {
-                    split = new Split(
-                            strComentari, strLabel, Integer.parseInt(valors[0]), "", "");
-                    b = split;
-                } else if (valors.length == 2) {
-                    split = new Split(
-                            strComentari, strLabel, Integer.parseInt("0"), "", "");
-                    b = split;
-                }
-                break;
-            case Constants.Funavail:
-                Funavail fun = new Funavail(
-                        strComentari, strLabel,
-                        valors[0],
-                        valors[1],
-                        valors[2],
-                        valors[3],
-                        valors[4],
-                        valors[5]);
-                b = fun;
-                break;
-            case Constants.Savail:
-                Savail savail = new Savail(
-                        strComentari, strLabel, valors[0]);
-                b = savail;
-                break;
-            case Constants.Sunavail:
-                Sunavail sunavail = new Sunavail(
-                        strComentari, strLabel, valors[0]);
-                b = sunavail;
-                break;
-            case Constants.Assemble:
-                Assemble ass = new Assemble(
-                        strComentari, strLabel, Integer.parseInt(valors[0]));
-                b = ass;
-                break;
-            case Constants.Gather:
-                Gather gather = new Gather(
-                        strComentari, strLabel, Integer.parseInt(valors[0]));
-                b = gather;
-                break;
-            case Constants.Match:
-                Match match = new Match(
-                        strComentari, strLabel, valors[0]);
-                b = match;
-                break;
-            case Constants.Buffer:
-                Buffer buffer = new Buffer(
-                        strComentari, strLabel);
-                b = buffer;
-                break;
-            case Constants.Priority:
-                Priority pri = new Priority(
-                        strComentari, strLabel, Integer.parseInt(valors[0]));
-                b = pri;
-                break;
-        }
-        b.setModel(model);
-        b.setProces(proces);
-        return b;
+    private Model txtToModel(Reader entrada) throws UnrecognizedModelException, IOException {
+        Model m = new ModelParser(entrada).parse();
+        setGPSSmodel(m);
+        return m;
     }
 
     /**
@@ -36,7 +36,7 @@ public class FileFilterTxt extends FileFilter {
 
         if (i > 0 &&  i < s.length() - 1) {
             String extension = s.substring(i+1).toLowerCase();
-            if (txt.equals(extension)) {
+            if (txt.equals(extension) || BinaryModelFormat.EXTENSION.equals("." + extension)) {
                     return true;
             } else {
                 return false;
@@ -48,7 +48,7 @@ public class FileFilterTxt extends FileFilter {
     
     // The description of this filter
     public String getDescription() {
-        return "Text Files (txt)";
+        return "Model Files (txt, jgpb)";
     }
 }
 
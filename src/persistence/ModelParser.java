@@ -0,0 +1,617 @@
+/**
+ * Software end-user license agreement.
+ *
+ * The LICENSE.TXT containing the license is located in the JGPSS project.
+ * License.txt can be downloaded here:
+ * href="http://www-eio.upc.es/~Pau/index.php?q=node/28
+ *
+ * NOTICE TO THE USER: BY COPYING, INSTALLING OR USING THIS SOFTWARE OR PART OF
+ * THIS SOFTWARE, YOU AGREE TO THE   TERMS AND CONDITIONS OF THE LICENSE AGREEMENT
+ * AS IF IT WERE A WRITTEN AGREEMENT NEGOTIATED AND SIGNED BY YOU. THE LICENSE
+ * AGREEMENT IS ENFORCEABLE AGAINST YOU AND ANY OTHER LEGAL PERSON ACTING ON YOUR
+ * BEHALF.
+ * IF, AFTER READING THE TERMS AND CONDITIONS HEREIN, YOU DO NOT AGREE TO THEM,
+ * YOU MAY NOT INSTALL THIS SOFTWARE ON YOUR COMPUTER.
+ * UPC IS THE OWNER OF ALL THE INTELLECTUAL PROPERTY OF THE SOFTWARE AND ONLY
+ * AUTHORIZES YOU TO USE THE SOFTWARE IN ACCORDANCE WITH THE TERMS SET OUT IN
+ * THE LICENSE AGREEMENT.
+ */
+package persistence;
+
+import exceptions.MalformedFunctionDistributionException;
+import exceptions.ModelParseException;
+import exceptions.UnrecognizedModelException;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CodingErrorAction;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import model.Model;
+import model.Proces;
+import model.blocks.*;
+import model.entities.AmperVariable;
+import model.entities.Function;
+import model.entities.SaveValue;
+import model.entities.Storage;
+import model.entities.rng.RNG;
+import utils.Constants;
+import utils.VarGlobals;
+
+/**
+ * Reads a model in text format in a single pass. The source is read in large
+ * chunks and each line is scanned in place, so no regular expressions or
+ * intermediate strings are used. Errors are reported with the line and
+ * column where they were found.
+ *
+ * @author Ezequiel Andujar Montes
+ */
+public final class ModelParser {
+
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private static final String END_ENTITIES = "* end-entities";
+
+    /**
+     * Blocks that have a relational operator or a logic mode before their
+     * operands
+     */
+    private static final Set<String> MODE_BLOCKS = new HashSet<>(Arrays.asList(
+            Constants.Test, Constants.Logic, Constants.Gate));
+
+    private static final Set<String> BLOCKS = new HashSet<>(Arrays.asList(
+            Constants.Advanced, Constants.Assign, Constants.Depart, Constants.Enter, Constants.Generate,
+            Constants.Leave, Constants.Queue, Constants.Release, Constants.Seize, Constants.Terminate,
+            Constants.Test, Constants.Transfer, Constants.Logic, Constants.Gate, Constants.Savevavg,
+            Constants.Loop, Constants.Split, Constants.Funavail, Constants.Savail, Constants.Sunavail,
+            Constants.Assemble, Constants.Gather, Constants.Match, Constants.Buffer, Constants.Priority));
+
+    private final Reader input;
+    private final char[] buffer;
+    private int position;
+    private int limit;
+    private boolean skipLF;
+
+    /**
+     * The current line, its length, number and the scan position in it
+     */
+    private char[] chars;
+    private int length;
+    private int line;
+    private int at;
+
+    /**
+     * Fields of the current block line
+     */
+    String label;
+    String name;
+    String mode;
+    String comment;
+    private int nameColumn;
+
+    /**
+     * Operands of the current block and the columns where they start
+     */
+    String[] operands;
+    private int[] operandColumns;
+    int operandCount;
+
+    private final Model model;
+
+    public ModelParser(Reader input) {
+        this.input = input;
+        this.buffer = new char[BUFFER_SIZE];
+        this.chars = new char[256];
+        this.operands = new String[8];
+        this.operandColumns = new int[8];
+        this.model = new Model();
+    }
+
+    /**
+     * Reads the model in the file through a file channel
+     *
+     * @param path
+     * @return
+     * @throws UnrecognizedModelException
+     * @throws IOException
+     */
+    public static Model parse(Path path) throws UnrecognizedModelException, IOException {
+
+        try (FileChannel channel = FileChannel.open(path)) {
+            Reader reader = Channels.newReader(channel, Charset.defaultCharset().newDecoder()
+                    .onMalformedInput(CodingErrorAction.REPLACE)
+                    .onUnmappableCharacter(CodingErrorAction.REPLACE), BUFFER_SIZE);
+            return new ModelParser(reader).parse();
+        }
+    }
+
+    /**
+     * Reads the whole model
+     *
+     * @return
+     * @throws UnrecognizedModelException if the text is not a valid model, a
+     * ModelParseException with the position of the error
+     * @throws IOException
+     */
+    public Model parse() throws UnrecognizedModelException, IOException {
+
+        parseHeader();
+        parseEntities();
+        parseProcesses();
+        return model;
+    }
+
+    private void parseHeader() throws IOException, ModelParseException {
+
+        for (int i = 1; i <= 4; i++) {
+
+            if (!nextLine()) {
+                throw error("Unexpected end of the model header", 1);
+            }
+            if (length == 0 || chars[0] != '*' || ((i == 1 || i == 4) && length != 1)) {
+                throw error("Expected the * lines of the model header", 1);
+            }
+            if (i == 2) {
+                model.setName(rest(2));
+            } else if (i == 3) {
+                model.setDescription(rest(2));
+            }
+        }
+    }
+
+    private void parseEntities() throws IOException, ModelParseException {
+
+        while (true) {
+
+            if (!nextLine()) {
+                throw error("Missing " + END_ENTITIES, 1);
+            }
+            at = 0;
+            skipSpaces();
+
+            if (at == length) {
+                continue;
+            }
+            if (chars[at] == '*') {
+                if (rest(0).contains(END_ENTITIES)) {
+                    return;
+                }
+                continue;
+            }
+
+            String name = word("Expected the entity name");
+            skipSpaces();
+            int typeColumn = at + 1;
+            String type = word("Expected the entity type");
+            skipSpaces();
+            int valueColumn = at + 1;
+            String value = word("Expected the entity value");
+
+            switch (type) {
+                case Constants.FUNCTION:
+                    String B = word("Expected the function type");
+                    skipSpaces();
+                    int distributionColumn = at + 1;
+                    String distribution = word("Expected the function points");
+                    try {
+                        model.getFunctions().add(new Function(name, value, B, distribution));
+                    } catch (MalformedFunctionDistributionException e) {
+                        throw error("Malformed function " + name, distributionColumn);
+                    }
+                    break;
+                case Constants.INTEGER:
+                    model.getAmperVariables().add(new AmperVariable<>(name, toInt(value, valueColumn)));
+                    break;
+                case Constants.REAL:
+                    model.getAmperVariables().add(new AmperVariable<>(name, toFloat(value, valueColumn)));
+                    break;
+                case Constants.STRING:
+                    model.getAmperVariables().add(new AmperVariable<>(name, rest(valueColumn - 1).trim()));
+                    at = length;
+                    break;
+                case Constants.STORAGE:
+                    model.getStorages().add(new Storage(name, toInt(value, valueColumn)));
+                    break;
+                case Constants.SAVEVALUE:
+                    model.getSaveValues().add(new SaveValue(name, toFloat(value, valueColumn)));
+                    break;
+                default:
+                    throw error("Unknown entity type " + type, typeColumn);
+            }
+            endOfLine();
+        }
+    }
+
+    /**
+     * Each process starts with a blank line and three comment lines, the
+     * second one with the process description, followed by its blocks
+     */
+    private void parseProcesses() throws IOException, ModelParseException {
+
+        Proces proces = null;
+        int count = 0;
+
+        while (nextLine()) {
+
+            if (length == 0) {
+                int x = model.getProces().size() * Constants.x;
+                proces = new Proces("", model);
+                proces.setPosx(x);
+                proces.setPosy(0);
+                proces.setFinposx(x);
+                proces.setFinposy(Constants.y);
+                model.getProces().add(proces);
+                count = 1;
+                continue;
+            }
+            if (proces == null) {
+                throw error("Expected a blank line before the process", 1);
+            }
+
+            switch (count) {
+                case 1:
+                    if (length != 1 || chars[0] != '*') {
+                        throw error("Expected * at the start of the process", 1);
+                    }
+                    break;
+                case 2:
+                    proces.setDescpro(rest(2));
+                    break;
+                case 3:
+                    break;
+                default:
+                    scanBloc();
+                    Bloc bloc = createBloc();
+                    bloc.setModel(model);
+                    bloc.setProces(proces);
+                    proces.getBlocs().add(bloc);
+                    bloc.setPos(proces.lastPos());
+            }
+            count++;
+        }
+    }
+
+    /**
+     * Scans a block line as written by DiscManager into the block fields
+     *
+     * @param text the block line
+     * @throws ModelParseException
+     */
+    void scanBloc(String text) throws ModelParseException {
+
+        chars = text.toCharArray();
+        length = chars.length;
+        scanBloc();
+    }
+
+    /**
+     * Creates a block from its fields, without the positions in the source
+     */
+    Bloc createBloc(String label, String name, String mode, String[] operands, String comment) throws ModelParseException {
+
+        this.label = label;
+        this.name = name;
+        this.mode = mode;
+        this.comment = comment;
+        this.operands = operands;
+        this.operandColumns = new int[operands.length];
+        this.operandCount = operands.length;
+        this.nameColumn = 0;
+        return createBloc();
+    }
+
+    /**
+     * Reads a block line: an optional label at the start of the line, the
+     * block name, the mode for TEST, LOGIC and GATE, the operands separated
+     * by commas and an optional comment after a semicolon
+     */
+    private void scanBloc() throws ModelParseException {
+
+        label = "";
+        at = 0;
+
+        if (length > 0 && !isSpace(chars[0])) {
+            label = token();
+            // Labels of the label column width written without a separator
+            if (label.length() > Constants.espaisLabel.length()
+                    && BLOCKS.contains(label.substring(Constants.espaisLabel.length()))) {
+                at = Constants.espaisLabel.length();
+                label = label.substring(0, at);
+            }
+        }
+
+        skipSpaces();
+        nameColumn = at + 1;
+        name = token();
+        if (name.isEmpty()) {
+            throw error("Expected a block name", nameColumn);
+        }
+
+        mode = "";
+        if (MODE_BLOCKS.contains(name)) {
+            skipSpaces();
+            mode = token();
+        }
+
+        skipSpaces();
+        readOperands();
+        skipSpaces();
+
+        comment = "";
+        if (at < length && chars[at] == ';') {
+            comment = rest(at + 1);
+        } else if (at < length) {
+            throw error("Unexpected text after the operands", at + 1);
+        }
+    }
+
+    private Bloc createBloc() throws ModelParseException {
+
+        switch (name) {
+            case Constants.Advanced:
+                require(name, 3);
+                return new Advance(comment, label, operand(1), operand(2), gna(0));
+            case Constants.Assign:
+                require(name, 2);
+                return new Assign(comment, label, operand(0), floatOperand(1));
+            case Constants.Depart:
+                require(name, 2);
+                return new Depart(comment, label, operand(0), intOperand(1));
+            case Constants.Enter:
+                require(name, 2);
+                return new Enter(comment, label, operand(0), intOperand(1));
+            case Constants.Generate:
+                require(name, 7);
+                return new Generate(comment, label, operand(1), operand(2),
+                        floatOperand(3), floatOperand(4), floatOperand(5), intOperand(6),
+                        gna(0));
+            case Constants.Leave:
+                require(name, 2);
+                return new Leave(comment, label, operand(0), intOperand(1));
+            case Constants.Queue:
+                require(name, 2);
+                return new Queue(comment, label, operand(0), intOperand(1));
+            case Constants.Release:
+                require(name, 1);
+                return new Release(comment, label, operand(0));
+            case Constants.Seize:
+                require(name, 1);
+                return new Seize(comment, label, operand(0));
+            case Constants.Terminate:
+                require(name, 1);
+                return new Terminate(comment, label, intOperand(0));
+            case Constants.Test:
+                return new Test(comment, label, mode, operand(0), operand(1), operand(2));
+            case Constants.Transfer:
+                require(name, 2);
+                return new Transfer(comment, label, operand(0), operand(1), operand(2), operand(3));
+            case Constants.Logic:
+                require(name, 1);
+                return new Logic(comment, label, mode, operand(0));
+            case Constants.Gate:
+                require(name, 1);
+                return new Gate(comment, label, mode, operand(0), operand(1));
+            case Constants.Savevavg:
+                require(name, 2);
+                return new Savevalue(comment, label, operand(0), operand(1));
+            case Constants.Loop:
+                return new Loop(comment, label, operand(0), operand(1));
+            case Constants.Split:
+                require(name, 1);
+                return new Split(comment, label, intOperand(0), operand(1), operand(2));
+            case Constants.Funavail:
+                require(name, 1);
+                return new Funavail(comment, label, operand(0), operand(1), operand(2),
+                        operand(3), operand(4), operand(5));
+            case Constants.Savail:
+                require(name, 1);
+                return new Savail(comment, label, operand(0));
+            case Constants.Sunavail:
+                require(name, 1);
+                return new Sunavail(comment, label, operand(0));
+            case Constants.Assemble:
+                require(name, 1);
+                return new Assemble(comment, label, intOperand(0));
+            case Constants.Gather:
+                require(name, 1);
+                return new Gather(comment, label, intOperand(0));
+            case Constants.Match:
+                require(name, 1);
+                return new Match(comment, label, operand(0));
+            case Constants.Buffer:
+                return new Buffer(comment, label);
+            case Constants.Priority:
+                require(name, 1);
+                return new Priority(comment, label, intOperand(0));
+            default:
+                throw error("Unknown block " + name, nameColumn);
+        }
+    }
+
+    /**
+     * Splits the operands field at the commas. Empty operands are kept.
+     */
+    private void readOperands() {
+
+        operandCount = 0;
+
+        if (at == length || chars[at] == ';') {
+            return;
+        }
+
+        int start = at;
+        while (at < length && !isSpace(chars[at]) && chars[at] != ';') {
+            if (chars[at] == ',') {
+                addOperand(start, at);
+                start = at + 1;
+            }
+            at++;
+        }
+        addOperand(start, at);
+    }
+
+    private void addOperand(int start, int end) {
+
+        if (operandCount == operands.length) {
+            operands = Arrays.copyOf(operands, operandCount * 2);
+            operandColumns = Arrays.copyOf(operandColumns, operandCount * 2);
+        }
+        operands[operandCount] = new String(chars, start, end - start);
+        operandColumns[operandCount] = start + 1;
+        operandCount++;
+    }
+
+    /**
+     * Returns the operand i, or an empty string if it was not given
+     */
+    private String operand(int i) {
+        return i < operandCount ? operands[i] : "";
+    }
+
+    private int intOperand(int i) throws ModelParseException {
+        return toInt(operand(i), i < operandCount ? operandColumns[i] : length + 1);
+    }
+
+    private float floatOperand(int i) throws ModelParseException {
+        return toFloat(operand(i), i < operandCount ? operandColumns[i] : length + 1);
+    }
+
+    private void require(String bloc, int count) throws ModelParseException {
+
+        if (operandCount < count) {
+            throw error(bloc + " expects " + count + " operands", operandCount == 0 ? at + 1
+                    : operandColumns[operandCount - 1] + operands[operandCount - 1].length());
+        }
+    }
+
+    private int toInt(String value, int column) throws ModelParseException {
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            throw error("Expected an integer but found '" + value + "'", column);
+        }
+    }
+
+    private RNG gna(int i) throws ModelParseException {
+        try {
+            return VarGlobals.getGNA(operand(i));
+        } catch (IllegalArgumentException e) {
+            throw error(e.getMessage(), i < operandCount ? operandColumns[i] : length + 1);
+        }
+    }
+
+    private float toFloat(String value, int column) throws ModelParseException {
+        try {
+            return Float.parseFloat(value);
+        } catch (NumberFormatException e) {
+            throw error("Expected a number but found '" + value + "'", column);
+        }
+    }
+
+    /**
+     * Reads the next line into chars. Lines end with \n, \r or \r\n.
+     *
+     * @return false at the end of the input
+     */
+    private boolean nextLine() throws IOException {
+
+        length = 0;
+        boolean read = false;
+
+        while (true) {
+
+            if (position == limit) {
+                limit = input.read(buffer, 0, buffer.length);
+                position = 0;
+                if (limit < 0) {
+                    limit = 0;
+                    if (read) {
+                        line++;
+                    }
+                    return read;
+                }
+            }
+
+            char c = buffer[position++];
+
+            if (skipLF) {
+                skipLF = false;
+                if (c == '\n') {
+                    continue;
+                }
+            }
+            read = true;
+
+            if (c == '\n' || c == '\r') {
+                skipLF = c == '\r';
+                line++;
+                return true;
+            }
+            if (length == chars.length) {
+                chars = Arrays.copyOf(chars, length * 2);
+            }
+            chars[length++] = c;
+        }
+    }
+
+    private static boolean isSpace(char c) {
+        return c == ' ' || c == '\t';
+    }
+
+    private void skipSpaces() {
+        while (at < length && isSpace(chars[at])) {
+            at++;
+        }
+    }
+
+    /**
+     * Returns the characters up to the next space or semicolon
+     */
+    private String token() {
+
+        int start = at;
+        while (at < length && !isSpace(chars[at]) && chars[at] != ';') {
+            at++;
+        }
+        return new String(chars, start, at - start);
+    }
+
+    /**
+     * Returns the next space separated word of an entity line
+     */
+    private String word(String expected) throws ModelParseException {
+
+        skipSpaces();
+        int start = at;
+        while (at < length && !isSpace(chars[at])) {
+            at++;
+        }
+        if (start == at) {
+            throw error(expected, at + 1);
+        }
+        return new String(chars, start, at - start);
+    }
+
+    private void endOfLine() throws ModelParseException {
+
+        skipSpaces();
+        if (at < length) {
+            throw error("Unexpected text at the end of the line", at + 1);
+        }
+    }
+
+    /**
+     * Returns the rest of the line from the given column index
+     */
+    private String rest(int from) {
+        return length > from ? new String(chars, from, length - from) : "";
+    }
+
+    private ModelParseException error(String msg, int column) {
+        return new ModelParseException(msg, line, column);
+    }
+}
@@ -19,10 +19,18 @@ package utils;
  */
 import java.io.Serializable;
 import java.util.HashMap;
+import java.util.function.Supplier;
 import model.blocks.Bloc;
 import model.Model;
 import model.reports.Report;
+import model.entities.rng.Erlang;
+import model.entities.rng.Exponential;
+import model.entities.rng.Gamma;
+import model.entities.rng.Lognormal;
+import model.entities.rng.Normal;
+import model.entities.rng.Triangular;
 import model.entities.rng.Uniform;
+import model.entities.rng.Weibull;
 import persistence.DDiscManager;
 import model.entities.rng.RNG;
 
@@ -107,21 +115,33 @@ public class VarGlobals implements Serializable {
      */
     public static int TC;
 
-    /**
-     * To know the current assembly set id
-     */
-    public static int currentAssemblySet = 0;
-
     /**
      * Current GNA
      */
     public static HashMap<String, RNG> gna = new HashMap<>();
 
     /**
-     * GNA Types
+     * GNA Types, by the name written in the model
      */
     public static enum GNAType {
-        UNIFORM
+        UNIFORM(Uniform::new),
+        EXPONENTIAL(Exponential::new),
+        NORMAL(Normal::new),
+        ERLANG(Erlang::new),
+        GAMMA(Gamma::new),
+        LOGNORMAL(Lognormal::new),
+        WEIBULL(Weibull::new),
+        TRIANGULAR(Triangular::new);
+
+        private final Supplier<RNG> factory;
+
+        private GNAType(Supplier<RNG> factory) {
+            this.factory = factory;
+        }
+
+        public RNG create() {
+            return factory.get();
+        }
     }
     
     /**
@@ -149,16 +169,28 @@ public class VarGlobals implements Serializable {
         urlGuardar = null;
         esGuardat = false;
         Abrir = false;
-        currentAssemblySet = 1;
         //idNumBloc =0;
     }
 
+    /**
+     * Returns a new generator of the distribution named gnaType, uniform if
+     * the name is empty
+     *
+     * @param gnaType
+     * @return
+     * @throws IllegalArgumentException if there is no distribution with the
+     * name
+     */
     public static RNG getGNA(String gnaType) {
-        switch (gnaType.toUpperCase()) {
-            case "UNIFORM":
-                return new Uniform();           
-            default:
-                return new Uniform();
+        String name = gnaType.trim();
+        if (name.isEmpty()) {
+            return new Uniform();
+        }
+        for (GNAType type : GNAType.values()) {
+            if (type.name().equalsIgnoreCase(name)) {
+                return type.create();
+            }
         }
+        throw new IllegalArgumentException("Unknown distribution " + name);
     }
 }
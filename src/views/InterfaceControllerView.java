@@ -18,7 +18,10 @@
  */
 package views;
 
+import controllers.RunProgress;
+import controllers.SimulationWorker;
 import exceptions.MalformedFunctionDistributionException;
+import exceptions.ModelParseException;
 import exceptions.UnrecognizedModelException;
 import java.io.*;
 import java.awt.*;
@@ -26,6 +29,7 @@ import javax.swing.*;
 import javax.swing.filechooser.FileNameExtensionFilter;
 import model.Model;
 import model.reports.Report;
+import persistence.BinaryModelFormat;
 import persistence.FileFilterTxt;
 import utils.Constants;
 import utils.VarGlobals;
@@ -442,8 +446,37 @@ public class InterfaceControllerView extends javax.swing.JFrame implements Seria
             return;
         }
         model.setTC(VarGlobals.TC);
+        Run.setEnabled(false);
+
+        RunProgressView progressView = new RunProgressView(this, model.getTC());
+        SimulationWorker worker = new SimulationWorker(model, true) {
+            @Override
+            protected void progress(RunProgress progress) {
+                progressView.showProgress(progress);
+            }
+
+            @Override
+            protected void finished(RunProgress progress, Exception error) {
+                progressView.dispose();
+                Run.setEnabled(true);
+                if (error != null) {
+                    mostrarDialogo("Ok", "Cancel", error.getMessage(), "Runtime Error");
+                } else {
+                    saveReport(model);
+                }
+            }
+        };
+        progressView.setWorker(worker);
+        progressView.setLocationRelativeTo(this);
+        progressView.setVisible(true);
+        worker.execute();
+}//GEN-LAST:event_RunActionPerformed
+
+    /**
+     * Asks for the report type and file of a finished run and writes it
+     */
+    private void saveReport(Model model) {
         try {
-            model.execute(false);
             ReportType reportType = new ReportType(this, true);
             reportType.setLocationRelativeTo(this);
             reportType.setVisible(true);
@@ -472,7 +505,7 @@ public class InterfaceControllerView extends javax.swing.JFrame implements Seria
         } catch (Exception ex) {
             mostrarDialogo("Ok", "Cancel", ex.getMessage(), "Runtime Error");
         }
-}//GEN-LAST:event_RunActionPerformed
+    }
 
     private void ConfigurationActionPerformed(java.awt.event.ActionEvent evt) {//GEN-FIRST:event_ConfigurationActionPerformed
         
@@ -507,9 +540,11 @@ public class InterfaceControllerView extends javax.swing.JFrame implements Seria
         model.setTC(VarGlobals.TC);        
         
         try {
+            model.link();
             model.InitializeGenerateBocs();
         } catch (Exception e) {
             generarPantallaError(e.getMessage());
+            return;
         }
         
         RunView Pant = new RunView(model, this, true);
@@ -656,7 +691,9 @@ public class InterfaceControllerView extends javax.swing.JFrame implements Seria
                     extensio = nomFile.substring(nomFile.length() - 4);
                 }
                 
-                if (!extensio.equals(Constants.extensio)) {
+                if (nomFile.endsWith(BinaryModelFormat.EXTENSION)) {
+                    VarGlobals.dg.guardarBin(VarGlobals.urlGuardar);
+                } else if (!extensio.equals(Constants.extensio)) {
                     VarGlobals.dg.guardarTxt(Guardar + Constants.extensio);
                     VarGlobals.urlGuardar += Constants.extensio;
                 } else {
@@ -676,7 +713,11 @@ public class InterfaceControllerView extends javax.swing.JFrame implements Seria
     
     private void guardar() {
         try {
-            VarGlobals.dg.guardarTxt(VarGlobals.urlGuardar);
+            if (VarGlobals.urlGuardar.endsWith(BinaryModelFormat.EXTENSION)) {
+                VarGlobals.dg.guardarBin(VarGlobals.urlGuardar);
+            } else {
+                VarGlobals.dg.guardarTxt(VarGlobals.urlGuardar);
+            }
             VarGlobals.esModificat = false;
             JOptionPane.showMessageDialog(null, "Model saved successfully");
             
@@ -697,7 +738,11 @@ public class InterfaceControllerView extends javax.swing.JFrame implements Seria
                 BufferedReader entrada = new BufferedReader(new FileReader(f));
                 if (f.exists()) {
                     try {
-                        VarGlobals.dg.recuperarTxt(entrada);
+                        if (f.getName().endsWith(BinaryModelFormat.EXTENSION)) {
+                            VarGlobals.dg.recuperarBin(f.getAbsolutePath());
+                        } else {
+                            VarGlobals.dg.recuperarTxt(entrada);
+                        }
                         VarGlobals.urlGuardar = fc.getSelectedFile().getAbsolutePath();
                         VarGlobals.esGuardat = true;
                         
@@ -716,6 +761,8 @@ public class InterfaceControllerView extends javax.swing.JFrame implements Seria
                         PanelModelView jp = new PanelModelView(this);
                         this.obrirJPanel(jp);
                         
+                    } catch (ModelParseException e) {
+                        generarPantallaError(Constants.ERROR_OPENING_FILE + " " + e.getMessage());
                     } catch (UnrecognizedModelException | NullPointerException e) {
                         generarPantallaError(Constants.ERROR_OPENING_FILE);
                     }
@@ -0,0 +1,100 @@
+/**
+ * Software end-user license agreement.
+ *
+ * The LICENSE.TXT containing the license is located in the JGPSS project.
+ * License.txt can be downloaded here:
+ * href="http://www-eio.upc.es/~Pau/index.php?q=node/28
+ *
+ * NOTICE TO THE USER: BY COPYING, INSTALLING OR USING THIS SOFTWARE OR PART OF
+ * THIS SOFTWARE, YOU AGREE TO THE   TERMS AND CONDITIONS OF THE LICENSE AGREEMENT
+ * AS IF IT WERE A WRITTEN AGREEMENT NEGOTIATED AND SIGNED BY YOU. THE LICENSE
+ * AGREEMENT IS ENFORCEABLE AGAINST YOU AND ANY OTHER LEGAL PERSON ACTING ON YOUR
+ * BEHALF.
+ * IF, AFTER READING THE TERMS AND CONDITIONS HEREIN, YOU DO NOT AGREE TO THEM,
+ * YOU MAY NOT INSTALL THIS SOFTWARE ON YOUR COMPUTER.
+ * UPC IS THE OWNER OF ALL THE INTELLECTUAL PROPERTY OF THE SOFTWARE AND ONLY
+ * AUTHORIZES YOU TO USE THE SOFTWARE IN ACCORDANCE WITH THE TERMS SET OUT IN
+ * THE LICENSE AGREEMENT.
+ */
+package views;
+
+import controllers.RunProgress;
+import controllers.SimulationWorker;
+import java.awt.BorderLayout;
+import java.awt.FlowLayout;
+import java.awt.Frame;
+import java.awt.GridLayout;
+import javax.swing.BorderFactory;
+import javax.swing.JButton;
+import javax.swing.JDialog;
+import javax.swing.JLabel;
+import javax.swing.JPanel;
+import javax.swing.WindowConstants;
+
+/**
+ * Shows the progress of a model run by a SimulationWorker, with a button to
+ * stop it. The values are only refreshed from the progress the worker
+ * publishes.
+ *
+ * @author Ezequiel Andujar Montes
+ */
+public class RunProgressView extends JDialog {
+
+    private static final long serialVersionUID = 1L;
+
+    private final JLabel clockValue = new JLabel("0");
+    private final JLabel TCvalue = new JLabel();
+    private final JLabel eventsValue = new JLabel("0");
+    private final JLabel rateValue = new JLabel("0");
+    private final JButton stopButton = new JButton("Stop");
+    private SimulationWorker worker;
+
+    /**
+     * @param parent
+     * @param TC the termination count of the run
+     */
+    public RunProgressView(Frame parent, int TC) {
+
+        super(parent, "Running", false);
+        setDefaultCloseOperation(WindowConstants.DO_NOTHING_ON_CLOSE);
+
+        JPanel values = new JPanel(new GridLayout(4, 2, 12, 4));
+        values.setBorder(BorderFactory.createEmptyBorder(12, 12, 4, 12));
+        values.add(new JLabel("Relative clock"));
+        values.add(clockValue);
+        values.add(new JLabel("TC"));
+        values.add(TCvalue);
+        values.add(new JLabel("Events"));
+        values.add(eventsValue);
+        values.add(new JLabel("Events/s"));
+        values.add(rateValue);
+        TCvalue.setText(String.valueOf(TC));
+
+        stopButton.addActionListener(evt -> {
+            if (worker != null) {
+                worker.stop();
+                stopButton.setEnabled(false);
+            }
+        });
+        JPanel buttons = new JPanel(new FlowLayout(FlowLayout.RIGHT));
+        buttons.add(stopButton);
+
+        getContentPane().add(values, BorderLayout.CENTER);
+        getContentPane().add(buttons, BorderLayout.SOUTH);
+        pack();
+    }
+
+    /**
+     * @param worker the worker stopped by the Stop button
+     */
+    public void setWorker(SimulationWorker worker) {
+        this.worker = worker;
+    }
+
+    public void showProgress(RunProgress progress) {
+        clockValue.setText(String.valueOf(progress.getClock()));
+        TCvalue.setText(String.valueOf(progress.getTC()));
+        eventsValue.setText(String.format("%d", progress.getEvents()));
+        rateValue.setText(String.format("%.0f", progress.getEventsPerSecond()));
+    }
+}
@@ -24,12 +24,15 @@
  */
 package views;
 
+import controllers.RunProgress;
+import controllers.SimulationWorker;
 import java.awt.Frame;
 import java.io.File;
 import javax.swing.JFileChooser;
 import javax.swing.JFrame;
 import javax.swing.filechooser.FileNameExtensionFilter;
 import model.Model;
+import model.RunControl;
 import model.reports.HTMLReport;
 import model.reports.Report;
 import utils.Constants;
@@ -46,6 +49,11 @@ public class RunView extends javax.swing.JDialog {
     private Model model;
     private JFrame frame;
 
+    /**
+     * Worker running the model, null when it does not run
+     */
+    private SimulationWorker worker;
+
     /**
      * Creates new form PantallaRun
      *
@@ -81,6 +89,8 @@ public class RunView extends javax.swing.JDialog {
         TCvalue = new javax.swing.JTextField();
         resetButton = new javax.swing.JButton();
         SaveButton = new javax.swing.JButton();
+        runToButton = new javax.swing.JButton();
+        runEventsButton = new javax.swing.JButton();
 
         setDefaultCloseOperation(javax.swing.WindowConstants.DISPOSE_ON_CLOSE);
         setResizable(false);
@@ -135,6 +145,20 @@ public class RunView extends javax.swing.JDialog {
             }
         });
 
+        runToButton.setText("Run to...");
+        runToButton.addActionListener(new java.awt.event.ActionListener() {
+            public void actionPerformed(java.awt.event.ActionEvent evt) {
+                runToButtonActionPerformed(evt);
+            }
+        });
+
+        runEventsButton.setText("Run events...");
+        runEventsButton.addActionListener(new java.awt.event.ActionListener() {
+            public void actionPerformed(java.awt.event.ActionEvent evt) {
+                runEventsButtonActionPerformed(evt);
+            }
+        });
+
         javax.swing.GroupLayout layout = new javax.swing.GroupLayout(getContentPane());
         getContentPane().setLayout(layout);
         layout.setHorizontalGroup(
@@ -162,6 +186,10 @@ public class RunView extends javax.swing.JDialog {
                             .addComponent(resetButton, javax.swing.GroupLayout.Alignment.TRAILING)))
                     .addGroup(layout.createSequentialGroup()
                         .addGap(0, 0, Short.MAX_VALUE)
+                        .addComponent(runToButton)
+                        .addPreferredGap(javax.swing.LayoutStyle.ComponentPlacement.RELATED)
+                        .addComponent(runEventsButton)
+                        .addPreferredGap(javax.swing.LayoutStyle.ComponentPlacement.RELATED)
                         .addComponent(SaveButton))))
         );
         layout.setVerticalGroup(
@@ -188,7 +216,10 @@ public class RunView extends javax.swing.JDialog {
                         .addPreferredGap(javax.swing.LayoutStyle.ComponentPlacement.RELATED)
                         .addComponent(resetButton)))
                 .addPreferredGap(javax.swing.LayoutStyle.ComponentPlacement.RELATED)
-                .addComponent(SaveButton)
+                .addGroup(layout.createParallelGroup(javax.swing.GroupLayout.Alignment.BASELINE)
+                    .addComponent(runToButton)
+                    .addComponent(runEventsButton)
+                    .addComponent(SaveButton))
                 .addPreferredGap(javax.swing.LayoutStyle.ComponentPlacement.RELATED, javax.swing.GroupLayout.DEFAULT_SIZE, Short.MAX_VALUE)
                 .addComponent(jScrollPane2, javax.swing.GroupLayout.PREFERRED_SIZE, 464, javax.swing.GroupLayout.PREFERRED_SIZE)
                 .addContainerGap())
@@ -216,20 +247,72 @@ public class RunView extends javax.swing.JDialog {
 
     private void jButtonGoActionPerformed(java.awt.event.ActionEvent evt) {//GEN-FIRST:event_jButtonGoActionPerformed
 
-        if (model.getTC() == 0) {
+        if (worker != null) {
+            worker.stop();
+            jButtonGo.setEnabled(false);
             return;
         }
-        try {
-            model.executeAll();
-            updateValues();
-            HTMLReport report = new HTMLReport();
-            report.createReport(model, "");
-            reportValue.setText(report.getHTMLreport());
-        } catch (Exception ex) {
-            mostrarDialogo("Ok", "Cancel", ex.getMessage(), "Runtime Error");
-        }
+        run(new RunControl());
     }//GEN-LAST:event_jButtonGoActionPerformed
 
+    private void runToButtonActionPerformed(java.awt.event.ActionEvent evt) {//GEN-FIRST:event_runToButtonActionPerformed
+
+        String value = javax.swing.JOptionPane.showInputDialog(this, "Run to clock", model.getRelativeClock());
+        if (value != null) {
+            try {
+                run(RunControl.untilTime(Float.parseFloat(value.trim())));
+            } catch (NumberFormatException ex) {
+                mostrarDialogo("Ok", "Cancel", "Not a number: " + value, "Run to");
+            }
+        }
+    }//GEN-LAST:event_runToButtonActionPerformed
+
+    private void runEventsButtonActionPerformed(java.awt.event.ActionEvent evt) {//GEN-FIRST:event_runEventsButtonActionPerformed
+
+        String value = javax.swing.JOptionPane.showInputDialog(this, "Events to run", 1000);
+        if (value != null) {
+            try {
+                run(RunControl.forEvents(Long.parseLong(value.trim())));
+            } catch (NumberFormatException ex) {
+                mostrarDialogo("Ok", "Cancel", "Not a number: " + value, "Run events");
+            }
+        }
+    }//GEN-LAST:event_runEventsButtonActionPerformed
+
+    /**
+     * Runs the model on a worker until the termination count or a rule of
+     * the control stops it
+     */
+    private void run(RunControl control) {
+
+        if (model.getTC() == 0) {
+            return;
+        }
+
+        worker = new SimulationWorker(model, false, control) {
+            @Override
+            protected void progress(RunProgress progress) {
+                showProgress(progress);
+            }
+
+            @Override
+            protected void finished(RunProgress progress, Exception error) {
+                worker = null;
+                setRunning(false);
+                if (progress != null) {
+                    showProgress(progress);
+                    setTitle("Stopped: " + progress.getReason());
+                }
+                updateValues();
+                if (error != null) {
+                    mostrarDialogo("Ok", "Cancel", error.getMessage(), "Runtime Error");
+                }
+            }
+        };
+        setRunning(true);
+        worker.execute();
+    }
+
     private void AbsoluteClockValueActionPerformed(java.awt.event.ActionEvent evt) {//GEN-FIRST:event_AbsoluteClockValueActionPerformed
         // TODO add your handling code here:
     }//GEN-LAST:event_AbsoluteClockValueActionPerformed
@@ -301,6 +384,39 @@ public class RunView extends javax.swing.JDialog {
         perror.dispose();
     }
 
+    /**
+     * While the model runs on the worker only Go, as Stop, can be used
+     */
+    private void setRunning(boolean running) {
+        jButtonGo.setText(running ? "Stop" : "Go");
+        jButtonGo.setEnabled(true);
+        jButtonStep.setEnabled(!running);
+        runToButton.setEnabled(!running);
+        runEventsButton.setEnabled(!running);
+        resetButton.setEnabled(!running);
+        SaveButton.setEnabled(!running);
+        setTitle(running ? "Running" : "");
+    }
+
+    private void showProgress(RunProgress progress) {
+        RelativeClockValue.setText(String.valueOf(progress.getClock()));
+        TCvalue.setText(String.format("%d", progress.getTC()));
+        if (worker != null) {
+            setTitle(String.format("Running: %d events, %.0f events/s", progress.getEvents(), progress.getEventsPerSecond()));
+        }
+        if (progress.getReport() != null) {
+            reportValue.setText(progress.getReport());
+        }
+    }
+
+    @Override
+    public void dispose() {
+        if (worker != null) {
+            worker.stop();
+        }
+        super.dispose();
+    }
+
     private void updateValues() {
         RelativeClockValue.setText(String.valueOf(model.getRelativeClock()));
         AbsoluteClockValue.setText(String.valueOf(model.getAbsoluteClock()));
@@ -320,6 +436,8 @@ public class RunView extends javax.swing.JDialog {
     private javax.swing.JScrollPane jScrollPane2;
     private javax.swing.JTextPane reportValue;
     private javax.swing.JButton resetButton;
+    private javax.swing.JButton runEventsButton;
+    private javax.swing.JButton runToButton;
     // End of variables declaration//GEN-END:variables
 
 }
@@ -0,0 +1,87 @@
+/**
+ * Software end-user license agreement.
+ *
+ * The LICENSE.TXT containing the license is located in the JGPSS project.
+ * License.txt can be downloaded here:
+ * href="http://www-eio.upc.es/~Pau/index.php?q=node/28
+ *
+ * NOTICE TO THE USER: BY COPYING, INSTALLING OR USING THIS SOFTWARE OR PART OF
+ * THIS SOFTWARE, YOU AGREE TO THE   TERMS AND CONDITIONS OF THE LICENSE AGREEMENT
+ * AS IF IT WERE A WRITTEN AGREEMENT NEGOTIATED AND SIGNED BY YOU. THE LICENSE
+ * AGREEMENT IS ENFORCEABLE AGAINST YOU AND ANY OTHER LEGAL PERSON ACTING ON YOUR
+ * BEHALF.
+ * IF, AFTER READING THE TERMS AND CONDITIONS HEREIN, YOU DO NOT AGREE TO THEM,
+ * YOU MAY NOT INSTALL THIS SOFTWARE ON YOUR COMPUTER.
+ * UPC IS THE OWNER OF ALL THE INTELLECTUAL PROPERTY OF THE SOFTWARE AND ONLY
+ * AUTHORIZES YOU TO USE THE SOFTWARE IN ACCORDANCE WITH THE TERMS SET OUT IN
+ * THE LICENSE AGREEMENT.
+ */
+package controllers;
+
+import java.io.File;
+import java.nio.file.Files;
+import junit.framework.TestCase;
+
+/**
+ *
+ * @author Ezequiel Andujar Montes
+ */
+public class BatchControllerTest extends TestCase {
+
+    private File dir;
+
+    public BatchControllerTest(String testName) {
+        super(testName);
+    }
+
+    @Override
+    protected void setUp() throws Exception {
+        super.setUp();
+        dir = File.createTempFile("batch", "");
+        dir.delete();
+        dir.mkdir();
+    }
+
+    @Override
+    protected void tearDown() throws Exception {
+        for (File f : dir.listFiles()) {
+            f.delete();
+        }
+        dir.delete();
+        super.tearDown();
+    }
+
+    /**
+     * Test that the reports are written next to the model by default.
+     */
+    public void testRun() throws Exception {
+
+        File model = new File(dir, "model.txt");
+        Files.copy(new File("resources/model/seize-test.txt").toPath(), model.toPath());
+
+        int status = new BatchController().run(new String[]{model.getPath(), "-tc", "10", "-report", "txt,csv"});
+
+        assertEquals(BatchController.OK, status);
+        assertTrue(new File(dir, "model-report.txt").exists());
+        assertTrue(new File(dir, "model-report.csv").exists());
+
+        status = new BatchController().run(new String[]{model.getPath(), "-tc", "10", "-replications", "3",
+            "-out", new File(dir, "reps").getPath()});
+
+        assertEquals(BatchController.OK, status);
+        assertTrue(new File(dir, "reps.txt").exists());
+    }
+
+    /**
+     * Test that wrong arguments are reported before running.
+     */
+    public void testUsage() {
+
+        BatchController batch = new BatchController();
+        assertEquals(BatchController.USAGE_ERROR, batch.run(new String[]{}));
+        assertEquals(BatchController.USAGE_ERROR, batch.run(new String[]{"model.txt"}));
+        assertEquals(BatchController.USAGE_ERROR, new BatchController().run(new String[]{"model.txt", "-tc", "x"}));
+        assertEquals(BatchController.USAGE_ERROR, new BatchController().run(new String[]{"model.txt", "-tc", "1", "-report", "doc"}));
+        assertEquals(BatchController.RUN_ERROR, new BatchController().run(new String[]{"missing.txt", "-tc", "1"}));
+    }
+}
@@ -0,0 +1,77 @@
+/**
+ * Software end-user license agreement.
+ *
+ * The LICENSE.TXT containing the license is located in the JGPSS project.
+ * License.txt can be downloaded here:
+ * href="http://www-eio.upc.es/~Pau/index.php?q=node/28
+ *
+ * NOTICE TO THE USER: BY COPYING, INSTALLING OR USING THIS SOFTWARE OR PART OF
+ * THIS SOFTWARE, YOU AGREE TO THE   TERMS AND CONDITIONS OF THE LICENSE AGREEMENT
+ * AS IF IT WERE A WRITTEN AGREEMENT NEGOTIATED AND SIGNED BY YOU. THE LICENSE
+ * AGREEMENT IS ENFORCEABLE AGAINST YOU AND ANY OTHER LEGAL PERSON ACTING ON YOUR
+ * BEHALF.
+ * IF, AFTER READING THE TERMS AND CONDITIONS HEREIN, YOU DO NOT AGREE TO THEM,
+ * YOU MAY NOT INSTALL THIS SOFTWARE ON YOUR COMPUTER.
+ * UPC IS THE OWNER OF ALL THE INTELLECTUAL PROPERTY OF THE SOFTWARE AND ONLY
+ * AUTHORIZES YOU TO USE THE SOFTWARE IN ACCORDANCE WITH THE TERMS SET OUT IN
+ * THE LICENSE AGREEMENT.
+ */
+package controllers;
+
+import junit.framework.TestCase;
+import model.Model;
+import model.TestModels;
+
+/**
+ *
+ * @author Ezequiel Andujar Montes
+ */
+public class SimulationWorkerTest extends TestCase {
+
+    public SimulationWorkerTest(String testName) {
+        super(testName);
+    }
+
+    private Model model(int TC) throws Exception {
+        Model model = TestModels.load("seize-test.txt");
+        model.setTC(TC);
+        return model;
+    }
+
+    /**
+     * Test that the worker runs the model as Model.execute does.
+     */
+    public void testRun() throws Exception {
+
+        Model expected = model(1000);
+        expected.execute(false);
+
+        Model model = model(1000);
+        SimulationWorker worker = new SimulationWorker(model, true);
+        worker.execute();
+        RunProgress last = worker.get();
+
+        assertEquals(0, last.getTC());
+        assertEquals(expected.getRelativeClock(), last.getClock());
+        assertEquals(expected.getEvents(), last.getEvents());
+        assertNotNull(last.getReport());
+    }
+
+    /**
+     * Test that a run is stopped before its termination count.
+     */
+    public void testStop() throws Exception {
+
+        Model model = model(Integer.MAX_VALUE);
+        SimulationWorker worker = new SimulationWorker(model, true);
+        worker.execute();
+        Thread.sleep(200);
+        worker.stop();
+        RunProgress last = worker.get();
+
+        assertTrue(worker.isStopped());
+        assertTrue(last.getTC() > 0);
+        assertTrue(last.getEvents() > 0);
+        assertEquals(model.getRelativeClock(), last.getClock());
+    }
+}
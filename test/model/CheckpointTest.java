@@ -0,0 +1,94 @@
+/**
+ * Software end-user license agreement.
+ *
+ * The LICENSE.TXT containing the license is located in the JGPSS project.
+ * License.txt can be downloaded here:
+ * href="http://www-eio.upc.es/~Pau/index.php?q=node/28
+ *
+ * NOTICE TO THE USER: BY COPYING, INSTALLING OR USING THIS SOFTWARE OR PART OF
+ * THIS SOFTWARE, YOU AGREE TO THE   TERMS AND CONDITIONS OF THE LICENSE AGREEMENT
+ * AS IF IT WERE A WRITTEN AGREEMENT NEGOTIATED AND SIGNED BY YOU. THE LICENSE
+ * AGREEMENT IS ENFORCEABLE AGAINST YOU AND ANY OTHER LEGAL PERSON ACTING ON YOUR
+ * BEHALF.
+ * IF, AFTER READING THE TERMS AND CONDITIONS HEREIN, YOU DO NOT AGREE TO THEM,
+ * YOU MAY NOT INSTALL THIS SOFTWARE ON YOUR COMPUTER.
+ * UPC IS THE OWNER OF ALL THE INTELLECTUAL PROPERTY OF THE SOFTWARE AND ONLY
+ * AUTHORIZES YOU TO USE THE SOFTWARE IN ACCORDANCE WITH THE TERMS SET OUT IN
+ * THE LICENSE AGREEMENT.
+ */
+package model;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.Map;
+import junit.framework.TestCase;
+import model.replication.ReplicationResults;
+
+/**
+ *
+ * @author Ezequiel Andujar Montes
+ */
+public class CheckpointTest extends TestCase {
+
+    public CheckpointTest(String testName) {
+        super(testName);
+    }
+
+    private Model warmedUp() throws Exception {
+
+        Model model = TestModels.load("storage-test.txt");
+        model.setTC(50);
+        model.setSeed(3);
+        model.setWarmUpTime(40);
+        model.initialize();
+        return model;
+    }
+
+    /**
+     * Test that every fork of a checkpoint goes on exactly like the model
+     * it was taken from.
+     */
+    public void testFork() throws Exception {
+
+        Model model = warmedUp();
+        Checkpoint checkpoint = new Checkpoint(model);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        checkpoint.write(out);
+        Checkpoint read = Checkpoint.read(new ByteArrayInputStream(out.toByteArray()));
+        assertEquals(checkpoint.size(), read.size());
+
+        Model first = checkpoint.restore();
+        Model second = read.restore();
+        assertTrue(first != second);
+        assertEquals(model.getRelativeClock(), first.getRelativeClock(), 0);
+        assertEquals(model.getFEC().size(), first.getFEC().size());
+
+        model.executeAll();
+        first.executeAll();
+        second.executeAll();
+
+        Map<String, Map<String, Double>> expected = ReplicationResults.observe(model);
+        assertEquals(expected, ReplicationResults.observe(first));
+        assertEquals(expected, ReplicationResults.observe(second));
+    }
+
+    /**
+     * Test that a fork can change the model without touching the others.
+     */
+    public void testWhatIf() throws Exception {
+
+        Checkpoint checkpoint = new Checkpoint(warmedUp());
+
+        Model base = checkpoint.restore();
+        Model fork = checkpoint.restore();
+        // Room for two Xacts instead of one
+        fork.getFacilities().get("storage").setMaxCapacity(8);
+
+        base.executeAll();
+        fork.executeAll();
+
+        assertEquals(4, base.getFacilities().get("storage").getMaxCapacity());
+        assertTrue(fork.getRelativeClock() < base.getRelativeClock());
+    }
+}
@@ -0,0 +1,270 @@
+/**
+ * Software end-user license agreement.
+ *
+ * The LICENSE.TXT containing the license is located in the JGPSS project.
+ * License.txt can be downloaded here:
+ * href="http://www-eio.upc.es/~Pau/index.php?q=node/28
+ *
+ * NOTICE TO THE USER: BY COPYING, INSTALLING OR USING THIS SOFTWARE OR PART OF
+ * THIS SOFTWARE, YOU AGREE TO THE   TERMS AND CONDITIONS OF THE LICENSE AGREEMENT
+ * AS IF IT WERE A WRITTEN AGREEMENT NEGOTIATED AND SIGNED BY YOU. THE LICENSE
+ * AGREEMENT IS ENFORCEABLE AGAINST YOU AND ANY OTHER LEGAL PERSON ACTING ON YOUR
+ * BEHALF.
+ * IF, AFTER READING THE TERMS AND CONDITIONS HEREIN, YOU DO NOT AGREE TO THEM,
+ * YOU MAY NOT INSTALL THIS SOFTWARE ON YOUR COMPUTER.
+ * UPC IS THE OWNER OF ALL THE INTELLECTUAL PROPERTY OF THE SOFTWARE AND ONLY
+ * AUTHORIZES YOU TO USE THE SOFTWARE IN ACCORDANCE WITH THE TERMS SET OUT IN
+ * THE LICENSE AGREEMENT.
+ */
+package model;
+
+import exceptions.InitializeBlockError;
+import java.util.ArrayList;
+import junit.framework.TestCase;
+import model.blocks.Bloc;
+import model.blocks.Generate;
+import model.blocks.Seize;
+import model.blocks.Terminate;
+import model.blocks.Test;
+import model.blocks.Transfer;
+import model.entities.Function;
+import model.entities.LogicSwitch;
+import model.entities.QueueReport;
+import model.entities.SaveValue;
+import model.entities.Storage;
+import model.entities.Xact;
+import model.entities.rng.Uniform;
+
+/**
+ *
+ * @author Ezequiel Andujar Montes
+ */
+public class ModelTest extends TestCase {
+
+    private Model model;
+
+    public ModelTest(String testName) {
+        super(testName);
+    }
+
+    @Override
+    protected void setUp() throws Exception {
+        super.setUp();
+        model = new Model();
+    }
+
+    private void addProces(Bloc... blocs) {
+
+        Proces proces = new Proces("p1", model);
+        ArrayList<Bloc> list = new ArrayList<>();
+        for (Bloc b : blocs) {
+            list.add(b);
+        }
+        proces.setBlocs(list);
+        model.getProces().add(proces);
+    }
+
+    /**
+     * Test that the link step creates the entities referenced by the blocks.
+     */
+    public void testLinkCreatesEntities() throws Exception {
+
+        addProces(new Generate("", "", "3", "1", 0f, 0f, 0f, 0, new Uniform()),
+                new Seize("", "", "server"),
+                new Terminate("", "", 1));
+
+        model.link();
+        assertNotNull(model.getFacilities().get("server"));
+        assertSame(model.getFacilities().get("server").getDelayChain(), model.getBEC().get("server"));
+    }
+
+    /**
+     * Test that an unknown label fails on link instead of during the run.
+     */
+    public void testLinkUnknownLabel() {
+
+        addProces(new Generate("", "", "3", "1", 0f, 0f, 0f, 0, new Uniform()),
+                new Test("", "", Test.E, "1", "1", "missing"),
+                new Terminate("", "", 1));
+
+        try {
+            model.link();
+            fail();
+        } catch (InitializeBlockError e) {
+            assertTrue(e.getMessage().contains("missing"));
+        }
+    }
+
+    /**
+     * Test that a warm-up by terminations resets the counts and keeps the
+     * transactions, and is not counted in the run.
+     */
+    public void testWarmUpCount() throws Exception {
+
+        model = TestModels.load("queue-test.txt");
+        model.setTC(10);
+        model.setWarmUpCount(5);
+        model.execute(false);
+
+        Bloc terminate = model.getProces().get(0).getBlocs().get(6);
+        assertEquals(10, terminate.getEntryCount());
+        assertTrue(model.getStartTime() > 0);
+        assertEquals(model.getRelativeClock() - model.getStartTime(), model.getElapsedTime(), 0);
+
+        QueueReport queue = model.getQueue("queue");
+        assertTrue(queue.getTotalEntries() >= 10);
+        assertTrue(queue.getAvgContent() > 0);
+        assertTrue(model.getFacilities().get("seize").getUtilizationTime() <= model.getElapsedTime());
+    }
+
+    /**
+     * Test that a warm-up by time starts the reported period at that clock.
+     */
+    public void testWarmUpTime() throws Exception {
+
+        model = TestModels.load("queue-test.txt");
+        model.setTC(10);
+        model.setWarmUpTime(20);
+        model.execute(false);
+
+        assertEquals(20f, model.getStartTime(), 0);
+        assertEquals(10, model.getProces().get(0).getBlocs().get(6).getEntryCount());
+        assertTrue(model.getRelativeClock() > 20);
+    }
+
+    /**
+     * Test that a run stopped at a time horizon goes on as an undivided run.
+     */
+    public void testRunUntilTime() throws Exception {
+
+        Model whole = TestModels.load("queue-test.txt");
+        whole.setTC(200);
+        whole.execute(false);
+
+        model = TestModels.load("queue-test.txt");
+        model.setTC(200);
+        model.initialize();
+
+        assertEquals(StopReason.TIME, model.run(RunControl.untilTime(50)));
+        assertEquals(50f, model.getRelativeClock(), 0);
+        assertTrue(model.getTC() > 0);
+
+        assertEquals(StopReason.TERMINATED, model.run(new RunControl()));
+        assertEquals(0, model.getTC());
+        assertEquals(whole.getRelativeClock(), model.getRelativeClock(), 0);
+        assertEquals(whole.getEvents(), model.getEvents());
+    }
+
+    /**
+     * Test the events, Xacts, condition and stop rules.
+     */
+    public void testRunLimits() throws Exception {
+
+        model = TestModels.load("queue-test.txt");
+        model.setTC(Integer.MAX_VALUE);
+        model.initialize();
+
+        long events = model.getEvents();
+        assertEquals(StopReason.EVENTS, model.run(RunControl.forEvents(100)));
+        assertTrue(model.getEvents() >= events + 100);
+
+        int xacts = model.getIdxact();
+        RunControl control = new RunControl();
+        control.setXacts(5);
+        assertEquals(StopReason.XACTS, model.run(control));
+        assertEquals(xacts + 5, model.getIdxact());
+
+        control = new RunControl();
+        control.setCondition(Test.GE, "Q$queue", "5");
+        assertEquals(StopReason.CONDITION, model.run(control));
+        assertTrue(model.getQueue("queue").getCurrentCount() >= 5);
+
+        control = new RunControl();
+        control.setWallClock(50);
+        assertEquals(StopReason.WALL_CLOCK, model.run(control));
+
+        float clock = model.getRelativeClock();
+        control = new RunControl();
+        control.stop();
+        assertEquals(StopReason.STOPPED, model.run(control));
+        assertEquals(clock, model.getRelativeClock(), 0);
+    }
+
+    /**
+     * Test that the entities are looked up by their current name, and that a
+     * missing logic switch is created once in the reset state.
+     */
+    public void testEntityLookup() {
+
+        Storage storage = new Storage("st", 3);
+        SaveValue saveValue = new SaveValue("sv", 1f);
+        model.getStorages().add(storage);
+        model.getSaveValues().add(saveValue);
+
+        assertSame(storage, model.getStorage("st"));
+        assertSame(saveValue, model.getSaveValue("sv"));
+        assertNull(model.getStorage("unknown"));
+        assertNull(model.getSaveValue("unknown"));
+
+        // Renamed in the editor
+        storage.setNom("renamed");
+        saveValue.setName("renamed");
+        assertNull(model.getStorage("st"));
+        assertNull(model.getSaveValue("sv"));
+        assertSame(storage, model.getStorage("renamed"));
+        assertSame(saveValue, model.getSaveValue("renamed"));
+
+        LogicSwitch logicSwitch = model.getSwitch("sw");
+        assertFalse(logicSwitch.isState());
+        assertSame(logicSwitch, model.getSwitch("sw"));
+        assertEquals(1, model.getSwitches().size());
+    }
+
+    /**
+     * Test that a function TRANSFER resolves its function and increment on
+     * link, the increment defaulting to zero.
+     */
+    public void testLinkTransferFunction() throws Exception {
+
+        Transfer transfer = new Transfer("", "", Transfer.FN, "jump", "", "");
+        Terminate target = new Terminate("", "", 1);
+
+        addProces(new Generate("", "", "3", "1", 0f, 0f, 0f, 0, new Uniform()),
+                transfer,
+                new Terminate("", "", 1),
+                target);
+
+        try {
+            model.link();
+            fail();
+        } catch (InitializeBlockError e) {
+            assertTrue(e.getMessage().contains("jump"));
+        }
+
+        model.getFunctions().add(new Function("jump", "1", "D1", "1,3"));
+        model.link();
+        assertSame(target, transfer.execute(new Xact()));
+
+        transfer.setC("x");
+        try {
+            model.link();
+            fail();
+        } catch (InitializeBlockError e) {
+        }
+    }
+
+    /**
+     * Test that a malformed SNA operand fails on link.
+     */
+    public void testLinkBadOperand() {
+
+        addProces(new Generate("", "", "Q$", "1", 0f, 0f, 0f, 0, new Uniform()),
+                new Terminate("", "", 1));
+
+        try {
+            model.link();
+            fail();
+        } catch (InitializeBlockError e) {
+        }
+    }
+}
@@ -0,0 +1,142 @@
+/**
+ * Software end-user license agreement.
+ *
+ * The LICENSE.TXT containing the license is located in the JGPSS project.
+ * License.txt can be downloaded here:
+ * href="http://www-eio.upc.es/~Pau/index.php?q=node/28
+ *
+ * NOTICE TO THE USER: BY COPYING, INSTALLING OR USING THIS SOFTWARE OR PART OF
+ * THIS SOFTWARE, YOU AGREE TO THE   TERMS AND CONDITIONS OF THE LICENSE AGREEMENT
+ * AS IF IT WERE A WRITTEN AGREEMENT NEGOTIATED AND SIGNED BY YOU. THE LICENSE
+ * AGREEMENT IS ENFORCEABLE AGAINST YOU AND ANY OTHER LEGAL PERSON ACTING ON YOUR
+ * BEHALF.
+ * IF, AFTER READING THE TERMS AND CONDITIONS HEREIN, YOU DO NOT AGREE TO THEM,
+ * YOU MAY NOT INSTALL THIS SOFTWARE ON YOUR COMPUTER.
+ * UPC IS THE OWNER OF ALL THE INTELLECTUAL PROPERTY OF THE SOFTWARE AND ONLY
+ * AUTHORIZES YOU TO USE THE SOFTWARE IN ACCORDANCE WITH THE TERMS SET OUT IN
+ * THE LICENSE AGREEMENT.
+ */
+package model;
+
+import exceptions.ModelSyntaxException;
+import exceptions.ParameterNotFoundException;
+import exceptions.QueueNotFoundException;
+import junit.framework.TestCase;
+import model.blocks.Facility;
+import model.entities.AmperVariable;
+import model.entities.QueueReport;
+import model.entities.SaveValue;
+import model.entities.Xact;
+
+/**
+ *
+ * @author Ezequiel Andujar Montes
+ */
+public class SNACompilerTest extends TestCase {
+
+    private Model model;
+    private Xact xact;
+
+    public SNACompilerTest(String testName) {
+        super(testName);
+    }
+
+    @Override
+    protected void setUp() throws Exception {
+        super.setUp();
+        model = new Model();
+        xact = new Xact();
+        xact.setID(7);
+    }
+
+    /**
+     * Test of compile method with numbers and Xact SNAs.
+     */
+    public void testConstantsAndXact() throws Exception {
+
+        assertEquals(3.5, SNACompiler.compile("3.5", model).evaluate(xact), 0);
+        assertEquals(-2.0, SNACompiler.compile("-2", model).evaluate(xact), 0);
+        assertEquals(7.0, SNACompiler.compile("XN1", model).evaluate(xact), 0);
+
+        xact.getTransactionParameters().put("count", 4);
+        assertEquals(4.0, SNACompiler.compile("P$count", model).evaluate(xact), 0);
+
+        try {
+            SNACompiler.compile("P$missing", model).evaluate(xact);
+            fail();
+        } catch (ParameterNotFoundException e) {
+        }
+    }
+
+    /**
+     * Test of compile method with entity SNAs.
+     */
+    public void testEntities() throws Exception {
+
+        model.getSaveValues().add(new SaveValue("sv", 20f));
+        model.getAmperVariables().add(new AmperVariable<>("var", 3));
+
+        assertEquals(20.0, SNACompiler.compile("X$sv", model).evaluate(xact), 0);
+        assertEquals(3.0, SNACompiler.compile("V$var", model).evaluate(xact), 0);
+
+        // The queue is resolved on evaluation, not on compilation
+        CompiledSNA queue = SNACompiler.compile("QC$q", model);
+
+        try {
+            queue.evaluate(xact);
+            fail();
+        } catch (QueueNotFoundException e) {
+        }
+
+        model.getQueues().put("q", new QueueReport(model));
+        assertEquals(0.0, queue.evaluate(xact), 0);
+    }
+
+    /**
+     * Test of compile method with facility and storage SNAs.
+     */
+    public void testFacilityAndStorage() throws Exception {
+
+        Facility facility = new Facility(model);
+        model.getFacilities().put("fac", facility);
+
+        CompiledSNA busy = SNACompiler.compile("F$fac", model);
+        assertEquals(0.0, busy.evaluate(xact), 0);
+
+        facility.capture(xact);
+        assertEquals(1.0, busy.evaluate(xact), 0);
+        assertEquals(1.0, SNACompiler.compile("FC$fac", model).evaluate(xact), 0);
+
+        // Five entries into a storage of capacity 2, two of them still inside
+        Facility storage = new Facility(model, 2);
+        model.getFacilities().put("st", storage);
+
+        for (int i = 0; i < 3; i++) {
+            storage.capture(xact);
+            storage.release(xact);
+        }
+        storage.capture(xact);
+        storage.capture(xact);
+
+        assertEquals(2.0, SNACompiler.compile("S$st", model).evaluate(xact), 0);
+        assertEquals(0.0, SNACompiler.compile("R$st", model).evaluate(xact), 0);
+
+        storage.release(xact);
+        assertEquals(1.0, SNACompiler.compile("S$st", model).evaluate(xact), 0);
+        assertEquals(1.0, SNACompiler.compile("R$st", model).evaluate(xact), 0);
+    }
+
+    /**
+     * Test of compile method with malformed operands.
+     */
+    public void testSyntaxError() {
+
+        for (String operand : new String[]{"", "abc", "Q$", "$q", "ZZ$q", "N$x"}) {
+            try {
+                SNACompiler.compile(operand, model);
+                fail(operand);
+            } catch (ModelSyntaxException e) {
+            }
+        }
+    }
+}
@@ -0,0 +1,62 @@
+/**
+ * Software end-user license agreement.
+ *
+ * The LICENSE.TXT containing the license is located in the JGPSS project.
+ * License.txt can be downloaded here:
+ * href="http://www-eio.upc.es/~Pau/index.php?q=node/28
+ *
+ * NOTICE TO THE USER: BY COPYING, INSTALLING OR USING THIS SOFTWARE OR PART OF
+ * THIS SOFTWARE, YOU AGREE TO THE   TERMS AND CONDITIONS OF THE LICENSE AGREEMENT
+ * AS IF IT WERE A WRITTEN AGREEMENT NEGOTIATED AND SIGNED BY YOU. THE LICENSE
+ * AGREEMENT IS ENFORCEABLE AGAINST YOU AND ANY OTHER LEGAL PERSON ACTING ON YOUR
+ * BEHALF.
+ * IF, AFTER READING THE TERMS AND CONDITIONS HEREIN, YOU DO NOT AGREE TO THEM,
+ * YOU MAY NOT INSTALL THIS SOFTWARE ON YOUR COMPUTER.
+ * UPC IS THE OWNER OF ALL THE INTELLECTUAL PROPERTY OF THE SOFTWARE AND ONLY
+ * AUTHORIZES YOU TO USE THE SOFTWARE IN ACCORDANCE WITH THE TERMS SET OUT IN
+ * THE LICENSE AGREEMENT.
+ */
+package model;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.StringReader;
+import persistence.DiscManager;
+
+/**
+ * Models shared by the tests. Tests load the sample models shipped in
+ * resources/model, and only write a model inline when they need a specific
+ * block structure.
+ *
+ * @author Ezequiel Andujar Montes
+ */
+public class TestModels {
+
+    private static final String HEADER = "*\n* Test\n* model\n*\n\n* end-entities\n\n*\n* p1\n*\n";
+
+    private TestModels() {
+    }
+
+    /**
+     * Loads a sample model from resources/model
+     *
+     * @param name the file name, as queue-test.txt
+     * @return
+     * @throws Exception
+     */
+    public static Model load(String name) throws Exception {
+        return new DiscManager().leerTxt(new File("resources/model", name).toPath());
+    }
+
+    /**
+     * Parses a model without entities made of a single process with the
+     * given blocks
+     *
+     * @param blocks the lines of the blocks
+     * @return
+     * @throws Exception
+     */
+    public static Model parse(String blocks) throws Exception {
+        return new DiscManager().leerTxt(new BufferedReader(new StringReader(HEADER + blocks)));
+    }
+}
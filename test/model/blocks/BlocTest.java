@@ -0,0 +1,65 @@
+/**
+ * Software end-user license agreement.
+ *
+ * The LICENSE.TXT containing the license is located in the JGPSS project.
+ * License.txt can be downloaded here:
+ * href="http://www-eio.upc.es/~Pau/index.php?q=node/28
+ *
+ * NOTICE TO THE USER: BY COPYING, INSTALLING OR USING THIS SOFTWARE OR PART OF
+ * THIS SOFTWARE, YOU AGREE TO THE   TERMS AND CONDITIONS OF THE LICENSE AGREEMENT
+ * AS IF IT WERE A WRITTEN AGREEMENT NEGOTIATED AND SIGNED BY YOU. THE LICENSE
+ * AGREEMENT IS ENFORCEABLE AGAINST YOU AND ANY OTHER LEGAL PERSON ACTING ON YOUR
+ * BEHALF.
+ * IF, AFTER READING THE TERMS AND CONDITIONS HEREIN, YOU DO NOT AGREE TO THEM,
+ * YOU MAY NOT INSTALL THIS SOFTWARE ON YOUR COMPUTER.
+ * UPC IS THE OWNER OF ALL THE INTELLECTUAL PROPERTY OF THE SOFTWARE AND ONLY
+ * AUTHORIZES YOU TO USE THE SOFTWARE IN ACCORDANCE WITH THE TERMS SET OUT IN
+ * THE LICENSE AGREEMENT.
+ */
+package model.blocks;
+
+import junit.framework.TestCase;
+import model.entities.Xact;
+
+/**
+ *
+ * @author Ezequiel Andujar Montes
+ */
+public class BlocTest extends TestCase {
+
+    public BlocTest(String testName) {
+        super(testName);
+    }
+
+    /**
+     * Test that the counters follow the Xacts from block to block.
+     */
+    public void testCounters() {
+
+        Bloc first = new Terminate("", "", 0);
+        Bloc second = new Terminate("", "", 0);
+        Xact xact = new Xact();
+
+        first.incTrans(xact);
+        first.incTrans(xact);
+        assertEquals(1, first.getEntryCount());
+        assertEquals(1, first.getRetryCount());
+        assertEquals(1, first.getCurrentCount());
+
+        second.incTrans(xact);
+        assertEquals(0, first.getCurrentCount());
+        assertEquals(1, second.getCurrentCount());
+
+        Bloc.removeTrans(xact);
+        assertEquals(0, second.getCurrentCount());
+        assertEquals(1, second.getEntryCount());
+
+        first.incTrans(xact);
+        assertEquals(2, first.getEntryCount());
+        assertEquals(1, first.getCurrentCount());
+
+        first.clear();
+        assertEquals(0, first.getEntryCount());
+        assertEquals(0, first.getRetryCount());
+    }
+}
@@ -0,0 +1,113 @@
+/**
+ * Software end-user license agreement.
+ *
+ * The LICENSE.TXT containing the license is located in the JGPSS project.
+ * License.txt can be downloaded here:
+ * href="http://www-eio.upc.es/~Pau/index.php?q=node/28
+ *
+ * NOTICE TO THE USER: BY COPYING, INSTALLING OR USING THIS SOFTWARE OR PART OF
+ * THIS SOFTWARE, YOU AGREE TO THE   TERMS AND CONDITIONS OF THE LICENSE AGREEMENT
+ * AS IF IT WERE A WRITTEN AGREEMENT NEGOTIATED AND SIGNED BY YOU. THE LICENSE
+ * AGREEMENT IS ENFORCEABLE AGAINST YOU AND ANY OTHER LEGAL PERSON ACTING ON YOUR
+ * BEHALF.
+ * IF, AFTER READING THE TERMS AND CONDITIONS HEREIN, YOU DO NOT AGREE TO THEM,
+ * YOU MAY NOT INSTALL THIS SOFTWARE ON YOUR COMPUTER.
+ * UPC IS THE OWNER OF ALL THE INTELLECTUAL PROPERTY OF THE SOFTWARE AND ONLY
+ * AUTHORIZES YOU TO USE THE SOFTWARE IN ACCORDANCE WITH THE TERMS SET OUT IN
+ * THE LICENSE AGREEMENT.
+ */
+package model.blocks;
+
+import junit.framework.TestCase;
+import model.Model;
+import model.entities.Xact;
+
+/**
+ *
+ * @author Ezequiel Andujar Montes
+ */
+public class FacilityTest extends TestCase {
+
+    private Model model;
+
+    public FacilityTest(String testName) {
+        super(testName);
+    }
+
+    @Override
+    protected void setUp() throws Exception {
+        super.setUp();
+        model = new Model();
+    }
+
+    private Xact xact(int id, Bloc bloc) {
+        Xact xact = new Xact();
+        xact.setID(id);
+        xact.setBloc(bloc);
+        return xact;
+    }
+
+    /**
+     * Test that a blocked Xact is only woken by a release.
+     */
+    public void testReleaseWakesDelayChain() {
+
+        Facility facility = model.getFacility("F");
+        assertSame(facility.getDelayChain(), model.getBEC().get("F"));
+
+        Xact owner = xact(1, null);
+        Xact waiting = xact(2, null);
+
+        assertTrue(facility.capture(owner));
+        assertFalse(facility.capture(waiting));
+        facility.block(waiting);
+        assertTrue(model.getCEC().isEmpty());
+
+        facility.release(owner);
+        assertEquals(0, facility.getDelayChain().size());
+        assertSame(waiting, model.getCEC().poll());
+    }
+
+    /**
+     * Test that only the Xacts fitting in the free units are woken, skipping
+     * the ones that ask for more.
+     */
+    public void testStorageSkip() {
+
+        Facility facility = model.getFacility("S", 3);
+        Xact owner = xact(1, null);
+        Xact big = xact(2, new Enter("", "", "S", 3));
+        Xact small = xact(3, new Enter("", "", "S", 1));
+
+        assertTrue(facility.capture(3, owner));
+        facility.block(big);
+        facility.block(small);
+
+        facility.release(2, owner);
+        assertEquals(1, model.getCEC().size());
+        assertSame(small, model.getCEC().poll());
+        assertSame(big, facility.getDelayChain().peek());
+
+        facility.setMaxCapacity(6);
+        assertSame(big, model.getCEC().poll());
+    }
+
+    /**
+     * Test that the delay chain is woken when the facility becomes available.
+     */
+    public void testAvailabilityWakesDelayChain() {
+
+        Facility facility = model.getFacility("F");
+        Xact waiting = xact(1, null);
+
+        facility.setAvailable(false);
+        assertFalse(facility.capture(waiting));
+        facility.block(waiting);
+
+        facility.setAvailable(false);
+        assertTrue(model.getCEC().isEmpty());
+
+        facility.setAvailable(true);
+        assertSame(waiting, model.getCEC().poll());
+    }
+}
@@ -0,0 +1,75 @@
+/**
+ * Software end-user license agreement.
+ *
+ * The LICENSE.TXT containing the license is located in the JGPSS project.
+ * License.txt can be downloaded here:
+ * href="http://www-eio.upc.es/~Pau/index.php?q=node/28
+ *
+ * NOTICE TO THE USER: BY COPYING, INSTALLING OR USING THIS SOFTWARE OR PART OF
+ * THIS SOFTWARE, YOU AGREE TO THE   TERMS AND CONDITIONS OF THE LICENSE AGREEMENT
+ * AS IF IT WERE A WRITTEN AGREEMENT NEGOTIATED AND SIGNED BY YOU. THE LICENSE
+ * AGREEMENT IS ENFORCEABLE AGAINST YOU AND ANY OTHER LEGAL PERSON ACTING ON YOUR
+ * BEHALF.
+ * IF, AFTER READING THE TERMS AND CONDITIONS HEREIN, YOU DO NOT AGREE TO THEM,
+ * YOU MAY NOT INSTALL THIS SOFTWARE ON YOUR COMPUTER.
+ * UPC IS THE OWNER OF ALL THE INTELLECTUAL PROPERTY OF THE SOFTWARE AND ONLY
+ * AUTHORIZES YOU TO USE THE SOFTWARE IN ACCORDANCE WITH THE TERMS SET OUT IN
+ * THE LICENSE AGREEMENT.
+ */
+package model.blocks;
+
+import junit.framework.TestCase;
+import model.Model;
+import model.RunControl;
+import model.StopReason;
+import model.TestModels;
+
+/**
+ *
+ * @author Ezequiel Andujar Montes
+ */
+public class GatherTest extends TestCase {
+
+    private static final String BLOCKS = "        Generate        Uniform,2.0,0.0,0.0,2.0,0.0,0     ;\n"
+            + "        Split           2,SLOW     ;\n"
+            + "        Advance         Uniform,1.0,0.0     ;\n"
+            + "        Transfer        ,G     ;\n"
+            + "SLOW    Advance         Uniform,10.0,0.0     ;\n"
+            + "G       Gather          3     ;\n"
+            + "A       Assemble        3     ;\n"
+            + "        Terminate       1     ;\n";
+
+    public GatherTest(String testName) {
+        super(testName);
+    }
+
+    /**
+     * Test that every assembly set is gathered on its own, and that ASSEMBLE
+     * lets one Xact of each set go on.
+     */
+    public void testGatherAndAssemble() throws Exception {
+
+        Model model = TestModels.parse(BLOCKS);
+        model.setTC(2);
+        model.initialize();
+
+        Bloc gather = model.getProces().get(0).findBloc("G");
+        Bloc assemble = model.getProces().get(0).findBloc("A");
+        Bloc terminate = model.getProces().get(0).getBlocs().get(7);
+
+        // The first set is gathered at 12, the parent of the second waits
+        assertEquals(StopReason.TIME, model.run(RunControl.untilTime(13)));
+        assertEquals(1, gather.getMatchChain().size());
+        assertEquals(4, gather.getEntryCount());
+        assertEquals(3, assemble.getEntryCount());
+        assertEquals(1, terminate.getEntryCount());
+        assertTrue(assemble.getMatchChain().isEmpty());
+
+        assertEquals(StopReason.TERMINATED, model.run(new RunControl()));
+        assertEquals(14f, model.getRelativeClock(), 1e-4f);
+        assertTrue(gather.getMatchChain().isEmpty());
+        assertEquals(6, assemble.getEntryCount());
+        assertEquals(2, terminate.getEntryCount());
+        assertEquals(0, assemble.getCurrentCount());
+    }
+}
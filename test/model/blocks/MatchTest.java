@@ -0,0 +1,76 @@
+/**
+ * Software end-user license agreement.
+ *
+ * The LICENSE.TXT containing the license is located in the JGPSS project.
+ * License.txt can be downloaded here:
+ * href="http://www-eio.upc.es/~Pau/index.php?q=node/28
+ *
+ * NOTICE TO THE USER: BY COPYING, INSTALLING OR USING THIS SOFTWARE OR PART OF
+ * THIS SOFTWARE, YOU AGREE TO THE   TERMS AND CONDITIONS OF THE LICENSE AGREEMENT
+ * AS IF IT WERE A WRITTEN AGREEMENT NEGOTIATED AND SIGNED BY YOU. THE LICENSE
+ * AGREEMENT IS ENFORCEABLE AGAINST YOU AND ANY OTHER LEGAL PERSON ACTING ON YOUR
+ * BEHALF.
+ * IF, AFTER READING THE TERMS AND CONDITIONS HEREIN, YOU DO NOT AGREE TO THEM,
+ * YOU MAY NOT INSTALL THIS SOFTWARE ON YOUR COMPUTER.
+ * UPC IS THE OWNER OF ALL THE INTELLECTUAL PROPERTY OF THE SOFTWARE AND ONLY
+ * AUTHORIZES YOU TO USE THE SOFTWARE IN ACCORDANCE WITH THE TERMS SET OUT IN
+ * THE LICENSE AGREEMENT.
+ */
+package model.blocks;
+
+import junit.framework.TestCase;
+import model.Model;
+import model.StopReason;
+import model.RunControl;
+import model.TestModels;
+
+/**
+ *
+ * @author Ezequiel Andujar Montes
+ */
+public class MatchTest extends TestCase {
+
+    /**
+     * The parent and the copy of the first GENERATE meet at the MATCH pair.
+     * The Xact of the second GENERATE, another assembly set, waits at MB
+     * before them and never matches.
+     */
+    private static final String BLOCKS = "        Generate        Uniform,2.0,0.0,0.0,1.0,0.0,0     ;\n"
+            + "        Split           1,OTHER     ;\n"
+            + "        Advance         Uniform,1.0,0.0     ;\n"
+            + "MA      Match           MB     ;\n"
+            + "        Terminate       1     ;\n"
+            + "OTHER   Advance         Uniform,10.0,0.0     ;\n"
+            + "MB      Match           MA     ;\n"
+            + "        Terminate       1     ;\n"
+            + "        Generate        Uniform,2.5,0.0,0.0,1.0,0.0,0     ;\n"
+            + "        Transfer        ,MB     ;\n";
+
+    public MatchTest(String testName) {
+        super(testName);
+    }
+
+    /**
+     * Test that the Xacts of an assembly set wait for each other at the
+     * conjugate MATCH blocks.
+     */
+    public void testMatch() throws Exception {
+
+        Model model = TestModels.parse(BLOCKS);
+        model.setTC(2);
+        model.initialize();
+
+        Bloc ma = model.getProces().get(0).findBloc("MA");
+        Bloc mb = model.getProces().get(0).findBloc("MB");
+
+        assertEquals(StopReason.TIME, model.run(RunControl.untilTime(5)));
+        assertEquals(1, ma.getMatchChain().size());
+        assertEquals(1, mb.getMatchChain().size());
+
+        assertEquals(StopReason.TERMINATED, model.run(new RunControl()));
+        assertEquals(12f, model.getRelativeClock(), 1e-4f);
+        assertTrue(ma.getMatchChain().isEmpty());
+        assertEquals(1, mb.getMatchChain().size());
+        assertEquals(2, mb.getEntryCount());
+    }
+}
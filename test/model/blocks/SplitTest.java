@@ -0,0 +1,87 @@
+/**
+ * Software end-user license agreement.
+ *
+ * The LICENSE.TXT containing the license is located in the JGPSS project.
+ * License.txt can be downloaded here:
+ * href="http://www-eio.upc.es/~Pau/index.php?q=node/28
+ *
+ * NOTICE TO THE USER: BY COPYING, INSTALLING OR USING THIS SOFTWARE OR PART OF
+ * THIS SOFTWARE, YOU AGREE TO THE   TERMS AND CONDITIONS OF THE LICENSE AGREEMENT
+ * AS IF IT WERE A WRITTEN AGREEMENT NEGOTIATED AND SIGNED BY YOU. THE LICENSE
+ * AGREEMENT IS ENFORCEABLE AGAINST YOU AND ANY OTHER LEGAL PERSON ACTING ON YOUR
+ * BEHALF.
+ * IF, AFTER READING THE TERMS AND CONDITIONS HEREIN, YOU DO NOT AGREE TO THEM,
+ * YOU MAY NOT INSTALL THIS SOFTWARE ON YOUR COMPUTER.
+ * UPC IS THE OWNER OF ALL THE INTELLECTUAL PROPERTY OF THE SOFTWARE AND ONLY
+ * AUTHORIZES YOU TO USE THE SOFTWARE IN ACCORDANCE WITH THE TERMS SET OUT IN
+ * THE LICENSE AGREEMENT.
+ */
+package model.blocks;
+
+import java.util.ArrayList;
+import java.util.List;
+import junit.framework.TestCase;
+import model.Model;
+import model.RunControl;
+import model.TestModels;
+import model.entities.Xact;
+
+/**
+ *
+ * @author Ezequiel Andujar Montes
+ */
+public class SplitTest extends TestCase {
+
+    private static final String BLOCKS = "        Generate        Uniform,1.0,0.0,0.0,1.0,0.0,0     ;\n"
+            + "        Split           3,COPY,SN     ;\n"
+            + "        Advance         Uniform,100.0,0.0     ;\n"
+            + "        Terminate       1     ;\n"
+            + "COPY    Advance         Uniform,50.0,0.0     ;\n"
+            + "        Terminate       0     ;\n";
+
+    public SplitTest(String testName) {
+        super(testName);
+    }
+
+    /**
+     * Test that the copies go to operand B with their own ids and serial
+     * numbers, in the assembly set of the parent, which goes on to the next
+     * block.
+     */
+    public void testSplit() throws Exception {
+
+        Model model = TestModels.parse(BLOCKS);
+        model.setTC(1);
+        model.initialize();
+        model.run(RunControl.untilTime(10));
+
+        Bloc copy = model.getProces().get(0).findBloc("COPY");
+        Bloc next = model.getProces().get(0).getBlocs().get(2);
+        // The Xacts on the FEC are already set on the block after the ADVANCE
+        Bloc parentAfter = model.getProces().get(0).getBlocs().get(3);
+        Bloc copyAfter = model.getProces().get(0).getBlocs().get(5);
+        assertEquals(3, copy.getEntryCount());
+        assertEquals(1, next.getEntryCount());
+
+        List<Xact> xacts = new ArrayList<>(model.getFEC());
+        assertEquals(4, xacts.size());
+
+        Xact parent = xacts.stream().filter(x -> x.getBloc() == parentAfter).findFirst().get();
+        assertEquals(0, parent.getParameter("SN"));
+
+        int serials = 0;
+        for (Xact xact : xacts) {
+            assertEquals(parent.getAssemblySet(), xact.getAssemblySet());
+            assertEquals(1, xacts.stream().filter(x -> x.getID() == xact.getID()).count());
+            if (xact != parent) {
+                assertSame(copyAfter, xact.getBloc());
+                serials += (Integer) xact.getParameter("SN");
+            }
+        }
+        assertEquals(1 + 2 + 3, serials);
+
+        model.run(new RunControl());
+        assertEquals(101f, model.getRelativeClock(), 1e-4f);
+        assertEquals(3, model.getProces().get(0).getBlocs().get(5).getEntryCount());
+    }
+}
@@ -0,0 +1,257 @@
+/**
+ * Software end-user license agreement.
+ *
+ * The LICENSE.TXT containing the license is located in the JGPSS project.
+ * License.txt can be downloaded here:
+ * href="http://www-eio.upc.es/~Pau/index.php?q=node/28
+ *
+ * NOTICE TO THE USER: BY COPYING, INSTALLING OR USING THIS SOFTWARE OR PART OF
+ * THIS SOFTWARE, YOU AGREE TO THE   TERMS AND CONDITIONS OF THE LICENSE AGREEMENT
+ * AS IF IT WERE A WRITTEN AGREEMENT NEGOTIATED AND SIGNED BY YOU. THE LICENSE
+ * AGREEMENT IS ENFORCEABLE AGAINST YOU AND ANY OTHER LEGAL PERSON ACTING ON YOUR
+ * BEHALF.
+ * IF, AFTER READING THE TERMS AND CONDITIONS HEREIN, YOU DO NOT AGREE TO THEM,
+ * YOU MAY NOT INSTALL THIS SOFTWARE ON YOUR COMPUTER.
+ * UPC IS THE OWNER OF ALL THE INTELLECTUAL PROPERTY OF THE SOFTWARE AND ONLY
+ * AUTHORIZES YOU TO USE THE SOFTWARE IN ACCORDANCE WITH THE TERMS SET OUT IN
+ * THE LICENSE AGREEMENT.
+ */
+package model.chains;
+
+import java.util.ArrayList;
+import java.util.Random;
+import junit.framework.TestCase;
+import model.Model;
+import model.entities.Xact;
+
+/**
+ *
+ * @author Ezequiel Andujar Montes
+ */
+public class EventChainTest extends TestCase {
+
+    private Model model;
+
+    public EventChainTest(String testName) {
+        super(testName);
+    }
+
+    @Override
+    protected void setUp() throws Exception {
+        super.setUp();
+        model = new Model();
+    }
+
+    @Override
+    protected void tearDown() throws Exception {
+        super.tearDown();
+    }
+
+    private Xact xact(int id, float time) {
+        Xact xact = new Xact();
+        xact.setID(id);
+        xact.setMoveTime(time);
+        return xact;
+    }
+
+    private void checkOrdering(EventChain chain) {
+
+        Random rnd = new Random(7);
+        float clock = 0;
+        int id = 0;
+
+        for (int i = 0; i < 5000; i++) {
+            chain.add(xact(id++, clock + rnd.nextFloat() * 100));
+        }
+
+        while (!chain.isEmpty()) {
+            Xact xact = chain.poll();
+            assertTrue(xact.getMoveTime() >= clock);
+            clock = xact.getMoveTime();
+
+            if (id < 20000) {
+                chain.add(xact(id++, clock + rnd.nextFloat() * 100));
+                if (rnd.nextBoolean()) {
+                    chain.add(xact(id++, clock + (float) -Math.log(rnd.nextDouble())));
+                }
+            }
+        }
+        assertEquals(0, chain.size());
+    }
+
+    /**
+     * Test of the ordering of the heap chain.
+     */
+    public void testHeapOrdering() {
+        checkOrdering(EventChainType.HEAP.create(model.getTimeComparator()));
+    }
+
+    /**
+     * Test of the ordering of the calendar chain.
+     */
+    public void testCalendarOrdering() {
+        checkOrdering(EventChainType.CALENDAR.create(model.getTimeComparator()));
+    }
+
+    /**
+     * Test of the ordering of the adaptive chain.
+     */
+    public void testAdaptiveOrdering() {
+        checkOrdering(EventChainType.AUTO.create(model.getTimeComparator()));
+    }
+
+    /**
+     * Xacts with the same move time leave a calendar chain in arrival order.
+     */
+    public void testCalendarTies() {
+
+        EventChain chain = new CalendarEventChain();
+
+        for (int i = 0; i < 100; i++) {
+            chain.add(xact(i, i % 3));
+        }
+
+        int last = -1;
+        float lastTime = 0;
+        while (!chain.isEmpty()) {
+            Xact xact = chain.poll();
+            if (xact.getMoveTime() == lastTime) {
+                assertTrue(xact.getID() > last);
+            }
+            last = xact.getID();
+            lastTime = xact.getMoveTime();
+        }
+    }
+
+    /**
+     * Test of contains and remove of the calendar chain.
+     */
+    public void testCalendarRemove() {
+
+        EventChain chain = new CalendarEventChain();
+        ArrayList<Xact> xacts = new ArrayList<>();
+
+        for (int i = 0; i < 1000; i++) {
+            Xact xact = xact(i, i * 0.5f);
+            xacts.add(xact);
+            chain.add(xact);
+        }
+
+        for (int i = 0; i < 1000; i += 2) {
+            assertTrue(chain.contains(xacts.get(i)));
+            assertTrue(chain.remove(xacts.get(i)));
+            assertFalse(chain.contains(xacts.get(i)));
+        }
+        assertEquals(500, chain.size());
+
+        for (int i = 1; i < 1000; i += 2) {
+            assertSame(xacts.get(i), chain.poll());
+        }
+    }
+
+    /**
+     * Xacts scheduled before the current day are served first.
+     */
+    public void testCalendarPastInsertion() {
+
+        EventChain chain = new CalendarEventChain();
+
+        for (int i = 0; i < 100; i++) {
+            chain.add(xact(i, 50 + i));
+        }
+        assertEquals(50f, chain.poll().getMoveTime());
+        chain.add(xact(100, 10));
+        assertEquals(10f, chain.poll().getMoveTime());
+        assertEquals(51f, chain.poll().getMoveTime());
+    }
+
+    /**
+     * The Xacts already scheduled are kept when the FEC type changes.
+     */
+    public void testSetFECType() {
+
+        model.getFEC().add(xact(1, 3));
+        model.getFEC().add(xact(2, 1));
+        model.setFECType(EventChainType.CALENDAR);
+
+        assertEquals(EventChainType.CALENDAR, model.getFEC().getType());
+        assertEquals(1f, model.getFEC().poll().getMoveTime());
+        assertEquals(3f, model.getFEC().poll().getMoveTime());
+    }
+
+    /**
+     * Test of contains, remove and reschedule of the indexed heap.
+     */
+    public void testHeapRemoveAndReschedule() {
+
+        EventChain chain = new HeapEventChain(model.getTimeComparator());
+        ArrayList<Xact> xacts = new ArrayList<>();
+        Random rnd = new Random(3);
+
+        for (int i = 0; i < 1000; i++) {
+            Xact xact = xact(i, rnd.nextFloat() * 1000);
+            xacts.add(xact);
+            chain.add(xact);
+        }
+
+        for (int i = 0; i < 1000; i += 3) {
+            assertTrue(chain.remove(xacts.get(i)));
+            assertFalse(chain.contains(xacts.get(i)));
+            assertEquals(-1, xacts.get(i).getHeapIndex());
+        }
+        for (int i = 1; i < 1000; i += 3) {
+            assertTrue(chain.reschedule(xacts.get(i), rnd.nextFloat() * 1000));
+        }
+        assertFalse(chain.reschedule(xacts.get(0), 1));
+        assertEquals(666, chain.size());
+
+        float clock = 0;
+        while (!chain.isEmpty()) {
+            Xact xact = chain.poll();
+            assertTrue(xact.getMoveTime() >= clock);
+            assertFalse(chain.contains(xact));
+            clock = xact.getMoveTime();
+        }
+    }
+
+    /**
+     * Test of reschedule on every chain type. A rescheduled Xact moves both
+     * earlier and later than its previous time.
+     */
+    public void testReschedule() {
+
+        for (EventChainType type : EventChainType.values()) {
+
+            EventChain chain = type.create(model.getTimeComparator());
+            Xact first = xact(1, 10);
+            Xact second = xact(2, 20);
+            Xact third = xact(3, 30);
+            chain.add(first);
+            chain.add(second);
+            chain.add(third);
+
+            assertTrue(chain.reschedule(third, 5));
+            assertTrue(chain.reschedule(first, 25));
+            assertFalse(type.name(), chain.reschedule(xact(4, 1), 1));
+            assertEquals(3, chain.size());
+
+            assertSame(type.name(), third, chain.poll());
+            assertSame(type.name(), second, chain.poll());
+            assertSame(type.name(), first, chain.poll());
+            assertEquals(25f, first.getMoveTime());
+        }
+    }
+
+    /**
+     * A cloned Xact is not scheduled on the chain.
+     */
+    public void testCloneNotScheduled() throws Exception {
+
+        EventChain chain = new HeapEventChain(model.getTimeComparator());
+        Xact xact = xact(1, 1);
+        chain.add(xact);
+
+        assertTrue(chain.contains(xact));
+        assertFalse(chain.contains(xact.clone()));
+    }
+}
@@ -20,6 +20,7 @@ package model.entities;
 
 import exceptions.MalformedFunctionDistributionException;
 import junit.framework.TestCase;
+import model.Model;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.ExpectedException;
@@ -186,4 +187,58 @@ public class FunctionTest extends TestCase {
         Float result = f.evaluate();
         assertTrue(result >= 1f && result <= 5f);
     }
+
+    @Test
+    public void test19() throws Exception {
+
+        Function f = new Function("test", ".25", "C3", "0,0/.5,10/1,30");
+        assertEquals(5f, f.evaluate(), 1e-6);
+        f.setA(".75");
+        assertEquals(20f, f.evaluate(), 1e-6);
+        f.setA("2");
+        assertEquals(30f, f.evaluate(), 1e-6);
+        f.setA("-1");
+        assertEquals(0f, f.evaluate(), 1e-6);
+    }
+
+    @Test
+    public void test20() throws Exception {
+
+        // Points written out of order are sorted by X
+        Function f = new Function("test", ".8", "D3", "1,3/.5,1/.75,2");
+        assertEquals(3f, f.evaluate());
+    }
+
+    @Test
+    public void test21() throws Exception {
+
+        Model model = new Model();
+        model.getSaveValues().add(new SaveValue("SV", 7f));
+
+        Function e = new Function("test", ".5", "E2", ".4,C1/1,X$SV");
+        assertEquals(7f, e.evaluate(model, null));
+
+        Function m = new Function("test", "2", "M2", "1,C1/2,X$SV");
+        assertEquals(7f, m.evaluate(model, null));
+        m.setA("3");
+        assertEquals(0f, m.evaluate(model, null));
+    }
+
+    @Test
+    public void test22() throws Exception {
+
+        // The alias table keeps the probabilities of the cumulative points
+        Model model = new Model();
+        Function f = new Function("test", "RN1", "D4", ".1,1/.4,2/.9,3/.95,4");
+        int[] counts = new int[5];
+        int n = 200000;
+
+        for (int i = 0; i < n; i++) {
+            counts[Math.round(f.evaluate(model))]++;
+        }
+        assertEquals(.1, counts[1] / (double) n, .005);
+        assertEquals(.3, counts[2] / (double) n, .005);
+        assertEquals(.5, counts[3] / (double) n, .005);
+        assertEquals(.1, counts[4] / (double) n, .005);
+    }
 }
@@ -0,0 +1,77 @@
+/**
+ * Software end-user license agreement.
+ *
+ * The LICENSE.TXT containing the license is located in the JGPSS project.
+ * License.txt can be downloaded here:
+ * href="http://www-eio.upc.es/~Pau/index.php?q=node/28
+ *
+ * NOTICE TO THE USER: BY COPYING, INSTALLING OR USING THIS SOFTWARE OR PART OF
+ * THIS SOFTWARE, YOU AGREE TO THE   TERMS AND CONDITIONS OF THE LICENSE AGREEMENT
+ * AS IF IT WERE A WRITTEN AGREEMENT NEGOTIATED AND SIGNED BY YOU. THE LICENSE
+ * AGREEMENT IS ENFORCEABLE AGAINST YOU AND ANY OTHER LEGAL PERSON ACTING ON YOUR
+ * BEHALF.
+ * IF, AFTER READING THE TERMS AND CONDITIONS HEREIN, YOU DO NOT AGREE TO THEM,
+ * YOU MAY NOT INSTALL THIS SOFTWARE ON YOUR COMPUTER.
+ * UPC IS THE OWNER OF ALL THE INTELLECTUAL PROPERTY OF THE SOFTWARE AND ONLY
+ * AUTHORIZES YOU TO USE THE SOFTWARE IN ACCORDANCE WITH THE TERMS SET OUT IN
+ * THE LICENSE AGREEMENT.
+ */
+package model.entities;
+
+import junit.framework.TestCase;
+import model.Model;
+
+/**
+ *
+ * @author Ezequiel Andujar Montes
+ */
+public class QueueReportTest extends TestCase {
+
+    private Model model;
+
+    public QueueReportTest(String testName) {
+        super(testName);
+    }
+
+    @Override
+    protected void setUp() throws Exception {
+        super.setUp();
+        model = new Model();
+    }
+
+    /**
+     * Test the time-weighted content and the average residence times.
+     */
+    public void testTimeWeightedStatistics() {
+
+        QueueReport queue = model.getQueue("Q");
+        Xact a = new Xact();
+        Xact b = new Xact();
+        Xact c = new Xact();
+
+        // a stays 4 time units, b stays 2 and c is a zero entry
+        queue.incCurrentCount(1, a);
+        model.setRelativeClock(2);
+        queue.incCurrentCount(1, b);
+        model.setRelativeClock(4);
+        queue.decCurrentCount(1, a);
+        queue.decCurrentCount(1, b);
+        queue.incCurrentCount(1, c);
+        queue.decCurrentCount(1, c);
+        model.setRelativeClock(8);
+
+        assertEquals(3, queue.getTotalEntries());
+        assertEquals(1, queue.getZeroEntries());
+        assertEquals(2, queue.getMaxCount());
+        assertEquals(0, queue.getCurrentCount());
+        assertEquals(0.75f, queue.getAvgContent(), 1e-6);
+        assertEquals(2f, queue.getAvgTime(), 1e-6);
+        assertEquals(3f, queue.getAvgTime(true), 1e-6);
+        assertEquals(100.0 / 3, queue.getPercentZeros(), 1e-6);
+
+        queue.clean();
+        assertEquals(0f, queue.getAvgContent(), 1e-6);
+        assertEquals(0f, queue.getAvgTime(), 1e-6);
+        assertEquals(0.0, queue.getPercentZeros(), 1e-6);
+    }
+}
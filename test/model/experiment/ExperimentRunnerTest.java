@@ -0,0 +1,133 @@
+/**
+ * Software end-user license agreement.
+ *
+ * The LICENSE.TXT containing the license is located in the JGPSS project.
+ * License.txt can be downloaded here:
+ * href="http://www-eio.upc.es/~Pau/index.php?q=node/28
+ *
+ * NOTICE TO THE USER: BY COPYING, INSTALLING OR USING THIS SOFTWARE OR PART OF
+ * THIS SOFTWARE, YOU AGREE TO THE   TERMS AND CONDITIONS OF THE LICENSE AGREEMENT
+ * AS IF IT WERE A WRITTEN AGREEMENT NEGOTIATED AND SIGNED BY YOU. THE LICENSE
+ * AGREEMENT IS ENFORCEABLE AGAINST YOU AND ANY OTHER LEGAL PERSON ACTING ON YOUR
+ * BEHALF.
+ * IF, AFTER READING THE TERMS AND CONDITIONS HEREIN, YOU DO NOT AGREE TO THEM,
+ * YOU MAY NOT INSTALL THIS SOFTWARE ON YOUR COMPUTER.
+ * UPC IS THE OWNER OF ALL THE INTELLECTUAL PROPERTY OF THE SOFTWARE AND ONLY
+ * AUTHORIZES YOU TO USE THE SOFTWARE IN ACCORDANCE WITH THE TERMS SET OUT IN
+ * THE LICENSE AGREEMENT.
+ */
+package model.experiment;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import junit.framework.TestCase;
+import model.Model;
+import model.TestModels;
+
+/**
+ *
+ * @author Ezequiel Andujar Montes
+ */
+public class ExperimentRunnerTest extends TestCase {
+
+    public ExperimentRunnerTest(String testName) {
+        super(testName);
+    }
+
+    /**
+     * Test the full factorial and the latin hypercube designs.
+     */
+    public void testDesign() {
+
+        Factor a = new Factor(Factor.Kind.STORAGE, "a", 1, 2, 3);
+        Factor b = new Factor(Factor.Kind.SAVEVALUE, "b", 0, 10);
+
+        Design grid = Design.grid(Arrays.asList(a, b));
+        assertEquals(6, grid.size());
+        Set<String> points = new HashSet<>();
+        for (int i = 0; i < grid.size(); i++) {
+            points.add(Arrays.toString(grid.getPoint(i)));
+        }
+        assertEquals(6, points.size());
+
+        Design lhs = Design.latinHypercube(Arrays.asList(a, b), 10, 7);
+        assertEquals(10, lhs.size());
+        boolean[] strata = new boolean[10];
+        for (int i = 0; i < lhs.size(); i++) {
+            double v = lhs.getPoint(i)[1];
+            assertTrue(v >= 0 && v <= 10);
+            strata[Math.min(9, (int) v)] = true;
+        }
+        for (boolean s : strata) {
+            assertTrue(s);
+        }
+    }
+
+    /**
+     * Test that every run of the design is written to the CSV.
+     */
+    public void testRun() throws Exception {
+
+        Model model = TestModels.load("storage-test.txt");
+        model.setTC(10);
+
+        Design design = Design.grid(Arrays.asList(new Factor(Factor.Kind.STORAGE, "storage", 4, 8)));
+        ExperimentRunner runner = new ExperimentRunner(model, design);
+        runner.setReplications(3);
+        runner.setThreads(2);
+
+        StringWriter out = new StringWriter();
+        runner.run(out);
+
+        String[] lines = out.toString().split("\\r?\\n");
+        assertEquals("point,replication,STORAGE storage,entity,measure,value", lines[0]);
+
+        Set<String> runs = new HashSet<>();
+        for (int i = 1; i < lines.length; i++) {
+            String[] fields = lines[i].split(",");
+            runs.add(fields[0] + "," + fields[1]);
+            if (fields[3].equals("MODEL")) {
+                assertEquals(fields[0].equals("0") ? "4.0" : "8.0", fields[2]);
+            }
+        }
+        assertEquals(6, runs.size());
+    }
+
+    /**
+     * Test that an error of the output is not swallowed.
+     */
+    public void testRunOutputError() throws Exception {
+
+        Model model = TestModels.load("storage-test.txt");
+        model.setTC(10);
+
+        Design design = Design.grid(Arrays.asList(new Factor(Factor.Kind.STORAGE, "storage", 4, 8)));
+        ExperimentRunner runner = new ExperimentRunner(model, design);
+
+        Writer full = new Writer() {
+            @Override
+            public void write(char[] cbuf, int off, int len) throws IOException {
+                throw new IOException("No space left on device");
+            }
+
+            @Override
+            public void flush() {
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+
+        try {
+            runner.run(full);
+            fail();
+        } catch (IOException e) {
+            assertEquals("No space left on device", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,91 @@
+/**
+ * Software end-user license agreement.
+ *
+ * The LICENSE.TXT containing the license is located in the JGPSS project.
+ * License.txt can be downloaded here:
+ * href="http://www-eio.upc.es/~Pau/index.php?q=node/28
+ *
+ * NOTICE TO THE USER: BY COPYING, INSTALLING OR USING THIS SOFTWARE OR PART OF
+ * THIS SOFTWARE, YOU AGREE TO THE   TERMS AND CONDITIONS OF THE LICENSE AGREEMENT
+ * AS IF IT WERE A WRITTEN AGREEMENT NEGOTIATED AND SIGNED BY YOU. THE LICENSE
+ * AGREEMENT IS ENFORCEABLE AGAINST YOU AND ANY OTHER LEGAL PERSON ACTING ON YOUR
+ * BEHALF.
+ * IF, AFTER READING THE TERMS AND CONDITIONS HEREIN, YOU DO NOT AGREE TO THEM,
+ * YOU MAY NOT INSTALL THIS SOFTWARE ON YOUR COMPUTER.
+ * UPC IS THE OWNER OF ALL THE INTELLECTUAL PROPERTY OF THE SOFTWARE AND ONLY
+ * AUTHORIZES YOU TO USE THE SOFTWARE IN ACCORDANCE WITH THE TERMS SET OUT IN
+ * THE LICENSE AGREEMENT.
+ */
+package model.generator;
+
+import junit.framework.TestCase;
+import model.Model;
+import model.Proces;
+import model.blocks.Bloc;
+
+/**
+ *
+ * @author Ezequiel Andujar Montes
+ */
+public class ModelGeneratorTest extends TestCase {
+
+    public ModelGeneratorTest(String testName) {
+        super(testName);
+    }
+
+    private static ModelGenerator generator() {
+        ModelGenerator generator = new ModelGenerator();
+        generator.setProcesses(20);
+        generator.setFacilities(40);
+        generator.setStorages(5);
+        generator.setQueueChain(2);
+        generator.setFanOut(3);
+        generator.setMatchPairs(2);
+        generator.setHoldTime(50);
+        generator.setArrivalMean(20);
+        return generator;
+    }
+
+    /**
+     * Test that the same settings give the same model, with the expected
+     * number of blocks.
+     */
+    public void testGenerate() throws Exception {
+
+        ModelGenerator generator = generator();
+        assertEquals(generator.generate(), generator().generate());
+
+        Model model = generator.model();
+        assertEquals(20, model.getProces().size());
+        assertEquals(generator.blocks(), model.getProces().stream().mapToInt(p -> p.getBlocs().size()).sum());
+
+        generator.setSeed(2);
+        assertFalse(generator.generate().equals(generator().generate()));
+    }
+
+    /**
+     * Test that the Xacts go through the TRANSFER fan-out and the SPLIT,
+     * MATCH, GATHER and ASSEMBLE blocks of the generated model.
+     */
+    public void testRun() throws Exception {
+
+        Model model = generator().model();
+        model.setTC(2000);
+        model.initialize();
+        model.executeAll();
+
+        assertEquals(0, model.getTC());
+
+        long waiting = 0;
+        for (Proces proces : model.getProces()) {
+            for (Bloc bloc : proces.getBlocs()) {
+                waiting += bloc.getMatchChain().size();
+                if (bloc.name().equals("Match") || bloc.name().equals("Assemble")) {
+                    assertTrue(bloc.getEntryCount() > 0);
+                }
+            }
+        }
+        // Only the Xacts still waiting for the other member of their set
+        assertTrue(waiting < 100);
+    }
+}
@@ -0,0 +1,89 @@
+/**
+ * Software end-user license agreement.
+ *
+ * The LICENSE.TXT containing the license is located in the JGPSS project.
+ * License.txt can be downloaded here:
+ * href="http://www-eio.upc.es/~Pau/index.php?q=node/28
+ *
+ * NOTICE TO THE USER: BY COPYING, INSTALLING OR USING THIS SOFTWARE OR PART OF
+ * THIS SOFTWARE, YOU AGREE TO THE   TERMS AND CONDITIONS OF THE LICENSE AGREEMENT
+ * AS IF IT WERE A WRITTEN AGREEMENT NEGOTIATED AND SIGNED BY YOU. THE LICENSE
+ * AGREEMENT IS ENFORCEABLE AGAINST YOU AND ANY OTHER LEGAL PERSON ACTING ON YOUR
+ * BEHALF.
+ * IF, AFTER READING THE TERMS AND CONDITIONS HEREIN, YOU DO NOT AGREE TO THEM,
+ * YOU MAY NOT INSTALL THIS SOFTWARE ON YOUR COMPUTER.
+ * UPC IS THE OWNER OF ALL THE INTELLECTUAL PROPERTY OF THE SOFTWARE AND ONLY
+ * AUTHORIZES YOU TO USE THE SOFTWARE IN ACCORDANCE WITH THE TERMS SET OUT IN
+ * THE LICENSE AGREEMENT.
+ */
+package model.profiling;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import junit.framework.TestCase;
+import model.Model;
+import model.TestModels;
+import model.reports.TxtReport;
+
+/**
+ *
+ * @author Ezequiel Andujar Montes
+ */
+public class EngineProfilerTest extends TestCase {
+
+    public EngineProfilerTest(String testName) {
+        super(testName);
+    }
+
+    private static Model runModel(EngineProfiler profiler) throws Exception {
+        Model model = TestModels.load("seize-test.txt");
+        model.setTC(2000);
+        model.setProfiler(profiler);
+        model.initialize();
+        model.executeAll();
+        return model;
+    }
+
+    /**
+     * Test that the profiler counts every block executed without changing
+     * the run.
+     */
+    public void testSnapshot() throws Exception {
+
+        EngineProfiler profiler = new EngineProfiler();
+        Model model = runModel(profiler);
+        EngineProfile profile = profiler.snapshot();
+
+        assertEquals(runModel(null).getRelativeClock(), model.getRelativeClock());
+        assertEquals(model.getEvents(), profile.getScanExecutions());
+        assertEquals(model.getEvents(), profile.getBlockTypes().stream().mapToLong(t -> t.getExecutions()).sum());
+        assertEquals(5, profile.getBlockTypes().size());
+        assertEquals(2000, profile.getBlockTypes().stream().filter(t -> t.getName().equals("Terminate")).findFirst().get().getExecutions());
+        assertTrue(profile.getRefusals() > 0);
+        assertTrue(profile.getClockUpdates() > 0);
+        assertTrue(profile.getMaxFEC() >= 1);
+        assertTrue(profile.getMaxScanExecutions() >= profile.getMeanScanExecutions());
+
+        profiler.reset();
+        assertEquals(0, profiler.snapshot().getScanExecutions());
+        assertTrue(profiler.snapshot().getBlockTypes().isEmpty());
+    }
+
+    /**
+     * Test that the profile is appended to the text report.
+     */
+    public void testReport() throws Exception {
+
+        Path file = Files.createTempFile("profile", "");
+        try {
+            new TxtReport().createReport(runModel(new EngineProfiler()), file.toString());
+            String report = new String(Files.readAllBytes(Paths.get(file + ".txt")), "UTF-8");
+            assertTrue(report.contains("ENGINE PROFILE"));
+            assertTrue(report.contains("Terminate"));
+        } finally {
+            Files.deleteIfExists(file);
+            Files.deleteIfExists(Paths.get(file + ".txt"));
+        }
+    }
+}
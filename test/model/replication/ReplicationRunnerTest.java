@@ -0,0 +1,89 @@
+/**
+ * Software end-user license agreement.
+ *
+ * The LICENSE.TXT containing the license is located in the JGPSS project.
+ * License.txt can be downloaded here:
+ * href="http://www-eio.upc.es/~Pau/index.php?q=node/28
+ *
+ * NOTICE TO THE USER: BY COPYING, INSTALLING OR USING THIS SOFTWARE OR PART OF
+ * THIS SOFTWARE, YOU AGREE TO THE   TERMS AND CONDITIONS OF THE LICENSE AGREEMENT
+ * AS IF IT WERE A WRITTEN AGREEMENT NEGOTIATED AND SIGNED BY YOU. THE LICENSE
+ * AGREEMENT IS ENFORCEABLE AGAINST YOU AND ANY OTHER LEGAL PERSON ACTING ON YOUR
+ * BEHALF.
+ * IF, AFTER READING THE TERMS AND CONDITIONS HEREIN, YOU DO NOT AGREE TO THEM,
+ * YOU MAY NOT INSTALL THIS SOFTWARE ON YOUR COMPUTER.
+ * UPC IS THE OWNER OF ALL THE INTELLECTUAL PROPERTY OF THE SOFTWARE AND ONLY
+ * AUTHORIZES YOU TO USE THE SOFTWARE IN ACCORDANCE WITH THE TERMS SET OUT IN
+ * THE LICENSE AGREEMENT.
+ */
+package model.replication;
+
+import junit.framework.TestCase;
+import model.Model;
+import model.TestModels;
+
+/**
+ *
+ * @author Ezequiel Andujar Montes
+ */
+public class ReplicationRunnerTest extends TestCase {
+
+    public ReplicationRunnerTest(String testName) {
+        super(testName);
+    }
+
+    /**
+     * Test the running mean, variance and the Student t quantiles.
+     */
+    public void testStatistic() {
+
+        ReplicationStatistic s = new ReplicationStatistic();
+        for (double v : new double[]{2, 4, 4, 4, 5, 5, 7, 9}) {
+            s.add(v);
+        }
+        assertEquals(8, s.getCount());
+        assertEquals(5.0, s.getMean(), 1e-12);
+        assertEquals(32.0 / 7, s.getVariance(), 1e-12);
+        assertEquals(2.0, s.getMin(), 0);
+        assertEquals(9.0, s.getMax(), 0);
+
+        assertEquals(12.706, ReplicationStatistic.tQuantile(0.975, 1), 1e-3);
+        assertEquals(4.303, ReplicationStatistic.tQuantile(0.975, 2), 1e-3);
+        assertEquals(2.228, ReplicationStatistic.tQuantile(0.975, 10), 1e-3);
+        assertEquals(2.045, ReplicationStatistic.tQuantile(0.975, 29), 1e-3);
+        assertEquals(1.960, ReplicationStatistic.normalQuantile(0.975), 1e-3);
+    }
+
+    /**
+     * Test that every replication runs on its own copy of the model.
+     */
+    public void testRun() throws Exception {
+
+        Model model = TestModels.load("queue-test.txt");
+        model.setTC(20);
+
+        ReplicationRunner runner = new ReplicationRunner(model);
+        runner.setThreads(3);
+        ReplicationResults results = runner.run(10);
+
+        assertEquals(10, results.getReplications());
+        assertEquals(0f, model.getRelativeClock());
+
+        ReplicationStatistic terminated = results.get("BLOCK 6 Terminate", "ENTRY COUNT");
+        assertEquals(10, terminated.getCount());
+        assertEquals(20.0, terminated.getMean(), 0);
+        assertEquals(0.0, terminated.getVariance(), 0);
+
+        ReplicationStatistic clock = results.get("MODEL", "END TIME");
+        assertTrue(clock.getMin() > 0);
+        assertTrue(clock.getVariance() > 0);
+        assertTrue(clock.halfWidth(0.95) > 0);
+        assertNotNull(results.get("FACILITY seize", "UTIL."));
+        assertNotNull(results.get("QUEUE queue", "AVE.TIME"));
+
+        runner.setThreads(1);
+        ReplicationStatistic again = runner.run(10).get("MODEL", "END TIME");
+        assertEquals(clock.getMean(), again.getMean(), 0);
+        assertEquals(clock.getVariance(), again.getVariance(), 0);
+    }
+}
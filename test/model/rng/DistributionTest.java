@@ -0,0 +1,134 @@
+/**
+ * Software end-user license agreement.
+ *
+ * The LICENSE.TXT containing the license is located in the JGPSS project.
+ * License.txt can be downloaded here:
+ * href="http://www-eio.upc.es/~Pau/index.php?q=node/28
+ *
+ * NOTICE TO THE USER: BY COPYING, INSTALLING OR USING THIS SOFTWARE OR PART OF
+ * THIS SOFTWARE, YOU AGREE TO THE   TERMS AND CONDITIONS OF THE LICENSE AGREEMENT
+ * AS IF IT WERE A WRITTEN AGREEMENT NEGOTIATED AND SIGNED BY YOU. THE LICENSE
+ * AGREEMENT IS ENFORCEABLE AGAINST YOU AND ANY OTHER LEGAL PERSON ACTING ON YOUR
+ * BEHALF.
+ * IF, AFTER READING THE TERMS AND CONDITIONS HEREIN, YOU DO NOT AGREE TO THEM,
+ * YOU MAY NOT INSTALL THIS SOFTWARE ON YOUR COMPUTER.
+ * UPC IS THE OWNER OF ALL THE INTELLECTUAL PROPERTY OF THE SOFTWARE AND ONLY
+ * AUTHORIZES YOU TO USE THE SOFTWARE IN ACCORDANCE WITH THE TERMS SET OUT IN
+ * THE LICENSE AGREEMENT.
+ */
+package model.rng;
+
+import exceptions.InitializeBlockError;
+import exceptions.ModelSyntaxException;
+import junit.framework.TestCase;
+import model.Model;
+import model.TestModels;
+import model.entities.rng.Erlang;
+import model.entities.rng.Exponential;
+import model.entities.rng.Gamma;
+import model.entities.rng.Lognormal;
+import model.entities.rng.Normal;
+import model.entities.rng.RNG;
+import model.entities.rng.RandomStream;
+import model.entities.rng.Triangular;
+import model.entities.rng.Weibull;
+import utils.VarGlobals;
+
+/**
+ *
+ * @author Ezequiel Andujar Montes
+ */
+public class DistributionTest extends TestCase {
+
+    private static final int N = 200000;
+
+    public DistributionTest(String testName) {
+        super(testName);
+    }
+
+    /**
+     * Checks the sample mean and variance of N values of the distribution
+     */
+    private void assertMoments(RNG rng, float A, float B, double mean, double variance) {
+
+        double sum = 0;
+        double sum2 = 0;
+
+        for (int i = 0; i < N; i++) {
+            double x = rng.generate(A, B);
+            sum += x;
+            sum2 += x * x;
+        }
+
+        double m = sum / N;
+        double v = sum2 / N - m * m;
+
+        assertEquals(rng.name() + " mean", mean, m, 0.02 * Math.max(1, Math.abs(mean)));
+        assertEquals(rng.name() + " variance", variance, v, 0.05 * Math.max(1, variance));
+    }
+
+    public void testMoments() {
+
+        assertMoments(new Normal(new RandomStream(1)), 10, 2, 10, 4);
+        assertMoments(new Exponential(new RandomStream(2)), 5, 1, 6, 25);
+        assertMoments(new Erlang(new RandomStream(3)), 6, 3, 6, 12);
+        assertMoments(new Gamma(new RandomStream(4)), 2, 0.5f, 2, 8);
+        assertMoments(new Gamma(new RandomStream(5)), 6, 4, 6, 9);
+        assertMoments(new Lognormal(new RandomStream(6)), 4, 2, 4, 4);
+        assertMoments(new Weibull(new RandomStream(7)), 2, 1, 2, 4);
+        assertMoments(new Triangular(new RandomStream(8)), 5, 3, 5, 1.5);
+    }
+
+    /**
+     * Test that the generators are found by the name written in the model.
+     */
+    public void testGetGNA() {
+
+        for (VarGlobals.GNAType type : VarGlobals.GNAType.values()) {
+            RNG rng = VarGlobals.getGNA(type.name());
+            assertTrue(rng.name().equalsIgnoreCase(type.name()));
+            assertEquals(rng.name(), VarGlobals.getGNA(rng.name()).name());
+        }
+        assertEquals("Uniform", VarGlobals.getGNA("").name());
+        try {
+            VarGlobals.getGNA("Exponencial");
+            fail("Unknown distribution accepted");
+        } catch (IllegalArgumentException e) {
+            assertTrue(e.getMessage().contains("Exponencial"));
+        }
+    }
+
+    /**
+     * Test that the operands that give no values are rejected when the
+     * block is linked, and that SNA operands are left for the run.
+     */
+    public void testCheck() throws Exception {
+
+        assertRejected(new Gamma(), 3, 0);
+        assertRejected(new Gamma(), 0, 2);
+        assertRejected(new Weibull(), 3, 0);
+        assertRejected(new Weibull(), -1, 2);
+        assertRejected(new Erlang(), 3, 0);
+        assertRejected(new Lognormal(), 0, 1);
+        new Gamma().check(3, Float.NaN);
+        new Erlang().check(3, 2);
+        new Normal().check(3, 0);
+
+        Model m = TestModels.parse("        Generate        Gamma,3.0,0.0,0.0,0.0,0.0,0     ;\n"
+                + "        Terminate       1     ;\n");
+        try {
+            m.link();
+            fail("Gamma of shape 0 accepted");
+        } catch (InitializeBlockError e) {
+            assertTrue(e.getMessage().contains("shape"));
+        }
+    }
+
+    private static void assertRejected(RNG rng, float A, float B) {
+        try {
+            rng.check(A, B);
+            fail(rng.name() + " accepted " + A + ", " + B);
+        } catch (ModelSyntaxException e) {
+        }
+    }
+}
@@ -0,0 +1,88 @@
+/**
+ * Software end-user license agreement.
+ *
+ * The LICENSE.TXT containing the license is located in the JGPSS project.
+ * License.txt can be downloaded here:
+ * href="http://www-eio.upc.es/~Pau/index.php?q=node/28
+ *
+ * NOTICE TO THE USER: BY COPYING, INSTALLING OR USING THIS SOFTWARE OR PART OF
+ * THIS SOFTWARE, YOU AGREE TO THE   TERMS AND CONDITIONS OF THE LICENSE AGREEMENT
+ * AS IF IT WERE A WRITTEN AGREEMENT NEGOTIATED AND SIGNED BY YOU. THE LICENSE
+ * AGREEMENT IS ENFORCEABLE AGAINST YOU AND ANY OTHER LEGAL PERSON ACTING ON YOUR
+ * BEHALF.
+ * IF, AFTER READING THE TERMS AND CONDITIONS HEREIN, YOU DO NOT AGREE TO THEM,
+ * YOU MAY NOT INSTALL THIS SOFTWARE ON YOUR COMPUTER.
+ * UPC IS THE OWNER OF ALL THE INTELLECTUAL PROPERTY OF THE SOFTWARE AND ONLY
+ * AUTHORIZES YOU TO USE THE SOFTWARE IN ACCORDANCE WITH THE TERMS SET OUT IN
+ * THE LICENSE AGREEMENT.
+ */
+package model.rng;
+
+import junit.framework.TestCase;
+import model.Model;
+import model.entities.rng.RandomStream;
+
+/**
+ *
+ * @author Ezequiel Andujar Montes
+ */
+public class RandomStreamTest extends TestCase {
+
+    public RandomStreamTest(String testName) {
+        super(testName);
+    }
+
+    /**
+     * Test that a seed always gives the same sequence, in range.
+     */
+    public void testSeed() {
+
+        RandomStream a = new RandomStream(42);
+        RandomStream b = new RandomStream(42);
+        RandomStream c = new RandomStream(43);
+        boolean differs = false;
+
+        for (int i = 0; i < 1000; i++) {
+            double x = a.nextDouble();
+            assertEquals(x, b.nextDouble());
+            differs |= x != c.nextDouble();
+            assertTrue(x >= 0 && x < 1);
+
+            int n = a.nextInt(1000);
+            b.nextInt(1000);
+            c.nextInt(1000);
+            assertTrue(n >= 0 && n < 1000);
+        }
+        assertTrue(differs);
+
+        double first = new RandomStream(42).nextDouble();
+        a.reset();
+        assertEquals(first, a.nextDouble());
+    }
+
+    /**
+     * Test that the model streams depend on the seed and the stream number.
+     */
+    public void testModelStreams() {
+
+        Model model = new Model();
+        model.setSeed(7);
+        RandomStream rn1 = model.getRandomStream(1);
+        RandomStream rn2 = model.getRandomStream(2);
+
+        assertSame(rn1, model.getRandomStream(1));
+
+        Model other = new Model();
+        other.setSeed(7);
+        long x = rn2.nextLong();
+        assertEquals(x, other.getRandomStream(2).nextLong());
+        assertTrue(x != rn1.nextLong());
+
+        model.clean();
+        assertSame(rn2, model.getRandomStream(2));
+        assertEquals(x, rn2.nextLong());
+
+        model.setSeed(8);
+        assertTrue(x != model.getRandomStream(2).nextLong());
+    }
+}
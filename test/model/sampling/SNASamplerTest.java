@@ -0,0 +1,100 @@
+/**
+ * Software end-user license agreement.
+ *
+ * The LICENSE.TXT containing the license is located in the JGPSS project.
+ * License.txt can be downloaded here:
+ * href="http://www-eio.upc.es/~Pau/index.php?q=node/28
+ *
+ * NOTICE TO THE USER: BY COPYING, INSTALLING OR USING THIS SOFTWARE OR PART OF
+ * THIS SOFTWARE, YOU AGREE TO THE   TERMS AND CONDITIONS OF THE LICENSE AGREEMENT
+ * AS IF IT WERE A WRITTEN AGREEMENT NEGOTIATED AND SIGNED BY YOU. THE LICENSE
+ * AGREEMENT IS ENFORCEABLE AGAINST YOU AND ANY OTHER LEGAL PERSON ACTING ON YOUR
+ * BEHALF.
+ * IF, AFTER READING THE TERMS AND CONDITIONS HEREIN, YOU DO NOT AGREE TO THEM,
+ * YOU MAY NOT INSTALL THIS SOFTWARE ON YOUR COMPUTER.
+ * UPC IS THE OWNER OF ALL THE INTELLECTUAL PROPERTY OF THE SOFTWARE AND ONLY
+ * AUTHORIZES YOU TO USE THE SOFTWARE IN ACCORDANCE WITH THE TERMS SET OUT IN
+ * THE LICENSE AGREEMENT.
+ */
+package model.sampling;
+
+import exceptions.ModelSyntaxException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import model.Model;
+import junit.framework.TestCase;
+import model.TestModels;
+
+/**
+ *
+ * @author Ezequiel Andujar Montes
+ */
+public class SNASamplerTest extends TestCase {
+
+    private Path file;
+
+    public SNASamplerTest(String testName) {
+        super(testName);
+    }
+
+    @Override
+    protected void setUp() throws Exception {
+        super.setUp();
+        file = Files.createTempFile("samples", ".csv");
+    }
+
+    @Override
+    protected void tearDown() throws Exception {
+        Files.deleteIfExists(file);
+        super.tearDown();
+    }
+
+    /**
+     * Test that a row is written for every interval of the run.
+     */
+    public void testSample() throws Exception {
+
+        Model model = TestModels.load("seize-test.txt");
+        model.setTC(5000);
+
+        SNASampler sampler = new SNASampler(model, file, 0.5f, Arrays.asList("C1", "TG1", "FC$seize"));
+        model.setSampler(sampler);
+        model.execute(false);
+        sampler.close();
+
+        List<String> lines = Files.readAllLines(file);
+        assertEquals("time,C1,TG1,FC$seize", lines.get(0));
+        assertEquals(sampler.getSamples(), lines.size() - 1);
+        assertTrue(sampler.getSamples() > 8192);
+
+        assertEquals("0,0,5000,0", lines.get(1));
+
+        int terminated = 0;
+        for (int i = 1; i < lines.size(); i++) {
+            String[] row = lines.get(i).split(",", -1);
+            assertEquals(4, row.length);
+            assertEquals((i - 1) * 0.5, Double.parseDouble(row[0]), 1e-3);
+            assertTrue(Double.parseDouble(row[1]) <= Double.parseDouble(row[0]));
+            int count = Integer.parseInt(row[2]);
+            assertTrue(count <= 5000 - terminated);
+            terminated = 5000 - count;
+        }
+        assertTrue(Double.parseDouble(lines.get(lines.size() - 1).split(",")[0]) < model.getRelativeClock());
+    }
+
+    /**
+     * Test that an unknown SNA is rejected before the run.
+     */
+    public void testUnknownSNA() throws Exception {
+
+        Model model = TestModels.load("seize-test.txt");
+
+        try {
+            new SNASampler(model, file, 1, Arrays.asList("ZZ$seize")).close();
+            fail();
+        } catch (ModelSyntaxException e) {
+        }
+    }
+}
@@ -0,0 +1,111 @@
+/**
+ * Software end-user license agreement.
+ *
+ * The LICENSE.TXT containing the license is located in the JGPSS project.
+ * License.txt can be downloaded here:
+ * href="http://www-eio.upc.es/~Pau/index.php?q=node/28
+ *
+ * NOTICE TO THE USER: BY COPYING, INSTALLING OR USING THIS SOFTWARE OR PART OF
+ * THIS SOFTWARE, YOU AGREE TO THE   TERMS AND CONDITIONS OF THE LICENSE AGREEMENT
+ * AS IF IT WERE A WRITTEN AGREEMENT NEGOTIATED AND SIGNED BY YOU. THE LICENSE
+ * AGREEMENT IS ENFORCEABLE AGAINST YOU AND ANY OTHER LEGAL PERSON ACTING ON YOUR
+ * BEHALF.
+ * IF, AFTER READING THE TERMS AND CONDITIONS HEREIN, YOU DO NOT AGREE TO THEM,
+ * YOU MAY NOT INSTALL THIS SOFTWARE ON YOUR COMPUTER.
+ * UPC IS THE OWNER OF ALL THE INTELLECTUAL PROPERTY OF THE SOFTWARE AND ONLY
+ * AUTHORIZES YOU TO USE THE SOFTWARE IN ACCORDANCE WITH THE TERMS SET OUT IN
+ * THE LICENSE AGREEMENT.
+ */
+package model.trace;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import junit.framework.TestCase;
+import model.Model;
+import model.TestModels;
+import model.blocks.Bloc;
+
+/**
+ *
+ * @author Ezequiel Andujar Montes
+ */
+public class TraceRecorderTest extends TestCase {
+
+    private Path file;
+
+    public TraceRecorderTest(String testName) {
+        super(testName);
+    }
+
+    @Override
+    protected void setUp() throws Exception {
+        super.setUp();
+        file = Files.createTempFile("trace", ".bin");
+    }
+
+    @Override
+    protected void tearDown() throws Exception {
+        Files.deleteIfExists(file);
+        super.tearDown();
+    }
+
+    private Model run(int capacity) throws Exception {
+
+        Model model = TestModels.load("seize-test.txt");
+        model.setTC(10);
+
+        try (TraceRecorder trace = new TraceRecorder(file, capacity)) {
+            model.setTrace(trace);
+            model.execute(false);
+        }
+        return model;
+    }
+
+    /**
+     * Test that the path of an Xact is recorded in order.
+     */
+    public void testRecord() throws Exception {
+
+        Model model = run(10000);
+        TraceReader reader = new TraceReader(file);
+        assertEquals(reader.getCount(), reader.size());
+
+        Bloc generate = model.getProces().get(0).getBlocs().get(0);
+        Bloc terminate = model.getProces().get(0).getBlocs().get(4);
+
+        List<TraceRecord> created = reader.filter(r -> r.getEvent() == TraceEvent.CREATE);
+        assertEquals(generate.getEntryCount(), created.size());
+        assertEquals(10, reader.filter(r -> r.getEvent() == TraceEvent.TERMINATE).size());
+
+        List<TraceRecord> first = reader.byXact(1);
+        assertEquals(TraceEvent.CREATE, first.get(0).getEvent());
+        assertEquals(TraceEvent.TERMINATE, first.get(first.size() - 2).getEvent());
+        assertEquals(TraceEvent.STOP, first.get(first.size() - 1).getEvent());
+        assertEquals(terminate.getNumber(), first.get(first.size() - 1).getFrom());
+
+        float clock = 0;
+        for (TraceRecord r : first) {
+            assertTrue(r.getClock() >= clock);
+            clock = r.getClock();
+        }
+
+        for (TraceRecord r : reader.byBlock(terminate)) {
+            assertTrue(r.getFrom() == terminate.getNumber() || r.getTo() == terminate.getNumber());
+        }
+    }
+
+    /**
+     * Test that a full ring keeps the last records.
+     */
+    public void testRing() throws Exception {
+
+        run(16);
+        TraceReader reader = new TraceReader(file);
+
+        assertTrue(reader.getCount() > 16);
+        assertEquals(16, reader.size());
+        assertEquals(reader.getCount() - 16, reader.get(0).getSequence());
+        assertEquals(reader.getCount() - 1, reader.get(15).getSequence());
+    }
+}
@@ -0,0 +1,97 @@
+/**
+ * Software end-user license agreement.
+ *
+ * The LICENSE.TXT containing the license is located in the JGPSS project.
+ * License.txt can be downloaded here:
+ * href="http://www-eio.upc.es/~Pau/index.php?q=node/28
+ *
+ * NOTICE TO THE USER: BY COPYING, INSTALLING OR USING THIS SOFTWARE OR PART OF
+ * THIS SOFTWARE, YOU AGREE TO THE   TERMS AND CONDITIONS OF THE LICENSE AGREEMENT
+ * AS IF IT WERE A WRITTEN AGREEMENT NEGOTIATED AND SIGNED BY YOU. THE LICENSE
+ * AGREEMENT IS ENFORCEABLE AGAINST YOU AND ANY OTHER LEGAL PERSON ACTING ON YOUR
+ * BEHALF.
+ * IF, AFTER READING THE TERMS AND CONDITIONS HEREIN, YOU DO NOT AGREE TO THEM,
+ * YOU MAY NOT INSTALL THIS SOFTWARE ON YOUR COMPUTER.
+ * UPC IS THE OWNER OF ALL THE INTELLECTUAL PROPERTY OF THE SOFTWARE AND ONLY
+ * AUTHORIZES YOU TO USE THE SOFTWARE IN ACCORDANCE WITH THE TERMS SET OUT IN
+ * THE LICENSE AGREEMENT.
+ */
+package persistence;
+
+import exceptions.UnrecognizedModelException;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import junit.framework.TestCase;
+import model.Model;
+
+/**
+ *
+ * @author Ezequiel Andujar Montes
+ */
+public class BinaryModelFormatTest extends TestCase {
+
+    public BinaryModelFormatTest(String testName) {
+        super(testName);
+    }
+
+    private static byte[] write(Model model) throws Exception {
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        BinaryModelFormat.write(model, out);
+        return out.toByteArray();
+    }
+
+    /**
+     * Test that every sample model reads back to the same model, through a
+     * mapped file.
+     */
+    public void testRoundTrip() throws Exception {
+
+        DiscManager disc = new DiscManager();
+
+        for (File file : new File("resources/model").listFiles((dir, name) -> name.endsWith(".txt"))) {
+
+            Model model = disc.leerTxt(file.toPath());
+            model.getProces().get(0).getBlocs().get(0).setPosx(42);
+
+            Path binary = Files.createTempFile("model", BinaryModelFormat.EXTENSION);
+            try {
+                BinaryModelFormat.write(model, binary);
+                Model read = disc.leerBin(binary);
+
+                assertEquals(file.getName(), disc.generarTxt(model), disc.generarTxt(read));
+                assertEquals(42, read.getProces().get(0).getBlocs().get(0).getPosx());
+                assertSame(read, read.getProces().get(0).getBlocs().get(0).getModel());
+            } finally {
+                Files.delete(binary);
+            }
+        }
+    }
+
+    /**
+     * Test that other files, versions and truncated models are rejected.
+     */
+    public void testRejected() throws Exception {
+
+        byte[] bytes = write(new DiscManager().leerTxt(new File("resources/model/seize-test.txt").toPath()));
+
+        byte[] version = bytes.clone();
+        version[7] = 9;
+        assertRejected(version, "version 9");
+        assertRejected("*\n* not binary\n".getBytes(), "Not a JGPSS binary model");
+        assertRejected(Arrays.copyOf(bytes, bytes.length - 3), "Corrupt");
+    }
+
+    private static void assertRejected(byte[] bytes, String message) {
+        try {
+            BinaryModelFormat.read(ByteBuffer.wrap(bytes));
+            fail();
+        } catch (UnrecognizedModelException e) {
+            assertTrue(e.getMessage(), e.getMessage().contains(message));
+        }
+    }
+}
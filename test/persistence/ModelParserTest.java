@@ -0,0 +1,134 @@
+/**
+ * Software end-user license agreement.
+ *
+ * The LICENSE.TXT containing the license is located in the JGPSS project.
+ * License.txt can be downloaded here:
+ * href="http://www-eio.upc.es/~Pau/index.php?q=node/28
+ *
+ * NOTICE TO THE USER: BY COPYING, INSTALLING OR USING THIS SOFTWARE OR PART OF
+ * THIS SOFTWARE, YOU AGREE TO THE   TERMS AND CONDITIONS OF THE LICENSE AGREEMENT
+ * AS IF IT WERE A WRITTEN AGREEMENT NEGOTIATED AND SIGNED BY YOU. THE LICENSE
+ * AGREEMENT IS ENFORCEABLE AGAINST YOU AND ANY OTHER LEGAL PERSON ACTING ON YOUR
+ * BEHALF.
+ * IF, AFTER READING THE TERMS AND CONDITIONS HEREIN, YOU DO NOT AGREE TO THEM,
+ * YOU MAY NOT INSTALL THIS SOFTWARE ON YOUR COMPUTER.
+ * UPC IS THE OWNER OF ALL THE INTELLECTUAL PROPERTY OF THE SOFTWARE AND ONLY
+ * AUTHORIZES YOU TO USE THE SOFTWARE IN ACCORDANCE WITH THE TERMS SET OUT IN
+ * THE LICENSE AGREEMENT.
+ */
+package persistence;
+
+import exceptions.ModelParseException;
+import java.io.StringReader;
+import junit.framework.TestCase;
+import model.Model;
+import model.blocks.Bloc;
+import model.blocks.Generate;
+import model.blocks.Test;
+
+/**
+ *
+ * @author Ezequiel Andujar Montes
+ */
+public class ModelParserTest extends TestCase {
+
+    private static final String HEADER = "*\n* Parser\n* test model\n*\n\n";
+
+    private static final String MODEL = HEADER
+            + "storage STORAGE 3\n"
+            + "total SAVEVALUE 1.5\n"
+            + "name STRING two words\n"
+            + "* end-entities\n\n*\n* p1\n*\n"
+            + "        Generate        Uniform,3.0,1.0,0.0,0.0,0.0,0     ;arrivals\r\n"
+            + "first   Test            GE Q$queue,2,first\r\n"
+            + "longlabeTerminate       1\r\n"
+            + "\n*\n* p2\n*\n"
+            + "        Buffer\n";
+
+    public ModelParserTest(String testName) {
+        super(testName);
+    }
+
+    private static Model parse(String text) throws Exception {
+        return new ModelParser(new StringReader(text)).parse();
+    }
+
+    private static ModelParseException parseError(String text) throws Exception {
+        try {
+            parse(text);
+        } catch (ModelParseException e) {
+            return e;
+        }
+        fail();
+        return null;
+    }
+
+    /**
+     * Test that entities, processes and blocks are read.
+     */
+    public void testParse() throws Exception {
+
+        Model model = parse(MODEL);
+
+        assertEquals("Parser", model.getName());
+        assertEquals("test model", model.getDescription());
+        assertEquals(3, model.getStorages().get(0).getValor());
+        assertEquals(1.5f, model.getSaveValues().get(0).getValue(), 0);
+        assertEquals("two words", model.getAmperVariables().get(0).getValue());
+
+        assertEquals(2, model.getProces().size());
+        assertEquals("p1", model.getProces().get(0).getDescpro());
+        assertEquals(3, model.getProces().get(0).getBlocs().size());
+
+        Bloc generate = model.getProces().get(0).getBlocs().get(0);
+        assertTrue(generate instanceof Generate);
+        assertEquals("arrivals", generate.getComentari());
+        assertSame(model, generate.getModel());
+
+        Test test = (Test) model.getProces().get(0).getBlocs().get(1);
+        assertEquals("first", test.getLabel());
+        assertEquals("GE", test.getX());
+        assertEquals(1, test.getPos());
+
+        assertEquals("longlabe", model.getProces().get(0).getBlocs().get(2).getLabel());
+        assertEquals(1, model.getProces().get(1).getBlocs().size());
+    }
+
+    /**
+     * Test that the text written from a model is read back to the same text.
+     */
+    public void testRoundTrip() throws Exception {
+
+        DiscManager disc = new DiscManager();
+        String text = disc.generarTxt(parse(MODEL));
+        assertEquals(text, disc.generarTxt(parse(text)));
+    }
+
+    /**
+     * Test that the errors report their line and column.
+     */
+    public void testErrors() throws Exception {
+
+        ModelParseException e = parseError(HEADER + "total SAVEVALUE x\n* end-entities\n");
+        assertEquals(6, e.getLine());
+        assertEquals(17, e.getColumn());
+
+        e = parseError(HEADER + "* end-entities\n\n*\n* p1\n*\n        Generate        Uniform,3.0,1.0,0.0,0.0,0.0,0\n        Sieze           f\n");
+        assertEquals(12, e.getLine());
+        assertEquals(9, e.getColumn());
+
+        e = parseError(HEADER + "* end-entities\n\n*\n* p1\n*\n        Queue           queue,one\n");
+        assertEquals(11, e.getLine());
+        assertEquals(31, e.getColumn());
+
+        e = parseError(HEADER + "* end-entities\n\n*\n* p1\n*\n        Enter           storage\n");
+        assertTrue(e.getMessage().contains("Enter expects 2 operands"));
+
+        e = parseError(HEADER + "* end-entities\n\n*\n* p1\n*\n        Advance         Exponencial,3.0,1.0\n");
+        assertTrue(e.getMessage().contains("Unknown distribution Exponencial"));
+        assertEquals(25, e.getColumn());
+
+        e = parseError(HEADER + "storage STORAGE 1\n");
+        assertTrue(e.getMessage().contains("end-entities"));
+    }
+}